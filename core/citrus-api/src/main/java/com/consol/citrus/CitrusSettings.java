@@ -125,6 +125,45 @@ public final class CitrusSettings {
     public static final String MESSAGE_TRACE_DIRECTORY_ENV = "CITRUS_MESSAGE_TRACE_DIRECTORY";
     public static final String MESSAGE_TRACE_DIRECTORY_DEFAULT = "target/citrus-logs/trace/messages";
 
+    /** Thread pool settings of shared executor used in parallel, async and timer containers */
+    public static final String CONTAINER_EXECUTOR_POOL_SIZE_PROPERTY = "citrus.container.executor.pool.size";
+    public static final String CONTAINER_EXECUTOR_POOL_SIZE_ENV = "CITRUS_CONTAINER_EXECUTOR_POOL_SIZE";
+    public static final String CONTAINER_EXECUTOR_POOL_SIZE_DEFAULT = "0";
+
+    public static final String CONTAINER_EXECUTOR_VIRTUAL_THREADS_PROPERTY = "citrus.container.executor.virtual.threads";
+    public static final String CONTAINER_EXECUTOR_VIRTUAL_THREADS_ENV = "CITRUS_CONTAINER_EXECUTOR_VIRTUAL_THREADS";
+    public static final String CONTAINER_EXECUTOR_VIRTUAL_THREADS_DEFAULT = Boolean.FALSE.toString();
+
+    /** Maximum number of compiled XPath expressions cached per thread */
+    public static final String XPATH_EXPRESSION_CACHE_SIZE_PROPERTY = "citrus.xpath.expression.cache.size";
+    public static final String XPATH_EXPRESSION_CACHE_SIZE_ENV = "CITRUS_XPATH_EXPRESSION_CACHE_SIZE";
+    public static final String XPATH_EXPRESSION_CACHE_SIZE_DEFAULT = "256";
+
+    /** Comma separated resource locations of Groovy validation scripts compiled ahead of time */
+    public static final String GROOVY_SCRIPT_PRECOMPILE_LOCATIONS_PROPERTY = "citrus.groovy.script.precompile.locations";
+    public static final String GROOVY_SCRIPT_PRECOMPILE_LOCATIONS_ENV = "CITRUS_GROOVY_SCRIPT_PRECOMPILE_LOCATIONS";
+    public static final String GROOVY_SCRIPT_PRECOMPILE_LOCATIONS_DEFAULT = "";
+
+    /** Maximum number of compiled dynamic content templates cached */
+    public static final String TEMPLATE_CACHE_SIZE_PROPERTY = "citrus.template.cache.size";
+    public static final String TEMPLATE_CACHE_SIZE_ENV = "CITRUS_TEMPLATE_CACHE_SIZE";
+    public static final String TEMPLATE_CACHE_SIZE_DEFAULT = "512";
+
+    /** Maximum number of characters retained by all cached dynamic content templates */
+    public static final String TEMPLATE_CACHE_MAX_CHARS_PROPERTY = "citrus.template.cache.max.chars";
+    public static final String TEMPLATE_CACHE_MAX_CHARS_ENV = "CITRUS_TEMPLATE_CACHE_MAX_CHARS";
+    public static final String TEMPLATE_CACHE_MAX_CHARS_DEFAULT = "4194304";
+
+    /** Enables caching of parsed XML test definitions */
+    public static final String XML_TEST_CACHE_ENABLED_PROPERTY = "citrus.xml.test.cache.enabled";
+    public static final String XML_TEST_CACHE_ENABLED_ENV = "CITRUS_XML_TEST_CACHE_ENABLED";
+    public static final String XML_TEST_CACHE_ENABLED_DEFAULT = Boolean.TRUE.toString();
+
+    /** Maximum number of parsed XML test definitions cached */
+    public static final String XML_TEST_CACHE_SIZE_PROPERTY = "citrus.xml.test.cache.size";
+    public static final String XML_TEST_CACHE_SIZE_ENV = "CITRUS_XML_TEST_CACHE_SIZE";
+    public static final String XML_TEST_CACHE_SIZE_DEFAULT = "1000";
+
     /**
      * Gets set of file name patterns for XML test files.
      * @return
@@ -149,4 +188,81 @@ public final class CitrusSettings {
         return System.getProperty(MESSAGE_TRACE_DIRECTORY_PROPERTY,  System.getenv(MESSAGE_TRACE_DIRECTORY_ENV) != null ?
                 System.getenv(MESSAGE_TRACE_DIRECTORY_ENV) : MESSAGE_TRACE_DIRECTORY_DEFAULT);
     }
+
+    /**
+     * Gets the maximum number of pooled threads used by test action containers. Zero or less means
+     * unbounded pool of reusable threads.
+     * @return
+     */
+    public static int getContainerExecutorPoolSize() {
+        return Integer.parseInt(System.getProperty(CONTAINER_EXECUTOR_POOL_SIZE_PROPERTY,  System.getenv(CONTAINER_EXECUTOR_POOL_SIZE_ENV) != null ?
+                System.getenv(CONTAINER_EXECUTOR_POOL_SIZE_ENV) : CONTAINER_EXECUTOR_POOL_SIZE_DEFAULT));
+    }
+
+    /**
+     * Gets setting whether test action containers should use virtual threads when available on the JVM.
+     * @return
+     */
+    public static boolean isContainerExecutorVirtualThreads() {
+        return Boolean.parseBoolean(System.getProperty(CONTAINER_EXECUTOR_VIRTUAL_THREADS_PROPERTY,  System.getenv(CONTAINER_EXECUTOR_VIRTUAL_THREADS_ENV) != null ?
+                System.getenv(CONTAINER_EXECUTOR_VIRTUAL_THREADS_ENV) : CONTAINER_EXECUTOR_VIRTUAL_THREADS_DEFAULT));
+    }
+
+    /**
+     * Gets the maximum number of compiled XPath expressions cached per thread. Zero or less disables the cache.
+     * @return
+     */
+    public static int getXPathExpressionCacheSize() {
+        return Integer.parseInt(System.getProperty(XPATH_EXPRESSION_CACHE_SIZE_PROPERTY,  System.getenv(XPATH_EXPRESSION_CACHE_SIZE_ENV) != null ?
+                System.getenv(XPATH_EXPRESSION_CACHE_SIZE_ENV) : XPATH_EXPRESSION_CACHE_SIZE_DEFAULT));
+    }
+
+    /**
+     * Gets comma separated resource locations of Groovy validation scripts that validators compile ahead of time
+     * when they are created. Locations may use resource patterns. Empty locations disable ahead of time compilation.
+     * @return
+     */
+    public static String getGroovyScriptPrecompileLocations() {
+        return System.getProperty(GROOVY_SCRIPT_PRECOMPILE_LOCATIONS_PROPERTY,  System.getenv(GROOVY_SCRIPT_PRECOMPILE_LOCATIONS_ENV) != null ?
+                System.getenv(GROOVY_SCRIPT_PRECOMPILE_LOCATIONS_ENV) : GROOVY_SCRIPT_PRECOMPILE_LOCATIONS_DEFAULT);
+    }
+
+    /**
+     * Gets the maximum number of compiled dynamic content templates cached. Zero or less disables the cache.
+     * @return
+     */
+    public static int getTemplateCacheSize() {
+        return Integer.parseInt(System.getProperty(TEMPLATE_CACHE_SIZE_PROPERTY,  System.getenv(TEMPLATE_CACHE_SIZE_ENV) != null ?
+                System.getenv(TEMPLATE_CACHE_SIZE_ENV) : TEMPLATE_CACHE_SIZE_DEFAULT));
+    }
+
+    /**
+     * Gets the maximum number of characters retained by all cached dynamic content templates. Least recently used templates
+     * are evicted as soon as the cached templates exceed this size.
+     * @return
+     */
+    public static long getTemplateCacheMaxChars() {
+        return Long.parseLong(System.getProperty(TEMPLATE_CACHE_MAX_CHARS_PROPERTY,  System.getenv(TEMPLATE_CACHE_MAX_CHARS_ENV) != null ?
+                System.getenv(TEMPLATE_CACHE_MAX_CHARS_ENV) : TEMPLATE_CACHE_MAX_CHARS_DEFAULT));
+    }
+
+    /**
+     * Gets the XML test definition cache setting. When enabled each XML test file is parsed only once and test case
+     * instances are created from the cached bean definitions.
+     * @return
+     */
+    public static boolean isXmlTestCacheEnabled() {
+        return Boolean.parseBoolean(System.getProperty(XML_TEST_CACHE_ENABLED_PROPERTY,  System.getenv(XML_TEST_CACHE_ENABLED_ENV) != null ?
+                System.getenv(XML_TEST_CACHE_ENABLED_ENV) : XML_TEST_CACHE_ENABLED_DEFAULT));
+    }
+
+    /**
+     * Gets the maximum number of parsed XML test definitions cached. Least recently used definitions are evicted
+     * when the cache is full. Zero or less for unbounded cache.
+     * @return
+     */
+    public static int getXmlTestCacheSize() {
+        return Integer.parseInt(System.getProperty(XML_TEST_CACHE_SIZE_PROPERTY,  System.getenv(XML_TEST_CACHE_SIZE_ENV) != null ?
+                System.getenv(XML_TEST_CACHE_SIZE_ENV) : XML_TEST_CACHE_SIZE_DEFAULT));
+    }
 }
@@ -55,6 +55,7 @@ import com.consol.citrus.util.TypeConversionUtils;
 import com.consol.citrus.validation.MessageValidatorRegistry;
 import com.consol.citrus.validation.interceptor.MessageConstructionInterceptors;
 import com.consol.citrus.validation.matcher.ValidationMatcherRegistry;
+import com.consol.citrus.variable.ContentTemplate;
 import com.consol.citrus.variable.GlobalVariables;
 import com.consol.citrus.variable.VariableUtils;
 import com.consol.citrus.xml.namespace.NamespaceContextBuilder;
@@ -422,8 +423,7 @@ public class TestContext implements ReferenceResolverAware {
         String result = null;
 
         if (str != null) {
-            result = VariableUtils.replaceVariablesInString(str, this, enableQuoting);
-            result = FunctionUtils.replaceFunctionsInString(result, this, enableQuoting);
+            result = ContentTemplate.compile(str).render(this, enableQuoting);
         }
 
         return result;
@@ -464,7 +464,7 @@ public class TestContext implements ReferenceResolverAware {
         // inform test listeners with failed test
         testListeners.onTestStart(dummyTest);
         testListeners.onTestFailure(dummyTest, exception);
-        testListeners.onTestFinish(dummyTest);
+        testListeners.onTestFinish(dummyTest, this);
 
         return exception;
     }
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.endpoint;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.consol.citrus.message.Message;
+
+/**
+ * Endpoint adapter that is able to handle request messages without blocking the calling thread. Server integrations
+ * may use this adapter variant in order to release their request threads while waiting for the response message.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public interface AsyncEndpointAdapter extends EndpointAdapter {
+
+    /**
+     * Handles a request message and returns a future that is completed with the response. Adapter is responsible
+     * for completing the future in time. Future is completed with null or fallback response in case no response
+     * is provided within the adapter timeout.
+     * @param message the request message.
+     * @return future completed with the response message.
+     */
+    CompletableFuture<Message> handleMessageAsync(Message message);
+}
@@ -58,64 +58,80 @@ public final class FunctionUtils {
         }
         
         String newString = stringValue;
-        StringBuffer strBuffer = new StringBuffer();
+        for (FunctionLibrary library: context.getFunctionRegistry().getFunctionLibraries()) {
+            newString = replaceFunctionsInString(newString, context, enableQuoting, library);
+        }
+
+        return newString;
+    }
+
+    /**
+     * Search for functions of given function library in string and replace with respective function result.
+     * @param stringValue to parse.
+     * @param enableQuoting enables quoting of function results.
+     * @param library the function library to search functions for.
+     * @return parsed string result.
+     */
+    public static String replaceFunctionsInString(final String stringValue, TestContext context, boolean enableQuoting, FunctionLibrary library) {
+        int searchIndex = stringValue.indexOf(library.getPrefix());
+        if (searchIndex == -1) {
+            return stringValue;
+        }
 
-        boolean isVarComplete = false;
-        StringBuffer variableNameBuf = new StringBuffer();
+        StringBuilder strBuffer = new StringBuilder(stringValue.length());
 
         int startIndex = 0;
         int curIndex;
-        int searchIndex;
 
-        for (FunctionLibrary library: context.getFunctionRegistry().getFunctionLibraries()) {
-            startIndex = 0;
+        do {
+            curIndex = findFunctionEnd(stringValue, searchIndex);
 
-            while ((searchIndex = newString.indexOf(library.getPrefix(), startIndex)) != -1) {
-                int control = -1;
-                isVarComplete = false;
+            final String value = resolveFunction(stringValue.substring(searchIndex, curIndex), context);
 
-                curIndex = searchIndex;
+            strBuffer.append(stringValue, startIndex, searchIndex);
 
-                while (curIndex < newString.length() && !isVarComplete) {
-                    if (newString.indexOf('(', curIndex) == curIndex) {
-                        control++;
-                    }
-
-                    if (newString.charAt(curIndex) == ')' || curIndex == newString.length() - 1) {
-                        if (control == 0) {
-                            isVarComplete = true;
-                        } else {
-                            control--;
-                        }
-                    }
+            if (enableQuoting) {
+                strBuffer.append('\'').append(value).append('\'');
+            } else {
+                strBuffer.append(value);
+            }
 
-                    variableNameBuf.append(newString.charAt(curIndex));
-                    curIndex++;
-                }
+            startIndex = curIndex;
+        } while ((searchIndex = stringValue.indexOf(library.getPrefix(), startIndex)) != -1);
 
-                final String value = resolveFunction(variableNameBuf.toString(), context);
+        strBuffer.append(stringValue, startIndex, stringValue.length());
 
-                strBuffer.append(newString.substring(startIndex, searchIndex));
+        return strBuffer.toString();
+    }
 
-                if (enableQuoting) {
-                    strBuffer.append("'" + value + "'");
-                } else {
-                    strBuffer.append(value);
-                }
+    /**
+     * Finds the end of a function expression starting at given index. The function expression ends with the closing bracket
+     * that matches the first opening bracket or at the end of the string.
+     * @param stringValue the string holding the function expression.
+     * @param startIndex index of the function prefix.
+     * @return index after the last character of the function expression.
+     */
+    public static int findFunctionEnd(final String stringValue, int startIndex) {
+        int control = -1;
+        int curIndex = startIndex;
 
-                startIndex = curIndex;
+        while (curIndex < stringValue.length()) {
+            char current = stringValue.charAt(curIndex++);
 
-                variableNameBuf = new StringBuffer();
-                isVarComplete = false;
+            if (current == '(') {
+                control++;
             }
 
-            strBuffer.append(newString.substring(startIndex));
-            newString = strBuffer.toString();
-
-            strBuffer = new StringBuffer();
+            if (current == ')' || curIndex == stringValue.length()) {
+                if (control == 0) {
+                    break;
+                } else {
+                    control--;
+                }
+            }
         }
 
-        return newString;
+        return curIndex;
     }
 
     /**
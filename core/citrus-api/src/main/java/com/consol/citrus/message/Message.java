@@ -19,6 +19,7 @@ package com.consol.citrus.message;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * @author Christoph Deppisch
@@ -105,4 +106,17 @@ public interface Message extends Serializable {
      */
     void setPayload(Object payload);
 
+    /**
+     * Gets a parsed representation of the message payload such as a DOM document or a JSON tree. The given parser creates
+     * the representation from this message. Implementations may cache the representation per type so the payload is parsed only once.
+     * Cached representations are shared by all callers reading the payload and therefore must not be modified. Setting a new payload
+     * discards cached representations. By default the representation is not cached.
+     * @param type the representation type used as cache key.
+     * @param parser function creating the representation from this message.
+     * @param <T>
+     * @return
+     */
+    default <T> T getPayloadRepresentation(Class<T> type, Function<Message, ? extends T> parser) {
+        return parser.apply(this);
+    }
 }
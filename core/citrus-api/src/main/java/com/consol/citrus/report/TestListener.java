@@ -17,6 +17,7 @@
 package com.consol.citrus.report;
 
 import com.consol.citrus.TestCase;
+import com.consol.citrus.context.TestContext;
 
 /**
  * Test listener interface. Listeners invoked on test start, finish, failure, skip, success.
@@ -36,6 +37,16 @@ public interface TestListener {
      */
     void onTestFinish(TestCase test);
 
+    /**
+     * Invoked when test gets finished with the test context the test has been executed with. Default implementation
+     * delegates to {@link #onTestFinish(TestCase)}.
+     * @param test
+     * @param context
+     */
+    default void onTestFinish(TestCase test, TestContext context) {
+        onTestFinish(test);
+    }
+
     /**
      * Invoked when test finished with success
      * @param test
@@ -53,4 +64,14 @@ public interface TestListener {
      * @param test
      */
     void onTestSkipped(TestCase test);
+
+    /**
+     * Invoked when test is skipped with the test context the test would have been executed with. Default implementation
+     * delegates to {@link #onTestSkipped(TestCase)}.
+     * @param test
+     * @param context
+     */
+    default void onTestSkipped(TestCase test, TestContext context) {
+        onTestSkipped(test);
+    }
 }
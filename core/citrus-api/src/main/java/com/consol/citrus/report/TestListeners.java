@@ -16,10 +16,11 @@
 
 package com.consol.citrus.report;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.consol.citrus.TestCase;
+import com.consol.citrus.context.TestContext;
 
 /**
  * Class that spreads test events to all available test listeners
@@ -29,8 +30,8 @@ import com.consol.citrus.TestCase;
  */
 public class TestListeners implements TestListenerAware {
 
-    /** List of test listeners **/
-    private final List<TestListener> testListeners = new ArrayList<>();
+    /** List of test listeners, listeners may be added and removed while events are spread **/
+    private final List<TestListener> testListeners = new CopyOnWriteArrayList<>();
 
     public void onTestFailure(TestCase test, Throwable cause) {
         for (TestListener listener : testListeners) {
@@ -44,12 +45,24 @@ public class TestListeners implements TestListenerAware {
         }
     }
 
+    public void onTestFinish(TestCase test, TestContext context) {
+        for (TestListener listener : testListeners) {
+            listener.onTestFinish(test, context);
+        }
+    }
+
     public void onTestSkipped(TestCase test) {
         for (TestListener listener : testListeners) {
             listener.onTestSkipped(test);
         }
     }
 
+    public void onTestSkipped(TestCase test, TestContext context) {
+        for (TestListener listener : testListeners) {
+            listener.onTestSkipped(test, context);
+        }
+    }
+
     public void onTestStart(TestCase test) {
         for (TestListener listener : testListeners) {
             listener.onTestStart(test);
@@ -64,9 +77,15 @@ public class TestListeners implements TestListenerAware {
 
     @Override
     public void addTestListener(TestListener listener) {
-        if (!testListeners.contains(listener)) {
-            this.testListeners.add(listener);
-        }
+        ((CopyOnWriteArrayList<TestListener>) testListeners).addIfAbsent(listener);
+    }
+
+    /**
+     * Removes given test listener.
+     * @param listener
+     */
+    public void removeTestListener(TestListener listener) {
+        this.testListeners.remove(listener);
     }
 
     /**
@@ -25,6 +25,7 @@ import java.io.InputStream;
 import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -39,6 +40,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.ConversionNotSupportedException;
 import org.springframework.beans.SimpleTypeConverter;
 import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.io.Resource;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StreamUtils;
@@ -149,6 +151,12 @@ public abstract class TypeConversionUtils {
                 } catch (IOException e) {
                     throw new CitrusRuntimeException("Failed to convert input stream to byte[]");
                 }
+            } else if (target instanceof Resource) {
+                try (InputStream inputStream = ((Resource) target).getInputStream()) {
+                    return (T) StreamUtils.copyToByteArray(inputStream);
+                } catch (IOException e) {
+                    throw new CitrusRuntimeException("Failed to convert resource to byte[]", e);
+                }
             }
         }
 
@@ -157,6 +165,12 @@ public abstract class TypeConversionUtils {
                 return (T) target;
             } else if (target instanceof byte[]) {
                 return (T) new ByteArrayInputStream((byte[]) target);
+            } else if (target instanceof Resource) {
+                try {
+                    return (T) ((Resource) target).getInputStream();
+                } catch (IOException e) {
+                    throw new CitrusRuntimeException("Failed to open resource input stream", e);
+                }
             } else if (target instanceof String) {
                 try {
                     return (T) new ByteArrayInputStream(String.valueOf(target).getBytes(CitrusSettings.CITRUS_FILE_ENCODING));
@@ -177,6 +191,12 @@ public abstract class TypeConversionUtils {
                 return (T) new String(((ByteBuffer) target).array());
             } else if (byte[].class.isAssignableFrom(target.getClass())) {
                 return (T) Arrays.toString((byte[]) target);
+            } else if (target instanceof Resource) {
+                try (InputStream inputStream = ((Resource) target).getInputStream()) {
+                    return (T) StreamUtils.copyToString(inputStream, Charset.forName(CitrusSettings.CITRUS_FILE_ENCODING));
+                } catch (IOException e) {
+                    throw new CitrusRuntimeException("Failed to read resource content", e);
+                }
             }
         }
 
@@ -0,0 +1,537 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.variable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.consol.citrus.CitrusSettings;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.NoSuchVariableException;
+import com.consol.citrus.functions.FunctionLibrary;
+import com.consol.citrus.functions.FunctionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Compiled representation of a string holding dynamic content such as variable expressions and functions. The source string
+ * is tokenized once into literal text and variable expressions. Function calls are located once per function library prefix.
+ * Rendering the template resolves the variables and functions with a single string builder pass.
+ *
+ * Rendering result is the same as replacing variables with {@link VariableUtils} and functions with {@link FunctionUtils}.
+ * Templates fall back to separate variable and function passes whenever variable values could change the function calls
+ * (e.g. values holding brackets or function library prefixes) or functions of several libraries are used.
+ *
+ * Compiled templates are cached by their source string. The cache is bounded by the number of templates and by the total
+ * number of characters retained by the templates, least recently used templates are evicted first.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public final class ContentTemplate {
+
+    /** Compiled templates mapped by source string */
+    private static final TemplateCache TEMPLATE_CACHE = new TemplateCache(CitrusSettings.getTemplateCacheSize(), CitrusSettings.getTemplateCacheMaxChars());
+
+    /** Marks templates without function calls for a library prefix */
+    private static final FunctionCalls NO_FUNCTION_CALLS = new FunctionCalls(new int[0], new String[0], false);
+
+    /** The template source */
+    private final String source;
+
+    /** Literal text segments surrounding the variable expressions */
+    private final String[] literals;
+
+    /** Variable names in order of appearance */
+    private final String[] variableNames;
+
+    /** Start and end index of each variable expression in the template source */
+    private final int[] variablePositions;
+
+    /** Whether the template may hold function calls */
+    private final boolean functionCandidate;
+
+    /** Approximate number of characters retained by this template */
+    private final long retainedChars;
+
+    /** Function calls located in the template source mapped by function library prefix */
+    private final Map<String, FunctionCalls> functionCalls = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor parsing given template source.
+     * @param source
+     */
+    public ContentTemplate(String source) {
+        this.source = source;
+
+        List<String> literalList = new ArrayList<>();
+        List<String> variableList = new ArrayList<>();
+        List<Integer> positionList = new ArrayList<>();
+
+        int startIndex = 0;
+        int searchIndex;
+        while ((searchIndex = source.indexOf(CitrusSettings.VARIABLE_PREFIX, startIndex)) != -1) {
+            StringBuilder variableName = new StringBuilder();
+            boolean isVarComplete = false;
+            int control = 0;
+
+            int curIndex = searchIndex + CitrusSettings.VARIABLE_PREFIX.length();
+            while (curIndex < source.length() && !isVarComplete) {
+                if (source.startsWith(CitrusSettings.VARIABLE_PREFIX, curIndex)) {
+                    control++;
+                }
+
+                if ((!Character.isJavaIdentifierPart(source.charAt(curIndex)) && (source.charAt(curIndex) == CitrusSettings.VARIABLE_SUFFIX.charAt(0))) || (curIndex + 1 == source.length())) {
+                    if (control == 0) {
+                        isVarComplete = true;
+                    } else {
+                        control--;
+                    }
+                }
+
+                if (!isVarComplete) {
+                    variableName.append(source.charAt(curIndex));
+                }
+                ++curIndex;
+            }
+
+            literalList.add(source.substring(startIndex, searchIndex));
+            variableList.add(variableName.toString());
+            positionList.add(searchIndex);
+            positionList.add(curIndex);
+
+            startIndex = curIndex;
+        }
+
+        literalList.add(source.substring(startIndex));
+
+        this.literals = literalList.toArray(new String[0]);
+        this.variableNames = variableList.toArray(new String[0]);
+        this.variablePositions = positionList.stream().mapToInt(Integer::intValue).toArray();
+        this.functionCandidate = StringUtils.hasText(source) &&
+                source.indexOf(':') >= 0 && source.indexOf('(') >= 0 && source.indexOf(')') >= 0;
+        this.retainedChars = source.length() + literalList.stream().mapToLong(String::length).sum()
+                + variableList.stream().mapToLong(String::length).sum();
+    }
+
+    /**
+     * Gets compiled template for given source string. Uses cached template if available.
+     * @param source
+     * @return
+     */
+    public static ContentTemplate compile(String source) {
+        return TEMPLATE_CACHE.compile(source);
+    }
+
+    /**
+     * Removes all cached templates.
+     */
+    public static void clearCache() {
+        TEMPLATE_CACHE.clear();
+    }
+
+    /**
+     * Renders the template replacing all variables and functions with their respective values. Values are
+     * enclosed with single quotes if enabled.
+     * @param context
+     * @param enableQuoting
+     * @return
+     */
+    public String render(TestContext context, boolean enableQuoting) {
+        String[] values = resolveVariables(context, enableQuoting);
+
+        if (!functionCandidate) {
+            if (values.length == 0) {
+                return source;
+            }
+
+            // variable values may hold functions themselves
+            return hasFunctionChars(values) ? FunctionUtils.replaceFunctionsInString(join(values), context, enableQuoting) : join(values);
+        }
+
+        List<FunctionLibrary> libraries = context.getFunctionRegistry().getFunctionLibraries();
+        if (values.length > 0 && !isFunctionNeutral(values, libraries)) {
+            // variable values may change the function calls - resolve variables and functions one after another
+            return FunctionUtils.replaceFunctionsInString(join(values), context, enableQuoting);
+        }
+
+        int libraryIndex = -1;
+        FunctionCalls calls = NO_FUNCTION_CALLS;
+        for (int i = 0; i < libraries.size(); i++) {
+            String prefix = libraries.get(i).getPrefix();
+            if (!StringUtils.hasLength(prefix)) {
+                return FunctionUtils.replaceFunctionsInString(join(values), context, enableQuoting);
+            }
+
+            FunctionCalls libraryCalls = getFunctionCalls(prefix);
+            if (libraryCalls != NO_FUNCTION_CALLS) {
+                if (libraryIndex >= 0 || libraryCalls.splitsVariable) {
+                    // functions of several libraries may be nested - resolve libraries one after another
+                    return FunctionUtils.replaceFunctionsInString(join(values), context, enableQuoting);
+                }
+
+                libraryIndex = i;
+                calls = libraryCalls;
+            }
+        }
+
+        if (libraryIndex < 0) {
+            return join(values);
+        }
+
+        String result = renderFunctions(calls, values, context, enableQuoting);
+
+        // function results may hold functions of subsequent libraries
+        for (int i = libraryIndex + 1; i < libraries.size(); i++) {
+            result = FunctionUtils.replaceFunctionsInString(result, context, enableQuoting, libraries.get(i));
+        }
+
+        return result;
+    }
+
+    /**
+     * Renders the template replacing only variables with their respective values. Variable values are
+     * enclosed with single quotes if enabled.
+     * @param context
+     * @param enableQuoting
+     * @return
+     */
+    public String renderVariables(TestContext context, boolean enableQuoting) {
+        if (variableNames.length == 0) {
+            return source;
+        }
+
+        return join(resolveVariables(context, enableQuoting));
+    }
+
+    /**
+     * Resolves the values of all variables in this template. Values are enclosed with single quotes if enabled.
+     * @param context
+     * @param enableQuoting
+     * @return
+     */
+    private String[] resolveVariables(TestContext context, boolean enableQuoting) {
+        String[] values = new String[variableNames.length];
+        for (int i = 0; i < variableNames.length; i++) {
+            final String value = context.getVariable(variableNames[i]);
+            if (value == null) {
+                throw new NoSuchVariableException("Variable: " + variableNames[i] + " could not be found");
+            }
+
+            values[i] = enableQuoting ? "'" + value + "'" : value;
+        }
+
+        return values;
+    }
+
+    /**
+     * Checks that given variable values can not change the function calls located in the template source. Values must not
+     * hold brackets or colons and variables must not be followed by a colon that could complete a function library prefix.
+     * @param values
+     * @param libraries
+     * @return
+     */
+    private boolean isFunctionNeutral(String[] values, List<FunctionLibrary> libraries) {
+        int maxPrefixLength = 0;
+        for (FunctionLibrary library : libraries) {
+            if (library.getPrefix() != null) {
+                maxPrefixLength = Math.max(maxPrefixLength, library.getPrefix().length());
+            }
+        }
+
+        if (hasFunctionChars(values)) {
+            return false;
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            int colonIndex = literals[i + 1].indexOf(':');
+            if (colonIndex >= 0 && colonIndex < maxPrefixLength) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if any of the given values holds brackets or colons that may be part of a function call.
+     * @param values
+     * @return
+     */
+    private static boolean hasFunctionChars(String[] values) {
+        for (String value : values) {
+            if (value.indexOf('(') >= 0 || value.indexOf(')') >= 0 || value.indexOf(':') >= 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Joins literal text segments and given variable values.
+     * @param values
+     * @return
+     */
+    private String join(String[] values) {
+        if (values.length == 0) {
+            return source;
+        }
+
+        StringBuilder result = new StringBuilder(source.length() + 16 * values.length);
+        for (int i = 0; i < values.length; i++) {
+            result.append(literals[i]).append(values[i]);
+        }
+
+        return result.append(literals[literals.length - 1]).toString();
+    }
+
+    /**
+     * Renders template source replacing given function calls with function results and variables with given values.
+     * @param calls
+     * @param values
+     * @param context
+     * @param enableQuoting
+     * @return
+     */
+    private String renderFunctions(FunctionCalls calls, String[] values, TestContext context, boolean enableQuoting) {
+        StringBuilder result = new StringBuilder(source.length());
+
+        int startIndex = 0;
+        int variableIndex = 0;
+        for (int i = 0; i < calls.expressions.length; i++) {
+            int functionStart = calls.positions[2 * i];
+            int functionEnd = calls.positions[2 * i + 1];
+
+            variableIndex = appendRange(result, startIndex, functionStart, values, variableIndex);
+
+            final String value;
+            if (values.length > 0) {
+                StringBuilder expression = new StringBuilder(functionEnd - functionStart);
+                variableIndex = appendRange(expression, functionStart, functionEnd, values, variableIndex);
+                value = FunctionUtils.resolveFunction(expression.toString(), context);
+            } else {
+                value = FunctionUtils.resolveFunction(calls.expressions[i], context);
+            }
+
+            if (enableQuoting) {
+                result.append('\'').append(value).append('\'');
+            } else {
+                result.append(value);
+            }
+
+            startIndex = functionEnd;
+        }
+
+        appendRange(result, startIndex, source.length(), values, variableIndex);
+        return result.toString();
+    }
+
+    /**
+     * Appends the template source in given range replacing variable expressions with given values.
+     * @param builder
+     * @param from
+     * @param to
+     * @param values
+     * @param variableIndex index of the first variable that may start in the range.
+     * @return index of the first variable after the range.
+     */
+    private int appendRange(StringBuilder builder, int from, int to, String[] values, int variableIndex) {
+        int index = variableIndex;
+        int cursor = from;
+        while (index < values.length && variablePositions[2 * index] < to) {
+            builder.append(source, cursor, variablePositions[2 * index]).append(values[index]);
+            cursor = variablePositions[2 * index + 1];
+            index++;
+        }
+
+        builder.append(source, cursor, to);
+        return index;
+    }
+
+    /**
+     * Gets function calls of given library prefix in template source. Locates function calls on first access.
+     * @param prefix
+     * @return
+     */
+    private FunctionCalls getFunctionCalls(String prefix) {
+        return functionCalls.computeIfAbsent(prefix, key -> {
+            int searchIndex = source.indexOf(key);
+            if (searchIndex == -1) {
+                return NO_FUNCTION_CALLS;
+            }
+
+            List<String> expressions = new ArrayList<>();
+            List<Integer> positions = new ArrayList<>();
+            do {
+                int endIndex = FunctionUtils.findFunctionEnd(source, searchIndex);
+                expressions.add(source.substring(searchIndex, endIndex));
+                positions.add(searchIndex);
+                positions.add(endIndex);
+            } while ((searchIndex = source.indexOf(key, positions.get(positions.size() - 1))) != -1);
+
+            int[] functionPositions = positions.stream().mapToInt(Integer::intValue).toArray();
+            return new FunctionCalls(functionPositions, expressions.toArray(new String[0]), splitsVariable(functionPositions));
+        });
+    }
+
+    /**
+     * Checks if any of the given function calls starts or ends inside a variable expression.
+     * @param functionPositions
+     * @return
+     */
+    private boolean splitsVariable(int[] functionPositions) {
+        for (int i = 0; i < functionPositions.length; i++) {
+            for (int v = 0; v < variableNames.length; v++) {
+                if (variablePositions[2 * v] < functionPositions[i] && functionPositions[i] < variablePositions[2 * v + 1]) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the template source.
+     * @return
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Gets the names of variables used in this template.
+     * @return
+     */
+    public String[] getVariableNames() {
+        return variableNames.clone();
+    }
+
+    /**
+     * Gets the approximate number of characters retained by this template.
+     * @return
+     */
+    long getRetainedChars() {
+        return retainedChars;
+    }
+
+    /**
+     * Function calls located in template source. Holds start and end index for each function expression.
+     */
+    private static final class FunctionCalls {
+        private final int[] positions;
+        private final String[] expressions;
+        private final boolean splitsVariable;
+
+        FunctionCalls(int[] positions, String[] expressions, boolean splitsVariable) {
+            this.positions = positions;
+            this.expressions = expressions;
+            this.splitsVariable = splitsVariable;
+        }
+    }
+
+    /**
+     * Least recently used cache of compiled templates bounded by the number of templates and the total number of characters
+     * retained by the templates. Templates are compiled outside of the cache lock.
+     */
+    static final class TemplateCache {
+        private final int maxSize;
+        private final long maxChars;
+
+        private final Map<String, ContentTemplate> templates = new LinkedHashMap<>(16, 0.75f, true);
+        private long retainedChars;
+
+        TemplateCache(int maxSize, long maxChars) {
+            this.maxSize = maxSize;
+            this.maxChars = maxChars;
+        }
+
+        /**
+         * Gets cached template for given source or compiles and caches a new template.
+         * @param source
+         * @return
+         */
+        ContentTemplate compile(String source) {
+            if (maxSize <= 0 || maxChars <= 0) {
+                return new ContentTemplate(source);
+            }
+
+            synchronized (templates) {
+                ContentTemplate cached = templates.get(source);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+
+            ContentTemplate template = new ContentTemplate(source);
+            if (template.getRetainedChars() > maxChars) {
+                return template;
+            }
+
+            synchronized (templates) {
+                ContentTemplate cached = templates.putIfAbsent(source, template);
+                if (cached != null) {
+                    return cached;
+                }
+
+                retainedChars += template.getRetainedChars();
+
+                Iterator<ContentTemplate> eldest = templates.values().iterator();
+                while (templates.size() > maxSize || retainedChars > maxChars) {
+                    retainedChars -= eldest.next().getRetainedChars();
+                    eldest.remove();
+                }
+            }
+
+            return template;
+        }
+
+        /**
+         * Removes all cached templates.
+         */
+        void clear() {
+            synchronized (templates) {
+                templates.clear();
+                retainedChars = 0L;
+            }
+        }
+
+        /**
+         * Gets the number of cached templates.
+         * @return
+         */
+        int size() {
+            synchronized (templates) {
+                return templates.size();
+            }
+        }
+
+        /**
+         * Gets the number of characters retained by all cached templates.
+         * @return
+         */
+        long getRetainedChars() {
+            synchronized (templates) {
+                return retainedChars;
+            }
+        }
+    }
+}
@@ -143,7 +143,7 @@ public class DefaultTestCase extends AbstractActionContainer implements TestCase
             }
         } else {
             testResult = TestResult.skipped(getName(), testClass.getName());
-            context.getTestListeners().onTestSkipped(this);
+            context.getTestListeners().onTestSkipped(this, context);
         }
     }
 
@@ -218,7 +218,7 @@ public class DefaultTestCase extends AbstractActionContainer implements TestCase
                 TestUtils.waitForCompletion(this, context, timeout);
             }
 
-            context.getTestListeners().onTestFinish(this);
+            context.getTestListeners().onTestFinish(this, context);
 
             if (!finalActions.isEmpty()) {
                 log.debug("Entering finally block in test case");
@@ -17,18 +17,18 @@
 package com.consol.citrus.actions;
 
 import com.consol.citrus.Completable;
+import com.consol.citrus.container.ContainerExecutor;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.task.SimpleAsyncTaskExecutor;
 
 import java.util.Optional;
 import java.util.concurrent.*;
 
 /**
- * Test action that performs in a separate thread. Action execution is not blocking the test execution chain. After
- * action has performed optional validation step is called.
+ * Test action that performs in a separate thread of the shared container executor. Action execution is not blocking
+ * the test execution chain. After action has performed optional validation step is called.
  *
  * @author Christoph Deppisch
  * @since 2.7.4
@@ -44,8 +44,7 @@ public abstract class AbstractAsyncTestAction extends AbstractTestAction impleme
     @Override
     public final void doExecute(TestContext context) {
         CompletableFuture<Void> result = new CompletableFuture<>();
-        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
-        finished = executor.submit(() -> {
+        finished = ContainerExecutor.getDefault().submitAsync(() -> {
             try {
                 doExecuteAsync(context);
                 result.complete(null);
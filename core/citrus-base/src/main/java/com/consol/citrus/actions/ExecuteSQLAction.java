@@ -17,10 +17,21 @@
 package com.consol.citrus.actions;
 
 import javax.sql.DataSource;
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+import com.consol.citrus.CitrusSettings;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.springframework.transaction.SavepointManager;
+import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.support.TransactionTemplate;
 
 /**
@@ -30,14 +41,44 @@ import org.springframework.transaction.support.TransactionTemplate;
  *
  * When executing SQL query statements (SELECT) see {@link ExecuteSQLQueryAction}.
  *
+ * In batch mode statements are grouped into JDBC batch updates of given batch size. Optionally test variable
+ * placeholders in statements are bound as prepared statement parameters instead of being replaced in the
+ * statement text. Only placeholders in value positions are bound: single quoted literals consisting of the placeholder only,
+ * placeholders following a comparison operator or LIKE and placeholders in VALUES and IN lists. All other placeholders such
+ * as table or column names and function arguments are replaced in the statement text. Consecutive statements sharing the
+ * same parameterized SQL are then executed as a single prepared statement batch.
+ *
+ * When errors are ignored the statements of a failed batch are executed one by one so only the failing statements are
+ * skipped. Within a transaction batches and single statements are guarded by savepoints, so a failing statement does not
+ * leave the transaction in an aborted state.
+ *
  * @author Christoph Deppisch, Jan Szczepanski
  * @since 2006
  */
 public class ExecuteSQLAction extends AbstractDatabaseConnectingTestAction {
 
+    /** Matches test variable placeholders */
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile(Pattern.quote(CitrusSettings.VARIABLE_PREFIX) +
+            "([^" + CitrusSettings.VARIABLE_SUFFIX + "]+)" + Pattern.quote(CitrusSettings.VARIABLE_SUFFIX));
+
+    /** Matches SQL text preceding a value, e.g. comparison operators */
+    private static final Pattern VALUE_PREFIX_PATTERN = Pattern.compile("(?i)(?:[=<>]|\\bLIKE)\\s*$");
+
+    /** Matches SQL text preceding a parenthesized value list */
+    private static final Pattern VALUE_LIST_PREFIX_PATTERN = Pattern.compile("(?i)(?:\\bVALUES|\\bIN|\\)\\s*,)\\s*$");
+
+    /** Matches function name preceding the argument list of a function call, e.g. citrus:concat */
+    private static final Pattern FUNCTION_PREFIX_PATTERN = Pattern.compile("[\\w-]+:[\\w-]+\\s*$");
+
     /** boolean flag marking that possible SQL errors will be ignored */
     private final boolean ignoreErrors;
 
+    /** Number of statements per JDBC batch, batch mode is disabled when zero or less */
+    private final int batchSize;
+
+    /** Bind test variables as prepared statement parameters in batch mode */
+    private final boolean bindVariables;
+
     /**
      * Default constructor.
      * @param builder
@@ -46,6 +87,8 @@ public class ExecuteSQLAction extends AbstractDatabaseConnectingTestAction {
         super("sql", builder);
 
         this.ignoreErrors = builder.ignoreErrors;
+        this.batchSize = builder.batchSize;
+        this.bindVariables = builder.bindVariables;
     }
 
     @Override
@@ -66,7 +109,7 @@ public class ExecuteSQLAction extends AbstractDatabaseConnectingTestAction {
             transactionTemplate.setTimeout(Integer.parseInt(context.replaceDynamicContentInString(getTransactionTimeout())));
             transactionTemplate.setIsolationLevelName(context.replaceDynamicContentInString(getTransactionIsolationLevel()));
             transactionTemplate.execute(status -> {
-                executeStatements(statementsToUse, context);
+                executeStatements(statementsToUse, context, status);
                 return null;
             });
         } else {
@@ -80,6 +123,21 @@ public class ExecuteSQLAction extends AbstractDatabaseConnectingTestAction {
      * @param context
      */
     protected void executeStatements(List<String> statements, TestContext context) {
+        executeStatements(statements, context, null);
+    }
+
+    /**
+     * Run all SQL statements within given transaction.
+     * @param statements
+     * @param context
+     * @param transaction the transaction status used to create savepoints, may be null.
+     */
+    private void executeStatements(List<String> statements, TestContext context, SavepointManager transaction) {
+        if (batchSize > 0) {
+            executeBatchStatements(statements, context, transaction);
+            return;
+        }
+
         for (String stmt : statements)  {
             try {
                 final String toExecute;
@@ -108,6 +166,375 @@ public class ExecuteSQLAction extends AbstractDatabaseConnectingTestAction {
         }
     }
 
+    /**
+     * Run all SQL statements in JDBC batches. Plain statements are added to a statement batch. Statements with
+     * bound variables are added to a prepared statement batch that is prepared once for all consecutive statements
+     * sharing the same SQL. Statement order is preserved across batches.
+     * @param statements
+     * @param context
+     */
+    protected void executeBatchStatements(List<String> statements, TestContext context) {
+        executeBatchStatements(statements, context, null);
+    }
+
+    /**
+     * Run all SQL statements in JDBC batches within given transaction.
+     * @param statements
+     * @param context
+     * @param transaction the transaction status used to create savepoints when errors are ignored, may be null.
+     */
+    private void executeBatchStatements(List<String> statements, TestContext context, SavepointManager transaction) {
+        BatchExecution execution = new BatchExecution(ignoreErrors ? transaction : null);
+
+        for (String stmt : statements) {
+            String sql = stmt.trim();
+            if (sql.endsWith(";")) {
+                sql = sql.substring(0, sql.length() - 1);
+            }
+
+            List<Object> parameters = new ArrayList<>();
+            if (bindVariables) {
+                sql = bindVariables(sql, parameters, context);
+            }
+
+            String toExecute = context.replaceDynamicContentInString(sql);
+
+            if (parameters.isEmpty()) {
+                execution.flushPrepared();
+                execution.statements.add(toExecute);
+
+                if (execution.statements.size() >= batchSize) {
+                    execution.flushStatements();
+                }
+            } else {
+                execution.flushStatements();
+
+                if (!toExecute.equals(execution.preparedSql)) {
+                    execution.flushPrepared();
+                    execution.preparedSql = toExecute;
+                }
+
+                execution.parameters.add(parameters.toArray());
+
+                if (execution.parameters.size() >= batchSize) {
+                    execution.flushPrepared();
+                }
+            }
+        }
+
+        execution.flushStatements();
+        execution.flushPrepared();
+
+        long time = Math.max(System.currentTimeMillis() - execution.start, 1L);
+        log.info(String.format("SQL batch execution successful: %s statements in %s batches, %s rows affected in %s ms (%.1f rows/s)",
+                execution.statementCount, execution.batchCount, execution.rowCount, time, execution.rowCount * 1000D / time));
+    }
+
+    /**
+     * Replaces test variable placeholders in value positions of given SQL with prepared statement parameter markers and adds
+     * the respective variable values to the list of parameters. Single quotes surrounding a placeholder are removed. Other
+     * placeholders are kept and replaced in the statement text later on.
+     * @param sql
+     * @param parameters
+     * @param context
+     * @return
+     */
+    private String bindVariables(String sql, List<Object> parameters, TestContext context) {
+        Matcher matcher = VARIABLE_PATTERN.matcher(sql);
+        StringBuilder parameterized = new StringBuilder();
+        int position = 0;
+
+        while (matcher.find()) {
+            int start = matcher.start();
+            int end = matcher.end();
+
+            Deque<Integer> groups = getEnclosingGroups(sql, start);
+            if (isFunctionArgument(sql, groups)) {
+                continue;
+            }
+
+            if (isInsideLiteral(sql, start)) {
+                boolean quoted = sql.charAt(start - 1) == '\'' && end < sql.length() && sql.charAt(end) == '\''
+                        && (end + 1 == sql.length() || sql.charAt(end + 1) != '\'');
+                if (!quoted) {
+                    // placeholder is part of a literal, keep the variable placeholder
+                    continue;
+                }
+
+                start--;
+                end++;
+            } else if (!isValuePosition(sql, start, groups)) {
+                continue;
+            }
+
+            parameters.add(context.getVariableObject(matcher.group(1)));
+            parameterized.append(sql, position, start).append('?');
+            position = end;
+        }
+
+        parameterized.append(sql.substring(position));
+        return parameterized.toString();
+    }
+
+    /**
+     * Checks if given index is inside a single quoted literal.
+     * @param sql
+     * @param index
+     * @return
+     */
+    private static boolean isInsideLiteral(String sql, int index) {
+        boolean literal = false;
+        for (int i = 0; i < index; i++) {
+            if (sql.charAt(i) == '\'') {
+                literal = !literal;
+            }
+        }
+
+        return literal;
+    }
+
+    /**
+     * Gets the positions of all open parentheses enclosing given index. Parentheses in literals are ignored.
+     * @param sql
+     * @param index
+     * @return positions with innermost parenthesis first.
+     */
+    private static Deque<Integer> getEnclosingGroups(String sql, int index) {
+        Deque<Integer> groups = new ArrayDeque<>();
+        boolean literal = false;
+        for (int i = 0; i < index; i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                literal = !literal;
+            } else if (!literal && c == '(') {
+                groups.push(i);
+            } else if (!literal && c == ')' && !groups.isEmpty()) {
+                groups.pop();
+            }
+        }
+
+        return groups;
+    }
+
+    /**
+     * Checks if any of the enclosing parentheses belongs to a function call, e.g. citrus:concat(...).
+     * @param sql
+     * @param groups
+     * @return
+     */
+    private static boolean isFunctionArgument(String sql, Deque<Integer> groups) {
+        return groups.stream().anyMatch(group -> FUNCTION_PREFIX_PATTERN.matcher(sql.substring(0, group)).find());
+    }
+
+    /**
+     * Checks if placeholder at given index is used as value. Values follow a comparison operator or LIKE or are part of
+     * a parenthesized VALUES or IN list.
+     * @param sql
+     * @param index
+     * @param groups
+     * @return
+     */
+    private static boolean isValuePosition(String sql, int index, Deque<Integer> groups) {
+        String prefix = sql.substring(0, index);
+        if (VALUE_PREFIX_PATTERN.matcher(prefix).find()) {
+            return true;
+        }
+
+        String trimmed = prefix.trim();
+        if (groups.isEmpty() || !(trimmed.endsWith("(") || trimmed.endsWith(","))) {
+            return false;
+        }
+
+        return VALUE_LIST_PREFIX_PATTERN.matcher(sql.substring(0, groups.peek())).find();
+    }
+
+    /**
+     * Holds pending batch statements and execution statistics.
+     */
+    private class BatchExecution {
+        private final long start = System.currentTimeMillis();
+
+        /** Transaction used to create savepoints, null when running without transaction */
+        private SavepointManager transaction;
+
+        private final List<String> statements = new ArrayList<>();
+
+        private String preparedSql;
+        private final List<Object[]> parameters = new ArrayList<>();
+
+        private long statementCount;
+        private long batchCount;
+        private long rowCount;
+
+        BatchExecution(SavepointManager transaction) {
+            this.transaction = transaction;
+        }
+
+        /**
+         * Executes pending plain statements as statement batch.
+         */
+        void flushStatements() {
+            if (statements.isEmpty()) {
+                return;
+            }
+
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Executing SQL batch of %s statements", statements.size()));
+            }
+
+            Object savepoint = createSavepoint();
+            try {
+                record(statements.size(), getJdbcTemplate().batchUpdate(statements.toArray(new String[0])));
+                releaseSavepoint(savepoint);
+            } catch (Exception e) {
+                handleBatchError(e);
+
+                List<String> pending = getUnexecuted(statements, e, savepoint);
+                for (String statement : pending) {
+                    executeSingle(() -> getJdbcTemplate().update(statement));
+                }
+            } finally {
+                statements.clear();
+            }
+        }
+
+        /**
+         * Executes pending parameterized statements as prepared statement batch.
+         */
+        void flushPrepared() {
+            if (parameters.isEmpty()) {
+                return;
+            }
+
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Executing SQL batch of %s prepared statements: %s", parameters.size(), preparedSql));
+            }
+
+            Object savepoint = createSavepoint();
+            try {
+                record(parameters.size(), getJdbcTemplate().batchUpdate(preparedSql, new ArrayList<>(parameters)));
+                releaseSavepoint(savepoint);
+            } catch (Exception e) {
+                handleBatchError(e);
+
+                List<Object[]> pending = getUnexecuted(parameters, e, savepoint);
+                for (Object[] args : pending) {
+                    executeSingle(() -> getJdbcTemplate().update(preparedSql, args));
+                }
+            } finally {
+                parameters.clear();
+            }
+        }
+
+        private void record(int size, int[] updateCounts) {
+            statementCount += size;
+            batchCount++;
+
+            if (updateCounts != null) {
+                for (int updateCount : updateCounts) {
+                    if (updateCount > 0) {
+                        rowCount += updateCount;
+                    }
+                }
+            }
+        }
+
+        private void recordSingle(int updateCount) {
+            statementCount++;
+            if (updateCount > 0) {
+                rowCount += updateCount;
+            }
+        }
+
+        private void handleBatchError(Exception e) {
+            if (ignoreErrors) {
+                log.error("Ignoring error while executing SQL batch, executing remaining statements one by one: " + e.getLocalizedMessage());
+            } else {
+                throw new CitrusRuntimeException(e);
+            }
+        }
+
+        /**
+         * Gets the batch entries that have not been executed successfully. Within a transaction the batch is rolled back
+         * to the savepoint so all entries need to be executed again. Otherwise uses the update counts of the batch update
+         * exception to skip entries the driver has already executed before the failure.
+         * @param batch
+         * @param e
+         * @param savepoint
+         * @param <T>
+         * @return
+         */
+        private <T> List<T> getUnexecuted(List<T> batch, Exception e, Object savepoint) {
+            if (savepoint != null) {
+                transaction.rollbackToSavepoint(savepoint);
+                return new ArrayList<>(batch);
+            }
+
+            Throwable cause = e;
+            while (cause != null && !(cause instanceof BatchUpdateException)) {
+                cause = cause.getCause();
+            }
+
+            if (cause == null || ((BatchUpdateException) cause).getUpdateCounts() == null) {
+                return new ArrayList<>(batch);
+            }
+
+            int[] updateCounts = ((BatchUpdateException) cause).getUpdateCounts();
+            List<T> unexecuted = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                if (i < updateCounts.length && updateCounts[i] != Statement.EXECUTE_FAILED) {
+                    recordSingle(updateCounts[i]);
+                } else {
+                    unexecuted.add(batch.get(i));
+                }
+            }
+
+            return unexecuted;
+        }
+
+        /**
+         * Executes a single statement of a failed batch and ignores errors.
+         * @param update
+         */
+        private void executeSingle(IntSupplier update) {
+            Object savepoint = createSavepoint();
+            try {
+                recordSingle(update.getAsInt());
+                releaseSavepoint(savepoint);
+            } catch (Exception e) {
+                log.error("Ignoring error while executing SQL statement: " + e.getLocalizedMessage());
+
+                if (savepoint != null) {
+                    transaction.rollbackToSavepoint(savepoint);
+                }
+            }
+        }
+
+        /**
+         * Creates savepoint in the current transaction.
+         * @return the savepoint or null when running without transaction or savepoints are not supported.
+         */
+        private Object createSavepoint() {
+            if (transaction == null) {
+                return null;
+            }
+
+            try {
+                return transaction.createSavepoint();
+            } catch (TransactionException e) {
+                log.warn("Unable to create savepoint - executing SQL statements without savepoints: " + e.getLocalizedMessage());
+                transaction = null;
+                return null;
+            }
+        }
+
+        private void releaseSavepoint(Object savepoint) {
+            if (savepoint != null) {
+                transaction.releaseSavepoint(savepoint);
+            }
+        }
+    }
+
     /**
      * Gets the ignoreErrors.
      * @return the ignoreErrors
@@ -116,12 +543,30 @@ public class ExecuteSQLAction extends AbstractDatabaseConnectingTestAction {
         return ignoreErrors;
     }
 
+    /**
+     * Gets the batchSize.
+     * @return the batchSize
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Gets the bindVariables.
+     * @return the bindVariables
+     */
+    public boolean isBindVariables() {
+        return bindVariables;
+    }
+
     /**
      * Action builder.
      */
     public static final class Builder extends AbstractDatabaseConnectingTestAction.Builder<ExecuteSQLAction, Builder> {
 
         private boolean ignoreErrors = false;
+        private int batchSize = 0;
+        private boolean bindVariables = false;
 
         public static Builder sql(DataSource dataSource) {
             Builder builder = new Builder();
@@ -130,7 +575,8 @@ public class ExecuteSQLAction extends AbstractDatabaseConnectingTestAction {
         }
 
         /**
-         * Ignore errors during execution.
+         * Ignore errors during execution. In batch mode the statements of a failed batch are executed one by one
+         * so only the failing statements are skipped.
          * @param ignoreErrors boolean flag to set
          */
         public Builder ignoreErrors(boolean ignoreErrors) {
@@ -138,6 +584,24 @@ public class ExecuteSQLAction extends AbstractDatabaseConnectingTestAction {
             return this;
         }
 
+        /**
+         * Execute statements in JDBC batches of given size.
+         * @param batchSize number of statements per batch
+         */
+        public Builder batchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Bind test variables as prepared statement parameters when executing in batch mode.
+         * @param bindVariables boolean flag to set
+         */
+        public Builder bindVariables(boolean bindVariables) {
+            this.bindVariables = bindVariables;
+            return this;
+        }
+
         @Override
         public ExecuteSQLAction build() {
             return new ExecuteSQLAction(this);
@@ -0,0 +1,638 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.actions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.consol.citrus.AbstractTestActionBuilder;
+import com.consol.citrus.TestAction;
+import com.consol.citrus.TestActionBuilder;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.endpoint.Endpoint;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.exceptions.ValidationException;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.messaging.Producer;
+import com.consol.citrus.messaging.ReplyConsumer;
+import com.consol.citrus.util.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+/**
+ * Action generates load on one or more message endpoints. Messages are built from the given send message actions and
+ * sent by a number of concurrent workers for a given duration or number of iterations. When a target rate is set the
+ * workers send messages at a fixed pace, otherwise each worker sends the next message as soon as the previous one is done.
+ * Workers receive the reply of synchronous endpoints as part of the request.
+ *
+ * Action records latency percentiles and error counts per endpoint and fails when the error rate or a latency percentile
+ * exceeds the given thresholds. By default the max error rate is zero, so a single failed message fails the load test.
+ * Each worker creates its own producer per endpoint and reuses it for all messages. With a target rate latency is measured from the time the message was scheduled to be
+ * sent, so delays caused by slow responses are not hidden.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public class LoadTestAction extends AbstractTestAction {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(LoadTestAction.class);
+
+    /** Send actions building the messages */
+    private final List<SendMessageAction> requests;
+
+    /** Target rate in messages per second, zero or less for unlimited */
+    private final String rate;
+
+    /** Number of concurrent workers */
+    private final String concurrency;
+
+    /** Duration in milliseconds */
+    private final String duration;
+
+    /** Max number of messages to send, zero or less for unlimited */
+    private final String iterations;
+
+    /** Time to wait for reply messages of synchronous endpoints */
+    private final long replyTimeout;
+
+    /** Max ratio of failed messages per endpoint, negative values disable the check */
+    private final double maxErrorRate;
+
+    /** Max latency in milliseconds mapped by percentile */
+    private final Map<Double, Long> percentiles;
+
+    /** Default max ratio of failed messages per endpoint - any failed message fails the load test */
+    public static final double DEFAULT_MAX_ERROR_RATE = 0.0D;
+
+    /** Statistics of the last execution mapped by endpoint name */
+    private Map<String, EndpointStatistics> statistics = Collections.emptyMap();
+
+    /**
+     * Default constructor.
+     * @param builder
+     */
+    public LoadTestAction(Builder builder) {
+        super("load-test", builder);
+
+        this.requests = builder.requests;
+        this.rate = builder.rate;
+        this.concurrency = builder.concurrency;
+        this.duration = builder.duration;
+        this.iterations = builder.iterations;
+        this.replyTimeout = builder.replyTimeout;
+        this.maxErrorRate = builder.maxErrorRate;
+        this.percentiles = builder.percentiles;
+    }
+
+    @Override
+    public void doExecute(TestContext context) {
+        if (requests.isEmpty()) {
+            throw new CitrusRuntimeException("Missing send actions for load test");
+        }
+
+        double targetRate = Double.parseDouble(context.resolveDynamicValue(rate));
+        int workerCount = Integer.parseInt(context.resolveDynamicValue(concurrency));
+        if (workerCount < 1) {
+            throw new CitrusRuntimeException(String.format("Invalid load test concurrency %s - must be greater than zero", workerCount));
+        }
+        long durationMillis = Long.parseLong(context.resolveDynamicValue(duration));
+        long maxIterations = Long.parseLong(context.resolveDynamicValue(iterations));
+
+        List<Endpoint> endpoints = new ArrayList<>();
+        Map<String, EndpointStatistics> endpointStatistics = new LinkedHashMap<>();
+        for (SendMessageAction request : requests) {
+            Endpoint endpoint = request.getOrCreateEndpoint(context);
+            endpoints.add(endpoint);
+
+            // build message once before workers start so message builder initialization is not shared between threads
+            request.createMessage(context, request.getMessageType());
+            endpointStatistics.putIfAbsent(endpoint.getName(), new EndpointStatistics());
+        }
+
+        log.info(String.format("Starting load test with %s worker(s) for %s ms at %s", workerCount, durationMillis,
+                targetRate > 0 ? targetRate + " messages/s" : "unlimited rate"));
+
+        LoadSchedule schedule = new LoadSchedule(targetRate, TimeUnit.MILLISECONDS.toNanos(durationMillis), maxIterations);
+        ExecutorService executorService = Executors.newFixedThreadPool(workerCount, new LoadTestThreadFactory());
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < workerCount; i++) {
+                workers.add(executorService.submit(() -> runWorker(schedule, endpoints, endpointStatistics, createWorkerContext(context))));
+            }
+
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for load test to finish", e);
+        } catch (ExecutionException e) {
+            throw new CitrusRuntimeException("Failed to run load test", e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        statistics = Collections.unmodifiableMap(endpointStatistics);
+        logStatistics(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - schedule.start));
+        validateStatistics();
+    }
+
+    /**
+     * Sends messages until the load schedule is finished. Each message is sent with the next send action in turn.
+     * Producers are created once per worker and endpoint.
+     * @param schedule
+     * @param endpoints
+     * @param endpointStatistics
+     * @param context
+     */
+    private void runWorker(LoadSchedule schedule, List<Endpoint> endpoints, Map<String, EndpointStatistics> endpointStatistics, TestContext context) {
+        Map<Endpoint, Producer> endpointProducers = new IdentityHashMap<>();
+        List<Producer> producers = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            producers.add(endpointProducers.computeIfAbsent(endpoint, Endpoint::createProducer));
+        }
+
+        long iteration;
+        while ((iteration = schedule.next()) >= 0) {
+            long scheduled = schedule.awaitSlot(iteration);
+            if (scheduled < 0) {
+                break;
+            }
+
+            int index = (int) (iteration % requests.size());
+            SendMessageAction request = requests.get(index);
+            Endpoint endpoint = endpoints.get(index);
+            Producer producer = producers.get(index);
+            EndpointStatistics endpointStats = endpointStatistics.get(endpoint.getName());
+
+            try {
+                Message message = request.createMessage(context, request.getMessageType());
+                producer.send(message, context);
+
+                if (producer instanceof ReplyConsumer) {
+                    ((ReplyConsumer) producer).receive(context, replyTimeout);
+                }
+
+                endpointStats.record(System.nanoTime() - scheduled, false);
+            } catch (Exception e) {
+                endpointStats.record(System.nanoTime() - scheduled, true);
+
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format("Load test message to endpoint '%s' failed", endpoint.getName()), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates test context for a worker. The context shares all registries with the given test context and
+     * gets a copy of its variables. This way workers are able to receive reply messages of synchronous endpoints
+     * with the correlation key saved in their own context.
+     * @param context
+     * @return
+     */
+    private TestContext createWorkerContext(TestContext context) {
+        TestContext workerContext = new TestContext();
+        workerContext.setFunctionRegistry(context.getFunctionRegistry());
+        workerContext.setValidationMatcherRegistry(context.getValidationMatcherRegistry());
+        workerContext.setMessageValidatorRegistry(context.getMessageValidatorRegistry());
+        workerContext.setMessageConstructionInterceptors(context.getMessageConstructionInterceptors());
+        workerContext.setMessageListeners(context.getMessageListeners());
+        workerContext.setTestListeners(context.getTestListeners());
+        workerContext.setEndpointFactory(context.getEndpointFactory());
+        workerContext.setReferenceResolver(context.getReferenceResolver());
+        workerContext.setNamespaceContextBuilder(context.getNamespaceContextBuilder());
+        workerContext.setApplicationContext(context.getApplicationContext());
+        workerContext.getVariables().putAll(context.getVariables());
+        return workerContext;
+    }
+
+    /**
+     * Logs the load test statistics per endpoint.
+     * @param totalTime
+     */
+    private void logStatistics(long totalTime) {
+        StringBuilder report = new StringBuilder(String.format("Load test finished after %s ms", totalTime));
+        for (Map.Entry<String, EndpointStatistics> entry : statistics.entrySet()) {
+            EndpointStatistics stats = entry.getValue();
+            report.append(String.format("%n  %s: %s messages, %s errors, %.1f messages/s, latency ms min=%.3f mean=%.3f p50=%.3f p90=%.3f p99=%.3f max=%.3f",
+                    entry.getKey(), stats.getMessageCount(), stats.getErrorCount(),
+                    totalTime > 0 ? stats.getMessageCount() * 1000.0D / totalTime : 0.0D,
+                    toMillis(stats.getLatency().getMinValue()), stats.getLatency().getMean() / 1000.0D,
+                    toMillis(stats.getLatency().getValueAtPercentile(50)), toMillis(stats.getLatency().getValueAtPercentile(90)),
+                    toMillis(stats.getLatency().getValueAtPercentile(99)), toMillis(stats.getLatency().getMaxValue())));
+        }
+
+        log.info(report.toString());
+    }
+
+    /**
+     * Validates error rate and latency percentiles of all endpoints.
+     * @throws ValidationException when thresholds are exceeded.
+     */
+    private void validateStatistics() {
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<String, EndpointStatistics> entry : statistics.entrySet()) {
+            EndpointStatistics stats = entry.getValue();
+
+            if (maxErrorRate >= 0 && stats.getErrorRate() > maxErrorRate) {
+                violations.add(String.format("endpoint '%s' error rate %.4f exceeds %.4f", entry.getKey(), stats.getErrorRate(), maxErrorRate));
+            }
+
+            for (Map.Entry<Double, Long> percentile : percentiles.entrySet()) {
+                double latency = toMillis(stats.getLatency().getValueAtPercentile(percentile.getKey()));
+                if (latency > percentile.getValue()) {
+                    violations.add(String.format("endpoint '%s' p%s latency %.3f ms exceeds %s ms", entry.getKey(),
+                            percentile.getKey(), latency, percentile.getValue()));
+                }
+            }
+        }
+
+        if (!violations.isEmpty()) {
+            throw new ValidationException("Load test failed - " + String.join(", ", violations));
+        }
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1000.0D;
+    }
+
+    /**
+     * Gets the send actions.
+     * @return
+     */
+    public List<SendMessageAction> getRequests() {
+        return requests;
+    }
+
+    /**
+     * Gets the target rate.
+     * @return
+     */
+    public String getRate() {
+        return rate;
+    }
+
+    /**
+     * Gets the concurrency.
+     * @return
+     */
+    public String getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Gets the duration.
+     * @return
+     */
+    public String getDuration() {
+        return duration;
+    }
+
+    /**
+     * Gets the iterations.
+     * @return
+     */
+    public String getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Gets the reply timeout.
+     * @return
+     */
+    public long getReplyTimeout() {
+        return replyTimeout;
+    }
+
+    /**
+     * Gets the max error rate.
+     * @return
+     */
+    public double getMaxErrorRate() {
+        return maxErrorRate;
+    }
+
+    /**
+     * Gets the latency thresholds mapped by percentile.
+     * @return
+     */
+    public Map<Double, Long> getPercentiles() {
+        return percentiles;
+    }
+
+    /**
+     * Gets the statistics of the last execution mapped by endpoint name.
+     * @return
+     */
+    public Map<String, EndpointStatistics> getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Load statistics for an endpoint.
+     */
+    public static final class EndpointStatistics {
+        private final AtomicLong messageCount = new AtomicLong();
+        private final AtomicLong errorCount = new AtomicLong();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        void record(long latencyNanos, boolean error) {
+            messageCount.incrementAndGet();
+            if (error) {
+                errorCount.incrementAndGet();
+            }
+            latency.record(latencyNanos, TimeUnit.NANOSECONDS);
+        }
+
+        public long getMessageCount() {
+            return messageCount.get();
+        }
+
+        public long getErrorCount() {
+            return errorCount.get();
+        }
+
+        public double getErrorRate() {
+            long count = messageCount.get();
+            return count > 0 ? (double) errorCount.get() / count : 0.0D;
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+    }
+
+    /**
+     * Hands out message slots to the workers. With a target rate each slot has a fixed point in time
+     * when the message should be sent.
+     */
+    private static final class LoadSchedule {
+        private final long start = System.nanoTime();
+        private final long end;
+        private final long intervalNanos;
+        private final long maxIterations;
+        private final AtomicLong sequence = new AtomicLong();
+
+        LoadSchedule(double rate, long durationNanos, long maxIterations) {
+            this.end = start + durationNanos;
+            this.intervalNanos = rate > 0 ? Math.round(TimeUnit.SECONDS.toNanos(1) / rate) : 0L;
+            this.maxIterations = maxIterations;
+        }
+
+        /**
+         * Gets the next message slot.
+         * @return slot number or -1 when all messages have been sent.
+         */
+        long next() {
+            long iteration = sequence.getAndIncrement();
+            if (maxIterations > 0 && iteration >= maxIterations) {
+                return -1L;
+            }
+
+            return iteration;
+        }
+
+        /**
+         * Waits for the scheduled time of the given slot.
+         * @param iteration
+         * @return scheduled time in nanoseconds or -1 when the slot is after the end of the load test.
+         */
+        long awaitSlot(long iteration) {
+            long scheduled = intervalNanos > 0 ? start + iteration * intervalNanos : System.nanoTime();
+            if (scheduled - end >= 0) {
+                return -1L;
+            }
+
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+                if (Thread.currentThread().isInterrupted()) {
+                    return -1L;
+                }
+            }
+
+            return scheduled;
+        }
+    }
+
+    /**
+     * Thread factory creating named daemon threads.
+     */
+    private static final class LoadTestThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "citrus-load-test-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * Action builder.
+     */
+    public static final class Builder extends AbstractTestActionBuilder<LoadTestAction, Builder> {
+
+        private final List<TestActionBuilder<?>> requestBuilders = new ArrayList<>();
+        private List<SendMessageAction> requests;
+        private String rate = "0";
+        private String concurrency = "1";
+        private String duration = "10000";
+        private String iterations = "0";
+        private long replyTimeout = 5000L;
+        private double maxErrorRate = DEFAULT_MAX_ERROR_RATE;
+        private final Map<Double, Long> percentiles = new LinkedHashMap<>();
+
+        /**
+         * Fluent API action building entry method used in Java DSL.
+         * @return
+         */
+        public static Builder loadTest() {
+            return new Builder();
+        }
+
+        /**
+         * Adds send actions building the messages. Messages are sent with each of the send actions in turn.
+         * @param sendActions
+         * @return
+         */
+        public Builder send(TestActionBuilder<?>... sendActions) {
+            Collections.addAll(requestBuilders, sendActions);
+            return this;
+        }
+
+        /**
+         * Adds send actions building the messages.
+         * @param sendActions
+         * @return
+         */
+        public Builder send(SendMessageAction... sendActions) {
+            for (SendMessageAction sendAction : sendActions) {
+                requestBuilders.add(() -> sendAction);
+            }
+            return this;
+        }
+
+        /**
+         * Sets the target rate in messages per second.
+         * @param rate
+         * @return
+         */
+        public Builder rate(double rate) {
+            this.rate = String.valueOf(rate);
+            return this;
+        }
+
+        /**
+         * Sets the target rate expression in messages per second.
+         * @param rate
+         * @return
+         */
+        public Builder rate(String rate) {
+            this.rate = rate;
+            return this;
+        }
+
+        /**
+         * Sets the number of concurrent workers.
+         * @param concurrency
+         * @return
+         */
+        public Builder concurrency(int concurrency) {
+            this.concurrency = String.valueOf(concurrency);
+            return this;
+        }
+
+        /**
+         * Sets the number of concurrent workers expression.
+         * @param concurrency
+         * @return
+         */
+        public Builder concurrency(String concurrency) {
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * Sets the duration.
+         * @param duration
+         * @return
+         */
+        public Builder duration(Duration duration) {
+            this.duration = String.valueOf(duration.toMillis());
+            return this;
+        }
+
+        /**
+         * Sets the duration expression in milliseconds.
+         * @param duration
+         * @return
+         */
+        public Builder duration(String duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        /**
+         * Sets the max number of messages to send.
+         * @param iterations
+         * @return
+         */
+        public Builder iterations(long iterations) {
+            this.iterations = String.valueOf(iterations);
+            return this;
+        }
+
+        /**
+         * Sets the max number of messages to send expression.
+         * @param iterations
+         * @return
+         */
+        public Builder iterations(String iterations) {
+            this.iterations = iterations;
+            return this;
+        }
+
+        /**
+         * Sets the time in milliseconds to wait for reply messages of synchronous endpoints.
+         * @param replyTimeout
+         * @return
+         */
+        public Builder replyTimeout(long replyTimeout) {
+            this.replyTimeout = replyTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the max ratio of failed messages per endpoint. Defaults to zero so any failed message fails the load test.
+         * Negative values disable the check.
+         * @param maxErrorRate
+         * @return
+         */
+        public Builder maxErrorRate(double maxErrorRate) {
+            this.maxErrorRate = maxErrorRate;
+            return this;
+        }
+
+        /**
+         * Sets the max latency in milliseconds for the given percentile.
+         * @param percentile
+         * @param maxLatency
+         * @return
+         */
+        public Builder percentile(double percentile, long maxLatency) {
+            this.percentiles.put(percentile, maxLatency);
+            return this;
+        }
+
+        @Override
+        public LoadTestAction build() {
+            if (StringUtils.hasText(concurrency) && concurrency.matches("-?\\d+") && Integer.parseInt(concurrency) < 1) {
+                throw new CitrusRuntimeException(String.format("Invalid load test concurrency %s - must be greater than zero", concurrency));
+            }
+
+            requests = new ArrayList<>();
+            for (TestActionBuilder<?> requestBuilder : requestBuilders) {
+                TestAction action = requestBuilder.build();
+                if (!(action instanceof SendMessageAction)) {
+                    throw new CitrusRuntimeException(String.format("Unsupported load test action '%s' - must be a send message action", action.getName()));
+                }
+                requests.add((SendMessageAction) action);
+            }
+
+            return new LoadTestAction(this);
+        }
+    }
+}
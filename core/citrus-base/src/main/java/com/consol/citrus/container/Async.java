@@ -56,10 +56,15 @@ public class Async extends AbstractActionContainer {
         AbstractAsyncTestAction asyncTestAction = new AbstractAsyncTestAction() {
             @Override
             public void doExecuteAsync(TestContext context) {
-                for (TestActionBuilder<?> actionBuilder : actions) {
-                    TestAction action = actionBuilder.build();
-                    setActiveAction(action);
-                    action.execute(context);
+                long start = System.currentTimeMillis();
+                try {
+                    for (TestActionBuilder<?> actionBuilder : actions) {
+                        TestAction action = actionBuilder.build();
+                        setActiveAction(action);
+                        action.execute(context);
+                    }
+                } finally {
+                    ContainerExecutor.getDefault().recordExecution(Async.this.getName(), System.currentTimeMillis() - start);
                 }
             }
 
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.container;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.consol.citrus.CitrusSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared executor used by test action containers such as parallel, async and timer in order to run nested actions
+ * in separate threads. Threads are pooled and reused across container executions. Pool size and the usage of
+ * virtual threads are configured via {@link CitrusSettings}.
+ *
+ * Parallel containers wait for their tasks to complete and use a pool that may be bounded. Bounded pools queue tasks
+ * as soon as all pooled threads are busy, tasks never run in the calling thread on submit. Callers waiting for their
+ * tasks may run tasks still queued with {@link #runIfQueued(Future)} once all of their tasks have been submitted. This way
+ * nested containers waiting for their own tasks to complete can not block each other.
+ *
+ * Async actions and forked timers must never run in the calling thread. These tasks use a separate unbounded pool.
+ *
+ * Executor also records execution timing statistics per container name.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public class ContainerExecutor {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(ContainerExecutor.class);
+
+    /** Default shared instance */
+    private static ContainerExecutor defaultExecutor;
+
+    /** Time idle pooled threads are kept alive */
+    private static final long KEEP_ALIVE_SECONDS = 5L;
+
+    /** Executor service running the tasks that the caller waits for */
+    private final ExecutorService executorService;
+
+    /** Executor service running asynchronous tasks */
+    private final ExecutorService asyncExecutorService;
+
+    /** Execution statistics per container name */
+    private final Map<String, ExecutionStatistics> statistics = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor using executor service. Asynchronous tasks use a new unbounded pool.
+     * @param executorService
+     */
+    public ContainerExecutor(ExecutorService executorService) {
+        this(executorService, createExecutorService(0, false));
+    }
+
+    /**
+     * Constructor using executor services for tasks that the caller waits for and for asynchronous tasks.
+     * @param executorService
+     * @param asyncExecutorService must never run tasks in the calling thread.
+     */
+    public ContainerExecutor(ExecutorService executorService, ExecutorService asyncExecutorService) {
+        this.executorService = executorService;
+        this.asyncExecutorService = asyncExecutorService;
+    }
+
+    /**
+     * Gets the default shared instance. Lazily creates the instance based on Citrus settings.
+     * @return
+     */
+    public static synchronized ContainerExecutor getDefault() {
+        if (defaultExecutor == null) {
+            boolean virtualThreads = CitrusSettings.isContainerExecutorVirtualThreads();
+            defaultExecutor = new ContainerExecutor(createExecutorService(CitrusSettings.getContainerExecutorPoolSize(), virtualThreads),
+                    createExecutorService(0, virtualThreads));
+        }
+
+        return defaultExecutor;
+    }
+
+    /**
+     * Sets the default shared instance.
+     * @param executor
+     */
+    public static synchronized void setDefault(ContainerExecutor executor) {
+        defaultExecutor = executor;
+    }
+
+    /**
+     * Creates new executor service. Uses virtual threads when requested and supported by the JVM. Otherwise uses a pool of
+     * threads that is either bounded to given pool size or unbounded when pool size is zero or less. Bounded pools queue tasks
+     * when all threads are busy.
+     * @param poolSize
+     * @param virtualThreads
+     * @return
+     */
+    public static ExecutorService createExecutorService(int poolSize, boolean virtualThreads) {
+        if (virtualThreads) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                log.warn("Virtual threads not supported on this JVM - using pooled platform threads instead");
+            }
+        }
+
+        ThreadFactory threadFactory = new ContainerThreadFactory();
+        if (poolSize > 0) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    threadFactory);
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+
+        return new ThreadPoolExecutor(0, Integer.MAX_VALUE, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                threadFactory);
+    }
+
+    /**
+     * Submits task for execution. Task is queued when the pool is saturated.
+     * @param task
+     * @return
+     */
+    public Future<?> submit(Runnable task) {
+        return executorService.submit(task);
+    }
+
+    /**
+     * Runs given task in the calling thread in case the task has been submitted but is still waiting in the queue
+     * of a saturated pool. Callers should submit all related tasks before so tasks depending on each other are not
+     * starved.
+     * @param task the future returned on submit.
+     * @return true if the task has been run in the calling thread.
+     */
+    public boolean runIfQueued(Future<?> task) {
+        if (executorService instanceof ThreadPoolExecutor && task instanceof Runnable
+                && ((ThreadPoolExecutor) executorService).remove((Runnable) task)) {
+            ((Runnable) task).run();
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Submits task for asynchronous execution. Task never runs in the calling thread.
+     * @param task
+     * @return
+     */
+    public Future<?> submitAsync(Runnable task) {
+        return asyncExecutorService.submit(task);
+    }
+
+    /**
+     * Adds execution time statistics for given container.
+     * @param containerName
+     * @param executionTime time in milliseconds.
+     */
+    public void recordExecution(String containerName, long executionTime) {
+        statistics.computeIfAbsent(containerName, name -> new ExecutionStatistics()).record(executionTime);
+    }
+
+    /**
+     * Gets execution statistics for given container name.
+     * @param containerName
+     * @return statistics or null if container has not been executed yet.
+     */
+    public ExecutionStatistics getStatistics(String containerName) {
+        return statistics.get(containerName);
+    }
+
+    /**
+     * Gets all execution statistics mapped by container name.
+     * @return
+     */
+    public Map<String, ExecutionStatistics> getStatistics() {
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    /**
+     * Gets the executor service.
+     * @return
+     */
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * Gets the executor service running asynchronous tasks.
+     * @return
+     */
+    public ExecutorService getAsyncExecutorService() {
+        return asyncExecutorService;
+    }
+
+    /**
+     * Execution timing statistics for a container.
+     */
+    public static final class ExecutionStatistics {
+        private final AtomicLong executionCount = new AtomicLong();
+        private final AtomicLong totalTime = new AtomicLong();
+        private final AtomicLong maxTime = new AtomicLong();
+
+        void record(long executionTime) {
+            executionCount.incrementAndGet();
+            totalTime.addAndGet(executionTime);
+            maxTime.accumulateAndGet(executionTime, Math::max);
+        }
+
+        public long getExecutionCount() {
+            return executionCount.get();
+        }
+
+        public long getTotalTime() {
+            return totalTime.get();
+        }
+
+        public long getMaxTime() {
+            return maxTime.get();
+        }
+
+        public double getAverageTime() {
+            long count = executionCount.get();
+            return count > 0 ? (double) totalTime.get() / count : 0.0D;
+        }
+    }
+
+    /**
+     * Thread factory creating named threads.
+     */
+    private static final class ContainerThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(runnable, "citrus-container-" + threadCount.incrementAndGet());
+        }
+    }
+}
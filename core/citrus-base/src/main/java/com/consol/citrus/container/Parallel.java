@@ -17,8 +17,13 @@
 package com.consol.citrus.container;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Stack;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.consol.citrus.AbstractTestContainerBuilder;
 import com.consol.citrus.TestAction;
@@ -31,17 +36,18 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Test action will execute nested actions in parallel. Each action is executed in a
- * separate thread. Container joins all threads and waiting for them to end successfully.
+ * separate thread of the shared container executor. Container waits for all actions to end successfully.
+ * Optional max concurrency setting limits the number of nested actions running at the same time.
  *
  * @author Christoph Deppisch
  */
 public class Parallel extends AbstractActionContainer {
 
-    /** Store created threads in stack */
-    private Stack<Thread> threads = new Stack<>();
+    /** Maximum number of nested actions running at the same time, zero or less means no limit */
+    private final int maxConcurrency;
 
-    /** Collect exceptions in list */
-    private List<CitrusRuntimeException> exceptions = new ArrayList<>();
+    /** Executor running the nested actions */
+    private final ContainerExecutor executor;
 
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(Parallel.class);
@@ -51,44 +57,146 @@ public class Parallel extends AbstractActionContainer {
      */
     public Parallel(Builder builder) {
         super("parallel", builder);
+
+        this.maxConcurrency = builder.maxConcurrency;
+        this.executor = builder.executor;
     }
 
     @Override
     public void doExecute(TestContext context) {
+        long start = System.currentTimeMillis();
+        ContainerExecutor containerExecutor = getExecutor();
+        Semaphore permits = maxConcurrency > 0 ? new Semaphore(maxConcurrency) : null;
+        List<CitrusRuntimeException> exceptions = Collections.synchronizedList(new ArrayList<>());
+        List<Future<?>> tasks = new ArrayList<>();
+        List<AtomicBoolean> started = new ArrayList<>();
+        CountDownLatch completed = new CountDownLatch(actions.size());
+
         for (TestActionBuilder<?> actionBuilder : actions) {
             final TestAction action = actionBuilder.build();
-            Thread t = new Thread(new ActionRunner(action, context) {
+            final AtomicBoolean taskStarted = new AtomicBoolean();
+
+            if (permits != null) {
+                permits.acquireUninterruptibly();
+            }
+
+            started.add(taskStarted);
+            tasks.add(containerExecutor.submit(new ActionRunner(action, context) {
                 @Override
                 public void exceptionCallback(CitrusRuntimeException e) {
-                    if (exceptions.isEmpty()) {
-                        setActiveAction(action);
-                    }
+                    synchronized (exceptions) {
+                        if (exceptions.isEmpty()) {
+                            setActiveAction(action);
+                        }
 
-                    exceptions.add(e);
+                        exceptions.add(e);
+                    }
                 }
-            });
 
-            threads.push(t);
-            t.start();
-        }
+                @Override
+                public void run() {
+                    if (!taskStarted.compareAndSet(false, true)) {
+                        return;
+                    }
 
-        while (!threads.isEmpty()) {
-            try {
-                threads.pop().join();
-            } catch (InterruptedException e) {
-                log.error("Unable to join thread", e);
-            }
+                    try {
+                        super.run();
+                    } finally {
+                        if (permits != null) {
+                            permits.release();
+                        }
+
+                        completed.countDown();
+                    }
+                }
+            }));
         }
 
+        awaitCompletion(containerExecutor, tasks, started, completed);
+
+        containerExecutor.recordExecution(getName(), System.currentTimeMillis() - start);
+
         if (!exceptions.isEmpty()) {
             if (exceptions.size() == 1) {
                 throw exceptions.get(0);
             } else {
-                throw new ParallelContainerException(exceptions);
+                throw new ParallelContainerException(new ArrayList<>(exceptions));
             }
         }
     }
 
+    /**
+     * Waits for all tasks to complete. Tasks still queued in a saturated pool are run in the calling thread as all tasks
+     * have been submitted at this point. When interrupted the tasks are cancelled and the method returns as soon as
+     * all tasks that have been started have ended.
+     * @param containerExecutor
+     * @param tasks
+     * @param started
+     * @param completed
+     */
+    private void awaitCompletion(ContainerExecutor containerExecutor, List<Future<?>> tasks, List<AtomicBoolean> started, CountDownLatch completed) {
+        try {
+            for (Future<?> task : tasks) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException();
+                }
+
+                containerExecutor.runIfQueued(task);
+            }
+
+            completed.await();
+        } catch (InterruptedException e) {
+            log.error("Interrupted while waiting for parallel actions to complete - cancelling remaining actions", e);
+
+            for (int i = 0; i < tasks.size(); i++) {
+                if (started.get(i).compareAndSet(false, true)) {
+                    completed.countDown();
+                }
+
+                tasks.get(i).cancel(true);
+            }
+
+            while (completed.getCount() > 0) {
+                try {
+                    completed.await();
+                } catch (InterruptedException ignored) {
+                    // keep waiting for started actions to end
+                }
+            }
+
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                log.error("Interrupted while waiting for parallel action to complete", e);
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.error("Unable to complete parallel action", e);
+            }
+        }
+    }
+
+    /**
+     * Gets the max concurrency.
+     * @return
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Gets the executor running nested actions. Uses default shared executor if not set explicitly.
+     * @return
+     */
+    public ContainerExecutor getExecutor() {
+        return executor != null ? executor : ContainerExecutor.getDefault();
+    }
+
     /**
      * Runnable wrapper for executing an action in separate Thread.
      */
@@ -131,6 +239,9 @@ public class Parallel extends AbstractActionContainer {
      */
     public static class Builder extends AbstractTestContainerBuilder<Parallel, Builder> {
 
+        private int maxConcurrency = 0;
+        private ContainerExecutor executor;
+
         /**
          * Fluent API action building entry method used in Java DSL.
          * @return
@@ -139,6 +250,26 @@ public class Parallel extends AbstractActionContainer {
             return new Builder();
         }
 
+        /**
+         * Sets the maximum number of nested actions running at the same time.
+         * @param maxConcurrency
+         * @return
+         */
+        public Builder maxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Sets the executor running nested actions.
+         * @param executor
+         * @return
+         */
+        public Builder executor(ContainerExecutor executor) {
+            this.executor = executor;
+            return this;
+        }
+
         @Override
         public Parallel build() {
             return super.build(new Parallel(this));
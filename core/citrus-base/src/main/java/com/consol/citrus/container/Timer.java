@@ -26,7 +26,6 @@ import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.util.StringUtils;
 
 /**
@@ -64,18 +63,14 @@ public class Timer extends AbstractActionContainer implements StopTimer {
     @Override
     public void doExecute(final TestContext context) {
         if (fork) {
-            SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor();
-            taskExecutor.execute(new Runnable() {
-                public void run() {
-                    configureAndRunTimer(context);
-                }
-            });
+            ContainerExecutor.getDefault().submitAsync(() -> configureAndRunTimer(context));
         } else {
             configureAndRunTimer(context);
         }
     }
 
     private void configureAndRunTimer(final TestContext context) {
+        long start = System.currentTimeMillis();
         timer = new java.util.Timer(getTimerId(), false);
 
         context.registerTimer(getTimerId(), this);
@@ -132,6 +127,8 @@ public class Timer extends AbstractActionContainer implements StopTimer {
             }
         }
 
+        ContainerExecutor.getDefault().recordExecution(getName(), System.currentTimeMillis() - start);
+
         if (timerException != null) {
             throw timerException;
         }
@@ -16,6 +16,8 @@
 
 package com.consol.citrus.endpoint;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.context.TestContextFactory;
 import com.consol.citrus.message.Message;
@@ -43,14 +45,43 @@ public abstract class AbstractEndpointAdapter implements EndpointAdapter {
 
     @Override
     public final Message handleMessage(Message request) {
-        Message replyMessage = handleMessageInternal(request);
+        return handleFallback(request, handleMessageInternal(request));
+    }
 
-        if ((replyMessage == null || replyMessage.getPayload() == null)) {
+    /**
+     * Applies fallback endpoint adapter to the reply that completes given future. Subclasses handling requests
+     * without blocking may use this method so missing reply messages are handled the same way as in {@link #handleMessage(Message)}.
+     * Asynchronous fallback endpoint adapters are invoked without blocking, too.
+     * @param request
+     * @param reply
+     * @return
+     */
+    protected CompletableFuture<Message> handleFallbackAsync(Message request, CompletableFuture<Message> reply) {
+        return reply.thenCompose(replyMessage -> {
+            if (isEmpty(replyMessage) && fallbackEndpointAdapter instanceof AsyncEndpointAdapter) {
+                log.debug("Did not receive reply message - "
+                        + "delegating to fallback endpoint adapter");
+
+                return ((AsyncEndpointAdapter) fallbackEndpointAdapter).handleMessageAsync(request);
+            }
+
+            return CompletableFuture.completedFuture(handleFallback(request, replyMessage));
+        });
+    }
+
+    /**
+     * Delegates to fallback endpoint adapter in case no reply message was provided.
+     * @param request
+     * @param replyMessage
+     * @return
+     */
+    private Message handleFallback(Message request, Message replyMessage) {
+        if (isEmpty(replyMessage)) {
             if (fallbackEndpointAdapter != null) {
                 log.debug("Did not receive reply message - "
                         + "delegating to fallback endpoint adapter");
 
-                replyMessage = fallbackEndpointAdapter.handleMessage(request);
+                return fallbackEndpointAdapter.handleMessage(request);
             } else {
                 log.debug("Did not receive reply message - no response is simulated");
             }
@@ -59,6 +90,10 @@ public abstract class AbstractEndpointAdapter implements EndpointAdapter {
         return replyMessage;
     }
 
+    private static boolean isEmpty(Message replyMessage) {
+        return replyMessage == null || replyMessage.getPayload() == null;
+    }
+
     /**
      * Subclasses must implement this method in order to handle incoming request message. If
      * this method does not return any response message fallback endpoint adapter is invoked for processing.
@@ -16,6 +16,7 @@
 
 package com.consol.citrus.endpoint.adapter.mapping;
 
+import javax.xml.namespace.NamespaceContext;
 import java.util.Collections;
 
 import com.consol.citrus.message.Message;
@@ -39,10 +40,8 @@ public class XPathPayloadMappingKeyExtractor extends AbstractMappingKeyExtractor
 
     @Override
     public String getMappingKey(Message request) {
-        return XPathUtils.evaluateAsString(
-                XMLUtils.parseMessagePayload(request.getPayload(String.class)),
-                xpathExpression,
-                namespaceContextBuilder.buildContext(request, Collections.emptyMap()));
+        NamespaceContext namespaceContext = namespaceContextBuilder.buildContext(request, Collections.emptyMap());
+        return XMLUtils.readPayloadDocument(request, doc -> XPathUtils.evaluateAsString(doc, xpathExpression, namespaceContext));
     }
 
     /**
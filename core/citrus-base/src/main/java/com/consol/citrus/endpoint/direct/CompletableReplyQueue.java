@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.endpoint.direct;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.consol.citrus.message.Message;
+import com.consol.citrus.message.MessageQueue;
+import com.consol.citrus.message.MessageSelector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Temporary reply queue that completes a future with the first message sent to the queue. Callers waiting for the
+ * reply do not need to block a thread but can register callbacks on the reply future instead.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public class CompletableReplyQueue implements MessageQueue {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(CompletableReplyQueue.class);
+
+    /** Future completed with the reply message */
+    private final CompletableFuture<Message> reply = new CompletableFuture<>();
+
+    @Override
+    public void send(Message message) {
+        if (!reply.complete(message)) {
+            log.warn("Reply queue has already been completed - ignoring message");
+        }
+    }
+
+    @Override
+    public Message receive(MessageSelector selector) {
+        try {
+            return accept(reply.getNow(null), selector);
+        } catch (CancellationException | CompletionException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public Message receive(MessageSelector selector, long timeout) {
+        try {
+            return accept(reply.get(timeout, TimeUnit.MILLISECONDS), selector);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (TimeoutException | ExecutionException | CancellationException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void purge(MessageSelector selector) {
+        // reply can not be removed once the future has been completed
+    }
+
+    /**
+     * Gets the future that is completed with the reply message.
+     * @return
+     */
+    public CompletableFuture<Message> getReply() {
+        return reply;
+    }
+
+    private Message accept(Message message, MessageSelector selector) {
+        if (message != null && selector.accept(message)) {
+            return message;
+        }
+
+        return null;
+    }
+}
@@ -1,21 +1,23 @@
 package com.consol.citrus.endpoint.direct;
 
-import com.consol.citrus.context.TestContext;
+import java.util.concurrent.CompletableFuture;
+
 import com.consol.citrus.endpoint.AbstractEndpointAdapter;
-import com.consol.citrus.exceptions.ActionTimeoutException;
+import com.consol.citrus.endpoint.AsyncEndpointAdapter;
 import com.consol.citrus.message.Message;
+import com.consol.citrus.util.TimeoutScheduler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Endpoint adapter forwards incoming requests to message queue and waits synchronously for response
+ * Endpoint adapter forwards incoming requests to message queue and waits for response
  * on reply queue. Provides simple endpoint for clients to connect to message queue in order to provide proper
- * response message.
+ * response message. Server integrations may handle requests asynchronously so no thread is blocked while waiting for the response.
  *
  * @author Christoph Deppisch
  * @since 3.0
  */
-public class DirectEndpointAdapter extends AbstractEndpointAdapter {
+public class DirectEndpointAdapter extends AbstractEndpointAdapter implements AsyncEndpointAdapter {
 
     /** Endpoint handling incoming requests */
     private DirectSyncEndpoint endpoint;
@@ -24,6 +26,9 @@ public class DirectEndpointAdapter extends AbstractEndpointAdapter {
     /** Endpoint configuration */
     private final DirectSyncEndpointConfiguration endpointConfiguration;
 
+    /** Scheduler completing replies that did not arrive in time */
+    private TimeoutScheduler timeoutScheduler = TimeoutScheduler.getDefault();
+
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(DirectEndpointAdapter.class);
 
@@ -41,22 +46,46 @@ public class DirectEndpointAdapter extends AbstractEndpointAdapter {
 
     @Override
     public Message handleMessageInternal(Message request) {
+        return forward(request).join();
+    }
+
+    /**
+     * Forwards request to the message queue without blocking the calling thread. The returned future is completed
+     * as soon as the reply message is sent to the temporary reply queue. In case no reply arrives within the endpoint timeout
+     * the future is completed by the shared timeout scheduler with the fallback endpoint adapter response or null.
+     * @param request
+     * @return future completed with the reply message.
+     */
+    @Override
+    public CompletableFuture<Message> handleMessageAsync(Message request) {
+        return handleFallbackAsync(request, forward(request));
+    }
+
+    /**
+     * Sends request to the message queue and completes the reply future with null on timeout. Replies
+     * arriving after the timeout are ignored.
+     * @param request
+     * @return
+     */
+    private CompletableFuture<Message> forward(Message request) {
         log.debug("Forwarding request to message queue ...");
 
-        TestContext context = getTestContext();
-        Message replyMessage = null;
-        try {
-            producer.send(request, context);
-            if (endpointConfiguration.getCorrelator() != null) {
-                replyMessage = producer.receive(endpointConfiguration.getCorrelator().getCorrelationKey(request), context, endpointConfiguration.getTimeout());
-            } else {
-                replyMessage = producer.receive(context, endpointConfiguration.getTimeout());
+        CompletableFuture<Message> reply = producer.sendAsync(request, getTestContext());
+        reply.thenAccept(replyMessage -> {
+            if (replyMessage == null) {
+                log.warn("Reply timed out after " + endpointConfiguration.getTimeout() + "ms. Did not receive reply message on reply channel");
             }
-        } catch (ActionTimeoutException e) {
-            log.warn(e.getMessage());
-        }
+        });
 
-        return replyMessage;
+        return timeoutScheduler.completeOnTimeout(reply, null, endpointConfiguration.getTimeout());
+    }
+
+    /**
+     * Sets the scheduler handling reply timeouts.
+     * @param timeoutScheduler
+     */
+    public void setTimeoutScheduler(TimeoutScheduler timeoutScheduler) {
+        this.timeoutScheduler = timeoutScheduler;
     }
 
     @Override
@@ -1,5 +1,7 @@
 package com.consol.citrus.endpoint.direct;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.message.DefaultMessageQueue;
@@ -66,6 +68,31 @@ public class DirectSyncProducer extends DirectProducer implements ReplyConsumer
         correlationManager.store(correlationKey, replyMessage);
     }
 
+    /**
+     * Sends message to the destination queue without waiting for the reply. Reply is delivered through a temporary
+     * reply queue that completes the returned future as soon as the reply message is sent. The reply is not saved to the
+     * correlation manager so callers must not use the receive methods of this producer afterwards.
+     * @param message
+     * @param context
+     * @return future completed with the reply message.
+     */
+    public CompletableFuture<Message> sendAsync(Message message, TestContext context) {
+        String destinationQueueName = getDestinationQueueName();
+
+        if (log.isDebugEnabled()) {
+            log.debug("Sending message to channel: '" + destinationQueueName + "'");
+            log.debug("Message to send is:\n" + message.toString());
+        }
+
+        CompletableReplyQueue replyQueue = new CompletableReplyQueue();
+        message.setHeader(DirectMessageHeaders.REPLY_QUEUE, replyQueue);
+        getDestinationQueue(context).send(message);
+
+        log.info("Message was sent to channel: '" + destinationQueueName + "'");
+
+        return replyQueue.getReply();
+    }
+
     /**
      * Reads reply queue from message header or creates a new temporary queue.
      * @param message
@@ -19,7 +19,9 @@ package com.consol.citrus.json;
 import java.util.Optional;
 
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.message.Message;
 import com.consol.citrus.validation.json.JsonPathFunctions;
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.PathNotFoundException;
 import com.jayway.jsonpath.ReadContext;
@@ -53,6 +55,24 @@ public class JsonPathUtils {
         }
     }
 
+    /**
+     * Gets the JSON read context for the message payload. The payload is parsed only once per message payload and
+     * the parsed JSON object tree is shared with all other callers reading the message. Callers must not modify the JSON objects.
+     * @param message
+     * @throws CitrusRuntimeException
+     * @return
+     */
+    public static ReadContext getPayloadContext(Message message) {
+        return message.getPayloadRepresentation(DocumentContext.class, m -> {
+            try {
+                JSONParser parser = new JSONParser(JSONParser.MODE_JSON_SIMPLE);
+                return JsonPath.parse(parser.parse(m.getPayload(String.class)));
+            } catch (ParseException e) {
+                throw new CitrusRuntimeException("Failed to parse JSON text", e);
+            }
+        });
+    }
+
     /**
      * Evaluate JsonPath expression using given read context and return result as object.
      * @param readerContext
@@ -18,10 +18,12 @@ package com.consol.citrus.message;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.util.TypeConversionUtils;
@@ -51,6 +53,12 @@ public class DefaultMessage implements Message {
     /** The message name for internal use */
     private String name;
 
+    /** Parsed payload representations mapped by representation type */
+    private transient Map<Class<?>, Object> payloadRepresentations;
+
+    /** Payload object the cached representations have been created from */
+    private transient Object representedPayload;
+
     /**
      * Empty constructor initializing with empty message payload.
      */
@@ -160,6 +168,31 @@ public class DefaultMessage implements Message {
     @Override
     public void setPayload(Object payload) {
         this.payload = payload;
+
+        synchronized (this) {
+            payloadRepresentations = null;
+            representedPayload = null;
+        }
+    }
+
+    @Override
+    public synchronized <T> T getPayloadRepresentation(Class<T> type, Function<Message, ? extends T> parser) {
+        Object currentPayload = getPayload();
+        if (payloadRepresentations == null || representedPayload != currentPayload) {
+            payloadRepresentations = new HashMap<>();
+            representedPayload = currentPayload;
+        }
+
+        Object representation = payloadRepresentations.get(type);
+        if (representation == null) {
+            representation = parser.apply(this);
+
+            if (representation != null) {
+                payloadRepresentations.put(type, representation);
+            }
+        }
+
+        return type.cast(representation);
     }
 
     @Override
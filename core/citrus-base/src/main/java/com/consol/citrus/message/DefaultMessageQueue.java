@@ -15,9 +15,20 @@
  */
 package com.consol.citrus.message;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
+import com.consol.citrus.message.selector.IndexableMessageSelector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,6 +36,10 @@ import org.slf4j.LoggerFactory;
  * Default message queue implementation. Holds queued messages in memory and adds selective consumption of messages
  * according to a message selector implementation.
  *
+ * Consumers waiting for a matching message are signaled as soon as a new message is sent to the queue. Selectors
+ * that match exact header values ({@link IndexableMessageSelector} such as selector expressions on message headers) are served from a header index that is built
+ * lazily for each header name used in a selector, so selective consumption does not need to scan all queued messages.
+ *
  * @author Christoph Deppisch
  */
 public class DefaultMessageQueue implements MessageQueue {
@@ -35,10 +50,22 @@ public class DefaultMessageQueue implements MessageQueue {
     /** Logger */
     private static final Logger RETRY_LOG = LoggerFactory.getLogger("com.consol.citrus.RetryLogger");
 
-    /** Blocking in memory message store */
-    private final BlockingQueue<Message> queue = new LinkedBlockingQueue<>();
+    /** In memory message store ordered by arrival sequence */
+    private final Map<Long, Message> messages = new LinkedHashMap<>();
+
+    /** Header index: header name -> header value -> message sequences in arrival order */
+    private final Map<String, Map<String, Set<Long>>> headerIndex = new HashMap<>();
+
+    /** Lock guarding message store and header index */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Signaled each time a new message arrives */
+    private final Condition messageArrived = lock.newCondition();
+
+    /** Sequence of last message sent to this queue */
+    private long sequence = 0L;
 
-    /** Polling interval when waiting for synchronous reply message to arrive */
+    /** Maximum time to wait for new messages before selectors are evaluated again on queued messages */
     private long pollingInterval = 500;
 
     /** Flag to enable/disable message logging */
@@ -46,16 +73,28 @@ public class DefaultMessageQueue implements MessageQueue {
 
     @Override
     public void send(Message message) {
-        this.queue.add(message);
+        lock.lock();
+        try {
+            long id = ++sequence;
+            messages.put(id, message);
+
+            for (Map.Entry<String, Map<String, Set<Long>>> index : headerIndex.entrySet()) {
+                for (String value : getIndexValues(message, index.getKey())) {
+                    index.getValue().computeIfAbsent(value, key -> new LinkedHashSet<>()).add(id);
+                }
+            }
+
+            messageArrived.signalAll();
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
     public Message receive(MessageSelector selector) {
-        Object[] array = this.queue.toArray();
-        for (Object o : array) {
-            Message message = (Message) o;
-            if (selector.accept(message) && this.queue.remove(message)) {
-                return message;
+        for (Map.Entry<Long, Message> candidate : getCandidates(selector)) {
+            if (selector.accept(candidate.getValue()) && remove(candidate.getKey())) {
+                return candidate.getValue();
             }
         }
 
@@ -64,23 +103,23 @@ public class DefaultMessageQueue implements MessageQueue {
 
     @Override
     public Message receive(MessageSelector selector, long timeout) {
-        long timeLeft = timeout;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        long lastSequence = getSequence();
         Message message = receive(selector);
 
-        while (message == null && timeLeft > 0) {
-            timeLeft -= pollingInterval;
-
-            if (RETRY_LOG.isDebugEnabled()) {
-                RETRY_LOG.debug("No message received with message selector - retrying in " +
-                        (timeLeft > 0 ? pollingInterval : pollingInterval + timeLeft) + "ms");
+        while (message == null) {
+            long timeLeft = deadline - System.nanoTime();
+            if (timeLeft <= 0) {
+                break;
             }
 
-            try {
-                Thread.sleep(timeLeft > 0 ? pollingInterval : pollingInterval + timeLeft);
-            } catch (InterruptedException e) {
-                RETRY_LOG.warn("Thread interrupted while waiting for retry", e);
+            long waitTime = Math.min(timeLeft, TimeUnit.MILLISECONDS.toNanos(pollingInterval));
+            if (RETRY_LOG.isDebugEnabled()) {
+                RETRY_LOG.debug("No message received with message selector - waiting " +
+                        TimeUnit.NANOSECONDS.toMillis(waitTime) + "ms for new messages");
             }
 
+            lastSequence = awaitMessage(lastSequence, waitTime);
             message = receive(selector);
         }
 
@@ -89,11 +128,10 @@ public class DefaultMessageQueue implements MessageQueue {
 
     @Override
     public void purge(MessageSelector selector) {
-        Object[] array = this.queue.toArray();
-        for (Object o : array) {
-            Message message = (Message) o;
+        for (Map.Entry<Long, Message> candidate : getCandidates(selector)) {
+            Message message = candidate.getValue();
             if (selector.accept(message)) {
-                if (this.queue.remove(message)) {
+                if (remove(candidate.getKey())) {
                     if (log.isDebugEnabled()) {
                         log.debug(String.format("Purged message '%s' from in memory queue", message.getId()));
                     }
@@ -104,6 +142,160 @@ public class DefaultMessageQueue implements MessageQueue {
         }
     }
 
+    /**
+     * Waits for new messages to arrive after given sequence. Returns immediately in case new messages have arrived in the meantime.
+     * @param lastSequence the message sequence known to the caller.
+     * @param waitTime maximum time to wait in nanoseconds.
+     * @return the current message sequence.
+     */
+    private long awaitMessage(long lastSequence, long waitTime) {
+        lock.lock();
+        try {
+            long nanos = waitTime;
+            while (sequence == lastSequence && nanos > 0) {
+                nanos = messageArrived.awaitNanos(nanos);
+            }
+
+            return sequence;
+        } catch (InterruptedException e) {
+            RETRY_LOG.warn("Thread interrupted while waiting for new messages", e);
+            Thread.currentThread().interrupt();
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets snapshot of queued messages that may be accepted by given selector in arrival order. Uses the header index
+     * when selector provides exact header values to match.
+     * @param selector
+     * @return
+     */
+    private List<Map.Entry<Long, Message>> getCandidates(MessageSelector selector) {
+        lock.lock();
+        try {
+            if (messages.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            Set<Long> indexed = null;
+            if (selector instanceof IndexableMessageSelector) {
+                for (Map.Entry<String, String> header : ((IndexableMessageSelector) selector).getIndexableHeaders().entrySet()) {
+                    Set<Long> matching = getHeaderIndex(header.getKey()).getOrDefault(header.getValue(), Collections.emptySet());
+                    if (indexed == null || matching.size() < indexed.size()) {
+                        indexed = matching;
+                    }
+                }
+            }
+
+            List<Map.Entry<Long, Message>> candidates = new ArrayList<>(indexed != null ? indexed.size() : messages.size());
+            if (indexed != null) {
+                for (Long id : indexed) {
+                    Message message = messages.get(id);
+                    if (message != null) {
+                        candidates.add(new AbstractMap.SimpleImmutableEntry<>(id, message));
+                    }
+                }
+            } else {
+                for (Map.Entry<Long, Message> entry : messages.entrySet()) {
+                    candidates.add(new AbstractMap.SimpleImmutableEntry<>(entry));
+                }
+            }
+
+            return candidates;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets header index for given header name. Index is built from all queued messages on first access.
+     * Caller must hold the lock.
+     * @param headerName
+     * @return
+     */
+    private Map<String, Set<Long>> getHeaderIndex(String headerName) {
+        return headerIndex.computeIfAbsent(headerName, name -> {
+            Map<String, Set<Long>> index = new HashMap<>();
+            for (Map.Entry<Long, Message> entry : messages.entrySet()) {
+                for (String value : getIndexValues(entry.getValue(), name)) {
+                    index.computeIfAbsent(value, key -> new LinkedHashSet<>()).add(entry.getKey());
+                }
+            }
+            return index;
+        });
+    }
+
+    /**
+     * Removes message with given sequence from store and header index.
+     * @param id
+     * @return true if message was removed by this call.
+     */
+    private boolean remove(Long id) {
+        lock.lock();
+        try {
+            Message message = messages.remove(id);
+            if (message == null) {
+                return false;
+            }
+
+            for (Map.Entry<String, Map<String, Set<Long>>> index : headerIndex.entrySet()) {
+                for (String value : getIndexValues(message, index.getKey())) {
+                    Set<Long> ids = index.getValue().get(value);
+                    if (ids != null) {
+                        ids.remove(id);
+                        if (ids.isEmpty()) {
+                            index.getValue().remove(value);
+                        }
+                    }
+                }
+            }
+
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the sequence of the last message sent to this queue.
+     * @return
+     */
+    private long getSequence() {
+        lock.lock();
+        try {
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets header values to index for given message and header name. Includes headers of nested message payloads as
+     * header matching selectors evaluate these, too.
+     * @param message
+     * @param headerName
+     * @return
+     */
+    private static List<String> getIndexValues(Message message, String headerName) {
+        List<String> values = new ArrayList<>(2);
+
+        Object value = message.getHeader(headerName);
+        if (value != null) {
+            values.add(value.toString());
+        }
+
+        if (message.getPayload() instanceof Message) {
+            Object nestedValue = ((Message) message.getPayload()).getHeader(headerName);
+            if (nestedValue != null) {
+                values.add(nestedValue.toString());
+            }
+        }
+
+        return values;
+    }
+
     /**
      * Gets the pollingInterval.
      * @return the pollingInterval the pollingInterval to get.
@@ -16,6 +16,15 @@
 
 package com.consol.citrus.message.correlation;
 
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import org.slf4j.Logger;
@@ -25,6 +34,10 @@ import org.slf4j.LoggerFactory;
  * Default correlation manager implementation works on simple in memory map for storing objects.
  * Correlation key is the map key. Clients can access objects in the store using the correlation key.
  *
+ * Subclasses may park callers on a correlation key with {@link #awaitSignal(String, CompletableFuture, long)}. The caller
+ * is woken up as soon as an object or a correlation key is stored with this key. Statistics on waiting callers are
+ * available via {@link #getWaitCount()}, {@link #getTimeoutCount()} and {@link #getAverageWaitTime()}.
+ *
  * @author Christoph Deppisch
  * @since 2.0
  */
@@ -36,6 +49,14 @@ public class DefaultCorrelationManager<T> implements CorrelationManager<T> {
     /** Map of managed objects */
     private ObjectStore<T> objectStore = new DefaultObjectStore<T>();
 
+    /** Signals for callers waiting on correlation keys */
+    private final Map<String, Signal> signals = new ConcurrentHashMap<>();
+
+    /** Wait statistics */
+    private final AtomicLong waitCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong totalWaitTime = new AtomicLong();
+
     @Override
     public void saveCorrelationKey(String correlationKeyName, String correlationKey, TestContext context) {
         if (log.isDebugEnabled()) {
@@ -43,6 +64,7 @@ public class DefaultCorrelationManager<T> implements CorrelationManager<T> {
         }
 
         context.setVariable(correlationKeyName, correlationKey);
+        signal(correlationKeyName);
     }
 
     @Override
@@ -70,6 +92,7 @@ public class DefaultCorrelationManager<T> implements CorrelationManager<T> {
         }
 
         objectStore.add(correlationKey, object);
+        signal(correlationKey);
     }
 
     @Override
@@ -81,6 +104,125 @@ public class DefaultCorrelationManager<T> implements CorrelationManager<T> {
         return objectStore.remove(correlationKey);
     }
 
+    /**
+     * Gets signal for given key that is completed with the next store operation on that key. Callers should check the
+     * object store after obtaining the signal in order to not miss store operations in the meantime. All callers waiting
+     * on the same key share the signal, each caller must release the signal once it is no longer needed.
+     * @param key the correlation key or correlation key name.
+     * @return
+     */
+    protected CompletableFuture<Boolean> getSignal(String key) {
+        return signals.compute(key, (k, signal) -> {
+            Signal waiting = Optional.ofNullable(signal).orElseGet(Signal::new);
+            waiting.waiters++;
+            return waiting;
+        }).future;
+    }
+
+    /**
+     * Waits for given signal to complete or the timeout to elapse.
+     * @param key the correlation key or correlation key name.
+     * @param signal the signal obtained before.
+     * @param timeout the time to wait in milliseconds.
+     * @return true if signal has been completed in time.
+     */
+    protected boolean awaitSignal(String key, CompletableFuture<Boolean> signal, long timeout) {
+        try {
+            return signal.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return false;
+        } catch (InterruptedException e) {
+            log.warn("Thread interrupted while waiting for correlated object", e);
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            releaseSignal(key, signal);
+        }
+    }
+
+    /**
+     * Releases signal that is no longer needed by the caller. The signal is removed when the last caller waiting
+     * on it has released it, other callers still waiting are woken up by the next store operation.
+     * @param key the correlation key or correlation key name.
+     * @param signal the signal obtained before.
+     */
+    protected void releaseSignal(String key, CompletableFuture<Boolean> signal) {
+        signals.computeIfPresent(key, (k, waiting) -> {
+            if (waiting.future != signal) {
+                return waiting;
+            }
+
+            return --waiting.waiters > 0 ? waiting : null;
+        });
+    }
+
+    /**
+     * Wakes up all callers waiting on given key.
+     * @param key
+     */
+    private void signal(String key) {
+        Signal signal = signals.remove(key);
+        if (signal != null) {
+            signal.future.complete(true);
+        }
+    }
+
+    /**
+     * Gets the number of correlation keys callers are currently waiting on.
+     * @return
+     */
+    int getSignalCount() {
+        return signals.size();
+    }
+
+    /**
+     * Signal shared by all callers waiting on the same key with the number of callers holding the signal.
+     * Only modified within atomic map operations.
+     */
+    private static final class Signal {
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        private int waiters;
+    }
+
+    /**
+     * Adds statistics for a caller that has been waiting for correlated objects.
+     * @param waitTime the time waited in milliseconds.
+     * @param timedOut whether the caller gave up without result.
+     */
+    protected void recordWait(long waitTime, boolean timedOut) {
+        waitCount.incrementAndGet();
+        totalWaitTime.addAndGet(waitTime);
+
+        if (timedOut) {
+            timeoutCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the number of callers that had to wait for correlated objects.
+     * @return
+     */
+    public long getWaitCount() {
+        return waitCount.get();
+    }
+
+    /**
+     * Gets the number of callers that gave up waiting without result.
+     * @return
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    /**
+     * Gets the average time in milliseconds callers have been waiting for correlated objects.
+     * @return
+     */
+    public double getAverageWaitTime() {
+        long waits = waitCount.get();
+        return waits > 0 ? (double) totalWaitTime.get() / waits : 0.0D;
+    }
+
     @Override
     public void setObjectStore(ObjectStore<T> store) {
         this.objectStore = store;
@@ -16,6 +16,8 @@
 
 package com.consol.citrus.message.correlation;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.endpoint.PollableEndpointConfiguration;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
@@ -23,8 +25,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Extension of default correlation manager adds polling mechanism for find operation on object store.
- * In case object is not found in store retry is automatically performed. Polling interval and overall retry timeout
+ * Extension of default correlation manager adds waiting mechanism for find operation on object store.
+ * In case object is not found in store the caller is parked on the correlation key until the object is stored or
+ * the overall timeout is reached. The store is checked again at least once per polling interval as a fallback for
+ * object stores that are filled by other means. Polling interval and overall retry timeout
  * is usually defined in endpoint configuration.
  *
  * @author Christoph Deppisch
@@ -72,24 +76,25 @@ public class PollingCorrelationManager<T> extends DefaultCorrelationManager<T> {
             correlationKey = context.getVariable(correlationKeyName);
         }
 
-        long timeLeft = 1000L;
+        long deadline = System.currentTimeMillis() + 1000L;
         long pollingInterval = 300L;
-        while (correlationKey == null && timeLeft > 0) {
-            timeLeft -= pollingInterval;
-
-            if (RETRY_LOG.isDebugEnabled()) {
-                RETRY_LOG.debug("Correlation key not available yet - retrying in " + (timeLeft > 0 ? pollingInterval : pollingInterval + timeLeft) + "ms");
+        while (correlationKey == null) {
+            CompletableFuture<Boolean> signal = getSignal(correlationKeyName);
+            if (context.getVariables().containsKey(correlationKeyName)) {
+                correlationKey = context.getVariable(correlationKeyName);
             }
 
-            try {
-                Thread.sleep(timeLeft > 0 ? pollingInterval : pollingInterval + timeLeft);
-            } catch (InterruptedException e) {
-                RETRY_LOG.warn("Thread interrupted while waiting for retry", e);
+            long timeLeft = deadline - System.currentTimeMillis();
+            if (correlationKey != null || timeLeft <= 0) {
+                releaseSignal(correlationKeyName, signal);
+                break;
             }
 
-            if (context.getVariables().containsKey(correlationKeyName)) {
-                correlationKey = context.getVariable(correlationKeyName);
+            if (RETRY_LOG.isDebugEnabled()) {
+                RETRY_LOG.debug("Correlation key not available yet - waiting up to " + Math.min(timeLeft, pollingInterval) + "ms");
             }
+
+            awaitSignal(correlationKeyName, signal, Math.min(timeLeft, pollingInterval));
         }
 
         if (correlationKey == null) {
@@ -101,25 +106,32 @@ public class PollingCorrelationManager<T> extends DefaultCorrelationManager<T> {
 
     @Override
     public T find(String correlationKey, long timeout) {
-        long timeLeft = timeout;
         long pollingInterval = endpointConfiguration.getPollingInterval();
-
-        T stored = super.find(correlationKey, timeLeft);
-
-        while (stored == null && timeLeft > 0) {
-            timeLeft -= pollingInterval;
+        long start = System.currentTimeMillis();
+        long deadline = start + timeout;
+        boolean waited = false;
+
+        T stored;
+        while (true) {
+            CompletableFuture<Boolean> signal = getSignal(correlationKey);
+            stored = super.find(correlationKey, Math.max(deadline - System.currentTimeMillis(), 0L));
+
+            long timeLeft = deadline - System.currentTimeMillis();
+            if (stored != null || timeLeft <= 0) {
+                releaseSignal(correlationKey, signal);
+                break;
+            }
 
             if (RETRY_LOG.isDebugEnabled()) {
-                RETRY_LOG.debug(retryLogMessage + " - retrying in " + (timeLeft > 0 ? pollingInterval : pollingInterval + timeLeft) + "ms");
+                RETRY_LOG.debug(retryLogMessage + " - waiting up to " + Math.min(timeLeft, pollingInterval) + "ms");
             }
 
-            try {
-                Thread.sleep(timeLeft > 0 ? pollingInterval : pollingInterval + timeLeft);
-            } catch (InterruptedException e) {
-                RETRY_LOG.warn("Thread interrupted while waiting for retry", e);
-            }
+            waited = true;
+            awaitSignal(correlationKey, signal, Math.min(timeLeft, pollingInterval));
+        }
 
-            stored = super.find(correlationKey, timeLeft);
+        if (waited) {
+            recordWait(System.currentTimeMillis() - start, stored == null);
         }
 
         return stored;
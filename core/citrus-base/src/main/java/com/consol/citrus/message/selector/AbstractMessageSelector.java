@@ -16,11 +16,15 @@
 
 package com.consol.citrus.message.selector;
 
+import java.util.function.Function;
+
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.ValidationException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.message.MessageSelector;
+import com.consol.citrus.util.XMLUtils;
 import com.consol.citrus.validation.matcher.ValidationMatcherUtils;
+import org.w3c.dom.Document;
 
 /**
  * @author Christoph Deppisch
@@ -60,6 +64,23 @@ public abstract class AbstractMessageSelector implements MessageSelector {
         }
     }
 
+    /**
+     * Reads message payload as DOM document either from message object directly or from nested Citrus message representation.
+     * Parsed document is cached on the message so other selectors and validators reuse the parse result. Reader receives
+     * the cached document and must not modify it.
+     * @param message
+     * @param reader
+     * @param <T>
+     * @return the reader result.
+     */
+    <T> T readPayloadAsDocument(Message message, Function<Document, T> reader) {
+        if (message.getPayload() instanceof Message) {
+            return XMLUtils.readPayloadDocument((Message) message.getPayload(), reader);
+        } else {
+            return XMLUtils.readDocument(message.getPayloadRepresentation(Document.class, m -> XMLUtils.parseMessagePayload(getPayloadAsString(m))), reader);
+        }
+    }
+
     /**
      * Evaluates given value to match this selectors matching condition. Automatically supports validation matcher expressions.
      * @param value
@@ -17,13 +17,14 @@
 package com.consol.citrus.message.selector;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.message.Message;
-import com.consol.citrus.message.MessageSelector;
 import com.consol.citrus.message.MessageSelectorBuilder;
+import com.consol.citrus.validation.matcher.ValidationMatcherUtils;
 import org.springframework.util.Assert;
 
 /**
@@ -33,7 +34,7 @@ import org.springframework.util.Assert;
  * @author Christoph Deppisch
  * @since 3.0
  */
-public class DelegatingMessageSelector implements MessageSelector {
+public class DelegatingMessageSelector implements IndexableMessageSelector {
 
     /** List of header elements to match */
     private final Map<String, String> matchingHeaders;
@@ -75,6 +76,22 @@ public class DelegatingMessageSelector implements MessageSelector {
                                                      .accept(message));
     }
 
+    @Override
+    public Map<String, String> getIndexableHeaders() {
+        Map<String, String> indexableHeaders = new LinkedHashMap<>();
+
+        for (Map.Entry<String, String> entry : matchingHeaders.entrySet()) {
+            boolean headerMatching = factories.stream().noneMatch(factory -> factory.supports(entry.getKey()));
+            if (headerMatching && !ValidationMatcherUtils.isValidationMatcherExpression(entry.getValue())) {
+                String headerName = entry.getKey().startsWith(HeaderMatchingMessageSelector.SELECTOR_PREFIX) ?
+                        entry.getKey().substring(HeaderMatchingMessageSelector.SELECTOR_PREFIX.length()) : entry.getKey();
+                indexableHeaders.put(headerName, entry.getValue());
+            }
+        }
+
+        return indexableHeaders;
+    }
+
     /**
      * Add message selector factory to list of delegates.
      * @param factory
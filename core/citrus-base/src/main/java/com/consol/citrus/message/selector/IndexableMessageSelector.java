@@ -0,0 +1,39 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message.selector;
+
+import java.util.Map;
+
+import com.consol.citrus.message.MessageSelector;
+
+/**
+ * Message selector that requires exact header values on accepted messages. Message queues may use these header
+ * values to look up candidate messages in a header index instead of scanning all queued messages. The selector is still
+ * asked to accept each candidate so the index only narrows down the messages to evaluate.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public interface IndexableMessageSelector extends MessageSelector {
+
+    /**
+     * Gets header names and exact header values that every accepted message must match. Header expressions
+     * that are not plain values (e.g. validation matchers) must not be part of this map.
+     * @return
+     */
+    Map<String, String> getIndexableHeaders();
+}
@@ -20,13 +20,11 @@ import javax.xml.namespace.QName;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
-import com.consol.citrus.util.XMLUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 import org.springframework.xml.namespace.QNameUtils;
-import org.w3c.dom.Document;
 import org.w3c.dom.ls.LSException;
 
 /**
@@ -64,20 +62,18 @@ public class RootQNameMessageSelector extends AbstractMessageSelector {
 
     @Override
     public boolean accept(Message message) {
-        Document doc;
-
         try {
-            doc = XMLUtils.parseMessagePayload(getPayloadAsString(message));
+            return readPayloadAsDocument(message, doc -> {
+                if (StringUtils.hasText(rootQName.getNamespaceURI())) {
+                    return rootQName.equals(QNameUtils.getQNameForNode(doc.getFirstChild()));
+                } else {
+                    return rootQName.getLocalPart().equals(doc.getFirstChild().getLocalName());
+                }
+            });
         } catch (LSException e) {
             log.warn("Root QName message selector ignoring not well-formed XML message payload", e);
             return false; // non XML message - not accepted
         }
-
-        if (StringUtils.hasText(rootQName.getNamespaceURI())) {
-            return rootQName.equals(QNameUtils.getQNameForNode(doc.getFirstChild()));
-        } else {
-            return rootQName.getLocalPart().equals(doc.getFirstChild().getLocalName());
-        }
     }
 
     /**
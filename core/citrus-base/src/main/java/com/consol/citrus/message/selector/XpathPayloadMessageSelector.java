@@ -15,16 +15,17 @@
  */
 package com.consol.citrus.message.selector;
 
+import javax.xml.xpath.XPathConstants;
 import java.util.Map;
 
 import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.util.XMLUtils;
 import com.consol.citrus.xml.xpath.XPathUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.xml.xpath.XPathExpressionFactory;
-import org.springframework.xml.xpath.XPathParseException;
+import org.springframework.util.xml.SimpleNamespaceContext;
 import org.w3c.dom.Document;
 import org.w3c.dom.ls.LSException;
 
@@ -55,33 +56,38 @@ public class XpathPayloadMessageSelector extends AbstractMessageSelector {
 
     @Override
     public boolean accept(Message message) {
-        Document doc;
-
         try {
-            doc = XMLUtils.parseMessagePayload(getPayloadAsString(message));
+            return readPayloadAsDocument(message, this::accept);
         } catch (LSException e) {
             log.warn("Ignoring non XML message for XPath message selector (" + e.getClass().getName() + ")");
             return false; // non XML message - not accepted
         }
+    }
 
+    /**
+     * Evaluates the XPath expression on given message payload document.
+     * @param doc
+     * @return
+     */
+    private boolean accept(Document doc) {
         try {
             Map<String, String> namespaces = XMLUtils.lookupNamespaces(doc);
 
             // add default namespace mappings
             namespaces.putAll(context.getNamespaceContextBuilder().getNamespaceMappings());
 
-            String value;
+            String expression = selectKey;
             if (XPathUtils.hasDynamicNamespaces(selectKey)) {
                 namespaces.putAll(XPathUtils.getDynamicNamespaces(selectKey));
-                value = XPathExpressionFactory.createXPathExpression(XPathUtils.replaceDynamicNamespaces(selectKey, namespaces), namespaces)
-                        .evaluateAsString(doc);
-            } else {
-                value = XPathExpressionFactory.createXPathExpression(selectKey, namespaces)
-                        .evaluateAsString(doc);
+                expression = XPathUtils.replaceDynamicNamespaces(selectKey, namespaces);
             }
 
+            SimpleNamespaceContext namespaceContext = new SimpleNamespaceContext();
+            namespaceContext.setBindings(namespaces);
+
+            String value = (String) XPathUtils.evaluateExpression(doc, expression, namespaceContext, XPathConstants.STRING);
             return evaluate(value);
-        } catch (XPathParseException e) {
+        } catch (CitrusRuntimeException e) {
             log.warn("Could not evaluate XPath expression for message selector - ignoring message (" + e.getClass().getName() + ")");
             return false; // wrong XML message - not accepted
         }
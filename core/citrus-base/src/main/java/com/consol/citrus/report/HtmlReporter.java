@@ -21,14 +21,14 @@ import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.text.DateFormat;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
 import java.util.Properties;
 
 import com.consol.citrus.TestCase;
 import com.consol.citrus.TestCaseMetaInfo;
+import com.consol.citrus.TestResult;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.util.FileUtils;
 import com.consol.citrus.util.PropertyUtils;
@@ -39,7 +39,9 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.util.StringUtils;
 
 /**
- * Basic logging reporter generating a HTML report with detailed test results.
+ * Basic logging reporter generating a HTML report with detailed test results. As test listener the reporter
+ * appends rendered test details to a temporary report fragment as soon as tests are finished. Report generation then
+ * streams these details into the report file and adds the result totals.
  *
  * @author Philipp Komninos, Christoph Deppisch
  */
@@ -48,8 +50,11 @@ public class HtmlReporter extends AbstractOutputFileReporter implements TestList
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(HtmlReporter.class);
 
-    /** Map holding additional information of test cases */
-    private Map<String, ResultDetail> details = new HashMap<>();
+    /** Rendered test details appended as tests are finished */
+    private ReportFragment details = new ReportFragment();
+
+    /** Cached test detail template content */
+    private String testDetails;
 
     /** Static resource for the HTML test report template */
     private String reportTemplate = HtmlReporterSettings.getReportTemplate();
@@ -74,35 +79,35 @@ public class HtmlReporter extends AbstractOutputFileReporter implements TestList
 
     @Override
     public String getReportContent(TestResults testResults) {
-        final StringBuilder reportDetails = new StringBuilder();
+        StringWriter writer = new StringWriter();
+
+        try {
+            writeReportContent(testResults, writer);
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to generate HTML test report", e);
+        }
 
+        return writer.toString();
+    }
+
+    /**
+     * Writes the report by streaming the test details appended so far. Test details are matched to the given test results
+     * by test name. Test results the reporter has not received as test listener get rendered from the test result instead.
+     * @param testResults
+     * @param writer
+     * @throws IOException
+     */
+    @Override
+    protected void writeReportContent(TestResults testResults, Writer writer) throws IOException {
         log.debug("Generating HTML test report");
 
-        try {
-            final String testDetails = FileUtils.readToString(FileUtils.getFileResource(testDetailTemplate));
-            final String emptyString = "";
-
-            testResults.doWithResults(result -> {
-                ResultDetail detail = Optional.ofNullable(details.get(result.getTestName())).orElse(new ResultDetail());
-
-                Properties detailProps = new Properties();
-                detailProps.put("test.style.class", result.getResult().toLowerCase());
-                detailProps.put("test.case.name", result.getTestName());
-                detailProps.put("test.author", !StringUtils.hasText(detail.getMetaInfo().getAuthor()) ? emptyString : detail.getMetaInfo().getAuthor());
-                detailProps.put("test.status", detail.getMetaInfo().getStatus().toString());
-                detailProps.put("test.creation.date", detail.getMetaInfo().getCreationDate() == null ? emptyString : dateFormat.format(detail.getMetaInfo().getCreationDate()));
-                detailProps.put("test.updater", !StringUtils.hasText(detail.getMetaInfo().getLastUpdatedBy()) ? emptyString : detail.getMetaInfo().getLastUpdatedBy());
-                detailProps.put("test.update.date", detail.getMetaInfo().getLastUpdatedOn() == null ? emptyString : dateFormat.format(detail.getMetaInfo().getLastUpdatedOn()));
-                detailProps.put("test.description", !StringUtils.hasText(detail.getDescription()) ? emptyString : detail.getDescription());
-                detailProps.put("test.result", result.getResult());
-
-                reportDetails.append(PropertyUtils.replacePropertiesInString(testDetails, detailProps));
-
-                if (result.isFailed() && result.getCause() != null) {
-                    reportDetails.append(getStackTraceHtml(result.getCause()));
-                }
-            });
+        ReportFragment reportDetails;
+        synchronized (this) {
+            reportDetails = details;
+            details = new ReportFragment();
+        }
 
+        try {
             Properties reportProps = new Properties();
             reportProps.put("test.cnt", Integer.toString(testResults.getSize()));
             reportProps.put("skipped.test.cnt", Integer.toString(testResults.getSkipped()));
@@ -111,12 +116,75 @@ public class HtmlReporter extends AbstractOutputFileReporter implements TestList
             reportProps.put("failed.test.pct", testResults.getFailedPercentage());
             reportProps.put("success.test.cnt", Integer.toString(testResults.getSuccess()));
             reportProps.put("success.test.pct", testResults.getSuccessPercentage());
-            reportProps.put("test.results", reportDetails.toString());
             reportProps.put("logo.data", getLogoImageData());
-            return PropertyUtils.replacePropertiesInString(FileUtils.readToString(FileUtils.getFileResource(reportTemplate)), reportProps);
-        } catch (IOException e) {
-            throw new CitrusRuntimeException("Failed to generate HTML test report", e);
+
+            reportDetails.writeReport(writer, FileUtils.readToString(FileUtils.getFileResource(reportTemplate)), "test.results", reportProps,
+                    testResults.asList(), result -> createTestDetail(result, new ResultDetail()));
+        } finally {
+            reportDetails.delete();
+        }
+    }
+
+    /**
+     * Renders the test detail.
+     * @param result
+     * @param detail
+     * @return
+     */
+    private String createTestDetail(TestResult result, ResultDetail detail) {
+        final String emptyString = "";
+
+        Properties detailProps = new Properties();
+        detailProps.put("test.style.class", result.getResult().toLowerCase());
+        detailProps.put("test.case.name", result.getTestName());
+        detailProps.put("test.author", !StringUtils.hasText(detail.getMetaInfo().getAuthor()) ? emptyString : detail.getMetaInfo().getAuthor());
+        detailProps.put("test.status", detail.getMetaInfo().getStatus().toString());
+        detailProps.put("test.creation.date", detail.getMetaInfo().getCreationDate() == null ? emptyString : dateFormat.format(detail.getMetaInfo().getCreationDate()));
+        detailProps.put("test.updater", !StringUtils.hasText(detail.getMetaInfo().getLastUpdatedBy()) ? emptyString : detail.getMetaInfo().getLastUpdatedBy());
+        detailProps.put("test.update.date", detail.getMetaInfo().getLastUpdatedOn() == null ? emptyString : dateFormat.format(detail.getMetaInfo().getLastUpdatedOn()));
+        detailProps.put("test.description", !StringUtils.hasText(detail.getDescription()) ? emptyString : detail.getDescription());
+        detailProps.put("test.result", result.getResult());
+
+        StringBuilder content = new StringBuilder(PropertyUtils.replacePropertiesInString(getTestDetails(), detailProps));
+        if (result.isFailed() && result.getCause() != null) {
+            content.append(getStackTraceHtml(result.getCause()));
+        }
+
+        return content.toString();
+    }
+
+    /**
+     * Adds test result to the report details that are written to disk as the tests are finished.
+     * @param test
+     * @param result
+     */
+    private void appendDetail(TestCase test, TestResult result) {
+        if (!enabled) {
+            return;
+        }
+
+        ReportFragment fragment;
+        synchronized (this) {
+            fragment = details;
         }
+
+        fragment.append(result, createTestDetail(result, ResultDetail.build(test)));
+    }
+
+    /**
+     * Gets the test detail template content. Template is read once and cached.
+     * @return
+     */
+    private String getTestDetails() {
+        if (testDetails == null) {
+            try {
+                testDetails = FileUtils.readToString(FileUtils.getFileResource(testDetailTemplate));
+            } catch (IOException e) {
+                throw new CitrusRuntimeException("Failed to read HTML test detail template", e);
+            }
+        }
+
+        return testDetails;
     }
 
     /**
@@ -256,17 +324,17 @@ public class HtmlReporter extends AbstractOutputFileReporter implements TestList
 
     @Override
     public void onTestSuccess(TestCase test) {
-        details.put(test.getName(), ResultDetail.build(test));
+        appendDetail(test, TestResult.success(test.getName(), test.getTestClass().getName()));
     }
 
     @Override
     public void onTestFailure(TestCase test, Throwable cause) {
-        details.put(test.getName(), ResultDetail.build(test));
+        appendDetail(test, TestResult.failed(test.getName(), test.getTestClass().getName(), cause));
     }
 
     @Override
     public void onTestSkipped(TestCase test) {
-        details.put(test.getName(), ResultDetail.build(test));
+        appendDetail(test, TestResult.skipped(test.getName(), test.getTestClass().getName()));
     }
 
     /**
@@ -341,6 +409,7 @@ public class HtmlReporter extends AbstractOutputFileReporter implements TestList
      */
     public void setTestDetailTemplate(String testDetailTemplate) {
         this.testDetailTemplate = testDetailTemplate;
+        this.testDetails = null;
     }
 
     /**
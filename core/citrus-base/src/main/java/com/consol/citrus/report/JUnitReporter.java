@@ -16,19 +16,21 @@
 
 package com.consol.citrus.report;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.io.Writer;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.stream.Collectors;
 
+import com.consol.citrus.TestCase;
 import com.consol.citrus.TestResult;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.util.FileUtils;
@@ -39,10 +41,14 @@ import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
 
 /**
+ * Reporter generating JUnit XML reports for the test suite and each test class. As test listener the reporter appends
+ * rendered test results to temporary report fragments as soon as tests are finished. Report generation then streams
+ * these fragments into the report files and adds the result totals.
+ *
  * @author Christoph Deppisch
  * @since 2.7.5
  */
-public class JUnitReporter extends AbstractTestReporter {
+public class JUnitReporter extends AbstractTestReporter implements TestListener {
 
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(JUnitReporter.class);
@@ -68,98 +74,143 @@ public class JUnitReporter extends AbstractTestReporter {
     /** Enables/disables report generation */
     private boolean enabled = JUnitReporterSettings.isReportEnabled();
 
+    /** Rendered test results appended as tests are finished */
+    private ReportFragment renderedResults = new ReportFragment();
+
+    /** Report template contents */
+    private ReportTemplates reportTemplates = new ReportTemplates();
+
     @Override
     public void generate(TestResults testResults) {
-        if (isEnabled()) {
-            ReportTemplates reportTemplates = new ReportTemplates();
-
-            log.debug("Generating JUnit test report");
+        ReportFragment renderedResults;
+        synchronized (this) {
+            renderedResults = this.renderedResults;
+            this.renderedResults = new ReportFragment();
+        }
 
-            try {
-                List<TestResult> results = testResults.asList();
-                createReportFile(String.format(reportFileNamePattern, suiteName), createReportContent(suiteName, results, reportTemplates), new File(getReportDirectory()));
+        try {
+            if (isEnabled()) {
+                log.debug("Generating JUnit test report");
 
-                Map<String, List<TestResult>> groupedResults = new HashMap<>();
-                for(TestResult result : results) {
-                    if (!groupedResults.containsKey(result.getClassName())) {
-                        groupedResults.put(result.getClassName(), new ArrayList<>());
-                    }
+                List<TestResult> suiteResults = testResults.asList();
+                createReportFile(String.format(reportFileNamePattern, suiteName), suiteName, renderedResults, suiteResults, new File(getReportDirectory()));
 
-                    groupedResults.get(result.getClassName()).add(result);
-                }
+                Map<String, List<TestResult>> classResults = suiteResults.stream()
+                        .collect(Collectors.groupingBy(TestResult::getClassName, LinkedHashMap::new, Collectors.toList()));
 
                 File targetDirectory = new File(getReportDirectory() + (StringUtils.hasText(outputDirectory) ? File.separator + outputDirectory : ""));
-                for (Map.Entry<String, List<TestResult>> resultEntry : groupedResults.entrySet()) {
-                    createReportFile(String.format(reportFileNamePattern, resultEntry.getKey()), createReportContent(resultEntry.getKey(), resultEntry.getValue(), reportTemplates), targetDirectory);
+                for (Map.Entry<String, List<TestResult>> resultEntry : classResults.entrySet()) {
+                    createReportFile(String.format(reportFileNamePattern, resultEntry.getKey()), resultEntry.getKey(), renderedResults, resultEntry.getValue(), targetDirectory);
                 }
-            } catch (IOException e) {
-                throw new CitrusRuntimeException("Failed to generate JUnit test report", e);
             }
+        } finally {
+            renderedResults.delete();
         }
     }
 
     /**
-     * Create report file for test class.
-     * @param suiteName
-     * @param results
-     * @param templates
-     * @return
+     * Renders the test result and appends it to the report fragment.
+     * @param result
      */
-    private String createReportContent(String suiteName, List<TestResult> results, ReportTemplates templates) throws IOException {
-        final StringBuilder reportDetails = new StringBuilder();
-
-        for (TestResult result: results) {
-            Properties detailProps = new Properties();
-            detailProps.put("test.class", result.getClassName());
-            detailProps.put("test.name", StringEscapeUtils.escapeXml(result.getTestName()));
-            detailProps.put("test.duration", "0.0");
-
-            if (result.isFailed()) {
-                detailProps.put("test.error.cause", Optional.ofNullable(result.getCause()).map(Object::getClass).map(Class::getName).orElse(result.getFailureType()));
-                detailProps.put("test.error.msg", StringEscapeUtils.escapeXml(result.getErrorMessage()));
-                detailProps.put("test.error.stackTrace", Optional.ofNullable(result.getCause()).map(cause -> {
-                    StringWriter writer = new StringWriter();
-                    cause.printStackTrace(new PrintWriter(writer));
-                    return writer.toString();
-                }).orElse(result.getFailureStack()));
-                reportDetails.append(PropertyUtils.replacePropertiesInString(templates.getFailedTemplate(), detailProps));
-            } else {
-                reportDetails.append(PropertyUtils.replacePropertiesInString(templates.getSuccessTemplate(), detailProps));
-            }
+    private void appendResult(TestResult result) {
+        if (!isEnabled()) {
+            return;
         }
 
-        Properties reportProps = new Properties();
-        reportProps.put("test.suite", suiteName);
-        reportProps.put("test.cnt", Integer.toString(results.size()));
-        reportProps.put("test.skipped.cnt", Long.toString(results.stream().filter(TestResult::isSkipped).count()));
-        reportProps.put("test.failed.cnt", Long.toString(results.stream().filter(TestResult::isFailed).count()));
-        reportProps.put("test.success.cnt", Long.toString(results.stream().filter(TestResult::isSuccess).count()));
-        reportProps.put("test.error.cnt", "0");
-        reportProps.put("test.duration", "0.0");
-        reportProps.put("tests", reportDetails.toString());
-        return PropertyUtils.replacePropertiesInString(templates.getReportTemplate(), reportProps);
+        ReportFragment fragment;
+        synchronized (this) {
+            fragment = renderedResults;
+        }
+
+        fragment.append(result, createTestContent(result));
+    }
+
+    /**
+     * Create report content for single test result.
+     * @param result
+     * @return
+     */
+    private String createTestContent(TestResult result) {
+        Properties detailProps = new Properties();
+        detailProps.put("test.class", result.getClassName());
+        detailProps.put("test.name", StringEscapeUtils.escapeXml(result.getTestName()));
+        detailProps.put("test.duration", "0.0");
+
+        if (result.isFailed()) {
+            detailProps.put("test.error.cause", Optional.ofNullable(result.getCause()).map(Object::getClass).map(Class::getName).orElse(result.getFailureType()));
+            detailProps.put("test.error.msg", StringEscapeUtils.escapeXml(result.getErrorMessage()));
+            detailProps.put("test.error.stackTrace", Optional.ofNullable(result.getCause()).map(cause -> {
+                StringWriter writer = new StringWriter();
+                cause.printStackTrace(new PrintWriter(writer));
+                return writer.toString();
+            }).orElse(result.getFailureStack()));
+            return PropertyUtils.replacePropertiesInString(reportTemplates.getFailedTemplate(), detailProps);
+        } else {
+            return PropertyUtils.replacePropertiesInString(reportTemplates.getSuccessTemplate(), detailProps);
+        }
     }
 
     /**
-     * Creates the JUnit report file
+     * Creates the JUnit report file streaming the rendered test results from given report fragment. Test results are
+     * matched by test name, results missing in the fragment get rendered.
      * @param reportFileName The report file to write
-     * @param content The String content of the report file
+     * @param suiteName The test suite name
+     * @param renderedResults The report fragment holding the rendered test results
+     * @param results The test results to write
+     * @param targetDirectory The report output directory
      */
-    private void createReportFile(String reportFileName, String content, File targetDirectory) {
+    private void createReportFile(String reportFileName, String suiteName, ReportFragment renderedResults, List<TestResult> results, File targetDirectory) {
         if (!targetDirectory.exists()) {
             if (!targetDirectory.mkdirs()) {
                 throw new CitrusRuntimeException("Unable to create report output directory: " + getReportDirectory() + (StringUtils.hasText(outputDirectory) ? "/" + outputDirectory : ""));
             }
         }
 
-        try (Writer fileWriter = new FileWriter(new File(targetDirectory, reportFileName))) {
-            fileWriter.append(content);
+        Properties reportProps = new Properties();
+        reportProps.put("test.suite", suiteName);
+        reportProps.put("test.cnt", Integer.toString(results.size()));
+        reportProps.put("test.skipped.cnt", Long.toString(results.stream().filter(TestResult::isSkipped).count()));
+        reportProps.put("test.failed.cnt", Long.toString(results.stream().filter(TestResult::isFailed).count()));
+        reportProps.put("test.success.cnt", Long.toString(results.stream().filter(TestResult::isSuccess).count()));
+        reportProps.put("test.error.cnt", "0");
+        reportProps.put("test.duration", "0.0");
+
+        try (Writer fileWriter = new BufferedWriter(new FileWriter(new File(targetDirectory, reportFileName)))) {
+            renderedResults.writeReport(fileWriter, reportTemplates.getReportTemplate(), "tests", reportProps, results, this::createTestContent);
             fileWriter.flush();
         } catch (IOException e) {
             log.error("Failed to create test report", e);
         }
     }
 
+    @Override
+    public void onTestStart(TestCase test) {
+        // do nothing
+    }
+
+    @Override
+    public void onTestFinish(TestCase test) {
+        // do nothing
+    }
+
+    @Override
+    public void onTestSuccess(TestCase test) {
+        appendResult(TestResult.success(test.getName(), test.getTestClass().getName()));
+    }
+
+    @Override
+    public void onTestFailure(TestCase test, Throwable cause) {
+        appendResult(TestResult.failed(test.getName(), test.getTestClass().getName(), cause));
+    }
+
+    @Override
+    public void onTestSkipped(TestCase test) {
+        appendResult(TestResult.skipped(test.getName(), test.getTestClass().getName()));
+    }
+
+    /**
+     * Lazily loaded report template contents.
+     */
     private class ReportTemplates {
 
         private String reportTemplateContent;
@@ -171,9 +222,9 @@ public class JUnitReporter extends AbstractTestReporter {
          *
          * @return
          */
-        public String getReportTemplate() throws IOException {
+        public String getReportTemplate() {
             if (reportTemplateContent == null) {
-                reportTemplateContent = FileUtils.readToString(FileUtils.getFileResource(reportTemplate));
+                reportTemplateContent = readTemplate(reportTemplate);
             }
 
             return reportTemplateContent;
@@ -184,9 +235,9 @@ public class JUnitReporter extends AbstractTestReporter {
          *
          * @return
          */
-        public String getSuccessTemplate() throws IOException {
+        public String getSuccessTemplate() {
             if (successTemplateContent == null) {
-                successTemplateContent = FileUtils.readToString(FileUtils.getFileResource(successTemplate));
+                successTemplateContent = readTemplate(successTemplate);
             }
 
             return successTemplateContent;
@@ -197,13 +248,21 @@ public class JUnitReporter extends AbstractTestReporter {
          *
          * @return
          */
-        public String getFailedTemplate() throws IOException {
+        public String getFailedTemplate() {
             if (failedTemplateContent == null) {
-                failedTemplateContent = FileUtils.readToString(FileUtils.getFileResource(failedTemplate));
+                failedTemplateContent = readTemplate(failedTemplate);
             }
 
             return failedTemplateContent;
         }
+
+        private String readTemplate(String template) {
+            try {
+                return FileUtils.readToString(FileUtils.getFileResource(template));
+            } catch (IOException e) {
+                throw new CitrusRuntimeException("Failed to read JUnit report template: " + template, e);
+            }
+        }
     }
 
     /**
@@ -258,6 +317,7 @@ public class JUnitReporter extends AbstractTestReporter {
      */
     public void setReportTemplate(String reportTemplate) {
         this.reportTemplate = reportTemplate;
+        this.reportTemplates = new ReportTemplates();
     }
 
     /**
@@ -294,6 +354,7 @@ public class JUnitReporter extends AbstractTestReporter {
      */
     public void setSuccessTemplate(String successTemplate) {
         this.successTemplate = successTemplate;
+        this.reportTemplates = new ReportTemplates();
     }
 
     /**
@@ -312,6 +373,7 @@ public class JUnitReporter extends AbstractTestReporter {
      */
     public void setFailedTemplate(String failedTemplate) {
         this.failedTemplate = failedTemplate;
+        this.reportTemplates = new ReportTemplates();
     }
 
     /**
@@ -0,0 +1,375 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.report;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.GZIPOutputStream;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append only writer streaming message traces to the file system. All file operations run in a single background
+ * writer thread so callers only enqueue the trace content. Queue is bounded so callers are slowed down in case the
+ * writer thread can not keep up with the traced messages.
+ *
+ * Trace files may be compressed and rotated as soon as the trace file exceeds a given size in bytes. Content is flushed to
+ * the file in batches, when the writer thread runs out of pending tasks and when the trace is closed. Flushing compressed
+ * traces less often keeps the compression ratio and throughput. Traces close to the max file size are flushed in order to
+ * measure the file size in bytes before the content is appended.
+ *
+ * Write failures stop the trace. The first failure is reported once when the trace is closed.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public class MessageTraceWriter {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(MessageTraceWriter.class);
+
+    /** Default number of pending write tasks */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    /** Max number of write tasks run before the traces are flushed */
+    private static final int FLUSH_BATCH_SIZE = 100;
+
+    /** Pending write tasks */
+    private final BlockingQueue<Runnable> tasks;
+
+    /** Traces with content that has not been flushed yet, only accessed by the writer thread */
+    private final Set<Trace> unflushedTraces = new LinkedHashSet<>();
+
+    /** Compress trace files with gzip */
+    private boolean compress = false;
+
+    /** Max number of bytes written to a single trace file - zero or less disables rotation */
+    private long maxFileSize = 0L;
+
+    /** Background writer thread */
+    private Thread writerThread;
+
+    /**
+     * Default constructor.
+     */
+    public MessageTraceWriter() {
+        this(DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Constructor using max number of pending write tasks.
+     * @param queueCapacity
+     */
+    public MessageTraceWriter(int queueCapacity) {
+        this.tasks = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Opens new trace writing to given file. File is created by the writer thread with the first append operation.
+     * @param file
+     * @return
+     */
+    public Trace open(File file) {
+        return new Trace(file);
+    }
+
+    /**
+     * Adds task to the queue. Blocks as long as the queue is full.
+     * @param task
+     */
+    private void submit(Runnable task) {
+        startWriterThread();
+
+        try {
+            tasks.put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while writing message trace", e);
+        }
+    }
+
+    /**
+     * Lazily starts the background writer thread.
+     */
+    private synchronized void startWriterThread() {
+        if (writerThread == null) {
+            writerThread = new Thread(() -> {
+                int batch = 0;
+                while (!Thread.currentThread().isInterrupted()) {
+                    try {
+                        Runnable task = tasks.poll();
+                        if (task == null || batch >= FLUSH_BATCH_SIZE) {
+                            flushTraces();
+                            batch = 0;
+                        }
+
+                        if (task == null) {
+                            task = tasks.take();
+                        }
+
+                        task.run();
+                        batch++;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (RuntimeException e) {
+                        log.warn("Failed to write message trace", e);
+                    }
+                }
+            }, "citrus-message-trace-writer");
+            writerThread.setDaemon(true);
+            writerThread.start();
+        }
+    }
+
+    /**
+     * Flushes all traces with unflushed content. Only called by the writer thread.
+     */
+    private void flushTraces() {
+        for (Trace trace : unflushedTraces.toArray(new Trace[0])) {
+            trace.flush();
+        }
+    }
+
+    /**
+     * Gets the number of pending write tasks.
+     * @return
+     */
+    public int getPendingCount() {
+        return tasks.size();
+    }
+
+    /**
+     * Sets the compress flag.
+     * @param compress
+     */
+    public void setCompress(boolean compress) {
+        this.compress = compress;
+    }
+
+    /**
+     * Gets the compress flag.
+     * @return
+     */
+    public boolean isCompress() {
+        return compress;
+    }
+
+    /**
+     * Sets the max number of bytes written to a single trace file. Compressed trace files are rotated by their compressed size.
+     * Zero or less disables rotation.
+     * @param maxFileSize
+     */
+    public void setMaxFileSize(long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    /**
+     * Gets the max number of bytes written to a single trace file.
+     * @return
+     */
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    /**
+     * Single trace file that is written by the background writer thread. Content is appended in the order of the
+     * append calls. Once the trace file exceeds the max file size the trace continues in a new numbered file.
+     */
+    public final class Trace {
+        private final File file;
+
+        /** State only accessed by the writer thread */
+        private Writer writer;
+        private ByteCountingOutputStream fileStream;
+        private long unflushedChars;
+        private int part;
+        private IOException failure;
+
+        private Trace(File file) {
+            this.file = file;
+        }
+
+        /**
+         * Adds content to the trace.
+         * @param content
+         */
+        public void append(String content) {
+            submit(() -> write(content));
+        }
+
+        /**
+         * Closes the trace once all previously appended content has been written.
+         * @return future completed as soon as the trace file is closed.
+         */
+        public CompletableFuture<Void> close() {
+            CompletableFuture<Void> closed = new CompletableFuture<>();
+            submit(() -> {
+                try {
+                    closeWriter();
+                } catch (IOException e) {
+                    fail(e);
+                }
+
+                if (failure != null) {
+                    closed.completeExceptionally(new CitrusRuntimeException("Failed to write message trace to filesystem", failure));
+                } else {
+                    closed.complete(null);
+                }
+            });
+            return closed;
+        }
+
+        /**
+         * Gets the trace file.
+         * @return
+         */
+        public File getFile() {
+            return file;
+        }
+
+        private void write(String content) {
+            if (failure != null) {
+                return;
+            }
+
+            try {
+                if (writer == null) {
+                    writer = openWriter(part == 0 ? file : getPartFile(part));
+                } else if (maxFileSize > 0 && fileStream.count + unflushedChars >= maxFileSize) {
+                    // flush in order to measure the file size in bytes
+                    flushWriter();
+
+                    if (fileStream.count >= maxFileSize) {
+                        closeWriter();
+                        part++;
+                        writer = openWriter(getPartFile(part));
+                    }
+                }
+
+                writer.write(content);
+                unflushedChars += content.length();
+                unflushedTraces.add(this);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        private void flush() {
+            try {
+                flushWriter();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        private void flushWriter() throws IOException {
+            unflushedTraces.remove(this);
+            unflushedChars = 0L;
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+
+        /**
+         * Stops the trace after write failure. Failure is logged once and reported when the trace is closed.
+         * @param e
+         */
+        private void fail(IOException e) {
+            unflushedTraces.remove(this);
+            if (failure == null) {
+                failure = e;
+                log.warn(String.format("Failed to write message trace '%s' - discarding further content", file.getName()), e);
+            }
+
+            try {
+                closeWriter();
+            } catch (IOException closeError) {
+                log.debug("Failed to close message trace writer", closeError);
+            }
+        }
+
+        private Writer openWriter(File traceFile) throws IOException {
+            fileStream = new ByteCountingOutputStream(new FileOutputStream(traceFile));
+            OutputStream out = fileStream;
+            if (compress) {
+                out = new GZIPOutputStream(out, true);
+            }
+
+            return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        private void closeWriter() throws IOException {
+            unflushedTraces.remove(this);
+            unflushedChars = 0L;
+            if (writer != null) {
+                Writer closing = writer;
+                writer = null;
+                fileStream = null;
+                closing.close();
+            }
+        }
+
+        /**
+         * Gets file for given rotation part. Part number is added before the file extension.
+         * @param part
+         * @return
+         */
+        private File getPartFile(int part) {
+            String name = file.getName();
+            int extension = name.endsWith(".gz") ? name.lastIndexOf('.', name.length() - 4) : name.lastIndexOf('.');
+            String partName = extension > 0 ? name.substring(0, extension) + "_" + part + name.substring(extension) : name + "_" + part;
+            return new File(file.getParentFile(), partName);
+        }
+    }
+
+    /**
+     * Output stream counting the bytes written to the trace file.
+     */
+    private static final class ByteCountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        ByteCountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
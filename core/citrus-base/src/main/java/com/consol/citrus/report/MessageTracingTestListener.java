@@ -16,14 +16,18 @@
 
 package com.consol.citrus.report;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
-import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.consol.citrus.CitrusSettings;
 import com.consol.citrus.TestCase;
@@ -39,8 +43,11 @@ import org.springframework.beans.factory.InitializingBean;
  * Test listener collects all messages sent and received by Citrus during test execution. Listener
  * writes a trace file with all message content per test case to a output directory.
  *
- * Note: This class is not thread safe! Parallel test execution leads to behaviour that messages get mixed.
- * Proper correlation to test case is not possible here.
+ * Messages are correlated to the test by the test context they are exchanged with, so parallel tests write separate trace
+ * files even when they run the same test. Traces are closed when the test owning the context finishes or is skipped. Traces of
+ * test contexts that have been garbage collected without the test being finished are closed, too. Message content is streamed
+ * to the trace file by a background writer thread while the test is running. Trace files may be compressed and rotated by size.
+ * Failures writing the trace are added to the test context when the test finishes, so the test fails.
  *
  * @author Christoph Deppisch
  * @since 1.2
@@ -56,66 +63,143 @@ public class MessageTracingTestListener extends AbstractTestListener implements
     /** Output directory */
     private String outputDirectory = CitrusSettings.getMessageTraceDirectory();
 
-    /** List of messages to trace */
-    private final List<String> messages = new ArrayList<>();
+    /** Writer streaming the traces to the file system */
+    private MessageTraceWriter traceWriter = new MessageTraceWriter();
 
-    /** Locking object for synchronization */
-    private final Object lockObject = new Object();
+    /** Open traces mapped by the test context */
+    private final Map<TestContext, TraceReference> traces = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /** Open traces that are closed in case the owning test context gets garbage collected */
+    private final Set<TraceReference> openTraces = ConcurrentHashMap.newKeySet();
+
+    /** Queue notified when test contexts of open traces have been garbage collected */
+    private final ReferenceQueue<TestContext> abandonedContexts = new ReferenceQueue<>();
 
     /** Logger */
     private static final Logger LOG = LoggerFactory.getLogger(MessageTracingTestListener.class);
 
-    /**
-     * {@inheritDoc}
-     */
     @Override
-    public void onTestStart(TestCase test) {
-        synchronized (lockObject) {
-            messages.clear();
-        }
+    public void onTestFinish(TestCase test, TestContext context) {
+        closeTrace(context);
+    }
+
+    @Override
+    public void onTestSkipped(TestCase test, TestContext context) {
+        closeTrace(context);
     }
 
     /**
-     * {@inheritDoc}
+     * Closes the trace of given test context and waits for the trace file to be written. Write failures are added
+     * to the test context.
+     * @param context
      */
-    @Override
-    public void onTestFinish(TestCase test) {
-        if (messages.isEmpty()) {
-            return; // do not write empty message trace file
+    private void closeTrace(TestContext context) {
+        closeAbandonedTraces();
+
+        if (context == null) {
+            return;
         }
 
-        try(BufferedWriter writer = new BufferedWriter(new FileWriter(getTraceFile(test.getName())))) {
-            writer.write(separator() + newLine() + newLine());
+        TraceReference reference = traces.remove(context);
+        if (reference == null || !openTraces.remove(reference)) {
+            return;
+        }
 
-            synchronized (lockObject) {
-                for (String message : messages) {
-                    writer.write(message);
-                    writer.write(newLine() + separator() + newLine() + newLine());
-                }
+        try {
+            reference.trace.close().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof CitrusRuntimeException) {
+                context.addException((CitrusRuntimeException) e.getCause());
+            } else {
+                context.addException(new CitrusRuntimeException("Failed to write message trace to filesystem", e.getCause()));
             }
+        }
+    }
 
-            writer.flush();
-        } catch (IOException e) {
-            throw new CitrusRuntimeException("Failed to write message trace to filesystem", e);
+    /**
+     * Closes traces whose test context has been garbage collected without the test being finished.
+     */
+    private void closeAbandonedTraces() {
+        Reference<? extends TestContext> reference;
+        while ((reference = abandonedContexts.poll()) != null) {
+            TraceReference abandoned = (TraceReference) reference;
+            if (openTraces.remove(abandoned)) {
+                LOG.warn(String.format("Closing message trace '%s' of unfinished test", abandoned.trace.getFile().getName()));
+                abandoned.trace.close();
+            }
         }
     }
 
     @Override
     public void onInboundMessage(Message message, TestContext context) {
         if (message instanceof RawMessage) {
-            synchronized (lockObject) {
-                messages.add("INBOUND_MESSAGE:" + newLine() + newLine() + message);
-            }
+            trace("INBOUND_MESSAGE:" + newLine() + newLine() + message, context);
         }
     }
 
     @Override
     public void onOutboundMessage(Message message, TestContext context) {
         if (message instanceof RawMessage) {
-            synchronized (lockObject) {
-                messages.add("OUTBOUND_MESSAGE:" + newLine() + newLine() + message);
-            }
+            trace("OUTBOUND_MESSAGE:" + newLine() + newLine() + message, context);
+        }
+    }
+
+    /**
+     * Appends message content to the trace of the test owning given context. Trace is opened with the first message
+     * of the test so no empty trace files are written. Messages outside of a test are not traced.
+     * @param content
+     * @param context
+     */
+    private void trace(String content, TestContext context) {
+        String testName = getTestName(context);
+        if (testName == null) {
+            return;
         }
+
+        TraceReference reference = traces.computeIfAbsent(context, ctx -> {
+            closeAbandonedTraces();
+
+            MessageTraceWriter.Trace trace = traceWriter.open(getUniqueTraceFile(testName));
+            trace.append(separator() + newLine() + newLine());
+
+            TraceReference traceReference = new TraceReference(ctx, trace, abandonedContexts);
+            openTraces.add(traceReference);
+            return traceReference;
+        });
+
+        reference.trace.append(content + newLine() + separator() + newLine() + newLine());
+    }
+
+    /**
+     * Gets trace file for given test that is not used by another open trace. Parallel runs of the same test get a
+     * numbered trace file.
+     * @param testName
+     * @return
+     */
+    private File getUniqueTraceFile(String testName) {
+        File traceFile = getTraceFile(testName);
+        for (int run = 2; isOpen(traceFile); run++) {
+            traceFile = getTraceFile(testName + "_" + run);
+        }
+
+        return traceFile;
+    }
+
+    private boolean isOpen(File traceFile) {
+        return openTraces.stream().anyMatch(reference -> reference.trace.getFile().equals(traceFile));
+    }
+
+    /**
+     * Reads test name from the test context variables.
+     * @param context
+     * @return test name or null if context does not belong to a running test.
+     */
+    private String getTestName(TestContext context) {
+        if (context != null && context.getVariables().containsKey(CitrusSettings.TEST_NAME_VARIABLE)) {
+            return String.valueOf(context.getVariables().get(CitrusSettings.TEST_NAME_VARIABLE));
+        }
+
+        return null;
     }
 
     /**
@@ -156,7 +240,7 @@ public class MessageTracingTestListener extends AbstractTestListener implements
      */
     protected File getTraceFile(String testName) {
         String testExecutionStartTime = new SimpleDateFormat("yyyyMMdd_HHmmss").format(TEST_EXECUTION_DATE);
-        String filename = String.format("%s_%s%s", testName, testExecutionStartTime, TRACE_FILE_ENDING);
+        String filename = String.format("%s_%s%s%s", testName, testExecutionStartTime, TRACE_FILE_ENDING, traceWriter.isCompress() ? ".gz" : "");
 
         File traceFile = new File(outputDirectory, filename);
         if (traceFile.exists()) {
@@ -172,4 +256,41 @@ public class MessageTracingTestListener extends AbstractTestListener implements
     public void setOutputDirectory(String outputDirectory) {
         this.outputDirectory = outputDirectory;
     }
+
+    /**
+     * Enables gzip compression of trace files.
+     * @param compress
+     */
+    public void setCompress(boolean compress) {
+        traceWriter.setCompress(compress);
+    }
+
+    /**
+     * Sets the max number of bytes written to a single trace file before the trace continues in a new file. In case
+     * of compressed trace files this is the compressed file size. Zero or less disables rotation.
+     * @param maxFileSize
+     */
+    public void setMaxFileSize(long maxFileSize) {
+        traceWriter.setMaxFileSize(maxFileSize);
+    }
+
+    /**
+     * Sets the trace writer.
+     * @param traceWriter
+     */
+    public void setTraceWriter(MessageTraceWriter traceWriter) {
+        this.traceWriter = traceWriter;
+    }
+
+    /**
+     * Open trace of a test. Weakly references the test context owning the trace.
+     */
+    private static final class TraceReference extends WeakReference<TestContext> {
+        private final MessageTraceWriter.Trace trace;
+
+        TraceReference(TestContext context, MessageTraceWriter.Trace trace, ReferenceQueue<TestContext> queue) {
+            super(context, queue);
+            this.trace = trace;
+        }
+    }
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.report;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Function;
+
+import com.consol.citrus.TestResult;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.util.PropertyUtils;
+
+/**
+ * Rendered report content that is appended to a temporary file as test results arrive. Fragment keeps an index of the
+ * rendered entries by test class, test name and result so reports are written by streaming the entries of the reported
+ * test results between the rendered report header and footer. This way reporters do not hold the complete report content
+ * in memory.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+class ReportFragment {
+
+    /** Temporary file holding the fragment content */
+    private File file;
+
+    /** Number of bytes written to the fragment file */
+    private long length;
+
+    /** Rendered entries mapped by test result key, multiple entries per key in the order of appearance */
+    private final Map<String, List<Entry>> entries = new HashMap<>();
+
+    /**
+     * Appends rendered result content to the fragment.
+     * @param result
+     * @param content
+     */
+    synchronized void append(TestResult result, String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+
+        try {
+            if (file == null) {
+                file = File.createTempFile("citrus-report", ".fragment");
+                file.deleteOnExit();
+            }
+
+            Files.write(file.toPath(), bytes, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to write test report fragment", e);
+        }
+
+        entries.computeIfAbsent(getKey(result), key -> new ArrayList<>()).add(new Entry(length, bytes.length));
+        length += bytes.length;
+    }
+
+    /**
+     * Writes the report using given template. Template content before and after the placeholder is written with all
+     * properties replaced. In place of the placeholder the rendered entries of the given test results are streamed in the
+     * order of the results. Test results that have no rendered entry in this fragment get rendered with the given renderer.
+     * @param writer
+     * @param template
+     * @param placeholder name of the template property that holds the test results.
+     * @param properties
+     * @param results the test results to write.
+     * @param renderer renders test results missing in this fragment.
+     * @throws IOException
+     */
+    synchronized void writeReport(Writer writer, String template, String placeholder, Properties properties,
+                                  List<TestResult> results, Function<TestResult, String> renderer) throws IOException {
+        String token = "@" + placeholder + "@";
+        int index = template.indexOf(token);
+        if (index < 0) {
+            throw new CitrusRuntimeException(String.format("Missing property '%s' in report template", placeholder));
+        }
+
+        writer.write(PropertyUtils.replacePropertiesInString(template.substring(0, index), properties));
+
+        Map<String, Integer> occurrences = new HashMap<>();
+        try (FileChannel channel = file != null ? FileChannel.open(file.toPath(), StandardOpenOption.READ) : null) {
+            for (TestResult result : results) {
+                String key = getKey(result);
+                int occurrence = occurrences.merge(key, 1, Integer::sum) - 1;
+                List<Entry> rendered = entries.get(key);
+
+                if (channel != null && rendered != null && occurrence < rendered.size()) {
+                    writer.write(read(channel, rendered.get(occurrence)));
+                } else {
+                    writer.write(renderer.apply(result));
+                }
+            }
+        }
+
+        writer.write(PropertyUtils.replacePropertiesInString(template.substring(index + token.length()), properties));
+    }
+
+    /**
+     * Writes the report to given file.
+     * @param reportFile
+     * @param template
+     * @param placeholder
+     * @param properties
+     * @param results
+     * @param renderer
+     * @throws IOException
+     */
+    void writeReport(File reportFile, String template, String placeholder, Properties properties,
+                     List<TestResult> results, Function<TestResult, String> renderer) throws IOException {
+        try (Writer writer = new BufferedWriter(Files.newBufferedWriter(reportFile.toPath(), StandardCharsets.UTF_8))) {
+            writeReport(writer, template, placeholder, properties, results, renderer);
+        }
+    }
+
+    private static String read(FileChannel channel, Entry entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, entry.offset + buffer.position()) < 0) {
+                throw new CitrusRuntimeException("Unexpected end of test report fragment");
+            }
+        }
+
+        buffer.flip();
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+
+    /**
+     * Removes the temporary fragment file.
+     */
+    synchronized void delete() {
+        if (file != null && !file.delete()) {
+            file.deleteOnExit();
+        }
+
+        file = null;
+        length = 0L;
+        entries.clear();
+    }
+
+    private static String getKey(TestResult result) {
+        return result.getClassName() + "#" + result.getTestName() + "#" + result.getResult();
+    }
+
+    /**
+     * Position of a rendered entry in the fragment file.
+     */
+    private static final class Entry {
+        private final long offset;
+        private final int length;
+
+        Entry(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
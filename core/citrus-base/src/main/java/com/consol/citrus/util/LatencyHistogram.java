@@ -0,0 +1,155 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread safe histogram recording latency values in microseconds. Values are counted in log-linear buckets
+ * so the histogram uses a fixed amount of memory while percentiles are reported with two significant digits
+ * of precision. Values above the highest trackable value of one hour are recorded as the highest trackable value.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public class LatencyHistogram {
+
+    /** Sub bucket size gives two significant digits of precision */
+    private static final int SUB_BUCKET_HALF_COUNT_MAGNITUDE = 7;
+    private static final int SUB_BUCKET_HALF_COUNT = 1 << SUB_BUCKET_HALF_COUNT_MAGNITUDE;
+    private static final long SUB_BUCKET_MASK = (SUB_BUCKET_HALF_COUNT << 1) - 1;
+    private static final int LEADING_ZERO_COUNT_BASE = 64 - SUB_BUCKET_HALF_COUNT_MAGNITUDE - 1;
+
+    /** Highest trackable value in microseconds */
+    public static final long HIGHEST_TRACKABLE_VALUE = TimeUnit.HOURS.toMicros(1);
+
+    /** Bucket counts */
+    private final AtomicLongArray counts = new AtomicLongArray(countsIndex(HIGHEST_TRACKABLE_VALUE) + 1);
+
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalValue = new AtomicLong();
+    private final AtomicLong minValue = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Records given latency.
+     * @param latency
+     * @param unit
+     */
+    public void record(long latency, TimeUnit unit) {
+        recordValue(unit.toMicros(latency));
+    }
+
+    /**
+     * Records given value in microseconds.
+     * @param value
+     */
+    public void recordValue(long value) {
+        long micros = Math.min(Math.max(value, 0L), HIGHEST_TRACKABLE_VALUE);
+
+        counts.incrementAndGet(countsIndex(micros));
+        totalCount.incrementAndGet();
+        totalValue.addAndGet(micros);
+        minValue.accumulateAndGet(micros, Math::min);
+        maxValue.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * Gets the value in microseconds that given percentage of recorded values are less than or equal to.
+     * @param percentile percentile between 0 and 100.
+     * @return
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0L;
+        }
+
+        long countAtPercentile = Math.max(1L, (long) Math.ceil(Math.min(percentile, 100.0D) / 100.0D * count));
+        long runningCount = 0L;
+        for (int i = 0; i < counts.length(); i++) {
+            runningCount += counts.get(i);
+            if (runningCount >= countAtPercentile) {
+                return Math.min(highestEquivalentValue(i), getMaxValue());
+            }
+        }
+
+        return getMaxValue();
+    }
+
+    /**
+     * Gets the number of recorded values.
+     * @return
+     */
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Gets the lowest recorded value in microseconds.
+     * @return
+     */
+    public long getMinValue() {
+        return totalCount.get() > 0 ? minValue.get() : 0L;
+    }
+
+    /**
+     * Gets the highest recorded value in microseconds.
+     * @return
+     */
+    public long getMaxValue() {
+        return maxValue.get();
+    }
+
+    /**
+     * Gets the mean of all recorded values in microseconds.
+     * @return
+     */
+    public double getMean() {
+        long count = totalCount.get();
+        return count > 0 ? (double) totalValue.get() / count : 0.0D;
+    }
+
+    /**
+     * Computes the counts array index for given value.
+     * @param value
+     * @return
+     */
+    private static int countsIndex(long value) {
+        int bucketIndex = LEADING_ZERO_COUNT_BASE - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK);
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        return ((bucketIndex + 1) << SUB_BUCKET_HALF_COUNT_MAGNITUDE) + (subBucketIndex - SUB_BUCKET_HALF_COUNT);
+    }
+
+    /**
+     * Computes the highest value that is counted in the bucket with given counts array index.
+     * @param index
+     * @return
+     */
+    private static long highestEquivalentValue(int index) {
+        int bucketIndex = (index >> SUB_BUCKET_HALF_COUNT_MAGNITUDE) - 1;
+        int subBucketIndex = (index & (SUB_BUCKET_HALF_COUNT - 1)) + SUB_BUCKET_HALF_COUNT;
+        if (bucketIndex < 0) {
+            subBucketIndex -= SUB_BUCKET_HALF_COUNT;
+            bucketIndex = 0;
+        }
+
+        return ((long) subBucketIndex << bucketIndex) + (1L << bucketIndex) - 1;
+    }
+}
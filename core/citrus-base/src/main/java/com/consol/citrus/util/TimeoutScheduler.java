@@ -0,0 +1,155 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Shared scheduler completing futures that did not complete within a given timeout. All timeouts are tracked by a single
+ * daemon thread so callers waiting for a future do not need to block a thread or poll in a sleep loop. Scheduled timeout
+ * tasks are removed as soon as the future completes in time. Timed out futures are completed on a separate completion
+ * executor so dependent stages never run on the scheduler thread and cannot delay other timeouts.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public class TimeoutScheduler {
+
+    /** Default shared instance */
+    private static final TimeoutScheduler DEFAULT_INSTANCE = new TimeoutScheduler();
+
+    /** Scheduler running the timeout tasks */
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    /** Executor completing timed out futures */
+    private final Executor completionExecutor;
+
+    /** Number of futures completed by a timeout */
+    private final AtomicLong timeoutCount = new AtomicLong();
+
+    /**
+     * Default constructor using a cached pool of daemon threads to complete timed out futures.
+     */
+    public TimeoutScheduler() {
+        this(createCompletionExecutor());
+    }
+
+    /**
+     * Constructor using given executor to complete timed out futures.
+     * @param completionExecutor
+     */
+    public TimeoutScheduler(Executor completionExecutor) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "citrus-timeout-scheduler-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+        this.completionExecutor = completionExecutor;
+    }
+
+    private static Executor createCompletionExecutor() {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "citrus-timeout-completion-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the default shared instance.
+     * @return
+     */
+    public static TimeoutScheduler getDefault() {
+        return DEFAULT_INSTANCE;
+    }
+
+    /**
+     * Completes given future with the value in case the future is not completed within the timeout.
+     * @param future
+     * @param value
+     * @param timeout timeout in milliseconds.
+     * @param <T>
+     * @return the given future.
+     */
+    public <T> CompletableFuture<T> completeOnTimeout(CompletableFuture<T> future, T value, long timeout) {
+        return schedule(future, () -> future.complete(value), timeout);
+    }
+
+    /**
+     * Completes given future exceptionally with a {@link TimeoutException} in case the future is not completed within the timeout.
+     * @param future
+     * @param timeout timeout in milliseconds.
+     * @param <T>
+     * @return the given future.
+     */
+    public <T> CompletableFuture<T> orTimeout(CompletableFuture<T> future, long timeout) {
+        return schedule(future, () -> future.completeExceptionally(
+                new TimeoutException(String.format("Timed out after %s ms", timeout))), timeout);
+    }
+
+    /**
+     * Schedules the timeout task and cancels the task as soon as the future completes. The timeout task hands over
+     * the completion to the completion executor. Timeouts are counted only when the task actually completed the future.
+     * @param future
+     * @param onTimeout completes the future and returns true if the future was completed by this task.
+     * @param timeout
+     * @param <T>
+     * @return
+     */
+    private <T> CompletableFuture<T> schedule(CompletableFuture<T> future, BooleanSupplier onTimeout, long timeout) {
+        if (future.isDone()) {
+            return future;
+        }
+
+        ScheduledFuture<?> task = scheduler.schedule(() -> completionExecutor.execute(() -> {
+            if (onTimeout.getAsBoolean()) {
+                timeoutCount.incrementAndGet();
+            }
+        }), timeout, TimeUnit.MILLISECONDS);
+
+        future.whenComplete((result, error) -> task.cancel(false));
+        return future;
+    }
+
+    /**
+     * Gets the number of pending timeout tasks.
+     * @return
+     */
+    public int getPendingCount() {
+        return scheduler.getQueue().size();
+    }
+
+    /**
+     * Gets the number of futures completed by a timeout.
+     * @return
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+}
@@ -25,6 +25,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.StringTokenizer;
+import java.util.function.Function;
 
 import com.consol.citrus.CitrusSettings;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
@@ -320,6 +321,66 @@ public final class XMLUtils {
         return parser.parse(receivedInput);
     }
 
+    /**
+     * Gets a private copy of the DOM document representation of the message payload. The payload is parsed only once per
+     * message payload and the parsed document is cached on the message. Use this method for callers that modify the document,
+     * read only callers should use {@link #readPayloadDocument(Message, Function)} instead.
+     * @param message
+     * @throws CitrusRuntimeException
+     * @return DOM document.
+     */
+    public static Document getPayloadDocument(Message message) {
+        return copyDocument(getCachedPayloadDocument(message));
+    }
+
+    /**
+     * Reads the cached DOM document representation of the message payload without copying it. The payload is parsed only
+     * once per message payload. Reader is called while holding the lock of the cached document because DOM implementations
+     * are not thread safe, not even for read access. Reader must not modify the document nor keep references to its nodes.
+     * @param message
+     * @param reader
+     * @param <T>
+     * @throws CitrusRuntimeException
+     * @return the reader result.
+     */
+    public static <T> T readPayloadDocument(Message message, Function<Document, T> reader) {
+        return readDocument(getCachedPayloadDocument(message), reader);
+    }
+
+    /**
+     * Reads given shared document while holding its lock.
+     * @param document
+     * @param reader
+     * @param <T>
+     * @return the reader result.
+     */
+    public static <T> T readDocument(Document document, Function<Document, T> reader) {
+        synchronized (document) {
+            return reader.apply(document);
+        }
+    }
+
+    /**
+     * Gets the cached DOM document representation of the message payload. Parses the payload in case no document is cached yet.
+     * @param message
+     * @return
+     */
+    private static Document getCachedPayloadDocument(Message message) {
+        return message.getPayloadRepresentation(Document.class, m -> parseMessagePayload(m.getPayload(String.class)));
+    }
+
+    /**
+     * Creates a deep copy of given shared document. The shared document is only read while holding its lock so
+     * concurrent callers can safely copy the same document.
+     * @param document
+     * @return
+     */
+    public static Document copyDocument(Document document) {
+        synchronized (document) {
+            return (Document) document.cloneNode(true);
+        }
+    }
+
     /**
      * Try to find encoding for document node. Also supports Citrus default encoding set
      * as System property.
@@ -18,6 +18,7 @@ package com.consol.citrus.validation.builder;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.List;
 
 import com.consol.citrus.CitrusSettings;
 import com.consol.citrus.context.TestContext;
@@ -25,6 +26,7 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.util.FileUtils;
 import com.consol.citrus.validation.interceptor.BinaryMessageConstructionInterceptor;
 import com.consol.citrus.validation.interceptor.GzipMessageConstructionInterceptor;
+import com.consol.citrus.validation.interceptor.MessageConstructionInterceptor;
 import org.springframework.core.io.Resource;
 
 /**
@@ -49,15 +51,37 @@ public class PayloadTemplateMessageBuilder extends AbstractMessageContentBuilder
     private final BinaryMessageConstructionInterceptor binaryMessageConstructionInterceptor =
             new BinaryMessageConstructionInterceptor();
 
+    /** Interceptor list that Gzip and binary interceptors have been added to */
+    private volatile List<MessageConstructionInterceptor> interceptedList;
+
     /**
      * Build the control message from payload file resource or String data.
      */
     public Object buildMessagePayload(TestContext context, String messageType) {
-        this.getMessageInterceptors().add(gzipMessageConstructionInterceptor);
-        this.getMessageInterceptors().add(binaryMessageConstructionInterceptor);
+        if (interceptedList != getMessageInterceptors()) {
+            addPayloadInterceptors();
+        }
+
         return getPayloadContent(context, messageType);
     }
 
+    /**
+     * Adds Gzip and binary message construction interceptors once. Synchronized as messages may be built by several
+     * threads concurrently, e.g. in load tests.
+     */
+    private synchronized void addPayloadInterceptors() {
+        List<MessageConstructionInterceptor> interceptors = getMessageInterceptors();
+        if (!interceptors.contains(gzipMessageConstructionInterceptor)) {
+            interceptors.add(gzipMessageConstructionInterceptor);
+        }
+
+        if (!interceptors.contains(binaryMessageConstructionInterceptor)) {
+            interceptors.add(binaryMessageConstructionInterceptor);
+        }
+
+        interceptedList = interceptors;
+    }
+
     /**
      * Set message payload as direct string data.
      * @param payloadData the payloadData to set
@@ -17,16 +17,12 @@
 package com.consol.citrus.validation.json;
 
 import com.consol.citrus.context.TestContext;
-import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.json.JsonPathUtils;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.variable.VariableExtractor;
-import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.ReadContext;
 import net.minidev.json.JSONArray;
 import net.minidev.json.JSONObject;
-import net.minidev.json.parser.JSONParser;
-import net.minidev.json.parser.ParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.CollectionUtils;
@@ -57,30 +53,24 @@ public class JsonPathVariableExtractor implements VariableExtractor {
         }
 
         String jsonPathExpression;
-        try {
-            JSONParser parser = new JSONParser(JSONParser.MODE_JSON_SIMPLE);
-            Object receivedJson = parser.parse(message.getPayload(String.class));
-            ReadContext readerContext = JsonPath.parse(receivedJson);
+        ReadContext readerContext = JsonPathUtils.getPayloadContext(message);
 
-            for (Map.Entry<String, String> entry : jsonPathExpressions.entrySet()) {
-                jsonPathExpression = context.replaceDynamicContentInString(entry.getKey());
-                String variableName = entry.getValue();
+        for (Map.Entry<String, String> entry : jsonPathExpressions.entrySet()) {
+            jsonPathExpression = context.replaceDynamicContentInString(entry.getKey());
+            String variableName = entry.getValue();
 
-                if (log.isDebugEnabled()) {
-                    log.debug("Evaluating JSONPath expression: " + jsonPathExpression);
-                }
+            if (log.isDebugEnabled()) {
+                log.debug("Evaluating JSONPath expression: " + jsonPathExpression);
+            }
 
-                Object jsonPathResult = JsonPathUtils.evaluate(readerContext, jsonPathExpression);
-                if (jsonPathResult instanceof JSONArray) {
-                    context.setVariable(variableName, ((JSONArray) jsonPathResult).toJSONString());
-                } else if (jsonPathResult instanceof JSONObject) {
-                    context.setVariable(variableName, ((JSONObject) jsonPathResult).toJSONString());
-                } else {
-                    context.setVariable(variableName, Optional.ofNullable(jsonPathResult).orElse("null"));
-                }
+            Object jsonPathResult = JsonPathUtils.evaluate(readerContext, jsonPathExpression);
+            if (jsonPathResult instanceof JSONArray) {
+                context.setVariable(variableName, ((JSONArray) jsonPathResult).toJSONString());
+            } else if (jsonPathResult instanceof JSONObject) {
+                context.setVariable(variableName, ((JSONObject) jsonPathResult).toJSONString());
+            } else {
+                context.setVariable(variableName, Optional.ofNullable(jsonPathResult).orElse("null"));
             }
-        } catch (ParseException e) {
-            throw new CitrusRuntimeException("Failed to parse JSON text", e);
         }
     }
 
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.validation.script;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.util.FileUtils;
+import groovy.lang.GroovyClassLoader;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Cache of compiled Groovy script classes keyed by the content hash of the script source. All scripts are compiled with
+ * a shared Groovy class loader. The cache is bounded and evicts least recently used script classes, so these classes can
+ * be garbage collected together with their class loader.
+ *
+ * Cache records compile and run time statistics. Scripts may be compiled ahead of time in order to warm up the cache.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public class GroovyScriptClassCache {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(GroovyScriptClassCache.class);
+
+    /** Default max number of cached script classes */
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    /** Default shared instance */
+    private static final GroovyScriptClassCache DEFAULT_INSTANCE = new GroovyScriptClassCache(DEFAULT_MAX_SIZE);
+
+    /** Shared class loader compiling the scripts */
+    private final GroovyClassLoader loader;
+
+    /** Compiled script classes mapped by content hash */
+    private final Map<String, Class<?>> scriptClasses;
+
+    /** Statistics */
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong compileTime = new AtomicLong();
+    private final AtomicLong runCount = new AtomicLong();
+    private final AtomicLong runTime = new AtomicLong();
+
+    /**
+     * Constructor using max number of cached script classes.
+     * @param maxSize
+     */
+    public GroovyScriptClassCache(int maxSize) {
+        this.loader = AccessController.doPrivileged((PrivilegedAction<GroovyClassLoader>) () ->
+                new GroovyClassLoader(GroovyScriptClassCache.class.getClassLoader()));
+
+        this.scriptClasses = new LinkedHashMap<String, Class<?>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Class<?>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Gets the default shared instance.
+     * @return
+     */
+    public static GroovyScriptClassCache getDefault() {
+        return DEFAULT_INSTANCE;
+    }
+
+    /**
+     * Gets compiled class for given script source. Compiles the script in case it is not cached yet.
+     * @param script the Groovy script source.
+     * @return
+     */
+    public Class<?> getScriptClass(String script) {
+        String key = DigestUtils.md5DigestAsHex(script.getBytes(StandardCharsets.UTF_8));
+
+        synchronized (scriptClasses) {
+            Class<?> cached = scriptClasses.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        misses.incrementAndGet();
+        Class<?> scriptClass = compile(script);
+
+        synchronized (scriptClasses) {
+            Class<?> cached = scriptClasses.putIfAbsent(key, scriptClass);
+            return cached != null ? cached : scriptClass;
+        }
+    }
+
+    /**
+     * Compiles given script ahead of time and adds the class to the cache.
+     * @param script the Groovy script source.
+     */
+    public void precompile(String script) {
+        getScriptClass(script);
+    }
+
+    /**
+     * Compiles all scripts found in given resource locations ahead of time. Each script is built with given
+     * script builder (e.g. adding a validation template) before compilation. Scripts that fail to compile are
+     * logged and skipped.
+     * @param locations comma separated resource locations, may use resource patterns.
+     * @param scriptBuilder builds the complete script from the script resource content.
+     * @return number of compiled scripts.
+     */
+    public int precompileResources(String locations, Function<String, String> scriptBuilder) {
+        int compiled = 0;
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+
+        for (String location : StringUtils.commaDelimitedListToStringArray(locations)) {
+            if (!StringUtils.hasText(location)) {
+                continue;
+            }
+
+            try {
+                for (Resource resource : resolver.getResources(location.trim())) {
+                    try {
+                        precompile(scriptBuilder.apply(FileUtils.readToString(resource)));
+                        compiled++;
+                    } catch (CitrusRuntimeException | IOException e) {
+                        log.warn(String.format("Failed to precompile groovy script '%s'", resource.getDescription()), e);
+                    }
+                }
+            } catch (IOException e) {
+                log.warn(String.format("Failed to resolve groovy script location '%s'", location), e);
+            }
+        }
+
+        return compiled;
+    }
+
+    /**
+     * Records the time spent running a cached script.
+     * @param time run time in milliseconds.
+     */
+    public void recordRun(long time) {
+        runCount.incrementAndGet();
+        runTime.addAndGet(time);
+    }
+
+    /**
+     * Compiles the script with the shared class loader. Clears the class loader cache afterwards so
+     * evicted script classes are not retained by the class loader.
+     * @param script
+     * @return
+     */
+    private Class<?> compile(String script) {
+        long start = System.currentTimeMillis();
+
+        try {
+            Class<?> scriptClass;
+            synchronized (loader) {
+                scriptClass = loader.parseClass(script);
+                loader.clearCache();
+            }
+
+            if (scriptClass == null) {
+                throw new CitrusRuntimeException("Failed to load groovy script");
+            }
+
+            return scriptClass;
+        } catch (CompilationFailedException e) {
+            throw new CitrusRuntimeException(e);
+        } finally {
+            long time = System.currentTimeMillis() - start;
+            compileTime.addAndGet(time);
+
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Compiled groovy script in %s ms", time));
+            }
+        }
+    }
+
+    /**
+     * Gets the number of script classes currently cached.
+     * @return
+     */
+    public int size() {
+        synchronized (scriptClasses) {
+            return scriptClasses.size();
+        }
+    }
+
+    /**
+     * Removes all cached script classes.
+     */
+    public void clear() {
+        synchronized (scriptClasses) {
+            scriptClasses.clear();
+        }
+    }
+
+    /**
+     * Gets the number of script classes served from cache.
+     * @return
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of scripts that had to be compiled.
+     * @return
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the total time in milliseconds spent compiling scripts.
+     * @return
+     */
+    public long getCompileTime() {
+        return compileTime.get();
+    }
+
+    /**
+     * Gets the number of recorded script runs.
+     * @return
+     */
+    public long getRunCount() {
+        return runCount.get();
+    }
+
+    /**
+     * Gets the total time in milliseconds spent running scripts.
+     * @return
+     */
+    public long getRunTime() {
+        return runTime.get();
+    }
+}
@@ -63,7 +63,19 @@ public class XpathPayloadVariableExtractor implements VariableExtractor {
         }
         
         NamespaceContext nsContext = context.getNamespaceContextBuilder().buildContext(message, namespaces);
+        XMLUtils.readPayloadDocument(message, doc -> {
+            extractVariables(doc, nsContext, context);
+            return null;
+        });
+    }
 
+    /**
+     * Extract variables from given message payload document.
+     * @param doc
+     * @param nsContext
+     * @param context
+     */
+    private void extractVariables(Document doc, NamespaceContext nsContext, TestContext context) {
         for (Entry<String, String> entry : xPathExpressions.entrySet()) {
             String pathExpression = context.replaceDynamicContentInString(entry.getKey());
             String variableName = entry.getValue();
@@ -71,9 +83,7 @@ public class XpathPayloadVariableExtractor implements VariableExtractor {
             if (log.isDebugEnabled()) {
                 log.debug("Evaluating XPath expression: " + pathExpression);
             }
-            
-            Document doc = XMLUtils.parseMessagePayload(message.getPayload(String.class));
-            
+
             if (XPathUtils.isXPathExpression(pathExpression)) {
                 XPathExpressionResult resultType = XPathExpressionResult.fromString(pathExpression, XPathExpressionResult.STRING);
                 pathExpression = XPathExpressionResult.cutOffPrefix(pathExpression);
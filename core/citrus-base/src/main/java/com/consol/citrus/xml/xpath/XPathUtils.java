@@ -26,15 +26,22 @@ import javax.xml.xpath.XPathFactory;
 import javax.xml.xpath.XPathFactoryConfigurationException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+import com.consol.citrus.CitrusSettings;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.StringUtils;
+import org.springframework.util.xml.SimpleNamespaceContext;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
@@ -42,6 +49,9 @@ import org.w3c.dom.NodeList;
  * XPath utility class providing static utility methods
  * dealing with XPath expression evaluation.
  *
+ * Compiled XPath expressions are not thread safe. Therefore each thread uses its own XPath factory and a bounded
+ * LRU cache of compiled expressions keyed by expression string and namespace bindings.
+ *
  * Class is abstract to prevent instantiation.
  *
  * @author Christoph Deppisch
@@ -58,6 +68,25 @@ public abstract class XPathUtils {
     /** Dynamic namespace prefix */
     private static final String DYNAMIC_NS_PREFIX = "dns";
 
+    /** Maximum number of cached expressions per thread */
+    private static final int EXPRESSION_CACHE_SIZE = CitrusSettings.getXPathExpressionCacheSize();
+
+    /** Thread confined XPath factory */
+    private static final ThreadLocal<XPathFactory> XPATH_FACTORY = ThreadLocal.withInitial(XPathUtils::createXPathFactory);
+
+    /** Thread confined cache of compiled expressions */
+    private static final ThreadLocal<Map<ExpressionKey, XPathExpression>> EXPRESSION_CACHE = ThreadLocal.withInitial(() ->
+            new LinkedHashMap<ExpressionKey, XPathExpression>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ExpressionKey, XPathExpression> eldest) {
+                    return size() > EXPRESSION_CACHE_SIZE;
+                }
+            });
+
+    /** Expression cache statistics */
+    private static final AtomicLong CACHE_HITS = new AtomicLong();
+    private static final AtomicLong CACHE_MISSES = new AtomicLong();
+
     /**
      * Prevent instantiation.
      */
@@ -269,7 +298,7 @@ public abstract class XPathUtils {
     /**
      * Construct a xPath expression instance with given expression string and namespace context.
      * If namespace context is not specified a default context is built from the XML node
-     * that is evaluated against.
+     * that is evaluated against. Compiled expressions are cached per thread.
      * @param xPathExpression
      * @param nsContext
      * @return
@@ -277,7 +306,36 @@ public abstract class XPathUtils {
      */
     private static XPathExpression buildExpression(String xPathExpression, NamespaceContext nsContext)
             throws XPathExpressionException {
-        XPath xpath = createXPathFactory().newXPath();
+        if (EXPRESSION_CACHE_SIZE <= 0) {
+            return compileExpression(xPathExpression, nsContext);
+        }
+
+        ExpressionKey key = new ExpressionKey(xPathExpression, nsContext);
+        Map<ExpressionKey, XPathExpression> cache = EXPRESSION_CACHE.get();
+
+        XPathExpression expression = cache.get(key);
+        if (expression != null) {
+            CACHE_HITS.incrementAndGet();
+            return expression;
+        }
+
+        CACHE_MISSES.incrementAndGet();
+        expression = compileExpression(xPathExpression, nsContext);
+        cache.put(key, expression);
+
+        return expression;
+    }
+
+    /**
+     * Compiles new xPath expression instance using the thread confined XPath factory.
+     * @param xPathExpression
+     * @param nsContext
+     * @return
+     * @throws XPathExpressionException
+     */
+    private static XPathExpression compileExpression(String xPathExpression, NamespaceContext nsContext)
+            throws XPathExpressionException {
+        XPath xpath = XPATH_FACTORY.get().newXPath();
 
         if (nsContext != null) {
             xpath.setNamespaceContext(nsContext);
@@ -286,6 +344,29 @@ public abstract class XPathUtils {
         return xpath.compile(xPathExpression);
     }
 
+    /**
+     * Gets the number of compiled XPath expressions served from cache.
+     * @return
+     */
+    public static long getExpressionCacheHits() {
+        return CACHE_HITS.get();
+    }
+
+    /**
+     * Gets the number of XPath expressions that had to be compiled because they were not cached.
+     * @return
+     */
+    public static long getExpressionCacheMisses() {
+        return CACHE_MISSES.get();
+    }
+
+    /**
+     * Clears the compiled expressions cached for the current thread.
+     */
+    public static void clearExpressionCache() {
+        EXPRESSION_CACHE.get().clear();
+    }
+
     /**
      * Method to find out whether an expression is of XPath nature or custom dot notation syntax.
      * @param expression the expression string to check.
@@ -316,7 +397,7 @@ public abstract class XPathUtils {
      * Creates new xpath factory which is not thread safe per definition.
      * @return
      */
-    private synchronized static XPathFactory createXPathFactory() {
+    private static XPathFactory createXPathFactory() {
         XPathFactory factory = null;
 
         // read system property and see if there is a factory set
@@ -345,4 +426,46 @@ public abstract class XPathUtils {
         return factory;
     }
 
+    /**
+     * Cache key for compiled expressions. Namespace bindings of simple namespace contexts are compared by value,
+     * all other namespace context implementations by identity.
+     */
+    private static final class ExpressionKey {
+        private final String expression;
+        private final Object namespaces;
+
+        ExpressionKey(String expression, NamespaceContext nsContext) {
+            this.expression = expression;
+
+            if (nsContext instanceof SimpleNamespaceContext) {
+                Map<String, String> bindings = new TreeMap<>();
+                Iterator<String> prefixes = ((SimpleNamespaceContext) nsContext).getBoundPrefixes();
+                while (prefixes.hasNext()) {
+                    String prefix = prefixes.next();
+                    bindings.put(prefix, nsContext.getNamespaceURI(prefix));
+                }
+                this.namespaces = bindings;
+            } else {
+                this.namespaces = nsContext;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ExpressionKey that = (ExpressionKey) o;
+            return expression.equals(that.expression) &&
+                    Objects.equals(namespaces, that.namespaces);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(expression, namespaces);
+        }
+    }
 }
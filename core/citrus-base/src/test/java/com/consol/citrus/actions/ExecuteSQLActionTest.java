@@ -16,21 +16,33 @@
 
 package com.consol.citrus.actions;
 
+import java.sql.BatchUpdateException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 
 /**
@@ -166,4 +178,236 @@ public class ExecuteSQLActionTest extends AbstractTestNGUnitTest {
         executeSQLActionBuilder.build().execute(context);
         verify(jdbcTemplate).execute(DB_STMT_1);
     }
+
+    @Test
+    public void testSQLExecutionBatchMode() {
+        List<String> stmts = new ArrayList<>();
+        stmts.add(DB_STMT_1 + ";");
+        stmts.add(DB_STMT_2);
+        stmts.add("DELETE * FROM ERRORS WHERE STATUS='${resolvedStatus}'");
+
+        context.setVariable("resolvedStatus", "open");
+
+        executeSQLActionBuilder.statements(stmts);
+        executeSQLActionBuilder.batchSize(2);
+
+        reset(jdbcTemplate);
+
+        executeSQLActionBuilder.build().execute(context);
+
+        verify(jdbcTemplate).batchUpdate(DB_STMT_1, DB_STMT_2);
+        verify(jdbcTemplate).batchUpdate("DELETE * FROM ERRORS WHERE STATUS='open'");
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSQLExecutionBatchModeBindVariables() {
+        List<String> stmts = new ArrayList<>();
+        stmts.add("INSERT INTO ERRORS VALUES ('${id}', ${version})");
+        stmts.add("INSERT INTO ERRORS VALUES ('${id}', ${version})");
+        stmts.add("INSERT INTO ERRORS VALUES ('${id}', ${version})");
+        stmts.add(DB_STMT_2);
+        stmts.add("INSERT INTO ERRORS VALUES ('${id}', ${version})");
+
+        context.setVariable("id", "foo");
+        context.setVariable("version", 1);
+
+        executeSQLActionBuilder.statements(stmts);
+        executeSQLActionBuilder.batchSize(2);
+        executeSQLActionBuilder.bindVariables(true);
+
+        reset(jdbcTemplate);
+
+        ArgumentCaptor<List> parameters = ArgumentCaptor.forClass(List.class);
+        when(jdbcTemplate.batchUpdate(eq("INSERT INTO ERRORS VALUES (?, ?)"), parameters.capture())).thenReturn(new int[] { 1, 1 });
+
+        executeSQLActionBuilder.build().execute(context);
+
+        InOrder inOrder = Mockito.inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate, Mockito.times(2)).batchUpdate(eq("INSERT INTO ERRORS VALUES (?, ?)"), anyList());
+        inOrder.verify(jdbcTemplate).batchUpdate(DB_STMT_2);
+        inOrder.verify(jdbcTemplate).batchUpdate(eq("INSERT INTO ERRORS VALUES (?, ?)"), anyList());
+
+        List<List> batches = parameters.getAllValues();
+        Assert.assertEquals(batches.size(), 3);
+        Assert.assertEquals(batches.get(0).size(), 2);
+        Assert.assertEquals(batches.get(1).size(), 1);
+        Assert.assertEquals(batches.get(2).size(), 1);
+        Assert.assertEquals(Arrays.asList((Object[]) batches.get(0).get(0)), Arrays.asList("foo", 1));
+    }
+
+    @Test
+    @SuppressWarnings("serial")
+    public void testSQLExecutionBatchModeIgnoreErrors() {
+        List<String> stmts = new ArrayList<>();
+        stmts.add(DB_STMT_1);
+        stmts.add(DB_STMT_2);
+
+        executeSQLActionBuilder.statements(stmts);
+        executeSQLActionBuilder.batchSize(1);
+        executeSQLActionBuilder.ignoreErrors(true);
+
+        reset(jdbcTemplate);
+
+        when(jdbcTemplate.batchUpdate(DB_STMT_1)).thenThrow(new DataAccessException("Something went wrong!") {});
+
+        executeSQLActionBuilder.build().execute(context);
+        verify(jdbcTemplate).batchUpdate(DB_STMT_2);
+    }
+
+    @Test
+    public void testSQLExecutionBatchModeStatementOrder() {
+        List<String> stmts = new ArrayList<>();
+        stmts.add(DB_STMT_1);
+        stmts.add("INSERT INTO ERRORS VALUES ('${id}')");
+        stmts.add(DB_STMT_2);
+
+        context.setVariable("id", "foo");
+
+        executeSQLActionBuilder.statements(stmts);
+        executeSQLActionBuilder.batchSize(10);
+        executeSQLActionBuilder.bindVariables(true);
+
+        reset(jdbcTemplate);
+
+        executeSQLActionBuilder.build().execute(context);
+
+        InOrder inOrder = Mockito.inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).batchUpdate(DB_STMT_1);
+        inOrder.verify(jdbcTemplate).batchUpdate(eq("INSERT INTO ERRORS VALUES (?)"), anyList());
+        inOrder.verify(jdbcTemplate).batchUpdate(DB_STMT_2);
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    @SuppressWarnings("serial")
+    public void testSQLExecutionBatchModeIgnoreErrorsExecutesRemainingStatements() {
+        List<String> stmts = new ArrayList<>();
+        stmts.add(DB_STMT_1);
+        stmts.add("DELETE * FROM ERRORS WHERE STATUS='invalid'");
+        stmts.add(DB_STMT_2);
+
+        executeSQLActionBuilder.statements(stmts);
+        executeSQLActionBuilder.batchSize(10);
+        executeSQLActionBuilder.ignoreErrors(true);
+
+        reset(jdbcTemplate);
+
+        when(jdbcTemplate.batchUpdate(DB_STMT_1, "DELETE * FROM ERRORS WHERE STATUS='invalid'", DB_STMT_2))
+                .thenThrow(new DataAccessException("Something went wrong!", new BatchUpdateException(new int[] { 1 })) {});
+        when(jdbcTemplate.update("DELETE * FROM ERRORS WHERE STATUS='invalid'")).thenThrow(new DataAccessException("Something went wrong!") {});
+
+        executeSQLActionBuilder.build().execute(context);
+
+        verify(jdbcTemplate, never()).update(DB_STMT_1);
+        verify(jdbcTemplate).update("DELETE * FROM ERRORS WHERE STATUS='invalid'");
+        verify(jdbcTemplate).update(DB_STMT_2);
+    }
+
+    @Test
+    @SuppressWarnings({ "serial", "unchecked" })
+    public void testSQLExecutionBatchModeBindVariablesIgnoreErrors() {
+        List<String> stmts = new ArrayList<>();
+        stmts.add("INSERT INTO ERRORS VALUES ('${id}')");
+        stmts.add("INSERT INTO ERRORS VALUES ('${id}')");
+
+        context.setVariable("id", "foo");
+
+        executeSQLActionBuilder.statements(stmts);
+        executeSQLActionBuilder.batchSize(10);
+        executeSQLActionBuilder.bindVariables(true);
+        executeSQLActionBuilder.ignoreErrors(true);
+
+        reset(jdbcTemplate);
+
+        when(jdbcTemplate.batchUpdate(eq("INSERT INTO ERRORS VALUES (?)"), anyList())).thenThrow(new DataAccessException("Something went wrong!") {});
+
+        executeSQLActionBuilder.build().execute(context);
+
+        verify(jdbcTemplate, Mockito.times(2)).update("INSERT INTO ERRORS VALUES (?)", "foo");
+    }
+
+    @Test
+    public void testSQLExecutionBatchModeBindValuesOnly() {
+        List<String> stmts = new ArrayList<>();
+        stmts.add("DELETE FROM ${table} WHERE ID = ${id} AND NAME LIKE '${name}'");
+        stmts.add("UPDATE ${table} SET MESSAGE='Error ${id}' WHERE ID IN (${id}, '${name}')");
+        stmts.add("INSERT INTO ${table} (ID, NAME) VALUES (${id}, citrus:upperCase('${name}')), ('${id}', '${name}')");
+
+        context.setVariable("table", "ERRORS");
+        context.setVariable("id", 1);
+        context.setVariable("name", "foo");
+
+        executeSQLActionBuilder.statements(stmts);
+        executeSQLActionBuilder.batchSize(10);
+        executeSQLActionBuilder.bindVariables(true);
+
+        reset(jdbcTemplate);
+
+        executeSQLActionBuilder.build().execute(context);
+
+        InOrder inOrder = Mockito.inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).batchUpdate(eq("DELETE FROM ERRORS WHERE ID = ? AND NAME LIKE ?"), anyList());
+        inOrder.verify(jdbcTemplate).batchUpdate(eq("UPDATE ERRORS SET MESSAGE='Error 1' WHERE ID IN (?, ?)"), anyList());
+        inOrder.verify(jdbcTemplate).batchUpdate(eq("INSERT INTO ERRORS (ID, NAME) VALUES (?, citrus:upperCase('foo')), (?, ?)"), anyList());
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    @SuppressWarnings("serial")
+    public void testSQLExecutionBatchModeIgnoreErrorsWithTransaction() {
+        List<String> stmts = new ArrayList<>();
+        stmts.add(DB_STMT_1);
+        stmts.add("DELETE * FROM ERRORS WHERE STATUS='invalid'");
+        stmts.add(DB_STMT_2);
+
+        executeSQLActionBuilder.statements(stmts);
+        executeSQLActionBuilder.batchSize(10);
+        executeSQLActionBuilder.ignoreErrors(true);
+        executeSQLActionBuilder.transactionManager(transactionManager);
+
+        reset(jdbcTemplate, transactionManager);
+
+        TransactionStatus transaction = Mockito.mock(TransactionStatus.class);
+        Object batchSavepoint = new Object();
+        Object statementSavepoint = new Object();
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+        when(transaction.createSavepoint()).thenReturn(batchSavepoint, statementSavepoint);
+
+        when(jdbcTemplate.batchUpdate(DB_STMT_1, "DELETE * FROM ERRORS WHERE STATUS='invalid'", DB_STMT_2))
+                .thenThrow(new DataAccessException("Something went wrong!", new BatchUpdateException(new int[] { 1 })) {});
+        when(jdbcTemplate.update("DELETE * FROM ERRORS WHERE STATUS='invalid'")).thenThrow(new DataAccessException("Something went wrong!") {});
+
+        executeSQLActionBuilder.build().execute(context);
+
+        // batch is rolled back to the savepoint so all statements are executed again, each guarded by a savepoint
+        InOrder inOrder = Mockito.inOrder(jdbcTemplate, transaction);
+        inOrder.verify(transaction).rollbackToSavepoint(batchSavepoint);
+        inOrder.verify(jdbcTemplate).update(DB_STMT_1);
+        inOrder.verify(transaction).releaseSavepoint(statementSavepoint);
+        inOrder.verify(jdbcTemplate).update("DELETE * FROM ERRORS WHERE STATUS='invalid'");
+        inOrder.verify(transaction).rollbackToSavepoint(statementSavepoint);
+        inOrder.verify(jdbcTemplate).update(DB_STMT_2);
+        inOrder.verify(transaction).releaseSavepoint(statementSavepoint);
+        verify(transaction, Mockito.times(4)).createSavepoint();
+        verify(transactionManager).commit(transaction);
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class)
+    @SuppressWarnings("serial")
+    public void testSQLExecutionBatchModeErrorForwarding() {
+        List<String> stmts = new ArrayList<>();
+        stmts.add(DB_STMT_1);
+        stmts.add(DB_STMT_2);
+
+        executeSQLActionBuilder.statements(stmts);
+        executeSQLActionBuilder.batchSize(10);
+
+        reset(jdbcTemplate);
+
+        when(jdbcTemplate.batchUpdate(DB_STMT_1, DB_STMT_2)).thenThrow(new DataAccessException("Something went wrong!") {});
+
+        executeSQLActionBuilder.build().execute(context);
+    }
 }
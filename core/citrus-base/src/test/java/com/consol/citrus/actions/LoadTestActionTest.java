@@ -0,0 +1,215 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.actions;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.endpoint.Endpoint;
+import com.consol.citrus.endpoint.EndpointConfiguration;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.exceptions.ValidationException;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.messaging.Producer;
+import com.consol.citrus.messaging.ReplyConsumer;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.consol.citrus.actions.LoadTestAction.Builder.loadTest;
+import static com.consol.citrus.actions.SendMessageAction.Builder.send;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class LoadTestActionTest extends AbstractTestNGUnitTest {
+
+    private Endpoint endpoint = Mockito.mock(Endpoint.class);
+    private Producer producer = Mockito.mock(Producer.class);
+    private EndpointConfiguration endpointConfiguration = Mockito.mock(EndpointConfiguration.class);
+
+    @Test
+    public void testIterations() {
+        reset(endpoint, producer, endpointConfiguration);
+        when(endpoint.getName()).thenReturn("fooEndpoint");
+        when(endpoint.createProducer()).thenReturn(producer);
+        when(endpoint.getEndpointConfiguration()).thenReturn(endpointConfiguration);
+
+        context.setVariable("greeting", "Hello");
+        doAnswer(invocation -> {
+            Message message = invocation.getArgument(0);
+            Assert.assertEquals(message.getPayload(String.class), "Hello Citrus!");
+            return null;
+        }).when(producer).send(any(Message.class), any(TestContext.class));
+
+        LoadTestAction action = loadTest()
+                .concurrency(4)
+                .iterations(100)
+                .send(send(endpoint).payload("${greeting} Citrus!"))
+                .build();
+        action.execute(context);
+
+        verify(producer, times(100)).send(any(Message.class), any(TestContext.class));
+        verify(endpoint, times(4)).createProducer();
+
+        LoadTestAction.EndpointStatistics statistics = action.getStatistics().get("fooEndpoint");
+        Assert.assertEquals(statistics.getMessageCount(), 100L);
+        Assert.assertEquals(statistics.getErrorCount(), 0L);
+        Assert.assertEquals(statistics.getLatency().getTotalCount(), 100L);
+    }
+
+    @Test
+    public void testRate() {
+        reset(endpoint, producer, endpointConfiguration);
+        when(endpoint.getName()).thenReturn("fooEndpoint");
+        when(endpoint.createProducer()).thenReturn(producer);
+        when(endpoint.getEndpointConfiguration()).thenReturn(endpointConfiguration);
+
+        long start = System.currentTimeMillis();
+        LoadTestAction action = loadTest()
+                .concurrency(2)
+                .rate(100)
+                .duration("500")
+                .send(send(endpoint).payload("Hello Citrus!"))
+                .build();
+        action.execute(context);
+
+        Assert.assertTrue(System.currentTimeMillis() - start >= 450L);
+        Assert.assertEquals(action.getStatistics().get("fooEndpoint").getMessageCount(), 50L);
+    }
+
+    @Test
+    public void testReplyConsumer() {
+        Producer syncProducer = Mockito.mock(Producer.class, Mockito.withSettings().extraInterfaces(ReplyConsumer.class));
+
+        reset(endpoint, endpointConfiguration);
+        when(endpoint.getName()).thenReturn("fooEndpoint");
+        when(endpoint.createProducer()).thenReturn(syncProducer);
+        when(endpoint.getEndpointConfiguration()).thenReturn(endpointConfiguration);
+
+        loadTest()
+                .iterations(10)
+                .replyTimeout(1000L)
+                .send(send(endpoint).payload("Hello Citrus!"))
+                .build()
+                .execute(context);
+
+        verify(syncProducer, times(10)).send(any(Message.class), any(TestContext.class));
+        verify(endpoint, times(1)).createProducer();
+        verify((ReplyConsumer) syncProducer, times(10)).receive(any(TestContext.class), eq(1000L));
+    }
+
+    @Test
+    public void testErrorRateExceeded() {
+        reset(endpoint, producer, endpointConfiguration);
+        when(endpoint.getName()).thenReturn("fooEndpoint");
+        when(endpoint.createProducer()).thenReturn(producer);
+        when(endpoint.getEndpointConfiguration()).thenReturn(endpointConfiguration);
+
+        AtomicInteger count = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (count.incrementAndGet() % 2 == 0) {
+                throw new CitrusRuntimeException("Failed to send");
+            }
+            return null;
+        }).when(producer).send(any(Message.class), any(TestContext.class));
+
+        LoadTestAction action = loadTest()
+                .iterations(20)
+                .maxErrorRate(0.1D)
+                .send(send(endpoint).payload("Hello Citrus!"))
+                .build();
+
+        try {
+            action.execute(context);
+            Assert.fail("Missing validation exception due to exceeded error rate");
+        } catch (ValidationException e) {
+            Assert.assertTrue(e.getMessage().contains("endpoint 'fooEndpoint' error rate 0.5000 exceeds 0.1000"), e.getMessage());
+        }
+
+        Assert.assertEquals(action.getStatistics().get("fooEndpoint").getErrorCount(), 10L);
+    }
+
+    @Test
+    public void testLatencyPercentileExceeded() {
+        reset(endpoint, producer, endpointConfiguration);
+        when(endpoint.getName()).thenReturn("fooEndpoint");
+        when(endpoint.createProducer()).thenReturn(producer);
+        when(endpoint.getEndpointConfiguration()).thenReturn(endpointConfiguration);
+
+        doAnswer(invocation -> {
+            Thread.sleep(20L);
+            return null;
+        }).when(producer).send(any(Message.class), any(TestContext.class));
+
+        try {
+            loadTest()
+                    .iterations(5)
+                    .percentile(99, 10L)
+                    .send(send(endpoint).payload("Hello Citrus!"))
+                    .build()
+                    .execute(context);
+            Assert.fail("Missing validation exception due to exceeded latency");
+        } catch (ValidationException e) {
+            Assert.assertTrue(e.getMessage().contains("endpoint 'fooEndpoint' p99.0 latency"), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testIgnoreErrors() {
+        reset(endpoint, producer, endpointConfiguration);
+        when(endpoint.getName()).thenReturn("fooEndpoint");
+        when(endpoint.createProducer()).thenReturn(producer);
+        when(endpoint.getEndpointConfiguration()).thenReturn(endpointConfiguration);
+
+        doThrow(new CitrusRuntimeException("Failed to send")).when(producer).send(any(Message.class), any(TestContext.class));
+
+        LoadTestAction action = loadTest()
+                .iterations(5)
+                .maxErrorRate(-1)
+                .send(send(endpoint).payload("Hello Citrus!"))
+                .build();
+        action.execute(context);
+
+        Assert.assertEquals(action.getStatistics().get("fooEndpoint").getErrorRate(), 1.0D);
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class, expectedExceptionsMessageRegExp = "Unsupported load test action 'sleep'.*")
+    public void testUnsupportedAction() {
+        loadTest().send(new SleepAction.Builder()).build();
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class, expectedExceptionsMessageRegExp = "Invalid load test concurrency 0 - must be greater than zero")
+    public void testInvalidConcurrency() {
+        loadTest().concurrency(0).send(send(endpoint).payload("Hello Citrus!")).build();
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class, expectedExceptionsMessageRegExp = "Invalid load test concurrency 0 - must be greater than zero")
+    public void testInvalidConcurrencyVariable() {
+        context.setVariable("workers", "0");
+        loadTest().concurrency("${workers}").send(send(endpoint).payload("Hello Citrus!")).build().execute(context);
+    }
+}
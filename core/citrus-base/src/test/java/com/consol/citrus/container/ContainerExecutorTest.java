@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.container;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class ContainerExecutorTest {
+
+    @Test
+    public void testBoundedPoolQueuesTasks() throws Exception {
+        ContainerExecutor executor = new ContainerExecutor(ContainerExecutor.createExecutorService(1, false));
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> blocking = executor.submit(() -> awaitQuietly(release));
+
+        AtomicReference<Thread> executingThread = new AtomicReference<>();
+        Future<?> queued = executor.submit(() -> executingThread.set(Thread.currentThread()));
+        Assert.assertFalse(queued.isDone());
+
+        release.countDown();
+        blocking.get(5000L, TimeUnit.MILLISECONDS);
+        queued.get(5000L, TimeUnit.MILLISECONDS);
+        Assert.assertNotEquals(executingThread.get(), Thread.currentThread());
+    }
+
+    @Test
+    public void testRunIfQueued() throws Exception {
+        ContainerExecutor executor = new ContainerExecutor(ContainerExecutor.createExecutorService(1, false));
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> blocking = executor.submit(() -> awaitQuietly(release));
+
+        AtomicReference<Thread> executingThread = new AtomicReference<>();
+        Future<?> queued = executor.submit(() -> executingThread.set(Thread.currentThread()));
+
+        Assert.assertTrue(executor.runIfQueued(queued));
+        Assert.assertTrue(queued.isDone());
+        Assert.assertEquals(executingThread.get(), Thread.currentThread());
+        Assert.assertFalse(executor.runIfQueued(queued));
+        Assert.assertFalse(executor.runIfQueued(blocking));
+
+        release.countDown();
+        blocking.get(5000L, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testAsyncNeverRunsInCaller() throws Exception {
+        ContainerExecutor executor = new ContainerExecutor(ContainerExecutor.createExecutorService(1, false));
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<?> blocking = executor.submit(() -> awaitQuietly(release));
+
+        AtomicReference<Thread> executingThread = new AtomicReference<>();
+        Future<?> asyncBlocking = executor.submitAsync(() -> awaitQuietly(release));
+        Future<?> async = executor.submitAsync(() -> executingThread.set(Thread.currentThread()));
+        async.get(5000L, TimeUnit.MILLISECONDS);
+
+        Assert.assertNotEquals(executingThread.get(), Thread.currentThread());
+        Assert.assertFalse(executingThread.get().isDaemon());
+        Assert.assertFalse(asyncBlocking.isDone());
+
+        release.countDown();
+        blocking.get(5000L, TimeUnit.MILLISECONDS);
+        asyncBlocking.get(5000L, TimeUnit.MILLISECONDS);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5000L, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -18,14 +18,22 @@ package com.consol.citrus.container;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.consol.citrus.TestAction;
+import com.consol.citrus.actions.AbstractTestAction;
 import com.consol.citrus.actions.EchoAction;
 import com.consol.citrus.actions.FailAction;
 import com.consol.citrus.actions.SleepAction;
+import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.exceptions.ParallelContainerException;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import org.mockito.Mockito;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import static org.mockito.Mockito.reset;
@@ -150,4 +158,156 @@ public class ParallelTest extends AbstractTestNGUnitTest {
 
         verify(action).execute(context);
     }
+
+    @Test
+    public void testMaxConcurrency() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        Parallel.Builder builder = new Parallel.Builder().maxConcurrency(2);
+        for (int i = 0; i < 10; i++) {
+            builder.actions(new AbstractTestAction() {
+                @Override
+                public void doExecute(TestContext context) {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(20L);
+                    } catch (InterruptedException e) {
+                        throw new CitrusRuntimeException(e);
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                }
+            });
+        }
+
+        Parallel parallelAction = builder.build();
+        parallelAction.execute(context);
+
+        Assert.assertEquals(parallelAction.getMaxConcurrency(), 2);
+        Assert.assertTrue(maxRunning.get() <= 2);
+        Assert.assertEquals(running.get(), 0);
+    }
+
+    @Test
+    public void testBoundedExecutorWithNestedContainers() {
+        ContainerExecutor executor = new ContainerExecutor(ContainerExecutor.createExecutorService(2, false));
+
+        Parallel.Builder builder = new Parallel.Builder().executor(executor);
+        for (int i = 0; i < 5; i++) {
+            builder.actions(new Parallel.Builder()
+                    .executor(executor)
+                    .actions(new EchoAction.Builder(), new EchoAction.Builder(), new EchoAction.Builder()));
+        }
+
+        builder.build().execute(context);
+
+        ContainerExecutor.ExecutionStatistics statistics = executor.getStatistics("parallel");
+        Assert.assertEquals(statistics.getExecutionCount(), 6L);
+        Assert.assertTrue(statistics.getMaxTime() >= 0L);
+
+        executor.getExecutorService().shutdown();
+    }
+
+    @Test
+    public void testBoundedExecutorWithDependingActions() {
+        ContainerExecutor executor = new ContainerExecutor(ContainerExecutor.createExecutorService(1, false));
+        CountDownLatch first = new CountDownLatch(1);
+        CountDownLatch second = new CountDownLatch(1);
+
+        Parallel parallelAction = new Parallel.Builder()
+                .executor(executor)
+                .actions(new EchoAction.Builder().build(), new LatchAction(first, second), new LatchAction(second, first))
+                .build();
+
+        parallelAction.execute(context);
+
+        Assert.assertEquals(first.getCount(), 0L);
+        Assert.assertEquals(second.getCount(), 0L);
+
+        executor.getExecutorService().shutdown();
+    }
+
+    @Test
+    public void testInterruptWaitsForRunningActions() throws Exception {
+        ContainerExecutor executor = new ContainerExecutor(ContainerExecutor.createExecutorService(1, false));
+        CountDownLatch running = new CountDownLatch(1);
+        AtomicBoolean actionEnded = new AtomicBoolean();
+        AtomicBoolean endedBeforeReturn = new AtomicBoolean();
+
+        Parallel parallelAction = new Parallel.Builder()
+                .executor(executor)
+                .actions(new AbstractTestAction() {
+                    @Override
+                    public void doExecute(TestContext context) {
+                        running.countDown();
+                        try {
+                            Thread.sleep(5000L);
+                        } catch (InterruptedException e) {
+                            try {
+                                Thread.sleep(200L);
+                            } catch (InterruptedException ex) {
+                                Thread.currentThread().interrupt();
+                            }
+                        } finally {
+                            actionEnded.set(true);
+                        }
+                    }
+                }, new EchoAction.Builder().build(), new EchoAction.Builder().build())
+                .build();
+
+        Thread testThread = new Thread(() -> {
+            parallelAction.execute(context);
+            endedBeforeReturn.set(actionEnded.get());
+        });
+        testThread.start();
+
+        Assert.assertTrue(running.await(5000L, TimeUnit.MILLISECONDS));
+        testThread.interrupt();
+        testThread.join(5000L);
+
+        Assert.assertFalse(testThread.isAlive());
+        Assert.assertTrue(endedBeforeReturn.get());
+
+        executor.getExecutorService().shutdown();
+    }
+
+    @Test
+    public void testAllFailingActionsCollected() {
+        Parallel parallelAction = new Parallel.Builder()
+                .actions(new FailAction.Builder(), new FailAction.Builder(), new FailAction.Builder())
+                .build();
+
+        try {
+            parallelAction.execute(context);
+            Assert.fail("Missing parallel container exception");
+        } catch (ParallelContainerException e) {
+            Assert.assertEquals(e.getMessage().split("\n\t\\+ ").length, 4);
+        }
+    }
+
+    /**
+     * Action releasing its own latch and waiting for the latch of another action.
+     */
+    private static class LatchAction extends AbstractTestAction {
+        private final CountDownLatch own;
+        private final CountDownLatch other;
+
+        LatchAction(CountDownLatch own, CountDownLatch other) {
+            this.own = own;
+            this.other = other;
+        }
+
+        @Override
+        public void doExecute(TestContext context) {
+            own.countDown();
+            try {
+                if (!other.await(5000L, TimeUnit.MILLISECONDS)) {
+                    throw new CitrusRuntimeException("Timed out waiting for other action");
+                }
+            } catch (InterruptedException e) {
+                throw new CitrusRuntimeException(e);
+            }
+        }
+    }
 }
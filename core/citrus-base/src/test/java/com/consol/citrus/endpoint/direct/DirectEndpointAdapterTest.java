@@ -16,8 +16,11 @@
 
 package com.consol.citrus.endpoint.direct;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.context.TestContextFactory;
+import com.consol.citrus.endpoint.adapter.StaticResponseEndpointAdapter;
 import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.DefaultMessageQueue;
 import com.consol.citrus.message.Message;
@@ -77,8 +80,60 @@ public class DirectEndpointAdapterTest {
         Assert.assertEquals(response.getPayload(String.class), "OK");
     }
 
+    @Test
+    public void testEndpointAdapterAsync() {
+        final Message request = new DefaultMessage("<TestMessage><text>Hi!</text></TestMessage>");
+
+        CompletableFuture<Message> response = endpointAdapter.handleMessageAsync(request);
+        Assert.assertFalse(response.isDone());
+
+        Message receivedMessage = endpointAdapter.getEndpoint().createConsumer().receive(context, endpointConfiguration.getTimeout());
+        Assert.assertNotNull(receivedMessage);
+        Assert.assertEquals(receivedMessage.getPayload(), request.getPayload());
+
+        endpointAdapter.getEndpoint().createProducer().send(new DefaultMessage("OK"), context);
+
+        Assert.assertTrue(response.isDone());
+        Assert.assertEquals(response.join().getPayload(String.class), "OK");
+    }
+
     @Test
     public void testNoResponse() {
         Assert.assertNull(endpointAdapter.handleMessage(new DefaultMessage("<TestMessage><text>Hi!</text></TestMessage>")));
     }
+
+    @Test
+    public void testNoResponseAsync() {
+        CompletableFuture<Message> response = endpointAdapter.handleMessageAsync(new DefaultMessage("<TestMessage><text>Hi!</text></TestMessage>"));
+        Assert.assertNull(response.join());
+    }
+
+    @Test
+    public void testFallbackResponseAsync() {
+        StaticResponseEndpointAdapter fallbackAdapter = new StaticResponseEndpointAdapter();
+        fallbackAdapter.setMessagePayload("Fallback");
+        fallbackAdapter.setTestContextFactory(testContextFactory);
+
+        DirectEndpointAdapter adapter = new DirectEndpointAdapter(endpointConfiguration);
+        adapter.setTestContextFactory(testContextFactory);
+        adapter.setFallbackEndpointAdapter(fallbackAdapter);
+
+        CompletableFuture<Message> response = adapter.handleMessageAsync(new DefaultMessage("<TestMessage><text>Hi!</text></TestMessage>"));
+        Assert.assertFalse(response.isDone());
+        Assert.assertEquals(response.join().getPayload(String.class), "Fallback");
+    }
+
+    @Test
+    public void testLateResponseIgnored() {
+        final Message request = new DefaultMessage("<TestMessage><text>Hi!</text></TestMessage>");
+
+        CompletableFuture<Message> response = endpointAdapter.handleMessageAsync(request);
+        Assert.assertNull(response.join());
+
+        Message receivedMessage = endpointAdapter.getEndpoint().createConsumer().receive(context, endpointConfiguration.getTimeout());
+        Assert.assertNotNull(receivedMessage);
+
+        endpointAdapter.getEndpoint().createProducer().send(new DefaultMessage("OK"), context);
+        Assert.assertNull(response.join());
+    }
 }
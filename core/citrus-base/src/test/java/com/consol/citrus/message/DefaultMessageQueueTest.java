@@ -16,9 +16,13 @@
 
 package com.consol.citrus.message;
 
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import com.consol.citrus.context.TestContext;
+import com.consol.citrus.message.selector.DelegatingMessageSelector;
 import com.consol.citrus.message.selector.HeaderMatchingMessageSelector;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
@@ -116,4 +120,53 @@ public class DefaultMessageQueueTest {
         Assert.assertNull(receivedMessage);
         Assert.assertEquals(retries.get(), 4L);
     }
+
+    @Test
+    public void testReceiveSignaledOnSend() throws InterruptedException {
+        DefaultMessageQueue queue = new DefaultMessageQueue();
+        queue.setPollingInterval(10000L);
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            executor.schedule(() -> {
+                queue.send(new DefaultMessage("OtherMessage").setHeader("foo", "other"));
+                queue.send(new DefaultMessage("FooMessage").setHeader("foo", "bar"));
+            }, 200L, TimeUnit.MILLISECONDS);
+
+            long start = System.currentTimeMillis();
+            Message receivedMessage = queue.receive(new HeaderMatchingMessageSelector("foo", "bar", context), 5000L);
+
+            Assert.assertEquals(receivedMessage.getPayload(), "FooMessage");
+            Assert.assertTrue(System.currentTimeMillis() - start < 5000L);
+            Assert.assertEquals(queue.receive().getPayload(), "OtherMessage");
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1L, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testReceiveIndexedSelected() {
+        DefaultMessageQueue queue = new DefaultMessageQueue();
+
+        for (int i = 0; i < 1000; i++) {
+            queue.send(new DefaultMessage("Message" + i).setHeader("index", i).setHeader("type", i % 2 == 0 ? "even" : "odd"));
+        }
+
+        queue.send(new DefaultMessage((Object) new DefaultMessage("NestedMessage").setHeader("index", "nested")));
+
+        Assert.assertEquals(queue.receive(new DelegatingMessageSelector("index = '500'", context)).getPayload(), "Message500");
+        Assert.assertNull(queue.receive(new DelegatingMessageSelector("index = '500'", context)));
+        Assert.assertEquals(queue.receive(new DelegatingMessageSelector("index = '502' AND type = 'even'", context)).getPayload(), "Message502");
+        Assert.assertNull(queue.receive(new DelegatingMessageSelector("index = '503' AND type = 'even'", context)));
+        Assert.assertEquals(queue.receive(message -> message.getHeader("index").toString().startsWith("99")).getPayload(), "Message99");
+        Assert.assertEquals(((Message) queue.receive(new DelegatingMessageSelector("header:index = 'nested'", context)).getPayload()).getPayload(), "NestedMessage");
+
+        queue.send(new DefaultMessage("NewMessage").setHeader("index", 500));
+        Assert.assertEquals(queue.receive(new DelegatingMessageSelector("index = '500'", context)).getPayload(), "NewMessage");
+
+        queue.purge(new DelegatingMessageSelector("type = 'odd'", context));
+        Assert.assertNull(queue.receive(new DelegatingMessageSelector("index = '1'", context)));
+        Assert.assertEquals(queue.receive().getPayload(), "Message0");
+    }
 }
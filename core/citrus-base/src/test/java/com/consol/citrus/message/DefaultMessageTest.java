@@ -0,0 +1,144 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.message;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.consol.citrus.json.JsonPathUtils;
+import com.consol.citrus.util.XMLUtils;
+import com.jayway.jsonpath.ReadContext;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.w3c.dom.Document;
+
+/**
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public class DefaultMessageTest {
+
+    @Test
+    public void testPayloadRepresentationCached() {
+        DefaultMessage message = new DefaultMessage("Hello");
+        AtomicInteger parseCount = new AtomicInteger();
+
+        String first = message.getPayloadRepresentation(String.class, m -> m.getPayload(String.class) + parseCount.incrementAndGet());
+        String second = message.getPayloadRepresentation(String.class, m -> m.getPayload(String.class) + parseCount.incrementAndGet());
+
+        Assert.assertEquals(first, "Hello1");
+        Assert.assertSame(second, first);
+        Assert.assertEquals(parseCount.get(), 1);
+    }
+
+    @Test
+    public void testPayloadRepresentationInvalidatedOnSetPayload() {
+        DefaultMessage message = new DefaultMessage("<Hello>World</Hello>");
+
+        Document doc = XMLUtils.getPayloadDocument(message);
+        Assert.assertNotSame(XMLUtils.getPayloadDocument(message), doc);
+        Assert.assertEquals(doc.getDocumentElement().getTextContent(), "World");
+
+        message.setPayload("<Hello>Citrus</Hello>");
+
+        Document updated = XMLUtils.getPayloadDocument(message);
+        Assert.assertNotSame(updated, doc);
+        Assert.assertEquals(updated.getDocumentElement().getTextContent(), "Citrus");
+    }
+
+    @Test
+    public void testPayloadRepresentationPerType() {
+        DefaultMessage message = new DefaultMessage("{\"text\": \"Hello\"}");
+
+        ReadContext readContext = JsonPathUtils.getPayloadContext(message);
+        Assert.assertSame(JsonPathUtils.getPayloadContext(message), readContext);
+        Assert.assertEquals(JsonPathUtils.evaluateAsString(readContext, "$.text"), "Hello");
+
+        byte[] bytes = message.getPayloadRepresentation(byte[].class, m -> m.getPayload(byte[].class));
+        Assert.assertSame(message.getPayloadRepresentation(byte[].class, m -> m.getPayload(byte[].class)), bytes);
+        Assert.assertSame(JsonPathUtils.getPayloadContext(message), readContext);
+    }
+
+    @Test
+    public void testPayloadRepresentationNotCachedForCopy() {
+        DefaultMessage message = new DefaultMessage("<Hello>World</Hello>");
+        Document doc = XMLUtils.getPayloadDocument(message);
+
+        DefaultMessage copy = new DefaultMessage(message);
+        Assert.assertNotSame(XMLUtils.getPayloadDocument(copy), doc);
+    }
+
+    @Test
+    public void testPayloadDocumentPrivateCopy() throws Exception {
+        DefaultMessage message = new DefaultMessage("<Hello xmlns=\"http://citrusframework.org/test\"><Text>World</Text></Hello>");
+        AtomicInteger parseCount = new AtomicInteger();
+        message.getPayloadRepresentation(Document.class, m -> {
+            parseCount.incrementAndGet();
+            return XMLUtils.parseMessagePayload(m.getPayload(String.class));
+        });
+
+        Document doc = XMLUtils.getPayloadDocument(message);
+        doc.getDocumentElement().setTextContent("Modified");
+
+        Document other = XMLUtils.getPayloadDocument(message);
+        Assert.assertEquals(other.getDocumentElement().getTextContent(), "World");
+        Assert.assertEquals(other.getDocumentElement().getNamespaceURI(), "http://citrusframework.org/test");
+        Assert.assertEquals(parseCount.get(), 1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                results.add(executor.submit(() -> XMLUtils.getPayloadDocument(message).getElementsByTagNameNS("*", "Text").item(0).getTextContent()));
+            }
+
+            for (Future<String> result : results) {
+                Assert.assertEquals(result.get(), "World");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testReadPayloadDocumentShared() throws Exception {
+        DefaultMessage message = new DefaultMessage("<Hello xmlns=\"http://citrusframework.org/test\"><Text>World</Text></Hello>");
+
+        Document doc = XMLUtils.readPayloadDocument(message, document -> document);
+        Assert.assertSame(XMLUtils.readPayloadDocument(message, document -> document), doc);
+        Assert.assertNotSame(XMLUtils.getPayloadDocument(message), doc);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                results.add(executor.submit(() -> XMLUtils.readPayloadDocument(message,
+                        document -> document.getElementsByTagNameNS("*", "Text").item(0).getTextContent())));
+            }
+
+            for (Future<String> result : results) {
+                Assert.assertEquals(result.get(), "World");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -16,6 +16,12 @@
 
 package com.consol.citrus.message.correlation;
 
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.consol.citrus.context.TestContext;
 import com.consol.citrus.endpoint.direct.DirectSyncEndpointConfiguration;
 import org.mockito.Mockito;
 import org.testng.Assert;
@@ -84,4 +90,87 @@ public class PollingCorrelationManagerTest {
         Assert.assertNull(correlationManager.find("foo"));
 
     }
+
+    @Test
+    public void testFindSignaledOnStore() throws InterruptedException {
+        DirectSyncEndpointConfiguration pollableEndpointConfiguration = new DirectSyncEndpointConfiguration();
+        pollableEndpointConfiguration.setPollingInterval(10000L);
+        pollableEndpointConfiguration.setTimeout(5000L);
+
+        PollingCorrelationManager<String> correlationManager = new PollingCorrelationManager<>(pollableEndpointConfiguration, "Try again");
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            executor.schedule(() -> correlationManager.store("foo", "bar"), 200L, TimeUnit.MILLISECONDS);
+
+            Assert.assertEquals(correlationManager.find("foo"), "bar");
+            Assert.assertEquals(correlationManager.getWaitCount(), 1L);
+            Assert.assertEquals(correlationManager.getTimeoutCount(), 0L);
+            Assert.assertTrue(correlationManager.getAverageWaitTime() < 5000L);
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1L, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testFindSignaledOnStoreAfterOtherWaiterTimedOut() throws Exception {
+        DirectSyncEndpointConfiguration pollableEndpointConfiguration = new DirectSyncEndpointConfiguration();
+        pollableEndpointConfiguration.setPollingInterval(10000L);
+        pollableEndpointConfiguration.setTimeout(5000L);
+
+        PollingCorrelationManager<String> correlationManager = new PollingCorrelationManager<>(pollableEndpointConfiguration, "Try again");
+
+        ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+        try {
+            Future<String> shortWaiter = executor.submit(() -> correlationManager.find("foo", 200L));
+            Future<String> longWaiter = executor.submit(() -> correlationManager.find("foo"));
+
+            Assert.assertNull(shortWaiter.get(5000L, TimeUnit.MILLISECONDS));
+
+            long start = System.currentTimeMillis();
+            correlationManager.store("foo", "bar");
+
+            Assert.assertEquals(longWaiter.get(5000L, TimeUnit.MILLISECONDS), "bar");
+            Assert.assertTrue(System.currentTimeMillis() - start < 2000L);
+            Assert.assertEquals(correlationManager.getTimeoutCount(), 1L);
+            Assert.assertEquals(correlationManager.getSignalCount(), 0);
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1L, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testWaitStatistics() {
+        DirectSyncEndpointConfiguration pollableEndpointConfiguration = new DirectSyncEndpointConfiguration();
+        pollableEndpointConfiguration.setPollingInterval(100L);
+        pollableEndpointConfiguration.setTimeout(200L);
+
+        PollingCorrelationManager<String> correlationManager = new PollingCorrelationManager<>(pollableEndpointConfiguration, "Try again");
+
+        correlationManager.store("foo", "bar");
+        Assert.assertEquals(correlationManager.find("foo"), "bar");
+        Assert.assertEquals(correlationManager.getWaitCount(), 0L);
+
+        Assert.assertNull(correlationManager.find("foo"));
+        Assert.assertEquals(correlationManager.getWaitCount(), 1L);
+        Assert.assertEquals(correlationManager.getTimeoutCount(), 1L);
+        Assert.assertTrue(correlationManager.getAverageWaitTime() >= 200L);
+    }
+
+    @Test
+    public void testGetCorrelationKeySignaledOnSave() throws InterruptedException {
+        PollingCorrelationManager<String> correlationManager = new PollingCorrelationManager<>(new DirectSyncEndpointConfiguration(), "Try again");
+        TestContext context = new TestContext();
+
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            executor.schedule(() -> correlationManager.saveCorrelationKey("correlator", "foo", context), 100L, TimeUnit.MILLISECONDS);
+            Assert.assertEquals(correlationManager.getCorrelationKey("correlator", context), "foo");
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1L, TimeUnit.SECONDS);
+        }
+    }
 }
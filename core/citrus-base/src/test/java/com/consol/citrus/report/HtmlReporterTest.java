@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.report;
+
+import java.io.File;
+
+import com.consol.citrus.DefaultTestCase;
+import com.consol.citrus.TestResult;
+import com.consol.citrus.util.FileUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public class HtmlReporterTest {
+
+    @Test
+    public void testGenerateTestResults() throws Exception {
+        HtmlReporter reporter = new HtmlReporter();
+        reporter.setReportFileName("citrus-test-results-generate.html");
+
+        TestResults testResults = new TestResults();
+        testResults.addResult(TestResult.success("fooTest", HtmlReporterTest.class.getName()));
+        testResults.addResult(TestResult.failed("barTest", HtmlReporterTest.class.getName(), new NullPointerException("Something went wrong!")));
+        reporter.generate(testResults);
+
+        String reportFile = FileUtils.readToString(new File(reporter.getReportDirectory() + File.separator + reporter.getReportFileName()));
+        Assert.assertTrue(reportFile.contains("fooTest"));
+        Assert.assertTrue(reportFile.contains("barTest"));
+        Assert.assertTrue(reportFile.contains("java.lang.NullPointerException: Something went wrong!"));
+        Assert.assertFalse(reportFile.contains("@test.results@"));
+        Assert.assertFalse(reportFile.contains("@test.cnt@"));
+    }
+
+    @Test
+    public void testGenerateTestResultsAsTestListener() throws Exception {
+        HtmlReporter reporter = new HtmlReporter();
+        reporter.setReportFileName("citrus-test-results-listener.html");
+
+        DefaultTestCase fooTest = new DefaultTestCase();
+        fooTest.setName("fooTest");
+        fooTest.setDescription("Foo test description");
+        fooTest.setTestClass(HtmlReporterTest.class);
+        fooTest.getMetaInfo().setAuthor("Foo Author");
+
+        DefaultTestCase barTest = new DefaultTestCase();
+        barTest.setName("barTest");
+        barTest.setTestClass(HtmlReporterTest.class);
+
+        TestResults testResults = new TestResults();
+        reporter.onTestSuccess(fooTest);
+        testResults.addResult(TestResult.success("fooTest", HtmlReporterTest.class.getName()));
+        reporter.onTestSkipped(barTest);
+        testResults.addResult(TestResult.skipped("barTest", HtmlReporterTest.class.getName()));
+
+        String reportContent = reporter.getReportContent(testResults);
+        Assert.assertTrue(reportContent.contains("Foo test description"));
+        Assert.assertTrue(reportContent.contains("Foo Author"));
+        Assert.assertTrue(reportContent.indexOf("fooTest") < reportContent.indexOf("barTest"));
+        Assert.assertFalse(reportContent.contains("@test.results@"));
+
+        reporter.onTestSuccess(fooTest);
+        testResults = new TestResults();
+        testResults.addResult(TestResult.success("fooTest", HtmlReporterTest.class.getName()));
+        reporter.generate(testResults);
+
+        String reportFile = FileUtils.readToString(new File(reporter.getReportDirectory() + File.separator + reporter.getReportFileName()));
+        Assert.assertTrue(reportFile.contains("Foo test description"));
+        Assert.assertFalse(reportFile.contains("barTest"));
+    }
+
+    @Test
+    public void testGenerateTestResultsMatchedByName() throws Exception {
+        HtmlReporter reporter = new HtmlReporter();
+        reporter.setReportFileName("citrus-test-results-matched.html");
+
+        DefaultTestCase fooTest = new DefaultTestCase();
+        fooTest.setName("fooTest");
+        fooTest.setDescription("Foo test description");
+        fooTest.setTestClass(HtmlReporterTest.class);
+        fooTest.getMetaInfo().setAuthor("Foo Author");
+
+        DefaultTestCase barTest = new DefaultTestCase();
+        barTest.setName("barTest");
+        barTest.setTestClass(HtmlReporterTest.class);
+
+        reporter.onTestSuccess(fooTest);
+        reporter.onTestSuccess(barTest);
+
+        TestResults testResults = new TestResults();
+        testResults.addResult(TestResult.success("fooTest", HtmlReporterTest.class.getName()));
+        testResults.addResult(TestResult.failed("bazTest", HtmlReporterTest.class.getName(), new NullPointerException("Something went wrong!")));
+
+        String reportContent = reporter.getReportContent(testResults);
+        Assert.assertTrue(reportContent.contains("Foo test description"));
+        Assert.assertTrue(reportContent.contains("Foo Author"));
+        Assert.assertTrue(reportContent.contains("bazTest"));
+        Assert.assertTrue(reportContent.contains("java.lang.NullPointerException: Something went wrong!"));
+        Assert.assertFalse(reportContent.contains("barTest"));
+        Assert.assertTrue(reportContent.indexOf("fooTest") < reportContent.indexOf("bazTest"));
+    }
+}
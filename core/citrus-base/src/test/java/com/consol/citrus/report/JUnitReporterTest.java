@@ -18,6 +18,7 @@ package com.consol.citrus.report;
 
 import java.io.File;
 
+import com.consol.citrus.DefaultTestCase;
 import com.consol.citrus.TestResult;
 import com.consol.citrus.util.FileUtils;
 import org.testng.Assert;
@@ -128,4 +129,78 @@ public class JUnitReporterTest {
         Assert.assertTrue(testSuiteFile.contains("tests=\"2\" errors=\"0\" skipped=\"0\" failures=\"1\""));
         Assert.assertTrue(testSuiteFile.contains("<failure type=\"java.lang.NullPointerException\" message=\"Something &quot;went wrong!\">"));
     }
+
+    @Test
+    public void testGenerateTestResultsAsTestListener() throws Exception {
+        JUnitReporter listener = new JUnitReporter();
+        listener.setSuiteName("listener-suite");
+
+        DefaultTestCase fooTest = new DefaultTestCase();
+        fooTest.setName("fooTest");
+        fooTest.setTestClass(JUnitReporterTest.class);
+
+        DefaultTestCase barTest = new DefaultTestCase();
+        barTest.setName("barTest");
+        barTest.setTestClass(TestResultsTest.class);
+
+        TestResults testResults = new TestResults();
+        listener.onTestSuccess(fooTest);
+        testResults.addResult(TestResult.success("fooTest", JUnitReporterTest.class.getName()));
+        listener.onTestFailure(barTest, new NullPointerException("Something went wrong!"));
+        testResults.addResult(TestResult.failed("barTest", TestResultsTest.class.getName(), new NullPointerException("Something went wrong!")));
+        listener.generate(testResults);
+
+        String reportFile = FileUtils.readToString(new File(listener.getReportDirectory() + File.separator + listener.getOutputDirectory() + File.separator + String.format(listener.getReportFileNamePattern(), TestResultsTest.class.getName())));
+        String testSuiteFile = FileUtils.readToString(new File(listener.getReportDirectory() + File.separator + String.format(listener.getReportFileNamePattern(), "listener-suite")));
+
+        Assert.assertTrue(reportFile.startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<testsuite name=\"com.consol.citrus.report.TestResultsTest\" time=\"0.0\" tests=\"1\" errors=\"0\" skipped=\"0\" failures=\"1\">\n" +
+                "    <testcase name=\"barTest\" classname=\"com.consol.citrus.report.TestResultsTest\" time=\"0.0\">\n" +
+                "      <failure type=\"java.lang.NullPointerException\" message=\"Something went wrong!\">"));
+        Assert.assertTrue(reportFile.endsWith("</testsuite>"));
+
+        Assert.assertTrue(testSuiteFile.startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<testsuite name=\"listener-suite\" time=\"0.0\" tests=\"2\" errors=\"0\" skipped=\"0\" failures=\"1\">\n" +
+                "    <testcase name=\"fooTest\" classname=\"com.consol.citrus.report.JUnitReporterTest\" time=\"0.0\"/>\n" +
+                "    <testcase name=\"barTest\" classname=\"com.consol.citrus.report.TestResultsTest\" time=\"0.0\">"));
+
+        TestResults nextResults = new TestResults();
+        nextResults.addResult(TestResult.skipped("bazTest", JUnitReporterTest.class.getName()));
+        listener.generate(nextResults);
+
+        testSuiteFile = FileUtils.readToString(new File(listener.getReportDirectory() + File.separator + String.format(listener.getReportFileNamePattern(), "listener-suite")));
+        Assert.assertTrue(testSuiteFile.contains("tests=\"1\" errors=\"0\" skipped=\"1\" failures=\"0\""));
+        Assert.assertTrue(testSuiteFile.contains("<testcase name=\"bazTest\""));
+        Assert.assertFalse(testSuiteFile.contains("<testcase name=\"fooTest\""));
+    }
+
+    @Test
+    public void testGenerateTestResultsMatchedByName() throws Exception {
+        JUnitReporter listener = new JUnitReporter();
+        listener.setSuiteName("matched-suite");
+
+        DefaultTestCase fooTest = new DefaultTestCase();
+        fooTest.setName("fooTest");
+        fooTest.setTestClass(JUnitReporterTest.class);
+
+        DefaultTestCase barTest = new DefaultTestCase();
+        barTest.setName("barTest");
+        barTest.setTestClass(JUnitReporterTest.class);
+
+        listener.onTestSuccess(fooTest);
+        listener.onTestFailure(barTest, new NullPointerException("Something went wrong!"));
+
+        TestResults testResults = new TestResults();
+        testResults.addResult(TestResult.success("fooTest", JUnitReporterTest.class.getName()));
+        testResults.addResult(TestResult.skipped("bazTest", JUnitReporterTest.class.getName()));
+        listener.generate(testResults);
+
+        String testSuiteFile = FileUtils.readToString(new File(listener.getReportDirectory() + File.separator + String.format(listener.getReportFileNamePattern(), "matched-suite")));
+
+        Assert.assertEquals(testSuiteFile, "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<testsuite name=\"matched-suite\" time=\"0.0\" tests=\"2\" errors=\"0\" skipped=\"1\" failures=\"0\">\n" +
+                "    <testcase name=\"fooTest\" classname=\"com.consol.citrus.report.JUnitReporterTest\" time=\"0.0\"/>\n" +
+                "    <testcase name=\"bazTest\" classname=\"com.consol.citrus.report.JUnitReporterTest\" time=\"0.0\"/>\n" +
+                "</testsuite>");
+    }
 }
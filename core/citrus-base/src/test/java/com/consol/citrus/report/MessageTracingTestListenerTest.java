@@ -16,15 +16,24 @@
 
 package com.consol.citrus.report;
 
+import com.consol.citrus.CitrusSettings;
 import com.consol.citrus.TestCase;
+import com.consol.citrus.context.TestContext;
 import com.consol.citrus.message.RawMessage;
+import org.springframework.util.FileCopyUtils;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Scanner;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -58,16 +67,200 @@ public class MessageTracingTestListenerTest {
         RawMessage inboundMessageMock = setupRawMessageMock(inboundPayload);
         RawMessage outboundMessageMock = setupRawMessageMock(outboundPayload);
 
+        TestContext context = setupTestContext(testname);
+
         testling.afterPropertiesSet();
         testling.onTestStart(testCaseMock);
-        testling.onInboundMessage(inboundMessageMock, null);
-        testling.onOutboundMessage(outboundMessageMock, null);
-        testling.onTestFinish(testCaseMock);
+        testling.onInboundMessage(inboundMessageMock, context);
+        testling.onOutboundMessage(outboundMessageMock, context);
+        testling.onTestFinish(testCaseMock, context);
 
         assertFileExistsWithContent(testname, inboundPayload);
         assertFileExistsWithContent(testname, outboundPayload);
     }
 
+    @Test
+    public void shouldSeparateParallelTests() throws Exception {
+        TestCase fooTest = setupTestCaseMock("FooTracingTest");
+        TestCase barTest = setupTestCaseMock("BarTracingTest");
+        TestContext fooContext = setupTestContext("FooTracingTest");
+        TestContext barContext = setupTestContext("BarTracingTest");
+
+        testling.afterPropertiesSet();
+        testling.onTestStart(fooTest);
+        testling.onTestStart(barTest);
+        testling.onInboundMessage(setupRawMessageMock("Foo Message"), fooContext);
+        testling.onInboundMessage(setupRawMessageMock("Bar Message"), barContext);
+        testling.onTestFinish(barTest, barContext);
+        testling.onOutboundMessage(setupRawMessageMock("Foo Reply"), fooContext);
+        testling.onTestFinish(fooTest, fooContext);
+
+        assertFileExistsWithContent("FooTracingTest", "Foo Message");
+        assertFileExistsWithContent("FooTracingTest", "Foo Reply");
+        assertFileExistsWithContent("BarTracingTest", "Bar Message");
+        Assert.assertFalse(readTraceFile(testling.getTraceFile("FooTracingTest")).contains("Bar Message"));
+        Assert.assertFalse(readTraceFile(testling.getTraceFile("BarTracingTest")).contains("Foo"));
+    }
+
+    @Test
+    public void shouldNotTraceMessagesOutsideOfTest() throws Exception {
+        TestCase testCaseMock = setupTestCaseMock("NoTracingTest");
+
+        TestContext context = new TestContext();
+
+        testling.afterPropertiesSet();
+        testling.onInboundMessage(setupRawMessageMock("Some Message"), context);
+        testling.onTestFinish(testCaseMock, context);
+
+        Assert.assertFalse(testling.getTraceFile("NoTracingTest").exists());
+    }
+
+    @Test
+    public void shouldSeparateParallelRunsOfSameTest() throws Exception {
+        TestCase testCaseMock = setupTestCaseMock("ParallelTracingTest");
+        TestContext firstRun = setupTestContext("ParallelTracingTest");
+        TestContext secondRun = setupTestContext("ParallelTracingTest");
+
+        testling.afterPropertiesSet();
+        testling.onInboundMessage(setupRawMessageMock("First Run"), firstRun);
+        testling.onInboundMessage(setupRawMessageMock("Second Run"), secondRun);
+        testling.onTestFinish(testCaseMock, secondRun);
+        testling.onOutboundMessage(setupRawMessageMock("First Reply"), firstRun);
+        testling.onTestFinish(testCaseMock, firstRun);
+
+        String firstTrace = readTraceFile(testling.getTraceFile("ParallelTracingTest"));
+        String secondTrace = readTraceFile(testling.getTraceFile("ParallelTracingTest_2"));
+        Assert.assertTrue(firstTrace.contains("First Run"));
+        Assert.assertTrue(firstTrace.contains("First Reply"));
+        Assert.assertFalse(firstTrace.contains("Second Run"));
+        Assert.assertTrue(secondTrace.contains("Second Run"));
+        Assert.assertFalse(secondTrace.contains("First"));
+    }
+
+    @Test
+    public void shouldCloseTraceOnSkippedTest() throws Exception {
+        TestCase testCaseMock = setupTestCaseMock("SkippedTracingTest");
+        TestContext context = setupTestContext("SkippedTracingTest");
+
+        testling.afterPropertiesSet();
+        testling.onInboundMessage(setupRawMessageMock("Skipped Message"), context);
+        testling.onTestSkipped(testCaseMock, context);
+
+        assertFileExistsWithContent("SkippedTracingTest", "Skipped Message");
+    }
+
+    @Test
+    public void shouldCloseTraceOfAbandonedTest() throws Exception {
+        MessageTraceWriter traceWriter = new MessageTraceWriter();
+        traceWriter.setCompress(true);
+
+        MessageTracingTestListener listener = new MessageTracingTestListener();
+        listener.setOutputDirectory("target/citrus-logs/trace/messages");
+        listener.setTraceWriter(traceWriter);
+        listener.afterPropertiesSet();
+
+        listener.onInboundMessage(setupRawMessageMock("Abandoned Message"), setupTestContext("AbandonedTracingTest"));
+
+        // closing the trace of an abandoned test context finishes the compressed file
+        File traceFile = listener.getTraceFile("AbandonedTracingTest");
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (!isCompleteCompressedFile(traceFile) && System.currentTimeMillis() < deadline) {
+            System.gc();
+            listener.onTestFinish(setupTestCaseMock("OtherTracingTest"), new TestContext());
+            Thread.sleep(50L);
+        }
+
+        Assert.assertTrue(readCompressedFile(traceFile).contains("Abandoned Message"));
+    }
+
+    @Test
+    public void shouldCompressAndRotateTraceFiles() throws Exception {
+        MessageTracingTestListener listener = new MessageTracingTestListener();
+        listener.setOutputDirectory("target/citrus-logs/trace/messages");
+        listener.setCompress(true);
+        listener.setMaxFileSize(100L);
+        listener.afterPropertiesSet();
+
+        String testname = "RotatingTracingTest";
+        TestCase testCaseMock = setupTestCaseMock(testname);
+        TestContext context = setupTestContext(testname);
+
+        // random content does not compress so the compressed file exceeds the max file size with the first message
+        listener.onTestStart(testCaseMock);
+        listener.onInboundMessage(setupRawMessageMock("First Message " + UUID.randomUUID() + UUID.randomUUID() + UUID.randomUUID()), context);
+        listener.onOutboundMessage(setupRawMessageMock("Second Message"), context);
+        listener.onTestFinish(testCaseMock, context);
+
+        File traceFile = listener.getTraceFile(testname);
+        Assert.assertTrue(traceFile.getName().endsWith(".msgs.gz"));
+
+        File rotatedFile = new File(traceFile.getParentFile(), traceFile.getName().replace(".msgs.gz", "_1.msgs.gz"));
+        Assert.assertTrue(readCompressedFile(traceFile).contains("First Message"));
+        Assert.assertTrue(readCompressedFile(rotatedFile).contains("Second Message"));
+    }
+
+    @Test
+    public void shouldReportWriteFailureOnTestFinish() throws Exception {
+        MessageTracingTestListener listener = new MessageTracingTestListener();
+        listener.setOutputDirectory("target/citrus-logs/trace/missing/" + UUID.randomUUID());
+
+        String testname = "FailingTracingTest";
+        TestCase testCaseMock = setupTestCaseMock(testname);
+        TestContext context = setupTestContext(testname);
+
+        listener.onTestStart(testCaseMock);
+        listener.onInboundMessage(setupRawMessageMock("First Message"), context);
+        listener.onOutboundMessage(setupRawMessageMock("Second Message"), context);
+        Assert.assertFalse(context.hasExceptions());
+
+        listener.onTestFinish(testCaseMock, context);
+        Assert.assertEquals(context.getExceptions().size(), 1L);
+        Assert.assertEquals(context.getExceptions().get(0).getMessage(), "Failed to write message trace to filesystem");
+    }
+
+    @Test
+    public void shouldFlushTraceWhenIdle() throws Exception {
+        MessageTraceWriter traceWriter = new MessageTraceWriter();
+        File traceFile = new File("target/citrus-logs/trace/messages", "IdleTracingTest_" + UUID.randomUUID() + ".msgs");
+        traceFile.getParentFile().mkdirs();
+
+        MessageTraceWriter.Trace trace = traceWriter.open(traceFile);
+        trace.append("Idle Message");
+
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (traceFile.length() == 0L && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+
+        Assert.assertEquals(readTraceFile(traceFile), "Idle Message");
+        trace.close().join();
+    }
+
+    private TestContext setupTestContext(String testname) {
+        TestContext context = new TestContext();
+        context.setVariable(CitrusSettings.TEST_NAME_VARIABLE, testname);
+        return context;
+    }
+
+    private String readTraceFile(File traceFile) throws IOException {
+        return new String(Files.readAllBytes(traceFile.toPath()), StandardCharsets.UTF_8);
+    }
+
+    private boolean isCompleteCompressedFile(File traceFile) {
+        try {
+            readCompressedFile(traceFile);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private String readCompressedFile(File traceFile) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new FileInputStream(traceFile))) {
+            return FileCopyUtils.copyToString(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+    }
+
     private TestCase setupTestCaseMock(String testname) {
         TestCase mock = mock(TestCase.class);
         when(mock.getName()).thenReturn(testname);
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10000; i++) {
+            histogram.recordValue(i);
+        }
+
+        Assert.assertEquals(histogram.getTotalCount(), 10000L);
+        Assert.assertEquals(histogram.getMinValue(), 1L);
+        Assert.assertEquals(histogram.getMaxValue(), 10000L);
+        Assert.assertEquals(histogram.getMean(), 5000.5D);
+        Assert.assertEquals(histogram.getValueAtPercentile(0), 1L);
+        Assert.assertEquals(histogram.getValueAtPercentile(50), 5000.0D, 50.0D);
+        Assert.assertEquals(histogram.getValueAtPercentile(99), 9900.0D, 99.0D);
+        Assert.assertEquals(histogram.getValueAtPercentile(100), 10000L);
+    }
+
+    @Test
+    public void testExactLowValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100L, TimeUnit.MICROSECONDS);
+        histogram.record(200L, TimeUnit.MICROSECONDS);
+
+        Assert.assertEquals(histogram.getValueAtPercentile(50), 100L);
+        Assert.assertEquals(histogram.getValueAtPercentile(100), 200L);
+    }
+
+    @Test
+    public void testHighestTrackableValue() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(2L, TimeUnit.HOURS);
+        histogram.record(-1L, TimeUnit.MILLISECONDS);
+
+        Assert.assertEquals(histogram.getMaxValue(), LatencyHistogram.HIGHEST_TRACKABLE_VALUE);
+        Assert.assertEquals(histogram.getMinValue(), 0L);
+        Assert.assertEquals(histogram.getValueAtPercentile(100), LatencyHistogram.HIGHEST_TRACKABLE_VALUE);
+    }
+
+    @Test
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(histogram.getValueAtPercentile(99), 0L);
+        Assert.assertEquals(histogram.getMinValue(), 0L);
+        Assert.assertEquals(histogram.getMean(), 0.0D);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class TimeoutSchedulerTest {
+
+    private final TimeoutScheduler scheduler = new TimeoutScheduler();
+
+    @Test
+    public void testCompleteOnTimeout() throws InterruptedException {
+        TimeoutScheduler timeoutScheduler = new TimeoutScheduler();
+        CompletableFuture<String> future = timeoutScheduler.completeOnTimeout(new CompletableFuture<>(), "timeout", 100L);
+
+        Assert.assertEquals(future.join(), "timeout");
+        waitForTimeoutCount(timeoutScheduler, 1L);
+        Assert.assertEquals(timeoutScheduler.getTimeoutCount(), 1L);
+    }
+
+    @Test
+    public void testCompleteOffSchedulerThread() {
+        CompletableFuture<String> future = scheduler.completeOnTimeout(new CompletableFuture<>(), "timeout", 100L);
+
+        String threadName = future.thenApply(value -> Thread.currentThread().getName()).join();
+        Assert.assertFalse(threadName.startsWith("citrus-timeout-scheduler"), threadName);
+    }
+
+    @Test
+    public void testOrTimeout() {
+        CompletableFuture<String> future = scheduler.orTimeout(new CompletableFuture<>(), 100L);
+
+        try {
+            future.join();
+            Assert.fail("Missing timeout exception");
+        } catch (CompletionException e) {
+            Assert.assertTrue(e.getCause() instanceof TimeoutException);
+        }
+    }
+
+    @Test
+    public void testCompletedInTime() {
+        TimeoutScheduler timeoutScheduler = new TimeoutScheduler();
+        CompletableFuture<String> future = timeoutScheduler.completeOnTimeout(new CompletableFuture<>(), "timeout", 60000L);
+        Assert.assertEquals(timeoutScheduler.getPendingCount(), 1);
+
+        future.complete("OK");
+
+        Assert.assertEquals(future.join(), "OK");
+        Assert.assertEquals(timeoutScheduler.getPendingCount(), 0);
+        Assert.assertEquals(timeoutScheduler.getTimeoutCount(), 0L);
+    }
+
+    @Test
+    public void testCompletedBeforeTimeoutTask() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<Void> timeoutTaskDone = new CompletableFuture<>();
+
+        // future completes in time while the timeout task is handed over to the completion executor
+        TimeoutScheduler timeoutScheduler = new TimeoutScheduler(task -> {
+            future.complete("OK");
+            task.run();
+            timeoutTaskDone.complete(null);
+        });
+        timeoutScheduler.orTimeout(future, 100L);
+
+        timeoutTaskDone.join();
+        Assert.assertEquals(future.join(), "OK");
+        Assert.assertEquals(timeoutScheduler.getTimeoutCount(), 0L);
+    }
+
+    private void waitForTimeoutCount(TimeoutScheduler timeoutScheduler, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (timeoutScheduler.getTimeoutCount() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+    }
+}
@@ -16,13 +16,17 @@
 
 package com.consol.citrus.util;
 
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.StreamUtils;
 import org.springframework.xml.transform.StringSource;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import javax.xml.transform.Source;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.util.*;
@@ -54,4 +58,14 @@ public class TypeConversionUtilsTest {
         Assert.assertEquals(TypeConversionUtils.convertIfNecessary(ByteBuffer.wrap(payload.getBytes()), String.class), payload);
     }
 
+    @Test
+    public void testConvertResource() throws IOException {
+        String payload = "Hello Citrus!";
+        Resource resource = new ByteArrayResource(payload.getBytes());
+
+        Assert.assertEquals(TypeConversionUtils.convertIfNecessary(resource, String.class), payload);
+        Assert.assertEquals(TypeConversionUtils.convertIfNecessary(resource, byte[].class), payload.getBytes());
+        Assert.assertEquals(StreamUtils.copyToByteArray(TypeConversionUtils.convertIfNecessary(resource, InputStream.class)), payload.getBytes());
+    }
+
 }
\ No newline at end of file
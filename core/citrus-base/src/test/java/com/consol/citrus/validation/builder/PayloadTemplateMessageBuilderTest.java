@@ -68,6 +68,14 @@ public class PayloadTemplateMessageBuilderTest extends AbstractTestNGUnitTest {
         assertEquals(resultingMessage.getPayload(), "TestMessagePayload");
     }
 
+    @Test
+    public void testMessageBuilderAddsPayloadInterceptorsOnce() {
+        messageBuilder.buildMessageContent(context, CitrusSettings.DEFAULT_MESSAGE_TYPE);
+        messageBuilder.buildMessageContent(context, CitrusSettings.DEFAULT_MESSAGE_TYPE);
+
+        assertEquals(messageBuilder.getMessageInterceptors().size(), 2L);
+    }
+
     @Test
     public void testMessageBuilderVariableSupport() {
         messageBuilder.setPayloadData("This ${placeholder} contains variables!");
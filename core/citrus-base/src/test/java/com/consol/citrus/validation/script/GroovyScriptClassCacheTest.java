@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.validation.script;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class GroovyScriptClassCacheTest {
+
+    @Test
+    public void testScriptClassCache() {
+        GroovyScriptClassCache cache = new GroovyScriptClassCache(2);
+
+        Class<?> scriptClass = cache.getScriptClass("return 'foo'");
+        Assert.assertSame(cache.getScriptClass("return 'foo'"), scriptClass);
+        Assert.assertNotSame(cache.getScriptClass("return 'bar'"), scriptClass);
+
+        Assert.assertEquals(cache.getHits(), 1L);
+        Assert.assertEquals(cache.getMisses(), 2L);
+        Assert.assertEquals(cache.size(), 2);
+
+        cache.precompile("return 'foobar'");
+        Assert.assertEquals(cache.size(), 2);
+        Assert.assertEquals(cache.getMisses(), 3L);
+
+        Assert.assertNotSame(cache.getScriptClass("return 'foo'"), scriptClass);
+        Assert.assertEquals(cache.getMisses(), 4L);
+    }
+
+    @Test
+    public void testPrecompileResources() {
+        GroovyScriptClassCache cache = new GroovyScriptClassCache(10);
+
+        int compiled = cache.precompileResources("classpath*:com/consol/citrus/validation/script/precompile-*.groovy, classpath:unknown.groovy",
+                script -> script);
+
+        Assert.assertEquals(compiled, 1);
+        Assert.assertEquals(cache.size(), 1);
+
+        cache.getScriptClass("return 'foo'\n");
+        Assert.assertEquals(cache.getHits(), 1L);
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class)
+    public void testCompilationFailure() {
+        new GroovyScriptClassCache(2).getScriptClass("return 'foo");
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.variable;
+
+import java.util.Collections;
+
+import com.consol.citrus.UnitTestSupport;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.functions.FunctionLibrary;
+import com.consol.citrus.functions.FunctionUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public class ContentTemplateTest extends UnitTestSupport {
+
+    @Test
+    public void testCompileCached() {
+        String source = "<Text>${text}</Text>";
+        ContentTemplate template = ContentTemplate.compile(source);
+
+        Assert.assertSame(ContentTemplate.compile(new String(source)), template);
+        Assert.assertEquals(template.getVariableNames(), new String[] { "text" });
+    }
+
+    @Test
+    public void testRenderVariables() {
+        context.setVariable("greeting", "Hello");
+        context.setVariable("text", "TestFramework!");
+
+        ContentTemplate template = ContentTemplate.compile("${greeting} ${text} - ${greeting}");
+        Assert.assertEquals(template.render(context, false), "Hello TestFramework! - Hello");
+        Assert.assertEquals(template.render(context, true), "'Hello' 'TestFramework!' - 'Hello'");
+
+        context.setVariable("text", "Citrus!");
+        Assert.assertEquals(template.render(context, false), "Hello Citrus! - Hello");
+    }
+
+    @Test
+    public void testRenderFunctions() {
+        ContentTemplate template = ContentTemplate.compile("<Text>citrus:concat('Hello', ' TestFramework!')</Text><Upper>citrus:upperCase('citrus')</Upper>");
+        Assert.assertEquals(template.render(context, false), "<Text>Hello TestFramework!</Text><Upper>CITRUS</Upper>");
+        Assert.assertEquals(template.render(context, true), "<Text>'Hello TestFramework!'</Text><Upper>'CITRUS'</Upper>");
+        Assert.assertEquals(template.renderVariables(context, false), template.getSource());
+    }
+
+    @Test
+    public void testRenderVariablesAndFunctions() {
+        context.setVariable("greeting", "Hello");
+        context.setVariable("function", "citrus:upperCase('citrus')");
+
+        ContentTemplate template = ContentTemplate.compile("citrus:concat('${greeting}', ' TestFramework!') ${function}");
+        Assert.assertEquals(template.render(context, false), "Hello TestFramework! CITRUS");
+    }
+
+    @Test
+    public void testRenderVariablesInFunctionSinglePass() {
+        context.setVariable("greeting", "Hello");
+        context.setVariable("name", "Citrus");
+
+        ContentTemplate template = ContentTemplate.compile("<Text>citrus:concat('${greeting}', ' ', ${name})</Text><Name>${name}</Name>");
+        Assert.assertEquals(template.render(context, false), "<Text>Hello Citrus</Text><Name>Citrus</Name>");
+        Assert.assertEquals(template.render(context, true), "<Text>'Hello Citrus'</Text><Name>'Citrus'</Name>");
+    }
+
+    @Test
+    public void testRenderVariableValuesChangingFunctions() {
+        context.setVariable("value", "a)b");
+        context.setVariable("library", "citrus");
+        context.setVariable("function", "citrus:upperCase('citrus')");
+
+        String source = "citrus:concat('${value}', 'c')";
+        Assert.assertEquals(ContentTemplate.compile(source).render(context, false),
+                FunctionUtils.replaceFunctionsInString(VariableUtils.replaceVariablesInString(source, context, false), context));
+        Assert.assertEquals(ContentTemplate.compile("${library}:upperCase('hello')").render(context, false), "HELLO");
+        Assert.assertEquals(ContentTemplate.compile("<Text>${function}</Text>").render(context, false), "<Text>CITRUS</Text>");
+    }
+
+    @Test
+    public void testCompileLargeSourceCached() {
+        StringBuilder source = new StringBuilder("${text}");
+        while (source.length() <= 65536) {
+            source.append("<Text>Hello</Text>");
+        }
+
+        Assert.assertSame(ContentTemplate.compile(source.toString()), ContentTemplate.compile(source.toString()));
+    }
+
+    @Test
+    public void testTemplateCacheEvictsLeastRecentlyUsed() {
+        ContentTemplate.TemplateCache cache = new ContentTemplate.TemplateCache(2, Long.MAX_VALUE);
+
+        ContentTemplate first = cache.compile("${first}");
+        ContentTemplate second = cache.compile("${second}");
+        Assert.assertSame(cache.compile("${first}"), first);
+
+        cache.compile("${third}");
+        Assert.assertEquals(cache.size(), 2);
+        Assert.assertSame(cache.compile("${first}"), first);
+        Assert.assertNotSame(cache.compile("${second}"), second);
+    }
+
+    @Test
+    public void testTemplateCacheBoundedByRetainedChars() {
+        ContentTemplate template = ContentTemplate.compile("Hello ${name}!");
+        long chars = template.getRetainedChars();
+        ContentTemplate.TemplateCache cache = new ContentTemplate.TemplateCache(100, chars * 2);
+
+        ContentTemplate first = cache.compile("Hello ${name}!");
+        cache.compile("Hallo ${name}!");
+        Assert.assertEquals(cache.getRetainedChars(), chars * 2);
+
+        cache.compile("Hola! ${name}!");
+        Assert.assertEquals(cache.size(), 2);
+        Assert.assertEquals(cache.getRetainedChars(), chars * 2);
+        Assert.assertNotSame(cache.compile("Hello ${name}!"), first);
+
+        StringBuilder source = new StringBuilder();
+        while (source.length() <= chars * 2) {
+            source.append("Hello ${name}!");
+        }
+
+        ContentTemplate large = cache.compile(source.toString());
+        Assert.assertNotSame(cache.compile(source.toString()), large);
+        Assert.assertEquals(cache.size(), 2);
+
+        cache.clear();
+        Assert.assertEquals(cache.size(), 0);
+        Assert.assertEquals(cache.getRetainedChars(), 0L);
+    }
+
+    @Test
+    public void testRenderNestedFunctionLibraries() {
+        FunctionLibrary library = new FunctionLibrary();
+        library.setName("custom");
+        library.setPrefix("custom:");
+        library.setMembers(Collections.singletonMap("greeting", (parameterList, context) -> "citrus:upperCase('hello')"));
+        context.getFunctionRegistry().addFunctionLibrary(library);
+
+        ContentTemplate template = ContentTemplate.compile("custom:greeting()");
+        Assert.assertEquals(template.render(context, false), "citrus:upperCase('hello')");
+
+        template = ContentTemplate.compile("citrus:concat('Hello', ' ', custom:greeting())");
+        Assert.assertEquals(template.render(context, false), "Hello citrus:upperCase('hello')");
+    }
+
+    @Test
+    public void testRenderFunctionResultOfSubsequentLibrary() {
+        FunctionLibrary library = new FunctionLibrary();
+        library.setName("custom");
+        library.setPrefix("custom:");
+        library.setMembers(Collections.singletonMap("upper", (parameterList, context) -> parameterList.get(0).toUpperCase()));
+        context.getFunctionRegistry().addFunctionLibrary(library);
+
+        ContentTemplate template = ContentTemplate.compile("citrus:concat('custom', ':upper(', 'hello', ')')");
+        Assert.assertEquals(template.render(context, false), "HELLO");
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class)
+    public void testUnknownVariable() {
+        ContentTemplate.compile("${unknown}").render(context, false);
+    }
+}
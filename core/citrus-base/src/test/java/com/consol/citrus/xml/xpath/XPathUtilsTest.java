@@ -103,4 +103,27 @@ public class XPathUtilsTest {
         System.setProperty(XPathFactory.DEFAULT_PROPERTY_NAME + ":" + XPathFactory.DEFAULT_OBJECT_MODEL_URI, "");
         testEvaluate();
     }
+
+    @Test
+    public void testExpressionCache() {
+        Document personNode = XMLUtils.parseMessagePayload("<ns1:person xmlns:ns1=\"http://citrusframework.org/person\"><ns1:name>foo</ns1:name></ns1:person>");
+        XPathUtils.clearExpressionCache();
+
+        long misses = XPathUtils.getExpressionCacheMisses();
+        long hits = XPathUtils.getExpressionCacheHits();
+
+        for (int i = 0; i < 3; i++) {
+            SimpleNamespaceContext namespaceContext = new SimpleNamespaceContext();
+            namespaceContext.bindNamespaceUri("ns1", "http://citrusframework.org/person");
+            Assert.assertEquals(XPathUtils.evaluateAsString(personNode, "/ns1:person/ns1:name", namespaceContext), "foo");
+        }
+
+        Assert.assertEquals(XPathUtils.getExpressionCacheMisses() - misses, 1L);
+        Assert.assertEquals(XPathUtils.getExpressionCacheHits() - hits, 2L);
+
+        SimpleNamespaceContext otherContext = new SimpleNamespaceContext();
+        otherContext.bindNamespaceUri("ns1", "http://citrusframework.org/other");
+        Assert.assertFalse(XPathUtils.evaluateAsBoolean(personNode, "/ns1:person/ns1:name", otherContext));
+        Assert.assertEquals(XPathUtils.getExpressionCacheMisses() - misses, 2L);
+    }
 }
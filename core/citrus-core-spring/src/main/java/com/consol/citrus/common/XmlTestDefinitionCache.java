@@ -0,0 +1,385 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.consol.citrus.CitrusSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.SimpleBeanDefinitionRegistry;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.util.StringUtils;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+/**
+ * Cache of parsed XML test definitions keyed by the context locations. Each XML test file is read and schema validated only once
+ * into a DOM document. Test case instances are created from a fresh application context that runs the bean definition parsers
+ * on the cached documents, so XML parsing and schema validation are skipped for subsequent test invocations. Bean definition
+ * parsers create message builders, validation contexts and variable extractors as property values, so running them per
+ * application context makes sure that test case instances never share this mutable state.
+ *
+ * Cache may be bounded in which case least recently used definitions are evicted. The default shared instance is bounded
+ * by the XML test cache size setting.
+ *
+ * Context locations and imports in the test files may use resource patterns such as "classpath*:" or wildcards.
+ *
+ * Test files may be preloaded in parallel at suite start. Tests waiting for a definition that is still being parsed
+ * join the preload instead of parsing the file a second time.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public class XmlTestDefinitionCache {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(XmlTestDefinitionCache.class);
+
+    /** Helper context file added to each test context */
+    private static final String ANNOTATION_CONFIG_CONTEXT = "com/consol/citrus/spring/annotation-config-ctx.xml";
+
+    /** Default shared instance */
+    private static final XmlTestDefinitionCache DEFAULT_INSTANCE = new XmlTestDefinitionCache(CitrusSettings.getXmlTestCacheSize());
+
+    /** Parsed documents mapped by context locations */
+    private final Map<String, CompletableFuture<List<ParsedResource>>> definitions;
+
+    /** Resource loader resolving the context locations and imports */
+    private final ResourcePatternResolver resourceLoader;
+
+    /** Executor parsing preloaded test files */
+    private ExecutorService preloadExecutor;
+
+    /** Statistics */
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong parseTime = new AtomicLong();
+
+    /**
+     * Default constructor using unbounded cache.
+     */
+    public XmlTestDefinitionCache() {
+        this(0);
+    }
+
+    /**
+     * Constructor using max number of cached test definitions.
+     * @param maxSize max number of cached definitions, zero or less for unbounded cache.
+     */
+    public XmlTestDefinitionCache(int maxSize) {
+        this(maxSize, new PathMatchingResourcePatternResolver(XmlTestDefinitionCache.class.getClassLoader()));
+    }
+
+    /**
+     * Constructor using max number of cached test definitions and resource loader resolving context locations. Bounded
+     * cache evicts least recently used definitions. Resource loaders not able to resolve location patterns are wrapped
+     * with a pattern resolver.
+     * @param maxSize max number of cached definitions, zero or less for unbounded cache.
+     * @param resourceLoader
+     */
+    public XmlTestDefinitionCache(int maxSize, ResourceLoader resourceLoader) {
+        this.resourceLoader = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
+
+        if (maxSize > 0) {
+            this.definitions = Collections.synchronizedMap(new LinkedHashMap<String, CompletableFuture<List<ParsedResource>>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<List<ParsedResource>>> eldest) {
+                    return size() > maxSize;
+                }
+            });
+        } else {
+            this.definitions = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Gets the default shared instance.
+     * @return
+     */
+    public static XmlTestDefinitionCache getDefault() {
+        return DEFAULT_INSTANCE;
+    }
+
+    /**
+     * Creates and refreshes new application context for given test context file using the cached bean definitions.
+     * Parses the test file in case it is not cached yet.
+     * @param contextFile the test context file.
+     * @param parent the parent application context, may be null.
+     * @return
+     */
+    public ApplicationContext createApplicationContext(String contextFile, ApplicationContext parent) {
+        return createApplicationContext(new String[] { contextFile, ANNOTATION_CONFIG_CONTEXT }, parent);
+    }
+
+    /**
+     * Creates and refreshes new application context for given context locations using the cached documents.
+     * Parses the locations in case they are not cached yet.
+     * @param configLocations the context locations.
+     * @param parent the parent application context, may be null.
+     * @return
+     */
+    public ApplicationContext createApplicationContext(String[] configLocations, ApplicationContext parent) {
+        List<ParsedResource> parsedResources = getDefinitions(configLocations);
+
+        GenericApplicationContext ctx = new GenericApplicationContext(parent);
+        registerBeanDefinitions(parsedResources, ctx);
+
+        ctx.refresh();
+        return ctx;
+    }
+
+    /**
+     * Runs the bean definition parsers on the cached documents and registers the resulting bean definitions.
+     * @param parsedResources
+     * @param registry
+     */
+    private void registerBeanDefinitions(List<ParsedResource> parsedResources, BeanDefinitionRegistry registry) {
+        XmlBeanDefinitionReader reader = new XmlBeanDefinitionReader(registry);
+        reader.setResourceLoader(resourceLoader);
+
+        for (ParsedResource parsedResource : parsedResources) {
+            // DOM implementations are not thread safe even for read access
+            synchronized (parsedResource.document) {
+                reader.registerBeanDefinitions(parsedResource.document, parsedResource.resource);
+            }
+        }
+    }
+
+    /**
+     * Parses given test context files in parallel without blocking the calling thread. Files that are already cached
+     * or currently being parsed are skipped.
+     * @param contextFiles
+     */
+    public void preload(Collection<String> contextFiles) {
+        if (contextFiles.isEmpty()) {
+            return;
+        }
+
+        ExecutorService executor = getPreloadExecutor();
+        for (String contextFile : contextFiles) {
+            String[] configLocations = new String[] { contextFile, ANNOTATION_CONFIG_CONTEXT };
+            String key = getKey(configLocations);
+            definitions.computeIfAbsent(key, k -> {
+                CompletableFuture<List<ParsedResource>> future = CompletableFuture.supplyAsync(() -> parse(configLocations), executor);
+                future.whenComplete((result, error) -> {
+                    if (error != null) {
+                        log.warn(String.format("Failed to preload XML test '%s'", contextFile));
+                        definitions.remove(k, future);
+                    }
+                });
+                return future;
+            });
+        }
+
+        log.debug(String.format("Preloading %s XML test definitions", contextFiles.size()));
+    }
+
+    /**
+     * Gets parsed documents for given context locations. Parses the locations in the calling thread
+     * unless the documents are already cached or being preloaded.
+     * @param configLocations
+     * @return
+     */
+    private List<ParsedResource> getDefinitions(String[] configLocations) {
+        String key = getKey(configLocations);
+        CompletableFuture<List<ParsedResource>> future = new CompletableFuture<>();
+        CompletableFuture<List<ParsedResource>> cached = definitions.putIfAbsent(key, future);
+
+        if (cached != null) {
+            hits.incrementAndGet();
+
+            try {
+                return cached.join();
+            } catch (CompletionException e) {
+                // preload failed - parse again in calling thread in order to report the error
+                definitions.remove(key, cached);
+                return getDefinitions(configLocations);
+            }
+        }
+
+        misses.incrementAndGet();
+        try {
+            List<ParsedResource> parsedResources = parse(configLocations);
+            future.complete(parsedResources);
+            return parsedResources;
+        } catch (RuntimeException e) {
+            definitions.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Reads and validates the context locations into DOM documents.
+     * @param configLocations
+     * @return
+     */
+    private List<ParsedResource> parse(String[] configLocations) {
+        long start = System.currentTimeMillis();
+
+        DocumentLoadingReader reader = new DocumentLoadingReader();
+        reader.setResourceLoader(resourceLoader);
+
+        List<ParsedResource> parsedResources = new ArrayList<>();
+        for (String location : configLocations) {
+            for (Resource resource : getResources(location)) {
+                parsedResources.add(new ParsedResource(resource, reader.loadDocument(resource)));
+            }
+        }
+
+        long time = System.currentTimeMillis() - start;
+        parseTime.addAndGet(time);
+
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("Parsed XML context '%s' in %s ms", configLocations[0], time));
+        }
+
+        return parsedResources;
+    }
+
+    /**
+     * Resolves given location to resources. Supports location patterns.
+     * @param location
+     * @return
+     */
+    private Resource[] getResources(String location) {
+        try {
+            return resourceLoader.getResources(location);
+        } catch (IOException e) {
+            throw new BeanDefinitionStoreException("Could not resolve bean definition resource pattern [" + location + "]", e);
+        }
+    }
+
+    private static String getKey(String[] configLocations) {
+        return StringUtils.arrayToCommaDelimitedString(configLocations);
+    }
+
+    /**
+     * Lazily creates the executor used to preload test files.
+     * @return
+     */
+    private synchronized ExecutorService getPreloadExecutor() {
+        if (preloadExecutor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            preloadExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "citrus-xml-test-preload-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        return preloadExecutor;
+    }
+
+    /**
+     * Gets the number of cached test definitions.
+     * @return
+     */
+    public int size() {
+        return definitions.size();
+    }
+
+    /**
+     * Removes all cached test definitions.
+     */
+    public void clear() {
+        definitions.clear();
+    }
+
+    /**
+     * Gets the number of test contexts created from cached definitions.
+     * @return
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of test files that had to be parsed on demand.
+     * @return
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the total time in milliseconds spent parsing test files.
+     * @return
+     */
+    public long getParseTime() {
+        return parseTime.get();
+    }
+
+    /**
+     * Context resource and its parsed document.
+     */
+    private static final class ParsedResource {
+        private final Resource resource;
+        private final Document document;
+
+        ParsedResource(Resource resource, Document document) {
+            this.resource = resource;
+            this.document = document;
+        }
+    }
+
+    /**
+     * Bean definition reader exposing the validating document loading without registering any bean definitions.
+     */
+    private static final class DocumentLoadingReader extends XmlBeanDefinitionReader {
+
+        DocumentLoadingReader() {
+            super(new SimpleBeanDefinitionRegistry());
+        }
+
+        Document loadDocument(Resource resource) {
+            try (InputStream inputStream = resource.getInputStream()) {
+                return doLoadDocument(new InputSource(inputStream), resource);
+            } catch (IOException e) {
+                throw new BeanDefinitionStoreException("IOException parsing XML document from " + resource, e);
+            } catch (BeanDefinitionStoreException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new BeanDefinitionStoreException(resource.getDescription(), "Failed to parse XML document from " + resource, e);
+            }
+        }
+    }
+}
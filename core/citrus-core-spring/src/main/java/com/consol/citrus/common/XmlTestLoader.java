@@ -19,6 +19,7 @@ package com.consol.citrus.common;
 import java.io.File;
 
 import com.consol.citrus.CitrusContext;
+import com.consol.citrus.CitrusSettings;
 import com.consol.citrus.CitrusSpringContext;
 import com.consol.citrus.DefaultTestCase;
 import com.consol.citrus.TestCase;
@@ -81,11 +82,15 @@ public class XmlTestLoader implements TestLoader {
 
     /**
      * Create new Spring bean application context with test case XML file,
-     * helper and parent context file.
+     * helper and parent context file. Uses cached test definitions unless disabled in Citrus settings.
      * @return
      */
     private ApplicationContext loadApplicationContext() {
         try {
+            if (CitrusSettings.isXmlTestCacheEnabled()) {
+                return XmlTestDefinitionCache.getDefault().createApplicationContext(getContextFile(), getParentApplicationContext());
+            }
+
             return new ClassPathXmlApplicationContext(
                     new String[]{
                             getContextFile(),
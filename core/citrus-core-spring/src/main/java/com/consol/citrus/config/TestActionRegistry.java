@@ -35,6 +35,7 @@ import com.consol.citrus.config.xml.InputActionParser;
 import com.consol.citrus.config.xml.IterateParser;
 import com.consol.citrus.config.xml.JavaActionParser;
 import com.consol.citrus.config.xml.LoadPropertiesActionParser;
+import com.consol.citrus.config.xml.LoadTestActionParser;
 import com.consol.citrus.config.xml.ParallelParser;
 import com.consol.citrus.config.xml.PurgeEndpointActionParser;
 import com.consol.citrus.config.xml.ReceiveMessageActionParser;
@@ -103,6 +104,7 @@ public final class TestActionRegistry {
         registerActionParser("fail", new FailActionParser());
         registerActionParser("input", new InputActionParser());
         registerActionParser("load", new LoadPropertiesActionParser());
+        registerActionParser("load-test", new LoadTestActionParser());
         registerActionParser("parallel", new ParallelParser());
         registerActionParser("catch", new CatchParser());
         registerActionParser("assert", new AssertParser());
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.config.xml;
+
+import java.util.List;
+import java.util.Map;
+
+import com.consol.citrus.TestAction;
+import com.consol.citrus.actions.LoadTestAction;
+import com.consol.citrus.config.util.BeanDefinitionParserUtils;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.ManagedMap;
+import org.springframework.beans.factory.xml.BeanDefinitionParser;
+import org.springframework.beans.factory.xml.ParserContext;
+import org.springframework.util.xml.DomUtils;
+import org.w3c.dom.Element;
+
+/**
+ * Bean definition parser for load test action in test case.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public class LoadTestActionParser implements BeanDefinitionParser {
+
+    @Override
+    public BeanDefinition parse(Element element, ParserContext parserContext) {
+        BeanDefinitionBuilder beanDefinition = BeanDefinitionBuilder.rootBeanDefinition(LoadTestActionFactoryBean.class);
+
+        DescriptionElementParser.doParse(element, beanDefinition);
+
+        BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("rate"), "rate");
+        BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("concurrency"), "concurrency");
+        BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("duration"), "duration");
+        BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("iterations"), "iterations");
+        BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("reply-timeout"), "replyTimeout");
+        BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("max-error-rate"), "maxErrorRate");
+
+        List<Element> percentileElements = DomUtils.getChildElementsByTagName(element, "percentile");
+        if (!percentileElements.isEmpty()) {
+            Map<String, String> percentiles = new ManagedMap<>();
+            for (Element percentileElement : percentileElements) {
+                percentiles.put(percentileElement.getAttribute("value"), percentileElement.getAttribute("max-latency"));
+            }
+            beanDefinition.addPropertyValue("percentiles", percentiles);
+        }
+
+        Element requestsElement = DomUtils.getChildElementByTagName(element, "requests");
+        if (requestsElement != null) {
+            ActionContainerParser.doParse(requestsElement, parserContext, beanDefinition, "requests");
+        }
+
+        return beanDefinition.getBeanDefinition();
+    }
+
+    /**
+     * Test action factory bean.
+     */
+    public static class LoadTestActionFactoryBean extends AbstractTestActionFactoryBean<LoadTestAction, LoadTestAction.Builder> {
+
+        private final LoadTestAction.Builder builder = new LoadTestAction.Builder();
+
+        public void setRate(String rate) {
+            builder.rate(rate);
+        }
+
+        public void setConcurrency(String concurrency) {
+            builder.concurrency(concurrency);
+        }
+
+        public void setDuration(String duration) {
+            builder.duration(duration);
+        }
+
+        public void setIterations(String iterations) {
+            builder.iterations(iterations);
+        }
+
+        public void setReplyTimeout(long replyTimeout) {
+            builder.replyTimeout(replyTimeout);
+        }
+
+        public void setMaxErrorRate(double maxErrorRate) {
+            builder.maxErrorRate(maxErrorRate);
+        }
+
+        public void setPercentiles(Map<String, String> percentiles) {
+            percentiles.forEach((percentile, maxLatency) -> builder.percentile(Double.parseDouble(percentile), Long.parseLong(maxLatency)));
+        }
+
+        public void setRequests(List<TestAction> requests) {
+            requests.forEach(request -> builder.send(() -> request));
+        }
+
+        @Override
+        public LoadTestAction getObject() throws Exception {
+            return builder.build();
+        }
+
+        @Override
+        public Class<?> getObjectType() {
+            return LoadTestAction.class;
+        }
+
+        /**
+         * Obtains the builder.
+         * @return the builder implementation.
+         */
+        @Override
+        public LoadTestAction.Builder getBuilder() {
+            return builder;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.consol.citrus.config.xml;
 
+import com.consol.citrus.config.util.BeanDefinitionParserUtils;
 import com.consol.citrus.container.Parallel;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
@@ -35,6 +36,7 @@ public class ParallelParser implements BeanDefinitionParser {
         BeanDefinitionBuilder builder = BeanDefinitionBuilder.rootBeanDefinition(ParallelFactoryBean.class);
 
         DescriptionElementParser.doParse(element, builder);
+        BeanDefinitionParserUtils.setPropertyValue(builder, element.getAttribute("max-concurrency"), "maxConcurrency");
         ActionContainerParser.doParse(element, parserContext, builder);
 
         return builder.getBeanDefinition();
@@ -47,6 +49,10 @@ public class ParallelParser implements BeanDefinitionParser {
 
         private final Parallel.Builder builder = new Parallel.Builder();
 
+        public void setMaxConcurrency(int maxConcurrency) {
+            builder.maxConcurrency(maxConcurrency);
+        }
+
         @Override
         public Parallel getObject() throws Exception {
             return getObject(builder.build());
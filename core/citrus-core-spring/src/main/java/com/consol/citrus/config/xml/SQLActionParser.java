@@ -102,6 +102,9 @@ public class SQLActionParser implements BeanDefinitionParser {
             beanDefinition.addPropertyValue("ignoreErrors", true);
         }
 
+        BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("batch-size"), "batchSize");
+        BeanDefinitionParserUtils.setPropertyValue(beanDefinition, element.getAttribute("bind-variables"), "bindVariables");
+
         return beanDefinition;
     }
 
@@ -192,6 +195,22 @@ public class SQLActionParser implements BeanDefinitionParser {
             builder.ignoreErrors(ignoreErrors);
         }
 
+        /**
+         * Execute statements in JDBC batches of given size.
+         * @param batchSize number of statements per batch
+         */
+        public void setBatchSize(int batchSize) {
+            builder.batchSize(batchSize);
+        }
+
+        /**
+         * Bind test variables as prepared statement parameters when executing in batch mode.
+         * @param bindVariables boolean flag to set
+         */
+        public void setBindVariables(boolean bindVariables) {
+            builder.bindVariables(bindVariables);
+        }
+
         @Override
         public Class<?> getObjectType() {
             return ExecuteSQLAction.class;
@@ -16,8 +16,14 @@
 
 package com.consol.citrus.endpoint.adapter;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
 import com.consol.citrus.DefaultTestCase;
 import com.consol.citrus.TestCase;
+import com.consol.citrus.common.XmlTestDefinitionCache;
 import com.consol.citrus.context.SpringBeanReferenceResolver;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.endpoint.EndpointAdapter;
@@ -33,6 +39,7 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
@@ -41,6 +48,10 @@ import org.springframework.core.task.TaskExecutor;
  * Special request dispatching endpoint adapter invokes XML test case for each incoming message. Incoming message is
  * passed to test case via normal in memory message queue connection as usual.
  *
+ * Adapter optionally caches the parsed test definitions so the test file is not read again with each request. Each request
+ * gets its own application context with new test case instances that is closed once the test has been executed. Request
+ * timing statistics are recorded per mapping name.
+ *
  * @author Christoph Deppisch
  * @since 1.4
  */
@@ -60,27 +71,50 @@ public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointA
     /** Default package to search for Xml test case files */
     private String packageName = "com.consol.citrus.tests";
 
+    /** Max number of cached test definitions - zero or less loads the test file with each request */
+    private int testDefinitionCacheSize = 0;
+
+    /** Parsed test definitions mapped by test file */
+    private XmlTestDefinitionCache testDefinitionCache;
+
+    /** Request statistics per mapping name */
+    private final Map<String, RequestStatistics> statistics = new ConcurrentHashMap<>();
+
     @Override
     public Message dispatchMessage(final Message request, String mappingName) {
-        final TestCase test;
-        final TestContext testContext;
+        long start = System.currentTimeMillis();
+        boolean success = false;
 
         try {
-            testContext = getTestContextFactory().getObject();
-            test = getTestCase(testContext, mappingName);
-        } catch (NoSuchBeanDefinitionException e) {
-            throw new CitrusRuntimeException("Unable to find test builder with name '" +
-                    mappingName + "' in Spring bean context", e);
-        }
+            final TestCase test;
+            final TestContext testContext;
 
-        taskExecutor.execute(new Runnable() {
-            public void run() {
-                prepareExecution(request, test);
-                test.execute(testContext);
+            try {
+                testContext = getTestContextFactory().getObject();
+                test = getTestCase(testContext, mappingName);
+            } catch (NoSuchBeanDefinitionException e) {
+                throw new CitrusRuntimeException("Unable to find test builder with name '" +
+                        mappingName + "' in Spring bean context", e);
             }
-        });
 
-        return endpointAdapterDelegate.handleMessage(request);
+            taskExecutor.execute(new Runnable() {
+                public void run() {
+                    try {
+                        prepareExecution(request, test);
+                        test.execute(testContext);
+                    } finally {
+                        closeApplicationContext(testContext.getApplicationContext());
+                    }
+                }
+            });
+
+            Message response = endpointAdapterDelegate.handleMessage(request);
+            success = true;
+            return response;
+        } finally {
+            statistics.computeIfAbsent(mappingName, name -> new RequestStatistics())
+                    .record(System.currentTimeMillis() - start, success);
+        }
     }
 
     /**
@@ -90,7 +124,12 @@ public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointA
      * @return the new test case.
      */
     protected TestCase getTestCase(TestContext context, String testName) {
-        ClassPathXmlApplicationContext ctx = createApplicationContext(context, packageName, testName);
+        ApplicationContext ctx;
+        if (testDefinitionCache != null) {
+            ctx = createCachedApplicationContext(context, packageName, testName);
+        } else {
+            ctx = createApplicationContext(context, packageName, testName);
+        }
 
         try {
             context.setApplicationContext(ctx);
@@ -102,10 +141,22 @@ public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointA
             }
             return testCase;
         } catch (NoSuchBeanDefinitionException e) {
+            closeApplicationContext(ctx);
             throw context.handleError(testName, packageName, "Could not find test with name '" + testName + "'", e);
         }
     }
 
+    /**
+     * Closes the application context that has been created for a single request. Test case beans and their resources
+     * get destroyed once the test has been executed.
+     * @param ctx
+     */
+    private void closeApplicationContext(ApplicationContext ctx) {
+        if (ctx != applicationContext && ctx instanceof ConfigurableApplicationContext) {
+            ((ConfigurableApplicationContext) ctx).close();
+        }
+    }
+
     /**
      * Creates the Spring application context.
      * @return
@@ -122,6 +173,19 @@ public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointA
         }
     }
 
+    /**
+     * Creates the Spring application context from cached test definitions. Test file is parsed only once
+     * and each request gets new test case instances.
+     * @return
+     */
+    private ApplicationContext createCachedApplicationContext(TestContext context, String packageName, String testName) {
+        try {
+            return testDefinitionCache.createApplicationContext(packageName.replace('.', '/') + "/" + testName + ".xml", applicationContext);
+        } catch (Exception e) {
+            throw context.handleError(getClass().getSimpleName(), getClass().getPackage().getName(), "Failed to load test case", e);
+        }
+    }
+
     /**
      * Prepares the test builder instance before execution. Subclasses may add custom properties to teest builder
      * here.
@@ -149,6 +213,27 @@ public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointA
             BeanNameMappingStrategy mappingStrategy = new BeanNameMappingStrategy(new SpringBeanReferenceResolver(applicationContext));
             setMappingStrategy(mappingStrategy);
         }
+
+        if (testDefinitionCache == null && testDefinitionCacheSize > 0) {
+            testDefinitionCache = new XmlTestDefinitionCache(testDefinitionCacheSize);
+        }
+    }
+
+    /**
+     * Gets request statistics for given mapping name.
+     * @param mappingName
+     * @return statistics or null if no request has been dispatched to the mapping yet.
+     */
+    public RequestStatistics getStatistics(String mappingName) {
+        return statistics.get(mappingName);
+    }
+
+    /**
+     * Gets all request statistics mapped by mapping name.
+     * @return
+     */
+    public Map<String, RequestStatistics> getStatistics() {
+        return Collections.unmodifiableMap(statistics);
     }
 
     /**
@@ -175,6 +260,38 @@ public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointA
         this.packageName = packageName;
     }
 
+    /**
+     * Gets the max number of cached test definitions.
+     * @return
+     */
+    public int getTestDefinitionCacheSize() {
+        return testDefinitionCacheSize;
+    }
+
+    /**
+     * Sets the max number of cached test definitions. Zero or less loads the test file with each request.
+     * @param testDefinitionCacheSize
+     */
+    public void setTestDefinitionCacheSize(int testDefinitionCacheSize) {
+        this.testDefinitionCacheSize = testDefinitionCacheSize;
+    }
+
+    /**
+     * Gets the test definition cache.
+     * @return cache or null if caching is disabled.
+     */
+    public XmlTestDefinitionCache getTestDefinitionCache() {
+        return testDefinitionCache;
+    }
+
+    /**
+     * Sets the test definition cache.
+     * @param testDefinitionCache
+     */
+    public void setTestDefinitionCache(XmlTestDefinitionCache testDefinitionCache) {
+        this.testDefinitionCache = testDefinitionCache;
+    }
+
     /**
      * Gets the task executor.
      * @return
@@ -225,4 +342,44 @@ public class XmlTestExecutingEndpointAdapter extends RequestDispatchingEndpointA
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
         this.applicationContext = applicationContext;
     }
+
+    /**
+     * Request timing statistics for a mapping.
+     */
+    public static final class RequestStatistics {
+        private final AtomicLong requestCount = new AtomicLong();
+        private final AtomicLong errorCount = new AtomicLong();
+        private final AtomicLong totalTime = new AtomicLong();
+        private final AtomicLong maxTime = new AtomicLong();
+
+        void record(long requestTime, boolean success) {
+            requestCount.incrementAndGet();
+            if (!success) {
+                errorCount.incrementAndGet();
+            }
+            totalTime.addAndGet(requestTime);
+            maxTime.accumulateAndGet(requestTime, Math::max);
+        }
+
+        public long getRequestCount() {
+            return requestCount.get();
+        }
+
+        public long getErrorCount() {
+            return errorCount.get();
+        }
+
+        public long getTotalTime() {
+            return totalTime.get();
+        }
+
+        public long getMaxTime() {
+            return maxTime.get();
+        }
+
+        public double getAverageTime() {
+            long count = requestCount.get();
+            return count > 0 ? (double) totalTime.get() / count : 0.0D;
+        }
+    }
 }
@@ -16,12 +16,15 @@
 
 package com.consol.citrus.endpoint.adapter.mapping;
 
+import com.consol.citrus.common.XmlTestDefinitionCache;
 import com.consol.citrus.endpoint.EndpointAdapter;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
 import org.springframework.context.support.FileSystemXmlApplicationContext;
+import org.springframework.core.io.FileSystemResourceLoader;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.util.Assert;
 
 /**
@@ -39,9 +42,15 @@ public class ContextLoadingMappingStrategy implements EndpointAdapterMappingStra
     /** Should application context be loaded once or with every mapping call */
     protected boolean loadOnce = true;
 
+    /** Max number of cached context definitions used when context is loaded with every mapping call - zero or less disables the cache */
+    protected int definitionCacheSize = 0;
+
     /** Cached application context */
     private ApplicationContext applicationContext;
 
+    /** Parsed context definitions */
+    private XmlTestDefinitionCache definitionCache;
+
     @Override
     public EndpointAdapter getEndpointAdapter(String mappingKey) {
         Assert.notNull(contextConfigLocation, "Spring bean application context location must be set properly");
@@ -67,10 +76,14 @@ public class ContextLoadingMappingStrategy implements EndpointAdapterMappingStra
 
     /**
      * Creates a new Spring application context using the context config location. Create classpath
-     * or file system application context.
+     * or file system application context. Uses cached context definitions if enabled.
      * @return
      */
     private ApplicationContext createApplicationContext() {
+        if (!loadOnce && definitionCacheSize > 0) {
+            return getDefinitionCache().createApplicationContext(new String[] { contextConfigLocation }, null);
+        }
+
         if (contextConfigLocation.startsWith("classpath")) {
             return new ClassPathXmlApplicationContext(contextConfigLocation);
         } else {
@@ -78,6 +91,37 @@ public class ContextLoadingMappingStrategy implements EndpointAdapterMappingStra
         }
     }
 
+    /**
+     * Lazily creates the definition cache. Resolves locations without prefix as file system resources
+     * the same way as the file system application context does.
+     * @return
+     */
+    private synchronized XmlTestDefinitionCache getDefinitionCache() {
+        if (definitionCache == null) {
+            definitionCache = new XmlTestDefinitionCache(definitionCacheSize,
+                    new PathMatchingResourcePatternResolver(new FileSystemResourceLoader()));
+        }
+
+        return definitionCache;
+    }
+
+    /**
+     * Sets the load once flag. When disabled a new application context is created with every mapping call.
+     * @param loadOnce
+     */
+    public void setLoadOnce(boolean loadOnce) {
+        this.loadOnce = loadOnce;
+    }
+
+    /**
+     * Sets the max number of cached context definitions used when the application context is created with every mapping call.
+     * Zero or less parses the context config location with every mapping call.
+     * @param definitionCacheSize
+     */
+    public void setDefinitionCacheSize(int definitionCacheSize) {
+        this.definitionCacheSize = definitionCacheSize;
+    }
+
     /**
      * Sets the context config location for building the Spring application context.
      * @param contextConfigLocation
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.common;
+
+import java.io.File;
+import java.util.Collections;
+
+import com.consol.citrus.CitrusSpringContext;
+import com.consol.citrus.TestCase;
+import com.consol.citrus.UnitTestSupport;
+import com.consol.citrus.actions.EchoAction;
+import com.consol.citrus.actions.ReceiveMessageAction;
+import com.consol.citrus.actions.SendMessageAction;
+import org.springframework.context.ApplicationContext;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class XmlTestLoaderTest extends UnitTestSupport {
+
+    private final String contextFile = "com" + File.separator + "consol" + File.separator + "citrus"
+            + File.separator + "common" + File.separator + "XmlTestLoaderTest.xml";
+
+    @Test
+    public void testLoadFromCache() {
+        XmlTestDefinitionCache cache = XmlTestDefinitionCache.getDefault();
+        long hits = cache.getHits();
+
+        TestCase first = createTestLoader().load();
+        TestCase second = createTestLoader().load();
+
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(second.getName(), "XmlTestLoaderTest");
+        Assert.assertEquals(second.getActionCount(), 2L);
+        Assert.assertEquals(second.getTestClass(), XmlTestLoaderTest.class);
+        Assert.assertNotSame(first.getActions().get(0), second.getActions().get(0));
+        Assert.assertEquals(((EchoAction) second.getActions().get(0)).getMessage(), "${text}");
+        Assert.assertEquals(second.getVariableDefinitions().get("text"), "Hello Citrus!");
+
+        Assert.assertTrue(cache.getHits() > hits);
+    }
+
+    @Test
+    public void testPreload() {
+        XmlTestDefinitionCache cache = new XmlTestDefinitionCache();
+        cache.preload(Collections.singletonList(contextFile));
+        Assert.assertEquals(cache.size(), 1);
+
+        TestCase testCase = (TestCase) cache.createApplicationContext(contextFile, applicationContext).getBean("XmlTestLoaderTest");
+        Assert.assertEquals(testCase.getActionCount(), 2L);
+        Assert.assertEquals(cache.getHits(), 1L);
+        Assert.assertEquals(cache.getMisses(), 0L);
+        Assert.assertTrue(cache.getParseTime() >= 0L);
+    }
+
+    @Test
+    public void testCreateIndependentTestInstances() {
+        String cachedContextFile = "com/consol/citrus/common/XmlTestDefinitionCacheTest.xml";
+        XmlTestDefinitionCache cache = new XmlTestDefinitionCache();
+
+        TestCase first = (TestCase) cache.createApplicationContext(cachedContextFile, applicationContext).getBean("XmlTestDefinitionCacheTest");
+        TestCase second = (TestCase) cache.createApplicationContext(cachedContextFile, applicationContext).getBean("XmlTestDefinitionCacheTest");
+        Assert.assertEquals(cache.getMisses(), 1L);
+        Assert.assertEquals(cache.getHits(), 1L);
+
+        SendMessageAction firstSend = (SendMessageAction) first.getActions().get(0);
+        SendMessageAction secondSend = (SendMessageAction) second.getActions().get(0);
+        Assert.assertNotSame(firstSend.getMessageBuilder(), secondSend.getMessageBuilder());
+        Assert.assertNotSame(firstSend.getVariableExtractors().get(0), secondSend.getVariableExtractors().get(0));
+
+        ReceiveMessageAction firstReceive = (ReceiveMessageAction) first.getActions().get(1);
+        ReceiveMessageAction secondReceive = (ReceiveMessageAction) second.getActions().get(1);
+        Assert.assertNotSame(firstReceive.getMessageBuilder(), secondReceive.getMessageBuilder());
+        Assert.assertNotSame(firstReceive.getValidationContexts(), secondReceive.getValidationContexts());
+        Assert.assertNotSame(firstReceive.getValidationContexts().get(0), secondReceive.getValidationContexts().get(0));
+        Assert.assertNotSame(firstReceive.getVariableExtractors().get(0), secondReceive.getVariableExtractors().get(0));
+    }
+
+    @Test
+    public void testResolveLocationPatterns() {
+        XmlTestDefinitionCache cache = new XmlTestDefinitionCache();
+
+        ApplicationContext ctx = cache.createApplicationContext("classpath*:com/consol/citrus/common/XmlTestDefinitionCacheImport*.xml", applicationContext);
+        Assert.assertEquals(((TestCase) ctx.getBean("XmlTestDefinitionCacheImportTest")).getActionCount(), 1L);
+        Assert.assertEquals(((TestCase) ctx.getBean("XmlTestDefinitionCacheTest")).getActionCount(), 2L);
+    }
+
+    private XmlTestLoader createTestLoader() {
+        return new XmlTestLoader(XmlTestLoaderTest.class, "XmlTestLoaderTest", "com.consol.citrus.common",
+                CitrusSpringContext.create(applicationContext));
+    }
+}
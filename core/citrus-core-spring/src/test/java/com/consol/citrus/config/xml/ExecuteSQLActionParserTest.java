@@ -30,7 +30,7 @@ public class ExecuteSQLActionParserTest extends AbstractActionParserTest<Execute
 
     @Test
     public void testSQLActionParser() {
-        assertActionCount(2);
+        assertActionCount(3);
         assertActionClassAndName(ExecuteSQLAction.class, "sqlUpdate:testDataSource");
 
         // 1st action
@@ -41,6 +41,8 @@ public class ExecuteSQLActionParserTest extends AbstractActionParserTest<Execute
         Assert.assertEquals(action.getStatements().get(0), "insert into foo_table values (foo, foo)");
         Assert.assertEquals(action.getStatements().get(1), "update foo_table set foo=foo where foo=foo");
         Assert.assertFalse(action.isIgnoreErrors());
+        Assert.assertEquals(action.getBatchSize(), 0);
+        Assert.assertFalse(action.isBindVariables());
         Assert.assertNull(action.getTransactionManager());
         Assert.assertEquals(action.getTransactionTimeout(), "-1");
         Assert.assertEquals(action.getTransactionIsolationLevel(), "ISOLATION_DEFAULT");
@@ -55,6 +57,15 @@ public class ExecuteSQLActionParserTest extends AbstractActionParserTest<Execute
         Assert.assertEquals(action.getTransactionManager(), beanDefinitionContext.getBean("testTransactionManager", PlatformTransactionManager.class));
         Assert.assertEquals(action.getTransactionTimeout(), "5000");
         Assert.assertEquals(action.getTransactionIsolationLevel(), "ISOLATION_READ_COMMITTED");
+
+        // 3rd action
+        action = getNextTestActionFromTest();
+        Assert.assertNotNull(action.getDataSource());
+        Assert.assertEquals(action.getStatements().size(), 1);
+        Assert.assertEquals(action.getStatements().get(0), "insert into foo_table values ('${foo}', '${bar}')");
+        Assert.assertFalse(action.isIgnoreErrors());
+        Assert.assertEquals(action.getBatchSize(), 500);
+        Assert.assertTrue(action.isBindVariables());
     }
 
     @Test
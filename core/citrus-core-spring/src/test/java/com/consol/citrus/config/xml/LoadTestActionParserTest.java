@@ -0,0 +1,62 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.config.xml;
+
+import com.consol.citrus.actions.LoadTestAction;
+import com.consol.citrus.actions.SendMessageAction;
+import com.consol.citrus.endpoint.Endpoint;
+import com.consol.citrus.testng.AbstractActionParserTest;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class LoadTestActionParserTest extends AbstractActionParserTest<LoadTestAction> {
+
+    @Test
+    public void testLoadTestActionParser() {
+        assertActionCount(2);
+        assertActionClassAndName(LoadTestAction.class, "load-test");
+
+        LoadTestAction action = getNextTestActionFromTest();
+        Assert.assertEquals(action.getRate(), "0");
+        Assert.assertEquals(action.getConcurrency(), "1");
+        Assert.assertEquals(action.getDuration(), "10000");
+        Assert.assertEquals(action.getIterations(), "0");
+        Assert.assertEquals(action.getReplyTimeout(), 5000L);
+        Assert.assertEquals(action.getMaxErrorRate(), 0.0D);
+        Assert.assertEquals(action.getPercentiles().size(), 0L);
+        Assert.assertEquals(action.getRequests().size(), 1L);
+        Assert.assertEquals(action.getRequests().get(0).getEndpoint(), beanDefinitionContext.getBean("myMessageEndpoint", Endpoint.class));
+
+        action = getNextTestActionFromTest();
+        Assert.assertEquals(action.getRate(), "100");
+        Assert.assertEquals(action.getConcurrency(), "10");
+        Assert.assertEquals(action.getDuration(), "60000");
+        Assert.assertEquals(action.getIterations(), "${iterations}");
+        Assert.assertEquals(action.getReplyTimeout(), 1000L);
+        Assert.assertEquals(action.getMaxErrorRate(), 0.01D);
+        Assert.assertEquals(action.getPercentiles().size(), 2L);
+        Assert.assertEquals(action.getPercentiles().get(90.0D), Long.valueOf(100L));
+        Assert.assertEquals(action.getPercentiles().get(99.9D), Long.valueOf(250L));
+        Assert.assertEquals(action.getRequests().size(), 2L);
+
+        SendMessageAction request = action.getRequests().get(1);
+        Assert.assertEquals(request.getEndpoint(), beanDefinitionContext.getBean("myOtherEndpoint", Endpoint.class));
+    }
+}
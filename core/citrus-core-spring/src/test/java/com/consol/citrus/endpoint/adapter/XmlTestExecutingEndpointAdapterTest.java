@@ -16,7 +16,12 @@
 
 package com.consol.citrus.endpoint.adapter;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 import com.consol.citrus.UnitTestSupport;
+import com.consol.citrus.common.XmlTestDefinitionCache;
 import com.consol.citrus.context.TestContextFactory;
 import com.consol.citrus.context.TestContextFactoryBean;
 import com.consol.citrus.endpoint.adapter.mapping.XPathPayloadMappingKeyExtractor;
@@ -33,6 +38,8 @@ import com.consol.citrus.validation.MessageValidator;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.test.context.ContextConfiguration;
@@ -94,6 +101,55 @@ public class XmlTestExecutingEndpointAdapterTest extends UnitTestSupport {
         Assert.assertEquals(response.getPayload(String.class).trim(), "<Test name=\"BarTest\">OK</Test>");
     }
 
+    @Test
+    public void testRouteMessageWithCachedTestDefinitions() throws Exception {
+        XPathPayloadMappingKeyExtractor mappingNameExtractor = new XPathPayloadMappingKeyExtractor();
+        mappingNameExtractor.setXpathExpression("//Test/@name");
+        endpointAdapter.setMappingKeyExtractor(mappingNameExtractor);
+
+        List<ConfigurableApplicationContext> contexts = new CopyOnWriteArrayList<>();
+        XmlTestDefinitionCache cache = new XmlTestDefinitionCache(10) {
+            @Override
+            public ApplicationContext createApplicationContext(String contextFile, ApplicationContext parent) {
+                ApplicationContext ctx = super.createApplicationContext(contextFile, parent);
+                contexts.add((ConfigurableApplicationContext) ctx);
+                return ctx;
+            }
+        };
+        endpointAdapter.setTestDefinitionCache(cache);
+
+        try {
+            long requestCount = Optional.ofNullable(endpointAdapter.getStatistics("FooTest"))
+                    .map(XmlTestExecutingEndpointAdapter.RequestStatistics::getRequestCount)
+                    .orElse(0L);
+
+            for (int i = 0; i < 3; i++) {
+                Message response = endpointAdapter.handleMessage(
+                        new DefaultMessage("<Test name=\"FooTest\"></Test>"));
+
+                Assert.assertEquals(response.getPayload(String.class).trim(), "<Test name=\"FooTest\">OK</Test>");
+            }
+
+            Assert.assertEquals(cache.size(), 1);
+            Assert.assertEquals(cache.getMisses(), 1L);
+            Assert.assertEquals(cache.getHits(), 2L);
+
+            XmlTestExecutingEndpointAdapter.RequestStatistics statistics = endpointAdapter.getStatistics("FooTest");
+            Assert.assertEquals(statistics.getRequestCount(), requestCount + 3);
+            Assert.assertEquals(statistics.getErrorCount(), 0L);
+            Assert.assertTrue(statistics.getMaxTime() >= 0L);
+
+            Assert.assertEquals(contexts.size(), 3);
+            long deadline = System.currentTimeMillis() + 5000L;
+            while (contexts.stream().anyMatch(ConfigurableApplicationContext::isActive) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50L);
+            }
+            Assert.assertFalse(contexts.stream().anyMatch(ConfigurableApplicationContext::isActive));
+        } finally {
+            endpointAdapter.setTestDefinitionCache(null);
+        }
+    }
+
     /**
      * Test for handler routing without Xpath given (implementation takes the value of first node).
      */
@@ -16,6 +16,7 @@
 
 package com.consol.citrus.endpoint.adapter.mapping;
 
+import com.consol.citrus.endpoint.EndpointAdapter;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.testng.Assert;
@@ -42,4 +43,25 @@ public class ContextLoadingMappingStrategyTest {
             Assert.assertTrue(e.getCause() instanceof NoSuchBeanDefinitionException);
         }
     }
+
+    @Test
+    public void testGetEndpointAdapterCachedDefinitions() throws Exception {
+        ContextLoadingMappingStrategy mappingStrategy = new ContextLoadingMappingStrategy();
+        mappingStrategy.setContextConfigLocation("classpath:com/consol/citrus/endpoint/adapter-mapping-context.xml");
+        mappingStrategy.setLoadOnce(false);
+        mappingStrategy.setDefinitionCacheSize(10);
+
+        EndpointAdapter first = mappingStrategy.getEndpointAdapter("staticResponseEndpointAdapter");
+        EndpointAdapter second = mappingStrategy.getEndpointAdapter("staticResponseEndpointAdapter");
+        Assert.assertNotNull(first);
+        Assert.assertNotNull(second);
+        Assert.assertNotSame(first, second);
+
+        try {
+            mappingStrategy.getEndpointAdapter("Unknown");
+            Assert.fail("Missing exception due to unknown mapping key");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertTrue(e.getCause() instanceof NoSuchBeanDefinitionException);
+        }
+    }
 }
@@ -44,6 +44,8 @@ import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 import static org.apache.commons.net.ftp.FTPReply.FILE_ACTION_OK;
 
@@ -59,6 +61,9 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
     /** Apache ftp client */
     private FTPClient ftpClient;
 
+    /** Additional ftp clients used for parallel streaming file transfers */
+    private BlockingQueue<FTPClient> transferClients;
+
     /** Store of reply messages */
     private CorrelationManager<Message> correlationManager;
 
@@ -267,6 +272,10 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
             String remoteFilePath = addFileNameToTargetPath(localFilePath, context.replaceDynamicContentInString(command.getTarget().getPath()));
 
             String dataType = context.replaceDynamicContentInString(Optional.ofNullable(command.getFile().getType()).orElse(DataType.BINARY.name()));
+            if (getEndpointConfiguration().isStreaming() && !dataType.equals(DataType.ASCII.name())) {
+                return storeFileStreaming(localFilePath, remoteFilePath, dataType);
+            }
+
             try (InputStream localFileInputStream = getLocalFileInputStream(command.getFile().getPath(), dataType, context)) {
                 ftpClient.setFileType(getFileType(dataType));
 
@@ -282,6 +291,43 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
         return FtpMessage.putResult(ftpClient.getReplyCode(), ftpClient.getReplyString(), isPositive(ftpClient.getReplyCode()));
     }
 
+    /**
+     * Performs store file operation streaming the local file content to the server. Uses one of the parallel
+     * transfer connections if any.
+     * @param localFilePath
+     * @param remoteFilePath
+     * @param dataType
+     * @return
+     * @throws IOException
+     */
+    private FtpMessage storeFileStreaming(String localFilePath, String remoteFilePath, String dataType) throws IOException {
+        FTPClient client = borrowTransferClient();
+
+        try {
+            client.setFileType(getFileType(dataType));
+
+            StreamingFileTransfer transfer;
+            try (OutputStream remoteOutputStream = client.storeFileStream(remoteFilePath)) {
+                if (remoteOutputStream == null) {
+                    throw new IOException("Failed to put file to FTP server. Remote path: " + remoteFilePath
+                            + ". Local file path: " + localFilePath + ". FTP reply: " + client.getReplyString());
+                }
+
+                transfer = StreamingFileTransfer.upload(FileUtils.getFileResource(localFilePath), remoteOutputStream);
+            }
+
+            if (!client.completePendingCommand()) {
+                throw new IOException("Failed to put file to FTP server. Remote path: " + remoteFilePath
+                        + ". Local file path: " + localFilePath + ". FTP reply: " + client.getReplyString());
+            }
+
+            return FtpMessage.putResult(client.getReplyCode(), client.getReplyString(), isPositive(client.getReplyCode()),
+                    remoteFilePath, transfer.getSize(), transfer.getChecksum());
+        } finally {
+            releaseTransferClient(client);
+        }
+    }
+
     /**
      * Constructs local file input stream. When using ASCII data type the test variable replacement is activated otherwise
      * plain byte stream is used.
@@ -310,11 +356,15 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
             String remoteFilePath = context.replaceDynamicContentInString(command.getFile().getPath());
             String localFilePath = addFileNameToTargetPath(remoteFilePath, context.replaceDynamicContentInString(command.getTarget().getPath()));
 
+            String dataType = context.replaceDynamicContentInString(Optional.ofNullable(command.getFile().getType()).orElse(DataType.BINARY.name()));
+            if (getEndpointConfiguration().isStreaming()) {
+                return retrieveFileStreaming(remoteFilePath, localFilePath, dataType);
+            }
+
             if (Paths.get(localFilePath).getParent() != null) {
                 Files.createDirectories(Paths.get(localFilePath).getParent());
             }
 
-            String dataType = context.replaceDynamicContentInString(Optional.ofNullable(command.getFile().getType()).orElse(DataType.BINARY.name()));
             try (FileOutputStream localFileOutputStream = new FileOutputStream(localFilePath)) {
                 ftpClient.setFileType(getFileType(dataType));
 
@@ -341,6 +391,105 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
         }
     }
 
+    /**
+     * Performs retrieve file operation streaming the remote file content to the local file. Result holds size and checksum
+     * of the file instead of the file content. Uses one of the parallel transfer connections if any.
+     * @param remoteFilePath
+     * @param localFilePath
+     * @param dataType
+     * @return
+     * @throws IOException
+     */
+    private FtpMessage retrieveFileStreaming(String remoteFilePath, String localFilePath, String dataType) throws IOException {
+        FTPClient client = borrowTransferClient();
+
+        try {
+            client.setFileType(getFileType(dataType));
+
+            StreamingFileTransfer transfer;
+            try (InputStream remoteInputStream = client.retrieveFileStream(remoteFilePath)) {
+                if (remoteInputStream == null) {
+                    throw new CitrusRuntimeException("Failed to get file from FTP server. Remote path: " + remoteFilePath
+                            + ". Local file path: " + localFilePath + ". FTP reply: " + client.getReplyString());
+                }
+
+                transfer = StreamingFileTransfer.download(remoteInputStream, Paths.get(localFilePath));
+            }
+
+            if (!client.completePendingCommand()) {
+                throw new CitrusRuntimeException("Failed to get file from FTP server. Remote path: " + remoteFilePath
+                        + ". Local file path: " + localFilePath + ". FTP reply: " + client.getReplyString());
+            }
+
+            return FtpMessage.result(client.getReplyCode(), client.getReplyString(), localFilePath, transfer.getSize(), transfer.getChecksum());
+        } finally {
+            releaseTransferClient(client);
+        }
+    }
+
+    /**
+     * Gets connected ftp client for a streaming file transfer. Waits for the next free parallel transfer connection
+     * if parallel transfers are enabled. Otherwise uses the default ftp client.
+     * @return
+     * @throws IOException
+     */
+    private FTPClient borrowTransferClient() throws IOException {
+        if (transferClients == null) {
+            return ftpClient;
+        }
+
+        FTPClient client;
+        try {
+            client = transferClients.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for free FTP transfer connection", e);
+        }
+
+        try {
+            connectAndLogin(client);
+            changeToWorkingDirectory(client);
+        } catch (IOException | RuntimeException e) {
+            transferClients.offer(client);
+            throw e;
+        }
+
+        return client;
+    }
+
+    /**
+     * Changes the working directory of given transfer connection to the current working directory of the default
+     * ftp client so relative paths resolve the same on all connections.
+     * @param client
+     * @throws IOException
+     */
+    private void changeToWorkingDirectory(FTPClient client) throws IOException {
+        String workingDirectory;
+        synchronized (ftpClient) {
+            if (!ftpClient.isConnected()) {
+                return;
+            }
+
+            workingDirectory = ftpClient.printWorkingDirectory();
+        }
+
+        if (workingDirectory != null && !workingDirectory.equals(client.printWorkingDirectory())
+                && !client.changeWorkingDirectory(workingDirectory)) {
+            throw new IOException("Failed to change working directory of FTP transfer connection to: " + workingDirectory
+                    + ". FTP reply: " + client.getReplyString());
+        }
+    }
+
+    /**
+     * Releases ftp client after streaming file transfer so the next transfer can use the connection.
+     * @param client
+     */
+    private void releaseTransferClient(FTPClient client) {
+        if (client != ftpClient) {
+            transferClients.offer(client);
+        }
+    }
+
     /**
      * Get file type from info string.
      * @param typeInfo
@@ -386,7 +535,20 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
      * @throws IOException
      */
     protected void connectAndLogin() throws IOException {
-        if (!ftpClient.isConnected()) {
+        connectAndLogin(ftpClient);
+    }
+
+    /**
+     * Opens a new connection on given ftp client and performs login with user name and password if set.
+     * @param ftpClient
+     * @throws IOException
+     */
+    private void connectAndLogin(FTPClient ftpClient) throws IOException {
+        synchronized (ftpClient) {
+            if (ftpClient.isConnected()) {
+                return;
+            }
+
             ftpClient.connect(getEndpointConfiguration().getHost(), getEndpointConfiguration().getPort());
 
             if (log.isDebugEnabled()) {
@@ -452,6 +614,23 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
             ftpClient = new FTPClient();
         }
 
+        configure(ftpClient);
+
+        if (getEndpointConfiguration().isStreaming() && getEndpointConfiguration().getParallelTransfers() > 1) {
+            transferClients = new ArrayBlockingQueue<>(getEndpointConfiguration().getParallelTransfers());
+            for (int i = 0; i < getEndpointConfiguration().getParallelTransfers(); i++) {
+                FTPClient transferClient = new FTPClient();
+                configure(transferClient);
+                transferClients.add(transferClient);
+            }
+        }
+    }
+
+    /**
+     * Configures given ftp client with server time zone and command logging.
+     * @param ftpClient
+     */
+    private void configure(FTPClient ftpClient) {
         FTPClientConfig config = new FTPClientConfig();
         config.setServerTimeZoneId(TimeZone.getDefault().getID());
         ftpClient.configure(config);
@@ -475,6 +654,21 @@ public class FtpClient extends AbstractEndpoint implements Producer, ReplyConsum
 
     @Override
     public void destroy() throws Exception {
+        disconnect(ftpClient);
+
+        if (transferClients != null) {
+            for (FTPClient transferClient : transferClients) {
+                disconnect(transferClient);
+            }
+        }
+    }
+
+    /**
+     * Performs logout and closes connection of given ftp client.
+     * @param ftpClient
+     * @throws IOException
+     */
+    private void disconnect(FTPClient ftpClient) throws IOException {
         if (ftpClient.isConnected()) {
             ftpClient.logout();
 
@@ -74,6 +74,26 @@ public class FtpClientBuilder extends AbstractEndpointBuilder<FtpClient> {
         return this;
     }
 
+    /**
+     * Sets the streaming file transfer property.
+     * @param streaming
+     * @return
+     */
+    public FtpClientBuilder streaming(boolean streaming) {
+        endpoint.getEndpointConfiguration().setStreaming(streaming);
+        return this;
+    }
+
+    /**
+     * Sets the max number of parallel streaming file transfers.
+     * @param parallelTransfers
+     * @return
+     */
+    public FtpClientBuilder parallelTransfers(int parallelTransfers) {
+        endpoint.getEndpointConfiguration().setParallelTransfers(parallelTransfers);
+        return this;
+    }
+
     /**
      * Sets the client username.
      * @param username
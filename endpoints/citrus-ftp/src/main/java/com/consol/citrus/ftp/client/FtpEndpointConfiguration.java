@@ -67,6 +67,12 @@ public class FtpEndpointConfiguration extends AbstractPollableEndpointConfigurat
     /** File transfer passive mode */
     private boolean localPassiveMode = true;
 
+    /** Stream file content between local file and remote session, result messages hold size and checksum instead of file content */
+    private boolean streaming = false;
+
+    /** Max number of streaming file transfers running in parallel on this client */
+    private int parallelTransfers = 1;
+
     /**
      * Gets the ftp host.
      * @return
@@ -272,4 +278,40 @@ public class FtpEndpointConfiguration extends AbstractPollableEndpointConfigurat
     public void setLocalPassiveMode(boolean localPassiveMode) {
         this.localPassiveMode = localPassiveMode;
     }
+
+    /**
+     * Gets the streaming.
+     *
+     * @return
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Sets the streaming.
+     *
+     * @param streaming
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    /**
+     * Gets the parallelTransfers.
+     *
+     * @return
+     */
+    public int getParallelTransfers() {
+        return parallelTransfers;
+    }
+
+    /**
+     * Sets the parallelTransfers.
+     *
+     * @param parallelTransfers
+     */
+    public void setParallelTransfers(int parallelTransfers) {
+        this.parallelTransfers = parallelTransfers;
+    }
 }
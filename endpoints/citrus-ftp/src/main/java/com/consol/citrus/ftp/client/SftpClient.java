@@ -34,6 +34,7 @@ import org.springframework.util.*;
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.Semaphore;
 
 /**
  * @author Christoph Deppisch
@@ -52,6 +53,9 @@ public class SftpClient extends FtpClient {
 
     private ChannelSftp sftp;
 
+    /** Limits the number of sftp channels opened for parallel streaming file transfers */
+    private Semaphore transferPermits;
+
     /**
      * Default constructor initializing endpoint configuration.
      */
@@ -182,6 +186,10 @@ public class SftpClient extends FtpClient {
             String remoteFilePath = addFileNameToTargetPath(localFilePath, context.replaceDynamicContentInString(command.getTarget().getPath()));
 
             String dataType = context.replaceDynamicContentInString(Optional.ofNullable(command.getFile().getType()).orElse(DataType.BINARY.name()));
+            if (getEndpointConfiguration().isStreaming() && !dataType.equals(DataType.ASCII.name())) {
+                return storeFileStreaming(localFilePath, remoteFilePath);
+            }
+
             try (InputStream localFileInputStream = getLocalFileInputStream(command.getFile().getPath(), dataType, context)) {
                 sftp.put(localFileInputStream, remoteFilePath);
             }
@@ -198,6 +206,10 @@ public class SftpClient extends FtpClient {
             String remoteFilePath = context.replaceDynamicContentInString(command.getFile().getPath());
             String localFilePath = addFileNameToTargetPath(remoteFilePath, context.replaceDynamicContentInString(command.getTarget().getPath()));
 
+            if (getEndpointConfiguration().isStreaming()) {
+                return retrieveFileStreaming(remoteFilePath, localFilePath);
+            }
+
             try (InputStream inputStream = sftp.get(remoteFilePath)) {
                 byte[] bytes = FileCopyUtils.copyToByteArray(inputStream);
 
@@ -227,8 +239,145 @@ public class SftpClient extends FtpClient {
         }
     }
 
+    /**
+     * Performs store file operation streaming the local file content to the server. Uses a separate sftp channel
+     * when parallel transfers are enabled.
+     * @param localFilePath
+     * @param remoteFilePath
+     * @return
+     * @throws IOException
+     */
+    private FtpMessage storeFileStreaming(String localFilePath, String remoteFilePath) throws IOException {
+        ChannelSftp channel = openTransferChannel();
+
+        try {
+            StreamingFileTransfer transfer;
+            try (OutputStream remoteOutputStream = channel.put(remoteFilePath)) {
+                transfer = StreamingFileTransfer.upload(FileUtils.getFileResource(localFilePath), remoteOutputStream);
+            }
+
+            long remoteSize = channel.stat(remoteFilePath).getSize();
+            if (remoteSize != transfer.getSize()) {
+                return FtpMessage.putResult(FTPReply.TRANSFER_ABORTED,
+                        String.format("Transfer incomplete - remote file size %s does not match local file size %s", remoteSize, transfer.getSize()),
+                        false, remoteFilePath, transfer.getSize(), transfer.getChecksum());
+            }
+
+            return FtpMessage.putResult(FTPReply.CLOSING_DATA_CONNECTION, "Transfer complete", true,
+                    remoteFilePath, transfer.getSize(), transfer.getChecksum());
+        } catch (SftpException e) {
+            return FtpMessage.putResult(getReplyCode(e), e.getMessage(), false);
+        } finally {
+            closeTransferChannel(channel);
+        }
+    }
+
+    /**
+     * Performs retrieve file operation streaming the remote file content to the local file. Result holds size and checksum
+     * of the file instead of the file content. Uses a separate sftp channel when parallel transfers are enabled.
+     * @param remoteFilePath
+     * @param localFilePath
+     * @return
+     * @throws IOException
+     */
+    private FtpMessage retrieveFileStreaming(String remoteFilePath, String localFilePath) throws IOException {
+        ChannelSftp channel = openTransferChannel();
+
+        try {
+            long remoteSize = channel.stat(remoteFilePath).getSize();
+
+            StreamingFileTransfer transfer;
+            try (InputStream remoteInputStream = channel.get(remoteFilePath)) {
+                transfer = StreamingFileTransfer.download(remoteInputStream, Paths.get(localFilePath));
+            }
+
+            if (remoteSize != transfer.getSize()) {
+                return FtpMessage.getResult(FTPReply.TRANSFER_ABORTED,
+                        String.format("Transfer incomplete - local file size %s does not match remote file size %s", transfer.getSize(), remoteSize),
+                        false);
+            }
+
+            return FtpMessage.result(FTPReply.CLOSING_DATA_CONNECTION, "Transfer complete", localFilePath, transfer.getSize(), transfer.getChecksum());
+        } catch (SftpException e) {
+            return FtpMessage.getResult(getReplyCode(e), e.getMessage(), false);
+        } finally {
+            closeTransferChannel(channel);
+        }
+    }
+
+    /**
+     * Maps the sftp status of given exception to the closest Ftp reply code.
+     * @param e
+     * @return
+     */
+    private static int getReplyCode(SftpException e) {
+        switch (e.id) {
+            case ChannelSftp.SSH_FX_NO_SUCH_FILE:
+            case ChannelSftp.SSH_FX_PERMISSION_DENIED:
+                return FTPReply.FILE_UNAVAILABLE;
+            case ChannelSftp.SSH_FX_NO_CONNECTION:
+            case ChannelSftp.SSH_FX_CONNECTION_LOST:
+                return FTPReply.TRANSFER_ABORTED;
+            case ChannelSftp.SSH_FX_OP_UNSUPPORTED:
+                return FTPReply.COMMAND_NOT_IMPLEMENTED;
+            default:
+                return FTPReply.ACTION_ABORTED;
+        }
+    }
+
+    /**
+     * Opens new sftp channel on the current session for a streaming file transfer when parallel transfers are enabled.
+     * The new channel starts in the current working directory of the default sftp channel.
+     * Waits for a free transfer permit in case max number of parallel transfers is reached. Otherwise uses the default sftp channel.
+     * @return
+     */
+    private ChannelSftp openTransferChannel() {
+        if (transferPermits == null) {
+            return sftp;
+        }
+
+        try {
+            transferPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while waiting for free SFTP transfer channel", e);
+        }
+
+        Channel channel = null;
+        try {
+            channel = session.openChannel("sftp");
+            channel.connect((int) getEndpointConfiguration().getTimeout());
+
+            ChannelSftp transferChannel = (ChannelSftp) channel;
+            String workingDirectory;
+            synchronized (sftp) {
+                workingDirectory = sftp.pwd();
+            }
+            transferChannel.cd(workingDirectory);
+
+            return transferChannel;
+        } catch (JSchException | SftpException e) {
+            if (channel != null) {
+                channel.disconnect();
+            }
+            transferPermits.release();
+            throw new CitrusRuntimeException("Failed to open SFTP transfer channel", e);
+        }
+    }
+
+    /**
+     * Closes sftp channel used for a streaming file transfer.
+     * @param channel
+     */
+    private void closeTransferChannel(ChannelSftp channel) {
+        if (channel != sftp) {
+            channel.disconnect();
+            transferPermits.release();
+        }
+    }
+
     @Override
-    protected void connectAndLogin() {
+    protected synchronized void connectAndLogin() {
         if (getEndpointConfiguration().isStrictHostChecking()) {
             setKnownHosts();
         }
@@ -339,6 +488,10 @@ public class SftpClient extends FtpClient {
         if (ssh == null) {
             ssh = new JSch();
         }
+
+        if (getEndpointConfiguration().isStreaming() && getEndpointConfiguration().getParallelTransfers() > 1) {
+            transferPermits = new Semaphore(getEndpointConfiguration().getParallelTransfers());
+        }
     }
 
     @Override
@@ -76,6 +76,26 @@ public class SftpClientBuilder extends AbstractEndpointBuilder<SftpClient> {
         return this;
     }
 
+    /**
+     * Sets the streaming file transfer property.
+     * @param streaming
+     * @return
+     */
+    public SftpClientBuilder streaming(boolean streaming) {
+        endpoint.getEndpointConfiguration().setStreaming(streaming);
+        return this;
+    }
+
+    /**
+     * Sets the max number of parallel streaming file transfers.
+     * @param parallelTransfers
+     * @return
+     */
+    public SftpClientBuilder parallelTransfers(int parallelTransfers) {
+        endpoint.getEndpointConfiguration().setParallelTransfers(parallelTransfers);
+        return this;
+    }
+
     /**
      * Sets the client username.
      * @param username
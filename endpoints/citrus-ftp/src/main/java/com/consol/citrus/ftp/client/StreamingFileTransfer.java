@@ -0,0 +1,225 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.ftp.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import org.springframework.core.io.Resource;
+
+/**
+ * Transfers file content between local file channels and remote file streams without loading the content into
+ * memory. File channels transfer the content directly to and from the remote stream. The content is passed to a
+ * message digest on the fly so size and checksum of the transferred file are available afterwards.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+final class StreamingFileTransfer {
+
+    /** Checksum algorithm */
+    static final String CHECKSUM_ALGORITHM = "SHA-256";
+
+    /** Buffer size used for non file channel transfers */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Transferred number of bytes */
+    private final long size;
+
+    /** Hex encoded checksum of transferred content */
+    private final String checksum;
+
+    private StreamingFileTransfer(long size, String checksum) {
+        this.size = size;
+        this.checksum = checksum;
+    }
+
+    /**
+     * Uploads local file resource to given remote output stream.
+     * @param localFile
+     * @param remoteOutputStream
+     * @return
+     * @throws IOException
+     */
+    static StreamingFileTransfer upload(Resource localFile, OutputStream remoteOutputStream) throws IOException {
+        MessageDigest digest = createDigest();
+        WritableByteChannel target = new DigestWritableByteChannel(Channels.newChannel(remoteOutputStream), digest);
+
+        long size = 0L;
+        if (localFile.isFile()) {
+            try (FileChannel source = FileChannel.open(localFile.getFile().toPath(), StandardOpenOption.READ)) {
+                long fileSize = source.size();
+                while (size < fileSize) {
+                    size += source.transferTo(size, fileSize - size, target);
+                }
+            }
+        } else {
+            try (ReadableByteChannel source = Channels.newChannel(localFile.getInputStream())) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                while (source.read(buffer) != -1) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        size += target.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+        }
+
+        remoteOutputStream.flush();
+        return new StreamingFileTransfer(size, toHex(digest.digest()));
+    }
+
+    /**
+     * Downloads remote input stream content to given local file. Creates parent directories if necessary.
+     * @param remoteInputStream
+     * @param localFile
+     * @return
+     * @throws IOException
+     */
+    static StreamingFileTransfer download(InputStream remoteInputStream, Path localFile) throws IOException {
+        if (localFile.getParent() != null) {
+            Files.createDirectories(localFile.getParent());
+        }
+
+        MessageDigest digest = createDigest();
+        ReadableByteChannel source = new DigestReadableByteChannel(Channels.newChannel(remoteInputStream), digest);
+
+        long size = 0L;
+        try (FileChannel target = FileChannel.open(localFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long transferred;
+            while ((transferred = target.transferFrom(source, size, BUFFER_SIZE)) > 0) {
+                size += transferred;
+            }
+        }
+
+        return new StreamingFileTransfer(size, toHex(digest.digest()));
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new CitrusRuntimeException("Unsupported checksum algorithm: " + CHECKSUM_ALGORITHM, e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+            hex.append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Gets the transferred number of bytes.
+     * @return
+     */
+    long getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the hex encoded checksum of the transferred content.
+     * @return
+     */
+    String getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * Writable channel passing all written content to message digest.
+     */
+    private static final class DigestWritableByteChannel implements WritableByteChannel {
+        private final WritableByteChannel delegate;
+        private final MessageDigest digest;
+
+        DigestWritableByteChannel(WritableByteChannel delegate, MessageDigest digest) {
+            this.delegate = delegate;
+            this.digest = digest;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            ByteBuffer content = src.duplicate();
+            int written = delegate.write(src);
+            content.limit(content.position() + written);
+            digest.update(content);
+            return written;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+
+    /**
+     * Readable channel passing all read content to message digest.
+     */
+    private static final class DigestReadableByteChannel implements ReadableByteChannel {
+        private final ReadableByteChannel delegate;
+        private final MessageDigest digest;
+
+        DigestReadableByteChannel(ReadableByteChannel delegate, MessageDigest digest) {
+            this.delegate = delegate;
+            this.digest = digest;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            int start = dst.position();
+            int read = delegate.read(dst);
+            if (read > 0) {
+                ByteBuffer content = dst.duplicate();
+                content.position(start);
+                content.limit(start + read);
+                digest.update(content);
+            }
+            return read;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
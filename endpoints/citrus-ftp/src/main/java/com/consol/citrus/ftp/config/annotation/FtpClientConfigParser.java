@@ -49,6 +49,8 @@ public class FtpClientConfigParser extends AbstractAnnotationConfigParser<FtpCli
         builder.port(annotation.port());
         builder.autoReadFiles(annotation.autoReadFiles());
         builder.localPassiveMode(annotation.localPassiveMode());
+        builder.streaming(annotation.streaming());
+        builder.parallelTransfers(annotation.parallelTransfers());
 
         if (StringUtils.hasText(annotation.username())) {
             builder.username(annotation.username());
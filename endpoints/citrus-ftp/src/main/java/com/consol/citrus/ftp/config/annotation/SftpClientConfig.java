@@ -54,6 +54,18 @@ public @interface SftpClientConfig {
      */
     boolean localPassiveMode() default true;
 
+    /**
+     * Streaming file transfer
+     * @return
+     */
+    boolean streaming() default false;
+
+    /**
+     * Parallel streaming file transfers
+     * @return
+     */
+    int parallelTransfers() default 1;
+
     /**
      * Username
      * @return
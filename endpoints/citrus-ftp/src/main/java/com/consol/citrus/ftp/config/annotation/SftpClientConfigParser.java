@@ -51,6 +51,8 @@ public class SftpClientConfigParser extends AbstractAnnotationConfigParser<SftpC
         builder.port(annotation.port());
         builder.autoReadFiles(annotation.autoReadFiles());
         builder.localPassiveMode(annotation.localPassiveMode());
+        builder.streaming(annotation.streaming());
+        builder.parallelTransfers(annotation.parallelTransfers());
 
         if (StringUtils.hasText(annotation.username())) {
             builder.username(annotation.username());
@@ -250,6 +250,14 @@ public class FtpMessage extends DefaultMessage {
         return result(result);
     }
 
+    public static FtpMessage getResult(int replyCode, String replyString, boolean success) {
+        GetCommandResult result = new GetCommandResult();
+        result.setReplyCode(String.valueOf(replyCode));
+        result.setReplyString(replyString);
+        result.setSuccess(success);
+        return result(result);
+    }
+
     public static FtpMessage putResult(int replyCode, String replyString, boolean success) {
         PutCommandResult result = new PutCommandResult();
         result.setReplyCode(String.valueOf(replyCode));
@@ -258,6 +266,22 @@ public class FtpMessage extends DefaultMessage {
         return result(result);
     }
 
+    public static FtpMessage putResult(int replyCode, String replyString, boolean success, String path, long size, String checksum) {
+        PutCommandResult result = new PutCommandResult();
+        result.setReplyCode(String.valueOf(replyCode));
+        result.setReplyString(replyString);
+        result.setSuccess(success);
+
+        PutCommandResult.File file = new PutCommandResult.File();
+        file.setPath(path);
+        file.setSize(size);
+        file.setChecksum(checksum);
+
+        result.setFile(file);
+
+        return result(result);
+    }
+
     public static FtpMessage result(CommandResultType commandResult) {
         FtpMessage ftpMessage = new FtpMessage(commandResult);
         ftpMessage.setHeader(FtpMessageHeaders.FTP_REPLY_CODE, commandResult.getReplyCode());
@@ -298,6 +322,22 @@ public class FtpMessage extends DefaultMessage {
         return result(getCommandResult);
     }
 
+    public static FtpMessage result(int replyCode, String replyString, String path, long size, String checksum) {
+        GetCommandResult getCommandResult = new GetCommandResult();
+        getCommandResult.setReplyCode(String.valueOf(replyCode));
+        getCommandResult.setReplyString(replyString);
+        getCommandResult.setSuccess(true);
+
+        GetCommandResult.File file = new GetCommandResult.File();
+        file.setPath(path);
+        file.setSize(size);
+        file.setChecksum(checksum);
+
+        getCommandResult.setFile(file);
+
+        return result(getCommandResult);
+    }
+
     /**
      * Sets the command args.
      * @param arguments
@@ -5,6 +5,8 @@ import com.consol.citrus.ftp.message.FtpMessage;
 import com.consol.citrus.ftp.model.*;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.List;
 
 import static org.testng.Assert.assertEquals;
@@ -67,6 +69,14 @@ public abstract class AbstractFtpClientTest extends AbstractTestNGUnitTest {
         return command;
     }
 
+    protected String checksum(byte[] content) throws NoSuchAlgorithmException {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
     protected void verifyMessage(FtpMessage message, Class expectedCommandResultType, Integer expectedReplyCode, String expectedReplyMessage) {
         assertEquals(message.getReplyCode(), expectedReplyCode);
         String actualReplyMessage = message.getReplyString();
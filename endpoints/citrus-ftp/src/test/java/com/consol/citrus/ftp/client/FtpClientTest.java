@@ -34,7 +34,14 @@ import org.testng.annotations.*;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.*;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.apache.commons.net.ftp.FTPReply.CLOSING_DATA_CONNECTION;
 import static org.apache.commons.net.ftp.FTPReply.FILE_ACTION_OK;
@@ -167,6 +174,62 @@ public class FtpClientTest extends AbstractFtpClientTest {
         fakeFtpServer.getFileSystem().delete("/" + UPLOAD_FILE);
     }
 
+    @Test
+    public void testStreamingParallelTransfers() throws Exception {
+        FtpEndpointConfiguration endpointConfiguration = new FtpEndpointConfiguration();
+        endpointConfiguration.setHost("localhost");
+        endpointConfiguration.setPort(2221);
+        endpointConfiguration.setUser("ftp_user");
+        endpointConfiguration.setPassword("ftp_password");
+        endpointConfiguration.setStreaming(true);
+        endpointConfiguration.setParallelTransfers(2);
+
+        FtpClient streamingClient = new FtpClient(endpointConfiguration);
+        streamingClient.afterPropertiesSet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> transfers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                String fileName = "streaming_file_" + i;
+                transfers.add(executor.submit(() -> {
+                    byte[] content = new byte[256 * 1024];
+                    new Random().nextBytes(content);
+                    Path uploadFile = Paths.get(targetPath, fileName);
+                    Files.write(uploadFile, content);
+
+                    PutCommand put = putCommand(uploadFile.toString(), "/" + fileName);
+                    put.getFile().setType("BINARY");
+                    FtpMessage putResult = streamingClient.storeFile(put, context);
+                    verifyMessage(putResult, PutCommandResult.class, CLOSING_DATA_CONNECTION, "226 Created file /" + fileName);
+                    assertEquals(putResult.getPayload(PutCommandResult.class).getFile().getSize().longValue(), content.length);
+                    assertEquals(putResult.getPayload(PutCommandResult.class).getFile().getChecksum(), checksum(content));
+                    assertTrue(fakeFtpServer.getFileSystem().exists("/" + fileName));
+
+                    Path downloadFile = Paths.get(targetPath, "download_" + fileName);
+                    GetCommand get = getCommand("/" + fileName, downloadFile.toString());
+                    get.getFile().setType("BINARY");
+                    FtpMessage getResult = streamingClient.retrieveFile(get, context);
+                    verifyMessage(getResult, GetCommandResult.class, CLOSING_DATA_CONNECTION, "226");
+                    assertNull(getResult.getPayload(GetCommandResult.class).getFile().getData());
+                    assertEquals(getResult.getPayload(GetCommandResult.class).getFile().getSize().longValue(), content.length);
+                    assertEquals(getResult.getPayload(GetCommandResult.class).getFile().getChecksum(), checksum(content));
+                    assertEquals(Files.readAllBytes(downloadFile), content);
+
+                    fakeFtpServer.getFileSystem().delete("/" + fileName);
+                    return null;
+                }));
+            }
+
+            for (Future<?> transfer : transfers) {
+                transfer.get(10000L, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+            streamingClient.destroy();
+        }
+    }
+
     @Test
     public void testDeleteCurrentDirectory() {
         assertTrue(fakeFtpServer.getFileSystem().exists(COMPLETELY_DELETE_FOLDER));
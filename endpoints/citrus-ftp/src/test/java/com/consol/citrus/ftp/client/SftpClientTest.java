@@ -27,12 +27,19 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import com.consol.citrus.ftp.message.FtpMessage;
 import com.consol.citrus.ftp.model.DeleteCommand;
 import com.consol.citrus.ftp.model.DeleteCommandResult;
+import com.consol.citrus.ftp.model.GetCommand;
 import com.consol.citrus.ftp.model.GetCommandResult;
 import com.consol.citrus.ftp.model.ListCommandResult;
+import com.consol.citrus.ftp.model.PutCommand;
 import com.consol.citrus.ftp.model.PutCommandResult;
 import com.consol.citrus.util.FileUtils;
 import org.apache.sshd.common.keyprovider.ClassLoadableResourceKeyPairProvider;
@@ -48,6 +55,7 @@ import org.testng.annotations.Test;
 import static org.apache.commons.net.ftp.FTPReply.CLOSING_DATA_CONNECTION;
 import static org.apache.commons.net.ftp.FTPReply.FILE_ACTION_OK;
 import static org.apache.commons.net.ftp.FTPReply.FILE_STATUS_OK;
+import static org.apache.commons.net.ftp.FTPReply.FILE_UNAVAILABLE;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -137,6 +145,115 @@ public class SftpClientTest extends AbstractFtpClientTest {
                 new String(Files.readAllBytes(localDownloadFilePath), "UTF-8"));
     }
 
+    @Test
+    public void testStreamingParallelTransfers() throws Exception {
+        SftpEndpointConfiguration endpointConfiguration = new SftpEndpointConfiguration();
+        endpointConfiguration.setHost("localhost");
+        endpointConfiguration.setPort(2223);
+        endpointConfiguration.setUser("remote-username");
+        endpointConfiguration.setPassword("remote-password");
+        endpointConfiguration.setStreaming(true);
+        endpointConfiguration.setParallelTransfers(2);
+
+        SftpClient streamingClient = new SftpClient(endpointConfiguration);
+        streamingClient.afterPropertiesSet();
+        streamingClient.connectAndLogin();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> transfers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                String fileName = "streaming_file_" + i;
+                transfers.add(executor.submit(() -> {
+                    byte[] content = new byte[1024 * 1024];
+                    new Random().nextBytes(content);
+                    Path uploadFile = Paths.get(targetPath, "upload_" + fileName);
+                    Files.write(uploadFile, content);
+
+                    String remoteFile = targetPath + "/remote_" + fileName;
+                    PutCommand put = putCommand(uploadFile.toString(), remoteFile);
+                    put.getFile().setType("BINARY");
+                    FtpMessage putResult = streamingClient.storeFile(put, context);
+                    verifyMessage(putResult, PutCommandResult.class, CLOSING_DATA_CONNECTION, "Transfer complete");
+                    Assert.assertEquals(putResult.getPayload(PutCommandResult.class).getFile().getSize().longValue(), content.length);
+                    Assert.assertEquals(putResult.getPayload(PutCommandResult.class).getFile().getChecksum(), checksum(content));
+                    Assert.assertEquals(Files.readAllBytes(Paths.get(remoteFile)), content);
+
+                    Path downloadFile = Paths.get(targetPath, "download_" + fileName);
+                    GetCommand get = getCommand(remoteFile, downloadFile.toString());
+                    get.getFile().setType("BINARY");
+                    FtpMessage getResult = streamingClient.retrieveFile(get, context);
+                    verifyMessage(getResult, GetCommandResult.class, CLOSING_DATA_CONNECTION, "Transfer complete");
+                    Assert.assertNull(getResult.getPayload(GetCommandResult.class).getFile().getData());
+                    Assert.assertEquals(getResult.getPayload(GetCommandResult.class).getFile().getSize().longValue(), content.length);
+                    Assert.assertEquals(getResult.getPayload(GetCommandResult.class).getFile().getChecksum(), checksum(content));
+                    Assert.assertEquals(Files.readAllBytes(downloadFile), content);
+                    return null;
+                }));
+            }
+
+            for (Future<?> transfer : transfers) {
+                transfer.get(10000L, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+            streamingClient.destroy();
+        }
+    }
+
+    @Test
+    public void testStreamingTransferInheritsWorkingDirectory() throws Exception {
+        SftpClient streamingClient = createStreamingClient();
+
+        try {
+            Path tmpDir = Files.createDirectories(Paths.get(targetPath, "streamingDir"));
+            DeleteCommand deleteCommand = deleteCommand(tmpDir.toAbsolutePath().toString());
+            deleteCommand.setIncludeCurrent(true);
+            streamingClient.deleteFile(deleteCommand, context);
+
+            Path uploadFile = Paths.get(targetPath, "upload_relative_file");
+            Files.write(uploadFile, "Upload content\n".getBytes());
+
+            PutCommand put = putCommand(uploadFile.toString(), "remote_relative_file");
+            put.getFile().setType("BINARY");
+            FtpMessage putResult = streamingClient.storeFile(put, context);
+            verifyMessage(putResult, PutCommandResult.class, CLOSING_DATA_CONNECTION, "Transfer complete");
+            Assert.assertEquals(Files.readAllBytes(Paths.get(targetPath, "remote_relative_file")), "Upload content\n".getBytes());
+        } finally {
+            streamingClient.destroy();
+        }
+    }
+
+    @Test
+    public void testStreamingRetrieveMissingFile() throws Exception {
+        SftpClient streamingClient = createStreamingClient();
+
+        try {
+            GetCommand get = getCommand(targetPath + "/missing_file", Paths.get(targetPath, "download_missing_file").toString());
+            get.getFile().setType("BINARY");
+            FtpMessage getResult = streamingClient.retrieveFile(get, context);
+            Assert.assertEquals(getResult.getReplyCode(), Integer.valueOf(FILE_UNAVAILABLE));
+            Assert.assertFalse(getResult.getPayload(GetCommandResult.class).isSuccess());
+        } finally {
+            streamingClient.destroy();
+        }
+    }
+
+    private SftpClient createStreamingClient() {
+        SftpEndpointConfiguration endpointConfiguration = new SftpEndpointConfiguration();
+        endpointConfiguration.setHost("localhost");
+        endpointConfiguration.setPort(2223);
+        endpointConfiguration.setUser("remote-username");
+        endpointConfiguration.setPassword("remote-password");
+        endpointConfiguration.setStreaming(true);
+        endpointConfiguration.setParallelTransfers(2);
+
+        SftpClient streamingClient = new SftpClient(endpointConfiguration);
+        streamingClient.afterPropertiesSet();
+        streamingClient.connectAndLogin();
+        return streamingClient;
+    }
+
     @Test
     public void testDeleteFile() {
         FtpMessage ftpMessage = sftpClient.storeFile(putCommand(localFilePath, remoteFilePath), context);
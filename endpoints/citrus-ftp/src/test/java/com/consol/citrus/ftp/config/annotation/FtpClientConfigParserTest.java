@@ -48,6 +48,8 @@ public class FtpClientConfigParserTest extends AbstractTestNGUnitTest {
             port=22222,
             autoReadFiles = false,
             localPassiveMode = false,
+            streaming = true,
+            parallelTransfers = 4,
             username="user",
             password="consol",
             timeout=10000L)
@@ -98,6 +100,8 @@ public class FtpClientConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(ftpClient1.getEndpointConfiguration().getTimeout(), 5000L);
         Assert.assertTrue(ftpClient1.getEndpointConfiguration().isAutoReadFiles());
         Assert.assertTrue(ftpClient1.getEndpointConfiguration().isLocalPassiveMode());
+        Assert.assertFalse(ftpClient1.getEndpointConfiguration().isStreaming());
+        Assert.assertEquals(ftpClient1.getEndpointConfiguration().getParallelTransfers(), 1);
 
         // 2nd ftp client
         Assert.assertEquals(ftpClient2.getEndpointConfiguration().getHost(), "localhost");
@@ -108,6 +112,8 @@ public class FtpClientConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(ftpClient2.getEndpointConfiguration().getTimeout(), 10000L);
         Assert.assertFalse(ftpClient2.getEndpointConfiguration().isAutoReadFiles());
         Assert.assertFalse(ftpClient2.getEndpointConfiguration().isLocalPassiveMode());
+        Assert.assertTrue(ftpClient2.getEndpointConfiguration().isStreaming());
+        Assert.assertEquals(ftpClient2.getEndpointConfiguration().getParallelTransfers(), 4);
 
         // 3rd ftp client
         Assert.assertEquals(ftpClient3.getEndpointConfiguration().getHost(), "localhost");
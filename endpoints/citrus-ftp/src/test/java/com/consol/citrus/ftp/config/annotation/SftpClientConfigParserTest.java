@@ -51,6 +51,8 @@ public class SftpClientConfigParserTest extends AbstractTestNGUnitTest {
             port=22222,
             autoReadFiles = false,
             localPassiveMode = false,
+            streaming = true,
+            parallelTransfers = 4,
             username="user",
             password="consol",
             privateKeyPath="classpath:com/consol/citrus/sftp/citrus.priv",
@@ -109,6 +111,8 @@ public class SftpClientConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(sftpClient1.getEndpointConfiguration().getTimeout(), 5000L);
         Assert.assertTrue(sftpClient1.getEndpointConfiguration().isAutoReadFiles());
         Assert.assertTrue(sftpClient1.getEndpointConfiguration().isLocalPassiveMode());
+        Assert.assertFalse(sftpClient1.getEndpointConfiguration().isStreaming());
+        Assert.assertEquals(sftpClient1.getEndpointConfiguration().getParallelTransfers(), 1);
         Assert.assertNull(sftpClient1.getEndpointConfiguration().getPrivateKeyPath());
         Assert.assertNull(sftpClient1.getEndpointConfiguration().getPrivateKeyPassword());
         Assert.assertFalse(sftpClient1.getEndpointConfiguration().isStrictHostChecking());
@@ -131,6 +135,8 @@ public class SftpClientConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(sftpClient2.getEndpointConfiguration().getSessionConfigs().get("PreferredAuthentications"), "gssapi-with-mic");
         Assert.assertFalse(sftpClient2.getEndpointConfiguration().isAutoReadFiles());
         Assert.assertFalse(sftpClient2.getEndpointConfiguration().isLocalPassiveMode());
+        Assert.assertTrue(sftpClient2.getEndpointConfiguration().isStreaming());
+        Assert.assertEquals(sftpClient2.getEndpointConfiguration().getParallelTransfers(), 4);
         Assert.assertTrue(sftpClient2.getEndpointConfiguration().isStrictHostChecking());
 
         // 3rd sftp client
@@ -45,6 +45,8 @@ public class FtpClientParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(ftpClient.getEndpointConfiguration().getCorrelator().getClass(), DefaultMessageCorrelator.class);
         Assert.assertTrue(ftpClient.getEndpointConfiguration().isAutoReadFiles());
         Assert.assertTrue(ftpClient.getEndpointConfiguration().isLocalPassiveMode());
+        Assert.assertFalse(ftpClient.getEndpointConfiguration().isStreaming());
+        Assert.assertEquals(ftpClient.getEndpointConfiguration().getParallelTransfers(), 1);
         Assert.assertEquals(ftpClient.getEndpointConfiguration().getTimeout(), 5000L);
         Assert.assertEquals(ftpClient.getEndpointConfiguration().getErrorHandlingStrategy(), ErrorHandlingStrategy.PROPAGATE);
 
@@ -57,6 +59,8 @@ public class FtpClientParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(ftpClient.getEndpointConfiguration().getPassword(), "consol");
         Assert.assertFalse(ftpClient.getEndpointConfiguration().isAutoReadFiles());
         Assert.assertFalse(ftpClient.getEndpointConfiguration().isLocalPassiveMode());
+        Assert.assertTrue(ftpClient.getEndpointConfiguration().isStreaming());
+        Assert.assertEquals(ftpClient.getEndpointConfiguration().getParallelTransfers(), 4);
         Assert.assertEquals(ftpClient.getEndpointConfiguration().getTimeout(), 10000L);
         Assert.assertEquals(ftpClient.getEndpointConfiguration().getErrorHandlingStrategy(), ErrorHandlingStrategy.THROWS_EXCEPTION);
 
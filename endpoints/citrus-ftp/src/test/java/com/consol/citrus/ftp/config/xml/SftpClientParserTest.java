@@ -45,6 +45,8 @@ public class SftpClientParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(sftpClient.getEndpointConfiguration().getCorrelator().getClass(), DefaultMessageCorrelator.class);
         Assert.assertTrue(sftpClient.getEndpointConfiguration().isAutoReadFiles());
         Assert.assertTrue(sftpClient.getEndpointConfiguration().isLocalPassiveMode());
+        Assert.assertFalse(sftpClient.getEndpointConfiguration().isStreaming());
+        Assert.assertEquals(sftpClient.getEndpointConfiguration().getParallelTransfers(), 1);
         Assert.assertNull(sftpClient.getEndpointConfiguration().getPrivateKeyPath());
         Assert.assertNull(sftpClient.getEndpointConfiguration().getPrivateKeyPassword());
         Assert.assertFalse(sftpClient.getEndpointConfiguration().isStrictHostChecking());
@@ -63,6 +65,8 @@ public class SftpClientParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(sftpClient.getEndpointConfiguration().getPassword(), "consol");
         Assert.assertFalse(sftpClient.getEndpointConfiguration().isAutoReadFiles());
         Assert.assertFalse(sftpClient.getEndpointConfiguration().isLocalPassiveMode());
+        Assert.assertTrue(sftpClient.getEndpointConfiguration().isStreaming());
+        Assert.assertEquals(sftpClient.getEndpointConfiguration().getParallelTransfers(), 4);
         Assert.assertEquals(sftpClient.getEndpointConfiguration().getPrivateKeyPath(), "classpath:com/consol/citrus/sftp/citrus.priv");
         Assert.assertEquals(sftpClient.getEndpointConfiguration().getPrivateKeyPassword(), "consol");
         Assert.assertTrue(sftpClient.getEndpointConfiguration().isStrictHostChecking());
@@ -16,8 +16,15 @@
 
 package com.consol.citrus.http.client;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.endpoint.AbstractEndpoint;
@@ -32,11 +39,16 @@ import com.consol.citrus.messaging.ReplyConsumer;
 import com.consol.citrus.messaging.SelectiveConsumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
 
 /**
  * Http client sends messages via Http protocol to some Http server instance, defined by a request endpoint url. Synchronous response
@@ -45,13 +57,16 @@ import org.springframework.http.ResponseEntity;
  * @author Christoph Deppisch
  * @since 1.4
  */
-public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsumer {
+public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsumer, DisposableBean {
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(HttpClient.class);
 
     /** Store of reply messages */
     private CorrelationManager<Message> correlationManager;
 
+    /** Temporary files holding response bodies in streaming mode */
+    private final Queue<Path> spoolFiles = new ConcurrentLinkedQueue<>();
+
     /**
      * Default constructor initializing endpoint configuration.
      */
@@ -128,10 +143,19 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
                                 })
                                 .orElse(MediaType.ALL);
 
+            Class<?> responseType;
             if (getEndpointConfiguration().getBinaryMediaTypes().stream().anyMatch(mediaType -> mediaType.includes(accept))) {
-                response = getEndpointConfiguration().getRestTemplate().exchange(URI.create(endpointUri), method, requestEntity, byte[].class);
+                responseType = byte[].class;
             } else {
-                response = getEndpointConfiguration().getRestTemplate().exchange(URI.create(endpointUri), method, requestEntity, String.class);
+                responseType = String.class;
+            }
+
+            RestTemplate restTemplate = getEndpointConfiguration().getRestTemplate();
+            if (getEndpointConfiguration().isStreaming()) {
+                response = restTemplate.execute(URI.create(endpointUri), method,
+                        restTemplate.httpEntityCallback(requestEntity, responseType), this::spoolResponse);
+            } else {
+                response = restTemplate.exchange(URI.create(endpointUri), method, requestEntity, responseType);
             }
 
             log.info("HTTP message was sent to endpoint: '" + endpointUri + "'");
@@ -145,6 +169,38 @@ public class HttpClient extends AbstractEndpoint implements Producer, ReplyConsu
         }
     }
 
+    /**
+     * Spools the response body to a temporary file and provides the file as resource payload so large response bodies
+     * are not held in memory. Spooled files are deleted when this client is destroyed.
+     * @param response
+     * @return
+     * @throws IOException
+     */
+    private ResponseEntity<Resource> spoolResponse(ClientHttpResponse response) throws IOException {
+        Path spoolFile = Files.createTempFile("citrus-http-response", ".tmp");
+        spoolFiles.add(spoolFile);
+
+        try (InputStream body = response.getBody()) {
+            Files.copy(body, spoolFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        return new ResponseEntity<>(new FileSystemResource(spoolFile), response.getHeaders(), response.getStatusCode());
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        getEndpointConfiguration().destroy();
+
+        Path spoolFile;
+        while ((spoolFile = spoolFiles.poll()) != null) {
+            try {
+                Files.deleteIfExists(spoolFile);
+            } catch (IOException e) {
+                log.warn("Failed to delete spooled response file: " + spoolFile, e);
+            }
+        }
+    }
+
     @Override
     public Message receive(TestContext context) {
         return receive(correlationManager.getCorrelationKey(
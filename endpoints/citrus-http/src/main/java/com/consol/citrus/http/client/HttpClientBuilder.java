@@ -234,4 +234,64 @@ public class HttpClientBuilder extends AbstractEndpointBuilder<HttpClient> {
         endpoint.getEndpointConfiguration().setTimeout(timeout);
         return this;
     }
+
+    /**
+     * Sets the max number of pooled connections.
+     * @param maxConnections
+     * @return
+     */
+    public HttpClientBuilder maxConnections(int maxConnections) {
+        endpoint.getEndpointConfiguration().setMaxConnections(maxConnections);
+        return this;
+    }
+
+    /**
+     * Sets the max number of pooled connections per route.
+     * @param maxConnectionsPerRoute
+     * @return
+     */
+    public HttpClientBuilder maxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        endpoint.getEndpointConfiguration().setMaxConnectionsPerRoute(maxConnectionsPerRoute);
+        return this;
+    }
+
+    /**
+     * Sets the keep alive flag.
+     * @param keepAlive
+     * @return
+     */
+    public HttpClientBuilder keepAlive(boolean keepAlive) {
+        endpoint.getEndpointConfiguration().setKeepAlive(keepAlive);
+        return this;
+    }
+
+    /**
+     * Sets the keep alive timeout.
+     * @param keepAliveTimeout
+     * @return
+     */
+    public HttpClientBuilder keepAliveTimeout(long keepAliveTimeout) {
+        endpoint.getEndpointConfiguration().setKeepAliveTimeout(keepAliveTimeout);
+        return this;
+    }
+
+    /**
+     * Sets the idle connection timeout.
+     * @param idleConnectionTimeout
+     * @return
+     */
+    public HttpClientBuilder idleConnectionTimeout(long idleConnectionTimeout) {
+        endpoint.getEndpointConfiguration().setIdleConnectionTimeout(idleConnectionTimeout);
+        return this;
+    }
+
+    /**
+     * Sets the streaming mode.
+     * @param streaming
+     * @return
+     */
+    public HttpClientBuilder streaming(boolean streaming) {
+        endpoint.getEndpointConfiguration().setStreaming(streaming);
+        return this;
+    }
 }
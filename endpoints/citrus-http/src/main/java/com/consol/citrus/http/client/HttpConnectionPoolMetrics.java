@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.client;
+
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+/**
+ * Utilization metrics of the connection pool used by the default Http client request factory. Values are read from the
+ * connection manager on each call so metrics always reflect the current pool state.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public class HttpConnectionPoolMetrics {
+
+    /** Connection manager holding the pool */
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    /**
+     * Constructor using pooling connection manager.
+     * @param connectionManager
+     */
+    public HttpConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        this.connectionManager = connectionManager;
+    }
+
+    /**
+     * Gets the number of connections currently in use.
+     * @return
+     */
+    public int getLeased() {
+        return connectionManager.getTotalStats().getLeased();
+    }
+
+    /**
+     * Gets the number of idle connections kept alive in the pool.
+     * @return
+     */
+    public int getAvailable() {
+        return connectionManager.getTotalStats().getAvailable();
+    }
+
+    /**
+     * Gets the number of requests waiting for a connection.
+     * @return
+     */
+    public int getPending() {
+        return connectionManager.getTotalStats().getPending();
+    }
+
+    /**
+     * Gets the max number of connections in the pool.
+     * @return
+     */
+    public int getMax() {
+        return connectionManager.getTotalStats().getMax();
+    }
+
+    /**
+     * Gets the number of routes that hold connections in the pool.
+     * @return
+     */
+    public int getRoutes() {
+        return connectionManager.getRoutes().size();
+    }
+
+    /**
+     * Gets the share of leased connections in relation to the max number of connections.
+     * @return utilization between 0.0 and 1.0.
+     */
+    public double getUtilization() {
+        PoolStats stats = connectionManager.getTotalStats();
+        return stats.getMax() > 0 ? (double) stats.getLeased() / stats.getMax() : 0.0D;
+    }
+
+    @Override
+    public String toString() {
+        return "HttpConnectionPoolMetrics" + connectionManager.getTotalStats();
+    }
+}
@@ -19,6 +19,8 @@ package com.consol.citrus.http.client;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import com.consol.citrus.endpoint.AbstractPollableEndpointConfiguration;
 import com.consol.citrus.endpoint.resolver.DynamicEndpointUriResolver;
@@ -28,6 +30,10 @@ import com.consol.citrus.http.message.HttpMessageConverter;
 import com.consol.citrus.message.DefaultMessageCorrelator;
 import com.consol.citrus.message.ErrorHandlingStrategy;
 import com.consol.citrus.message.MessageCorrelator;
+import org.apache.http.impl.NoConnectionReuseStrategy;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -106,6 +112,26 @@ public class HttpEndpointConfiguration extends AbstractPollableEndpointConfigura
                                                                 MediaType.IMAGE_PNG,
                                                                 MediaType.valueOf("application/zip"));
 
+    /** Connection pool settings of the default request factory */
+    private int maxConnections = 20;
+    private int maxConnectionsPerRoute = 10;
+
+    /** Keep alive settings of the default request factory, negative timeout keeps connections alive as long as the server permits */
+    private boolean keepAlive = true;
+    private long keepAliveTimeout = -1L;
+
+    /** Time after which idle connections are evicted from the pool, zero or less disables eviction */
+    private long idleConnectionTimeout = 0L;
+
+    /** Streaming mode does not buffer request bodies and spools response bodies to temporary files */
+    private boolean streaming = false;
+
+    /** Metrics of the default request factory connection pool */
+    private HttpConnectionPoolMetrics connectionPoolMetrics;
+
+    /** Default request factory created by this configuration, closed on destroy */
+    private HttpComponentsClientHttpRequestFactory defaultRequestFactory;
+
     /**
      * Default constructor initializes with default logging interceptor.
      */
@@ -145,7 +171,7 @@ public class HttpEndpointConfiguration extends AbstractPollableEndpointConfigura
      */
     public void setRestTemplate(RestTemplate restTemplate) {
         clientInterceptors.addAll(restTemplate.getInterceptors());
-        restTemplate.setInterceptors(clientInterceptors);
+        restTemplate.setInterceptors(getRestTemplateInterceptors());
         this.restTemplate = restTemplate;
     }
 
@@ -228,6 +254,7 @@ public class HttpEndpointConfiguration extends AbstractPollableEndpointConfigura
     public RestTemplate getRestTemplate() {
         if (restTemplate == null) {
             restTemplate = new RestTemplate();
+            restTemplate.setInterceptors(getRestTemplateInterceptors());
         }
 
         restTemplate.setRequestFactory(getRequestFactory());
@@ -273,7 +300,26 @@ public class HttpEndpointConfiguration extends AbstractPollableEndpointConfigura
      */
     public void setClientInterceptors(List<ClientHttpRequestInterceptor> clientInterceptors) {
         this.clientInterceptors = clientInterceptors;
-        getRestTemplate().setInterceptors(clientInterceptors);
+
+        if (restTemplate != null) {
+            restTemplate.setInterceptors(getRestTemplateInterceptors());
+        }
+    }
+
+    /**
+     * Gets the client interceptors used on the rest template. In streaming mode logging interceptors are left out as they
+     * need to buffer message bodies. Without any interceptors the rest template uses the request factory directly, so request
+     * bodies are written to the connection without buffering.
+     * @return
+     */
+    private List<ClientHttpRequestInterceptor> getRestTemplateInterceptors() {
+        if (!streaming) {
+            return clientInterceptors;
+        }
+
+        return clientInterceptors.stream()
+                .filter(interceptor -> !(interceptor instanceof LoggingClientInterceptor))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -298,18 +344,72 @@ public class HttpEndpointConfiguration extends AbstractPollableEndpointConfigura
      */
     public ClientHttpRequestFactory getRequestFactory() {
         if (requestFactory == null) {
-            requestFactory = new HttpComponentsClientHttpRequestFactory();
+            requestFactory = createRequestFactory();
         }
 
         return requestFactory;
     }
 
+    /**
+     * Creates default request factory using a pooled Http client with keep alive connections according to the
+     * connection pool settings on this configuration.
+     * @return
+     */
+    private ClientHttpRequestFactory createRequestFactory() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+
+        org.apache.http.impl.client.HttpClientBuilder clientBuilder = HttpClients.custom()
+                .useSystemProperties()
+                .setConnectionManager(connectionManager);
+
+        if (!keepAlive) {
+            clientBuilder.setConnectionReuseStrategy(NoConnectionReuseStrategy.INSTANCE);
+        } else if (keepAliveTimeout > 0) {
+            clientBuilder.setKeepAliveStrategy((response, context) -> {
+                long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                return duration > 0 ? Math.min(duration, keepAliveTimeout) : keepAliveTimeout;
+            });
+        }
+
+        if (idleConnectionTimeout > 0) {
+            clientBuilder.evictExpiredConnections()
+                    .evictIdleConnections(idleConnectionTimeout, TimeUnit.MILLISECONDS);
+        }
+
+        defaultRequestFactory = new HttpComponentsClientHttpRequestFactory(clientBuilder.build());
+        defaultRequestFactory.setBufferRequestBody(!streaming);
+
+        connectionPoolMetrics = new HttpConnectionPoolMetrics(connectionManager);
+        return defaultRequestFactory;
+    }
+
+    /**
+     * Closes the default request factory and its pooled Http client including the idle connection evictor thread.
+     * Custom request factories are left untouched.
+     * @throws Exception
+     */
+    public void destroy() throws Exception {
+        if (defaultRequestFactory != null) {
+            defaultRequestFactory.destroy();
+
+            if (requestFactory == defaultRequestFactory) {
+                requestFactory = null;
+                connectionPoolMetrics = null;
+            }
+
+            defaultRequestFactory = null;
+        }
+    }
+
     /**
      * Sets the client request factory.
      * @param requestFactory
      */
     public void setRequestFactory(ClientHttpRequestFactory requestFactory) {
         this.requestFactory = requestFactory;
+        this.connectionPoolMetrics = null;
     }
 
     /**
@@ -439,4 +539,113 @@ public class HttpEndpointConfiguration extends AbstractPollableEndpointConfigura
     public void setBinaryMediaTypes(List<MediaType> binaryMediaTypes) {
         this.binaryMediaTypes = binaryMediaTypes;
     }
+
+    /**
+     * Gets the max number of pooled connections.
+     * @return
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Sets the max number of pooled connections. Only applies to the default request factory.
+     * @param maxConnections
+     */
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * Gets the max number of pooled connections per route.
+     * @return
+     */
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * Sets the max number of pooled connections per route. Only applies to the default request factory.
+     * @param maxConnectionsPerRoute
+     */
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    /**
+     * Gets the keep alive flag.
+     * @return
+     */
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * Sets the keep alive flag. When disabled connections are not reused. Only applies to the default request factory.
+     * @param keepAlive
+     */
+    public void setKeepAlive(boolean keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    /**
+     * Gets the keep alive timeout.
+     * @return
+     */
+    public long getKeepAliveTimeout() {
+        return keepAliveTimeout;
+    }
+
+    /**
+     * Sets the max time in milliseconds to keep idle connections alive. Only applies to the default request factory.
+     * @param keepAliveTimeout
+     */
+    public void setKeepAliveTimeout(long keepAliveTimeout) {
+        this.keepAliveTimeout = keepAliveTimeout;
+    }
+
+    /**
+     * Gets the idle connection timeout.
+     * @return
+     */
+    public long getIdleConnectionTimeout() {
+        return idleConnectionTimeout;
+    }
+
+    /**
+     * Sets the time in milliseconds after which idle connections are evicted from the pool. Only applies to the default request factory.
+     * @param idleConnectionTimeout
+     */
+    public void setIdleConnectionTimeout(long idleConnectionTimeout) {
+        this.idleConnectionTimeout = idleConnectionTimeout;
+    }
+
+    /**
+     * Gets the streaming mode.
+     * @return
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Sets the streaming mode.
+     * @param streaming
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+
+        if (restTemplate != null) {
+            restTemplate.setInterceptors(getRestTemplateInterceptors());
+        }
+    }
+
+    /**
+     * Gets the connection pool metrics.
+     * @return metrics or null if the default request factory is not used.
+     */
+    public HttpConnectionPoolMetrics getConnectionPoolMetrics() {
+        getRequestFactory();
+        return connectionPoolMetrics;
+    }
 }
@@ -133,6 +133,42 @@ public @interface HttpClientConfig {
      */
     long timeout() default 5000L;
 
+    /**
+     * Max number of pooled connections.
+     * @return
+     */
+    int maxConnections() default 20;
+
+    /**
+     * Max number of pooled connections per route.
+     * @return
+     */
+    int maxConnectionsPerRoute() default 10;
+
+    /**
+     * Keep alive connections.
+     * @return
+     */
+    boolean keepAlive() default true;
+
+    /**
+     * Keep alive timeout.
+     * @return
+     */
+    long keepAliveTimeout() default -1L;
+
+    /**
+     * Idle connection timeout.
+     * @return
+     */
+    long idleConnectionTimeout() default 0L;
+
+    /**
+     * Streaming mode.
+     * @return
+     */
+    boolean streaming() default false;
+
     /**
      * Test actor.
      * @return
@@ -116,6 +116,13 @@ public class HttpClientConfigParser extends AbstractAnnotationConfigParser<HttpC
 
         builder.timeout(annotation.timeout());
 
+        builder.maxConnections(annotation.maxConnections());
+        builder.maxConnectionsPerRoute(annotation.maxConnectionsPerRoute());
+        builder.keepAlive(annotation.keepAlive());
+        builder.keepAliveTimeout(annotation.keepAliveTimeout());
+        builder.idleConnectionTimeout(annotation.idleConnectionTimeout());
+        builder.streaming(annotation.streaming());
+
         if (StringUtils.hasText(annotation.actor())) {
             builder.actor(getReferenceResolver().resolve(annotation.actor(), TestActor.class));
         }
@@ -168,6 +168,66 @@ public @interface HttpServerConfig {
      */
     String[] interceptors() default {};
 
+    /**
+     * Async servlet processing.
+     * @return
+     */
+    boolean async() default false;
+
+    /**
+     * Min number of server threads.
+     * @return
+     */
+    int minThreads() default 8;
+
+    /**
+     * Max number of server threads.
+     * @return
+     */
+    int maxThreads() default 200;
+
+    /**
+     * Server thread idle timeout.
+     * @return
+     */
+    int threadIdleTimeout() default 60000;
+
+    /**
+     * Number of connector acceptor threads.
+     * @return
+     */
+    int acceptors() default -1;
+
+    /**
+     * Number of connector selector threads.
+     * @return
+     */
+    int selectors() default -1;
+
+    /**
+     * Connection idle timeout.
+     * @return
+     */
+    long idleTimeout() default 30000L;
+
+    /**
+     * Connector accept queue size.
+     * @return
+     */
+    int acceptQueueSize() default 0;
+
+    /**
+     * Request body streaming.
+     * @return
+     */
+    boolean streaming() default false;
+
+    /**
+     * Request body size in bytes that bodies are spooled to temporary files above.
+     * @return
+     */
+    long streamingThreshold() default 1048576L;
+
     /**
      * Test actor.
      * @return
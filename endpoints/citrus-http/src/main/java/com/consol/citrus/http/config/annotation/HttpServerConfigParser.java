@@ -145,6 +145,17 @@ public class HttpServerConfigParser extends AbstractAnnotationConfigParser<HttpS
 
         builder.defaultStatus(annotation.defaultStatus());
 
+        builder.async(annotation.async());
+        builder.minThreads(annotation.minThreads());
+        builder.maxThreads(annotation.maxThreads());
+        builder.threadIdleTimeout(annotation.threadIdleTimeout());
+        builder.acceptors(annotation.acceptors());
+        builder.selectors(annotation.selectors());
+        builder.idleTimeout(annotation.idleTimeout());
+        builder.acceptQueueSize(annotation.acceptQueueSize());
+        builder.streaming(annotation.streaming());
+        builder.streamingThreshold(annotation.streamingThreshold());
+
         return builder.initialize().build();
     }
 }
@@ -87,6 +87,13 @@ public class HttpClientParser extends AbstractEndpointParser {
         BeanDefinitionParserUtils.setPropertyReference(endpointConfiguration, element.getAttribute("interceptors"), "clientInterceptors");
         BeanDefinitionParserUtils.setPropertyReference(endpointConfiguration, element.getAttribute("binary-media-types"), "binaryMediaTypes");
 
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("max-connections"), "maxConnections");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("max-connections-per-route"), "maxConnectionsPerRoute");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("keep-alive"), "keepAlive");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("keep-alive-timeout"), "keepAliveTimeout");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("idle-connection-timeout"), "idleConnectionTimeout");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("streaming"), "streaming");
+
         // Set outbound header mapper
         endpointConfiguration.addPropertyValue("headerMapper", DefaultHttpHeaderMapper.outboundMapper());
     }
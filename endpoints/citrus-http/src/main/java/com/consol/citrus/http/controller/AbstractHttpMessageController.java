@@ -0,0 +1,168 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.controller;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Enumeration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.consol.citrus.endpoint.EndpointAdapter;
+import com.consol.citrus.endpoint.adapter.EmptyResponseEndpointAdapter;
+import com.consol.citrus.http.client.HttpEndpointConfiguration;
+import com.consol.citrus.http.message.HttpMessage;
+import com.consol.citrus.message.Message;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.CollectionUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Base message controller converting incoming requests to request messages and response messages provided by
+ * the endpoint adapter to response entities. Subclasses provide the request mappings.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public abstract class AbstractHttpMessageController {
+
+    /** Endpoint adapter for incoming requests, providing proper responses */
+    private EndpointAdapter endpointAdapter = new EmptyResponseEndpointAdapter();
+
+    /** Endpoint configuration */
+    private HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+
+    /** Hold the latest response message for message tracing reasons */
+    private ConcurrentLinkedQueue<ResponseEntity<?>> responseCache = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Converts the current servlet request to a request message. Previously sets Http request method as header parameter.
+     * @param method
+     * @param requestEntity
+     * @return
+     */
+    protected HttpMessage createRequestMessage(HttpMethod method, HttpEntity<?> requestEntity) {
+        HttpMessage request = endpointConfiguration.getMessageConverter().convertInbound(requestEntity, endpointConfiguration, null);
+
+        HttpServletRequest servletRequest = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest();
+        UrlPathHelper pathHelper = new UrlPathHelper();
+
+        Enumeration allHeaders = servletRequest.getHeaderNames();
+        for (String headerName : CollectionUtils.toArray(allHeaders, new String[] {})) {
+            if (request.getHeader(headerName) == null) {
+                String headerValue = servletRequest.getHeader(headerName);
+                request.header(headerName, headerValue != null ? headerValue : "");
+            }
+        }
+
+        if (endpointConfiguration.isHandleCookies()) {
+            request.setCookies(servletRequest.getCookies());
+        }
+
+        if (endpointConfiguration.isHandleAttributeHeaders()) {
+            Enumeration<String> attributeNames = servletRequest.getAttributeNames();
+            while (attributeNames.hasMoreElements()) {
+                String attributeName = attributeNames.nextElement();
+                Object attribute = servletRequest.getAttribute(attributeName);
+                request.setHeader(attributeName, attribute);
+            }
+        }
+
+        request.path(pathHelper.getRequestUri(servletRequest))
+                .uri(pathHelper.getRequestUri(servletRequest))
+                .contextPath(pathHelper.getContextPath(servletRequest))
+                .queryParams(Optional.ofNullable(pathHelper.getOriginatingQueryString(servletRequest))
+                                    .map(queryString -> queryString.replaceAll("&", ","))
+                                    .orElse(""))
+                .version(servletRequest.getProtocol())
+                .method(method);
+
+        return request;
+    }
+
+    /**
+     * Converts response message to response entity. Cookies are added as "Set-Cookie" headers by the message converter if enabled.
+     * @param response
+     * @return
+     */
+    protected ResponseEntity<?> createResponseEntity(Message response) {
+        ResponseEntity<?> responseEntity;
+        if (response == null) {
+            responseEntity = new ResponseEntity<>(HttpStatus.valueOf(endpointConfiguration.getDefaultStatusCode()));
+        } else {
+            HttpMessage httpResponse;
+            if (response instanceof HttpMessage) {
+                httpResponse = (HttpMessage) response;
+            } else {
+                httpResponse = new HttpMessage(response);
+            }
+
+            if (httpResponse.getStatusCode() == null) {
+                httpResponse.status(HttpStatus.valueOf(endpointConfiguration.getDefaultStatusCode()));
+            }
+
+            responseEntity = (ResponseEntity<?>) endpointConfiguration.getMessageConverter().convertOutbound(httpResponse, endpointConfiguration, null);
+        }
+        responseCache.add(responseEntity);
+
+        return responseEntity;
+    }
+
+    /**
+     * Sets the endpointAdapter.
+     * @param endpointAdapter the endpointAdapter to set
+     */
+    public void setEndpointAdapter(EndpointAdapter endpointAdapter) {
+        this.endpointAdapter = endpointAdapter;
+    }
+
+    /**
+     * Gets the endpoint adapter.
+     * @return
+     */
+    public EndpointAdapter getEndpointAdapter() {
+        return endpointAdapter;
+    }
+
+    /**
+     * Gets the endpoint configuration.
+     * @return
+     */
+    public HttpEndpointConfiguration getEndpointConfiguration() {
+        return endpointConfiguration;
+    }
+
+    /**
+     * Sets the endpoint configuration.
+     * @param endpointConfiguration
+     */
+    public void setEndpointConfiguration(HttpEndpointConfiguration endpointConfiguration) {
+        this.endpointConfiguration = endpointConfiguration;
+    }
+
+    /**
+     * Gets the responseCache.
+     * @return the responseCache the responseCache to get.
+     */
+    public ResponseEntity<?> getResponseCache() {
+        return responseCache.poll();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.controller;
+
+import com.consol.citrus.endpoint.AsyncEndpointAdapter;
+import com.consol.citrus.endpoint.EndpointAdapter;
+import com.consol.citrus.http.message.HttpMessage;
+import org.springframework.http.*;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+/**
+ * Message controller using asynchronous servlet processing. Requests are parked with a deferred result so no server thread
+ * is blocked while waiting for the response. Asynchronous endpoint adapters complete the deferred result as soon as the response
+ * is available, other endpoint adapters are invoked synchronously.
+ *
+ * Endpoint adapters are responsible for timeout handling. Requests still waiting for a response after the endpoint timeout plus a
+ * grace period are answered with the default status code.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+@Controller
+@RequestMapping("/*")
+public class AsyncHttpMessageController extends AbstractHttpMessageController {
+
+    /** Time added to the endpoint timeout before the servlet container times out the request */
+    private static final long TIMEOUT_GRACE_PERIOD = 1000L;
+
+    @RequestMapping(value = "**", method = { RequestMethod.GET })
+    @ResponseBody
+    public DeferredResult<ResponseEntity<?>> handleGetRequest(HttpEntity<Object> requestEntity) {
+        return handleRequestInternal(HttpMethod.GET, requestEntity);
+    }
+    
+    @RequestMapping(value= "**", method = { RequestMethod.POST })
+    @ResponseBody
+    public DeferredResult<ResponseEntity<?>> handlePostRequest(HttpEntity<Object> requestEntity) {
+        return handleRequestInternal(HttpMethod.POST, requestEntity);
+    }
+    
+    @RequestMapping(value= "**", method = { RequestMethod.PUT })
+    @ResponseBody
+    public DeferredResult<ResponseEntity<?>> handlePutRequest(HttpEntity<Object> requestEntity) {
+        return handleRequestInternal(HttpMethod.PUT, requestEntity);
+    }
+    
+    @RequestMapping(value= "**", method = { RequestMethod.DELETE })
+    @ResponseBody
+    public DeferredResult<ResponseEntity<?>> handleDeleteRequest(HttpEntity<Object> requestEntity) {
+        return handleRequestInternal(HttpMethod.DELETE, requestEntity);
+    }
+    
+    @RequestMapping(value= "**", method = { RequestMethod.OPTIONS })
+    @ResponseBody
+    public DeferredResult<ResponseEntity<?>> handleOptionsRequest(HttpEntity<Object> requestEntity) {
+        return handleRequestInternal(HttpMethod.OPTIONS, requestEntity);
+    }
+    
+    @RequestMapping(value= "**", method = { RequestMethod.HEAD })
+    @ResponseBody
+    public DeferredResult<ResponseEntity<?>> handleHeadRequest(HttpEntity<Object> requestEntity) {
+        return handleRequestInternal(HttpMethod.HEAD, requestEntity);
+    }
+    
+    @RequestMapping(value= "**", method = { RequestMethod.TRACE })
+    @ResponseBody
+    public DeferredResult<ResponseEntity<?>> handleTraceRequest(HttpEntity<Object> requestEntity) {
+        return handleRequestInternal(HttpMethod.TRACE, requestEntity);
+    }
+
+    @RequestMapping(value= "**", method = { RequestMethod.PATCH })
+    @ResponseBody
+    public DeferredResult<ResponseEntity<?>> handlePatchRequest(HttpEntity<Object> requestEntity) {
+        return handleRequestInternal(HttpMethod.PATCH, requestEntity);
+    }
+    
+    /**
+     * Handles requests with endpoint adapter implementation. Previously sets Http request method as header parameter.
+     * @param method
+     * @param requestEntity
+     * @return
+     */
+    private DeferredResult<ResponseEntity<?>> handleRequestInternal(HttpMethod method, HttpEntity<?> requestEntity) {
+        HttpMessage request = createRequestMessage(method, requestEntity);
+
+        DeferredResult<ResponseEntity<?>> deferredResult = new DeferredResult<>(getEndpointConfiguration().getTimeout() + TIMEOUT_GRACE_PERIOD,
+                () -> createResponseEntity(null));
+
+        EndpointAdapter endpointAdapter = getEndpointAdapter();
+        if (endpointAdapter instanceof AsyncEndpointAdapter) {
+            ((AsyncEndpointAdapter) endpointAdapter).handleMessageAsync(request)
+                    .whenComplete((response, error) -> {
+                        if (error != null) {
+                            deferredResult.setErrorResult(error);
+                        } else {
+                            deferredResult.setResult(createResponseEntity(response));
+                        }
+                    });
+        } else {
+            deferredResult.setResult(createResponseEntity(endpointAdapter.handleMessage(request)));
+        }
+
+        return deferredResult;
+    }
+}
@@ -16,23 +16,9 @@
 
 package com.consol.citrus.http.controller;
 
-import com.consol.citrus.endpoint.EndpointAdapter;
-import com.consol.citrus.endpoint.adapter.EmptyResponseEndpointAdapter;
-import com.consol.citrus.http.client.HttpEndpointConfiguration;
-import com.consol.citrus.http.message.HttpMessage;
-import com.consol.citrus.message.Message;
 import org.springframework.http.*;
 import org.springframework.stereotype.Controller;
-import org.springframework.util.CollectionUtils;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
-import org.springframework.web.util.UrlPathHelper;
-
-import javax.servlet.http.*;
-import java.util.Enumeration;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Message controller implementation handling all incoming requests by forwarding to a message 
@@ -42,17 +28,8 @@ import java.util.concurrent.ConcurrentLinkedQueue;
  */
 @Controller
 @RequestMapping("/*")
-public class HttpMessageController {
-
-    /** Endpoint adapter for incoming requests, providing proper responses */
-    private EndpointAdapter endpointAdapter = new EmptyResponseEndpointAdapter();
-
-    /** Endpoint configuration */
-    private HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+public class HttpMessageController extends AbstractHttpMessageController {
 
-    /** Hold the latest response message for message tracing reasons */
-    private ConcurrentLinkedQueue<ResponseEntity<?>> responseCache = new ConcurrentLinkedQueue<>();
-    
     @RequestMapping(value = "**", method = { RequestMethod.GET })
     @ResponseBody
     public ResponseEntity<?> handleGetRequest(HttpEntity<Object> requestEntity) {
@@ -108,109 +85,6 @@ public class HttpMessageController {
      * @return
      */
     private ResponseEntity<?> handleRequestInternal(HttpMethod method, HttpEntity<?> requestEntity) {
-        HttpMessage request = endpointConfiguration.getMessageConverter().convertInbound(requestEntity, endpointConfiguration, null);
-
-        HttpServletRequest servletRequest = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getRequest();
-        UrlPathHelper pathHelper = new UrlPathHelper();
-
-        Enumeration allHeaders = servletRequest.getHeaderNames();
-        for (String headerName : CollectionUtils.toArray(allHeaders, new String[] {})) {
-            if (request.getHeader(headerName) == null) {
-                String headerValue = servletRequest.getHeader(headerName);
-                request.header(headerName, headerValue != null ? headerValue : "");
-            }
-        }
-
-        if (endpointConfiguration.isHandleCookies()) {
-            request.setCookies(servletRequest.getCookies());
-        }
-
-        if (endpointConfiguration.isHandleAttributeHeaders()) {
-            Enumeration<String> attributeNames = servletRequest.getAttributeNames();
-            while (attributeNames.hasMoreElements()) {
-                String attributeName = attributeNames.nextElement();
-                Object attribute = servletRequest.getAttribute(attributeName);
-                request.setHeader(attributeName, attribute);
-            }
-        }
-
-        request.path(pathHelper.getRequestUri(servletRequest))
-                .uri(pathHelper.getRequestUri(servletRequest))
-                .contextPath(pathHelper.getContextPath(servletRequest))
-                .queryParams(Optional.ofNullable(pathHelper.getOriginatingQueryString(servletRequest))
-                                    .map(queryString -> queryString.replaceAll("&", ","))
-                                    .orElse(""))
-                .version(servletRequest.getProtocol())
-                .method(method);
-
-        Message response = endpointAdapter.handleMessage(request);
-
-        ResponseEntity<?> responseEntity;
-        if (response == null) {
-            responseEntity = new ResponseEntity<>(HttpStatus.valueOf(endpointConfiguration.getDefaultStatusCode()));
-        } else {
-            HttpMessage httpResponse;
-            if (response instanceof HttpMessage) {
-                httpResponse = (HttpMessage) response;
-            } else {
-                httpResponse = new HttpMessage(response);
-            }
-
-            if (httpResponse.getStatusCode() == null) {
-                httpResponse.status(HttpStatus.valueOf(endpointConfiguration.getDefaultStatusCode()));
-            }
-
-            responseEntity = (ResponseEntity<?>) endpointConfiguration.getMessageConverter().convertOutbound(httpResponse, endpointConfiguration, null);
-
-            if (endpointConfiguration.isHandleCookies() && httpResponse.getCookies() != null) {
-                HttpServletResponse servletResponse = ((ServletRequestAttributes) RequestContextHolder.getRequestAttributes()).getResponse();
-                for (Cookie cookie : httpResponse.getCookies()) {
-                    servletResponse.addCookie(cookie);
-                }
-            }
-        }
-        responseCache.add(responseEntity);
-        
-        return responseEntity;
-    }
-    
-    /**
-     * Sets the endpointAdapter.
-     * @param endpointAdapter the endpointAdapter to set
-     */
-    public void setEndpointAdapter(EndpointAdapter endpointAdapter) {
-        this.endpointAdapter = endpointAdapter;
-    }
-
-    /**
-     * Gets the endpoint adapter.
-     * @return
-     */
-    public EndpointAdapter getEndpointAdapter() {
-        return endpointAdapter;
-    }
-
-    /**
-     * Gets the endpoint configuration.
-     * @return
-     */
-    public HttpEndpointConfiguration getEndpointConfiguration() {
-        return endpointConfiguration;
-    }
-
-    /**
-     * Sets the endpoint configuration.
-     * @param endpointConfiguration
-     */
-    public void setEndpointConfiguration(HttpEndpointConfiguration endpointConfiguration) {
-        this.endpointConfiguration = endpointConfiguration;
-    }
-
-    /**
-     * Gets the responseCache.
-     * @return the responseCache the responseCache to get.
-     */
-    public ResponseEntity<?> getResponseCache() {
-        return responseCache.poll();
+        return createResponseEntity(getEndpointAdapter().handleMessage(createRequestMessage(method, requestEntity)));
     }
 }
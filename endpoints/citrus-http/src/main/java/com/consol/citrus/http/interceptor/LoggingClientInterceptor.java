@@ -55,6 +55,10 @@ public class LoggingClientInterceptor implements ClientHttpRequestInterceptor {
     @Override
     public ClientHttpResponse intercept(HttpRequest request, byte[] body,
         ClientHttpRequestExecution execution) throws IOException {
+        if (!isLoggingEnabled()) {
+            return execution.execute(request, body);
+        }
+
         handleRequest(getRequestContent(request, new String(body)));
 
         ClientHttpResponse response = execution.execute(request, body);
@@ -102,6 +106,14 @@ public class LoggingClientInterceptor implements ClientHttpRequestInterceptor {
         return messageListener != null && !messageListener.isEmpty();
     }
 
+    /**
+     * Checks if request and response messages are logged either to message listeners or to the logger.
+     * @return
+     */
+    private boolean isLoggingEnabled() {
+        return hasMessageListeners() || log.isDebugEnabled();
+    }
+
     /**
      * Builds request content string from request and body.
      * @param request
@@ -16,12 +16,16 @@
 
 package com.consol.citrus.http.interceptor;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Enumeration;
 
-import com.consol.citrus.http.controller.HttpMessageController;
+import com.consol.citrus.http.controller.AbstractHttpMessageController;
+import com.consol.citrus.http.servlet.CachingHttpServletRequestWrapper;
+import com.consol.citrus.http.servlet.SpooledRequestBody;
 import com.consol.citrus.message.RawMessage;
 import com.consol.citrus.report.MessageListeners;
 import com.consol.citrus.util.FileUtils;
@@ -55,7 +59,11 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
     @Override
     public boolean preHandle(HttpServletRequest request,
             HttpServletResponse response, Object handler) throws Exception {
-        handleRequest(getRequestContent(request));
+        // request has already been logged before asynchronous processing was started
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            handleRequest(getRequestContent(request));
+        }
+
         return true;
     }
 
@@ -145,7 +153,15 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
         }
 
         builder.append(NEWLINE);
-        builder.append(FileUtils.readToString(request.getInputStream()));
+
+        InputStream body = request.getInputStream();
+        SpooledRequestBody spooledBody = body instanceof CachingHttpServletRequestWrapper.RequestCachingInputStream ?
+                ((CachingHttpServletRequestWrapper.RequestCachingInputStream) body).getBody() : null;
+        if (spooledBody != null && spooledBody.isSpooled()) {
+            builder.append(String.format("<%s bytes spooled to file '%s'>", spooledBody.getSize(), spooledBody.getFile().getAbsolutePath()));
+        } else {
+            builder.append(FileUtils.readToString(body));
+        }
 
         return builder.toString();
     }
@@ -161,8 +177,8 @@ public class LoggingHandlerInterceptor implements HandlerInterceptor {
 
         if (handler instanceof HandlerMethod) {
             HandlerMethod handlerMethod = (HandlerMethod) handler;
-            if (handlerMethod.getBean() instanceof HttpMessageController) {
-                ResponseEntity<?> responseEntity = ((HttpMessageController) handlerMethod.getBean()).getResponseCache();
+            if (handlerMethod.getBean() instanceof AbstractHttpMessageController) {
+                ResponseEntity<?> responseEntity = ((AbstractHttpMessageController) handlerMethod.getBean()).getResponseCache();
                 if (responseEntity != null) {
                     builder.append(NEWLINE);
                     builder.append(responseEntity.getBody());
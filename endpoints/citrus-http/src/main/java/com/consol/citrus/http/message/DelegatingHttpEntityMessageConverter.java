@@ -16,6 +16,8 @@
 
 package com.consol.citrus.http.message;
 
+import com.consol.citrus.http.servlet.CachingHttpServletRequestWrapper;
+import com.consol.citrus.http.servlet.SpooledRequestBody;
 import com.consol.citrus.util.TypeConversionUtils;
 import org.springframework.http.*;
 import org.springframework.http.converter.*;
@@ -24,6 +26,7 @@ import org.springframework.http.converter.support.AllEncompassingFormHttpMessage
 import org.springframework.util.MultiValueMap;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 
 /**
@@ -90,6 +93,14 @@ public class DelegatingHttpEntityMessageConverter extends AbstractHttpMessageCon
 
     @Override
     protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException, HttpMessageNotReadableException {
+        InputStream body = inputMessage.getBody();
+        if (body instanceof CachingHttpServletRequestWrapper.RequestCachingInputStream) {
+            SpooledRequestBody spooledBody = ((CachingHttpServletRequestWrapper.RequestCachingInputStream) body).getBody();
+            if (spooledBody.isSpooled()) {
+                return spooledBody.getResource();
+            }
+        }
+
         HttpMessageConverter<?> delegate = requestMessageConverters.stream()
                                 .filter(converter -> converter.getSupportedMediaTypes()
                                                                 .stream()
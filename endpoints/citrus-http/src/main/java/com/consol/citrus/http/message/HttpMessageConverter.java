@@ -64,6 +64,12 @@ public class HttpMessageConverter implements MessageConverter<HttpEntity<?>, Htt
 
         Object payload = httpMessage.getPayload();
         if (httpMessage.getStatusCode() != null) {
+            if (endpointConfiguration.isHandleCookies()) {
+                for (Cookie cookie : httpMessage.getCookies()) {
+                    httpHeaders.add(HttpHeaders.SET_COOKIE, cookieConverter.getCookieString(cookie));
+                }
+            }
+
             return new ResponseEntity<>(payload, httpHeaders, httpMessage.getStatusCode());
         } else {
             for (Cookie cookie : httpMessage.getCookies()) {
@@ -34,6 +34,7 @@ import com.consol.citrus.server.AbstractServer;
 import org.eclipse.jetty.security.SecurityHandler;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.handler.ContextHandlerCollection;
 import org.eclipse.jetty.server.handler.DefaultHandler;
 import org.eclipse.jetty.server.handler.HandlerCollection;
@@ -44,6 +45,7 @@ import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
 import org.eclipse.jetty.servlet.ServletMapping;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.util.CollectionUtils;
@@ -124,6 +126,24 @@ public class HttpServer extends AbstractServer {
     /** Message converter */
     private HttpMessageConverter messageConverter = new HttpMessageConverter();
 
+    /** Use asynchronous servlet processing so requests waiting for a response do not block server threads */
+    private boolean async = false;
+
+    /** Server thread pool settings */
+    private int minThreads = 8;
+    private int maxThreads = 200;
+    private int threadIdleTimeout = 60000;
+
+    /** Default server connector settings */
+    private int acceptors = -1;
+    private int selectors = -1;
+    private long idleTimeout = 30000L;
+    private int acceptQueueSize = 0;
+
+    /** Spool request bodies exceeding the streaming threshold in bytes to temporary files and receive them as resource payload */
+    private boolean streaming = false;
+    private long streamingThreshold = 1024 * 1024L;
+
     @Override
     protected void shutdown() {
         if (jettyServer != null) {
@@ -147,7 +167,7 @@ public class HttpServer extends AbstractServer {
                 jettyServer = connector.getServer();
                 jettyServer.addConnector(connector);
             } else {
-                jettyServer = new Server(port);
+                jettyServer = createJettyServer();
             }
 
             HandlerCollection handlers = new HandlerCollection();
@@ -178,6 +198,7 @@ public class HttpServer extends AbstractServer {
                 FilterHolder filterHolder = new FilterHolder();
                 filterHolder.setName(filterEntry.getKey());
                 filterHolder.setFilter(filterEntry.getValue());
+                filterHolder.setAsyncSupported(async);
 
                 servletHandler.addFilter(filterHolder, filterMapping);
             }
@@ -225,12 +246,32 @@ public class HttpServer extends AbstractServer {
         }
     }
 
+    /**
+     * Creates new Jetty server with thread pool and default server connector according to the server settings.
+     * @return
+     */
+    private Server createJettyServer() {
+        QueuedThreadPool threadPool = new QueuedThreadPool(maxThreads, minThreads, threadIdleTimeout);
+        threadPool.setName(getName() + "-qtp");
+
+        Server server = new Server(threadPool);
+
+        ServerConnector serverConnector = new ServerConnector(server, acceptors, selectors);
+        serverConnector.setPort(port);
+        serverConnector.setIdleTimeout(idleTimeout);
+        serverConnector.setAcceptQueueSize(acceptQueueSize);
+        server.addConnector(serverConnector);
+
+        return server;
+    }
+
     /**
      * Adds default Spring dispatcher servlet with servlet mapping.
      */
     private void addDispatcherServlet() {
         ServletHolder servletHolder = new ServletHolder(getDispatcherServlet());
         servletHolder.setName(getServletName());
+        servletHolder.setAsyncSupported(async);
         servletHolder.setInitParameter("contextConfigLocation", contextConfigLocation);
 
         servletHandler.addServlet(servletHolder);
@@ -259,8 +300,14 @@ public class HttpServer extends AbstractServer {
         filterMapping.setFilterName("request-caching-filter");
         filterMapping.setPathSpec("/*");
 
-        FilterHolder filterHolder = new FilterHolder(new RequestCachingServletFilter());
+        RequestCachingServletFilter requestCachingFilter = new RequestCachingServletFilter();
+        if (streaming) {
+            requestCachingFilter.setSpoolThreshold(streamingThreshold);
+        }
+
+        FilterHolder filterHolder = new FilterHolder(requestCachingFilter);
         filterHolder.setName("request-caching-filter");
+        filterHolder.setAsyncSupported(async);
         servletHandler.addFilter(filterHolder, filterMapping);
     }
 
@@ -274,6 +321,7 @@ public class HttpServer extends AbstractServer {
 
         FilterHolder filterHolder = new FilterHolder(new GzipServletFilter());
         filterHolder.setName("gzip-filter");
+        filterHolder.setAsyncSupported(async);
         servletHandler.addFilter(filterHolder, filterMapping);
     }
 
@@ -584,4 +632,184 @@ public class HttpServer extends AbstractServer {
     public void setBinaryMediaTypes(List<MediaType> binaryMediaTypes) {
         this.binaryMediaTypes = binaryMediaTypes;
     }
+
+    /**
+     * Gets the async.
+     *
+     * @return
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Sets the async.
+     *
+     * @param async
+     */
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    /**
+     * Gets the minThreads.
+     *
+     * @return
+     */
+    public int getMinThreads() {
+        return minThreads;
+    }
+
+    /**
+     * Sets the minThreads.
+     *
+     * @param minThreads
+     */
+    public void setMinThreads(int minThreads) {
+        this.minThreads = minThreads;
+    }
+
+    /**
+     * Gets the maxThreads.
+     *
+     * @return
+     */
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    /**
+     * Sets the maxThreads.
+     *
+     * @param maxThreads
+     */
+    public void setMaxThreads(int maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    /**
+     * Gets the threadIdleTimeout.
+     *
+     * @return
+     */
+    public int getThreadIdleTimeout() {
+        return threadIdleTimeout;
+    }
+
+    /**
+     * Sets the threadIdleTimeout.
+     *
+     * @param threadIdleTimeout
+     */
+    public void setThreadIdleTimeout(int threadIdleTimeout) {
+        this.threadIdleTimeout = threadIdleTimeout;
+    }
+
+    /**
+     * Gets the acceptors.
+     *
+     * @return
+     */
+    public int getAcceptors() {
+        return acceptors;
+    }
+
+    /**
+     * Sets the acceptors.
+     *
+     * @param acceptors
+     */
+    public void setAcceptors(int acceptors) {
+        this.acceptors = acceptors;
+    }
+
+    /**
+     * Gets the selectors.
+     *
+     * @return
+     */
+    public int getSelectors() {
+        return selectors;
+    }
+
+    /**
+     * Sets the selectors.
+     *
+     * @param selectors
+     */
+    public void setSelectors(int selectors) {
+        this.selectors = selectors;
+    }
+
+    /**
+     * Gets the idleTimeout.
+     *
+     * @return
+     */
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Sets the idleTimeout.
+     *
+     * @param idleTimeout
+     */
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * Gets the acceptQueueSize.
+     *
+     * @return
+     */
+    public int getAcceptQueueSize() {
+        return acceptQueueSize;
+    }
+
+    /**
+     * Sets the acceptQueueSize.
+     *
+     * @param acceptQueueSize
+     */
+    public void setAcceptQueueSize(int acceptQueueSize) {
+        this.acceptQueueSize = acceptQueueSize;
+    }
+
+    /**
+     * Gets the streaming.
+     *
+     * @return
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Sets the streaming.
+     *
+     * @param streaming
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    /**
+     * Gets the streamingThreshold.
+     *
+     * @return
+     */
+    public long getStreamingThreshold() {
+        return streamingThreshold;
+    }
+
+    /**
+     * Sets the streamingThreshold.
+     *
+     * @param streamingThreshold
+     */
+    public void setStreamingThreshold(long streamingThreshold) {
+        this.streamingThreshold = streamingThreshold;
+    }
 }
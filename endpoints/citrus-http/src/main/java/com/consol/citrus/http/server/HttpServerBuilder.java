@@ -273,4 +273,103 @@ public class HttpServerBuilder extends AbstractEndpointBuilder<HttpServer> {
         endpoint.setInterceptors((List) interceptors);
         return this;
     }
+    /**
+     * Sets the async servlet processing flag.
+     * @param async
+     * @return
+     */
+    public HttpServerBuilder async(boolean async) {
+        endpoint.setAsync(async);
+        return this;
+    }
+
+    /**
+     * Sets the min number of server threads.
+     * @param minThreads
+     * @return
+     */
+    public HttpServerBuilder minThreads(int minThreads) {
+        endpoint.setMinThreads(minThreads);
+        return this;
+    }
+
+    /**
+     * Sets the max number of server threads.
+     * @param maxThreads
+     * @return
+     */
+    public HttpServerBuilder maxThreads(int maxThreads) {
+        endpoint.setMaxThreads(maxThreads);
+        return this;
+    }
+
+    /**
+     * Sets the idle timeout of server threads.
+     * @param threadIdleTimeout
+     * @return
+     */
+    public HttpServerBuilder threadIdleTimeout(int threadIdleTimeout) {
+        endpoint.setThreadIdleTimeout(threadIdleTimeout);
+        return this;
+    }
+
+    /**
+     * Sets the number of connector acceptor threads.
+     * @param acceptors
+     * @return
+     */
+    public HttpServerBuilder acceptors(int acceptors) {
+        endpoint.setAcceptors(acceptors);
+        return this;
+    }
+
+    /**
+     * Sets the number of connector selector threads.
+     * @param selectors
+     * @return
+     */
+    public HttpServerBuilder selectors(int selectors) {
+        endpoint.setSelectors(selectors);
+        return this;
+    }
+
+    /**
+     * Sets the connection idle timeout.
+     * @param idleTimeout
+     * @return
+     */
+    public HttpServerBuilder idleTimeout(long idleTimeout) {
+        endpoint.setIdleTimeout(idleTimeout);
+        return this;
+    }
+
+    /**
+     * Sets the connector accept queue size.
+     * @param acceptQueueSize
+     * @return
+     */
+    public HttpServerBuilder acceptQueueSize(int acceptQueueSize) {
+        endpoint.setAcceptQueueSize(acceptQueueSize);
+        return this;
+    }
+
+    /**
+     * Enables request body streaming.
+     * @param streaming
+     * @return
+     */
+    public HttpServerBuilder streaming(boolean streaming) {
+        endpoint.setStreaming(streaming);
+        return this;
+    }
+
+    /**
+     * Sets the request body size in bytes that bodies are spooled to temporary files above.
+     * @param streamingThreshold
+     * @return
+     */
+    public HttpServerBuilder streamingThreshold(long streamingThreshold) {
+        endpoint.setStreamingThreshold(streamingThreshold);
+        return this;
+    }
 }
@@ -20,8 +20,8 @@ import javax.servlet.ReadListener;
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.nio.charset.Charset;
@@ -41,14 +41,18 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.RequestMethod;
 
 /**
- * Caching wrapper saves request body data to cache when read.
+ * Caching wrapper saves request body data to cache when read. Request bodies exceeding the spool threshold are
+ * cached in a temporary file instead of the heap.
  */
 public class CachingHttpServletRequestWrapper extends HttpServletRequestWrapper {
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(CachingHttpServletRequestWrapper.class);
 
     /** Cached request data initialized when first read from input stream */
-    private byte[] body;
+    private SpooledRequestBody body;
+
+    /** Spool request data exceeding this size in bytes to temporary file, values less or equal to zero disable spooling */
+    private final long spoolThreshold;
 
     /**
      * Default constructor using initial servlet request.
@@ -56,7 +60,17 @@ public class CachingHttpServletRequestWrapper extends HttpServletRequestWrapper
      */
     @SuppressWarnings("WeakerAccess")
     public CachingHttpServletRequestWrapper(final HttpServletRequest request) {
+        this(request, -1L);
+    }
+
+    /**
+     * Constructor using initial servlet request and spool threshold.
+     * @param request The request to wrap
+     * @param spoolThreshold The size in bytes that request data is spooled to a temporary file above
+     */
+    public CachingHttpServletRequestWrapper(final HttpServletRequest request, final long spoolThreshold) {
         super(request);
+        this.spoolThreshold = spoolThreshold;
     }
 
     @Override
@@ -96,13 +110,19 @@ public class CachingHttpServletRequestWrapper extends HttpServletRequestWrapper
     @Override
     public ServletInputStream getInputStream() throws IOException {
         if (body == null) {
-            if (super.getInputStream() != null) {
-                body = FileCopyUtils.copyToByteArray(super.getInputStream());
-            } else {
-                body = new byte[] {};
-            }
+            body = SpooledRequestBody.spool(super.getInputStream(), spoolThreshold);
+        }
+        return new RequestCachingInputStream(body);
+    }
+
+    /**
+     * Releases cached request data. Deletes the spool file when request data has been spooled.
+     * Releases data after asynchronous processing in case asynchronous processing has been started.
+     */
+    public void release() {
+        if (body != null) {
+            body.releaseAfter(this);
         }
-        return new RequestCachingInputStream();
     }
 
     /**
@@ -142,17 +162,31 @@ public class CachingHttpServletRequestWrapper extends HttpServletRequestWrapper
         }
     }
 
-    /** Input stream uses cached request data */
-    private final class RequestCachingInputStream extends ServletInputStream {
-        private final ByteArrayInputStream is;
+    /** Input stream uses cached request data. Closing the stream leaves the cached data open as it is released with the request */
+    public static final class RequestCachingInputStream extends ServletInputStream {
+        private final SpooledRequestBody body;
+        private final InputStream is;
 
-        private RequestCachingInputStream() {
-            this.is = new ByteArrayInputStream(body);
+        RequestCachingInputStream(SpooledRequestBody body) throws IOException {
+            this.body = body;
+            this.is = body.getInputStream();
+        }
+
+        /**
+         * Gets the cached request body this stream is reading from.
+         * @return
+         */
+        public SpooledRequestBody getBody() {
+            return body;
         }
 
         @Override
         public boolean isFinished() {
-            return is.available() == 0;
+            try {
+                return is.available() == 0;
+            } catch (IOException e) {
+                throw new CitrusRuntimeException("Failed to check cached input stream availability", e);
+            }
         }
 
         @Override
@@ -166,9 +200,44 @@ public class CachingHttpServletRequestWrapper extends HttpServletRequestWrapper
         }
 
         @Override
-        public int read() {
+        public int read() throws IOException {
             return is.read();
         }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return is.read(b, off, len);
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            return is.skip(n);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return is.available();
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(int readlimit) {
+            is.mark(readlimit);
+        }
+
+        @Override
+        public synchronized void reset() throws IOException {
+            is.reset();
+        }
+
+        @Override
+        public void close() {
+            // cached request data is closed on release
+        }
     }
 
 }
@@ -21,6 +21,8 @@ import java.util.List;
 
 import com.consol.citrus.endpoint.EndpointAdapter;
 import com.consol.citrus.http.client.HttpEndpointConfiguration;
+import com.consol.citrus.http.controller.AbstractHttpMessageController;
+import com.consol.citrus.http.controller.AsyncHttpMessageController;
 import com.consol.citrus.http.controller.HttpMessageController;
 import com.consol.citrus.http.interceptor.DelegatingHandlerInterceptor;
 import com.consol.citrus.http.interceptor.LoggingHandlerInterceptor;
@@ -29,10 +31,12 @@ import com.consol.citrus.http.message.DelegatingHttpEntityMessageConverter;
 import com.consol.citrus.http.server.HttpServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.ApplicationContext;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.integration.http.support.DefaultHttpHeaderMapper;
 import org.springframework.util.AntPathMatcher;
+import org.springframework.web.context.ConfigurableWebApplicationContext;
 import org.springframework.web.context.request.WebRequestInterceptor;
 import org.springframework.web.servlet.DispatcherServlet;
 import org.springframework.web.servlet.HandlerInterceptor;
@@ -70,6 +74,22 @@ public class CitrusDispatcherServlet extends DispatcherServlet {
         this.httpServer = httpServer;
     }
 
+    @Override
+    protected void postProcessWebApplicationContext(ConfigurableWebApplicationContext wac) {
+        super.postProcessWebApplicationContext(wac);
+
+        if (httpServer.isAsync()) {
+            wac.addBeanFactoryPostProcessor(beanFactory -> {
+                if (beanFactory.containsBeanDefinition(MESSAGE_CONTROLLER_BEAN_NAME)) {
+                    BeanDefinition messageController = beanFactory.getBeanDefinition(MESSAGE_CONTROLLER_BEAN_NAME);
+                    if (HttpMessageController.class.getName().equals(messageController.getBeanClassName())) {
+                        messageController.setBeanClassName(AsyncHttpMessageController.class.getName());
+                    }
+                }
+            });
+        }
+    }
+
     @Override
     protected void initStrategies(ApplicationContext context) {
         super.initStrategies(context);
@@ -96,7 +116,7 @@ public class CitrusDispatcherServlet extends DispatcherServlet {
      */
     protected void configureMessageController(ApplicationContext context) {
         if (context.containsBean(MESSAGE_CONTROLLER_BEAN_NAME)) {
-            HttpMessageController messageController = context.getBean(MESSAGE_CONTROLLER_BEAN_NAME, HttpMessageController.class);
+            AbstractHttpMessageController messageController = context.getBean(MESSAGE_CONTROLLER_BEAN_NAME, AbstractHttpMessageController.class);
             EndpointAdapter endpointAdapter = httpServer.getEndpointAdapter();
 
             HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
@@ -105,6 +125,7 @@ public class CitrusDispatcherServlet extends DispatcherServlet {
             endpointConfiguration.setHandleAttributeHeaders(httpServer.isHandleAttributeHeaders());
             endpointConfiguration.setHandleCookies(httpServer.isHandleCookies());
             endpointConfiguration.setDefaultStatusCode(httpServer.getDefaultStatusCode());
+            endpointConfiguration.setTimeout(httpServer.getDefaultTimeout());
             messageController.setEndpointConfiguration(endpointConfiguration);
 
             if (endpointAdapter != null) {
@@ -20,7 +20,6 @@ import com.consol.citrus.exceptions.CitrusRuntimeException;
 
 import javax.servlet.ReadListener;
 import javax.servlet.ServletInputStream;
-import javax.servlet.ServletRequest;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
 import java.io.IOException;
@@ -30,11 +29,17 @@ import java.util.zip.GZIPInputStream;
  * Request wrapper wraps gzip input stream with unzipped stream. Read operations on that stream are
  * automatically decompressed with gzip encoding.
  *
+ * Request data that has been spooled to a temporary file by the request caching filter is decompressed
+ * to another spool file once so the decompressed data does not have to be loaded into the heap.
+ *
  * @author Christoph Deppisch
  * @since 2.7.10
  */
 public class GzipHttpServletRequestWrapper extends HttpServletRequestWrapper {
 
+    /** Decompressed request data when wrapped request data has been spooled to file */
+    private SpooledRequestBody body;
+
     /**
      * Constructs a request adaptor wrapping the given request.
      *
@@ -47,7 +52,32 @@ public class GzipHttpServletRequestWrapper extends HttpServletRequestWrapper {
 
     @Override
     public ServletInputStream getInputStream() throws IOException {
-        return new GzipServletInputStream(getRequest());
+        if (body != null) {
+            return new CachingHttpServletRequestWrapper.RequestCachingInputStream(body);
+        }
+
+        ServletInputStream inputStream = getRequest().getInputStream();
+        if (inputStream instanceof CachingHttpServletRequestWrapper.RequestCachingInputStream) {
+            SpooledRequestBody compressed = ((CachingHttpServletRequestWrapper.RequestCachingInputStream) inputStream).getBody();
+            if (compressed.isSpooled()) {
+                try (GZIPInputStream gzipStream = new GZIPInputStream(inputStream)) {
+                    body = SpooledRequestBody.spool(gzipStream, compressed.getThreshold());
+                }
+
+                return new CachingHttpServletRequestWrapper.RequestCachingInputStream(body);
+            }
+        }
+
+        return new GzipServletInputStream(inputStream);
+    }
+
+    /**
+     * Releases decompressed request data. Deletes the spool file when decompressed data has been spooled.
+     */
+    public void release() {
+        if (body != null) {
+            body.releaseAfter(this);
+        }
     }
 
     /**
@@ -58,12 +88,12 @@ public class GzipHttpServletRequestWrapper extends HttpServletRequestWrapper {
 
         /**
          * Default constructor using wrapped input stream.
-         * @param request The request to wrap
+         * @param inputStream The compressed input stream to wrap
          * @throws IOException if an I/O error has occurred
          */
-        public GzipServletInputStream(ServletRequest request) throws IOException {
+        public GzipServletInputStream(ServletInputStream inputStream) throws IOException {
             super();
-            gzipStream = new GZIPInputStream(request.getInputStream());
+            gzipStream = new GZIPInputStream(inputStream);
         }
 
         @Override
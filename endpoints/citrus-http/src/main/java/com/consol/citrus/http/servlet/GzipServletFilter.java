@@ -45,17 +45,30 @@ public class GzipServletFilter extends OncePerRequestFilter {
             filteredRequest = new GzipHttpServletRequestWrapper(request);
         }
 
-        if (isGzipEncoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+        if (isGzipEncoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING))
+                && !(response instanceof GzipHttpServletResponseWrapper)) {
             filteredResponse = new GzipHttpServletResponseWrapper(response);
         }
 
-        filterChain.doFilter(filteredRequest, filteredResponse);
+        try {
+            filterChain.doFilter(filteredRequest, filteredResponse);
+        } finally {
+            if (filteredRequest instanceof GzipHttpServletRequestWrapper) {
+                ((GzipHttpServletRequestWrapper) filteredRequest).release();
+            }
+        }
 
-        if (filteredResponse instanceof GzipHttpServletResponseWrapper) {
+        // response of asynchronous requests is written and finished in the async dispatch
+        if (filteredResponse instanceof GzipHttpServletResponseWrapper && !request.isAsyncStarted()) {
             ((GzipHttpServletResponseWrapper) filteredResponse).finish();
         }
     }
 
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
     private boolean isGzipEncoding(String contentEncoding) {
         return contentEncoding != null && contentEncoding.contains("gzip");
     }
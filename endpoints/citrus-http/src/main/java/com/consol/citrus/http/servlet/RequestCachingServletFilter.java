@@ -28,17 +28,43 @@ import org.springframework.web.filter.OncePerRequestFilter;
  * usual servlet request implementation data can only be read once.
  * 
  * For logging and tracing reasons we introduce a servlet request wrapper caching 
- * the request data.
+ * the request data. Request data exceeding the spool threshold is cached in a temporary file
+ * that is deleted once the request has been completed.
  * 
  * @author Christoph Deppisch
  * @since 1.2
  */
 public class RequestCachingServletFilter extends OncePerRequestFilter {
 
+    /** Spool request data exceeding this size in bytes to temporary file, values less or equal to zero disable spooling */
+    private long spoolThreshold = -1L;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
             FilterChain filterChain) throws ServletException, IOException {
-        filterChain.doFilter(new CachingHttpServletRequestWrapper(request), response);
+        CachingHttpServletRequestWrapper cachingRequest = new CachingHttpServletRequestWrapper(request, spoolThreshold);
+
+        try {
+            filterChain.doFilter(cachingRequest, response);
+        } finally {
+            cachingRequest.release();
+        }
+    }
+
+    /**
+     * Gets the spool threshold.
+     * @return
+     */
+    public long getSpoolThreshold() {
+        return spoolThreshold;
     }
-    
+
+    /**
+     * Sets the spool threshold.
+     * @param spoolThreshold
+     */
+    public void setSpoolThreshold(long spoolThreshold) {
+        this.spoolThreshold = spoolThreshold;
+    }
+
 }
@@ -0,0 +1,419 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.servlet;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletRequest;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+/**
+ * Request body that is held in memory as long as its size is below a given threshold. Larger bodies are
+ * spooled to a temporary file. Spooled bodies are read via memory mapped file regions so the content never has to
+ * be loaded into the heap as a whole.
+ *
+ * Each input stream on a spooled body reads with its own position while all streams share the mapped file regions.
+ * Spooled files must be released once the request has been completed. Release closes the mapped file and deletes the
+ * spool file, so resources handed out, e.g. as message payload, are valid for the lifetime of the request only.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public class SpooledRequestBody {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(SpooledRequestBody.class);
+
+    /** Size of memory mapped file regions */
+    private static final int MAPPED_REGION_SIZE = 64 * 1024 * 1024;
+
+    /** Buffer size used when reading the original request body */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** In memory body content, null when spooled to file */
+    private final byte[] content;
+
+    /** Temporary file holding the body content, null when held in memory */
+    private final File file;
+
+    /** Body size in bytes */
+    private final long size;
+
+    /** Threshold in bytes that has been used to spool this body */
+    private final long threshold;
+
+    /** Memory mapped spool file shared by all input streams */
+    private MappedFile mappedFile;
+
+    /** Released bodies do not provide content anymore */
+    private boolean released;
+
+    /**
+     * Constructor initializing body content and spool file.
+     * @param content
+     * @param file
+     * @param size
+     * @param threshold
+     */
+    private SpooledRequestBody(byte[] content, File file, long size, long threshold) {
+        this.content = content;
+        this.file = file;
+        this.size = size;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Reads given input stream and keeps the content in memory. Content exceeding the threshold is spooled to
+     * a temporary file. Threshold values less or equal to zero disable spooling.
+     * @param inputStream the request body stream, may be null.
+     * @param threshold spool threshold in bytes.
+     * @return
+     * @throws IOException
+     */
+    public static SpooledRequestBody spool(InputStream inputStream, long threshold) throws IOException {
+        if (inputStream == null) {
+            return new SpooledRequestBody(new byte[] {}, null, 0L, threshold);
+        }
+
+        ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int bytesRead;
+        while ((bytesRead = inputStream.read(buffer)) != -1) {
+            memory.write(buffer, 0, bytesRead);
+
+            if (threshold > 0 && memory.size() > threshold) {
+                return spoolToFile(memory, inputStream, buffer, threshold);
+            }
+        }
+
+        return new SpooledRequestBody(memory.toByteArray(), null, memory.size(), threshold);
+    }
+
+    /**
+     * Writes content that has been read so far and the rest of the input stream to a temporary file.
+     * @param memory
+     * @param inputStream
+     * @param buffer
+     * @param threshold
+     * @return
+     * @throws IOException
+     */
+    private static SpooledRequestBody spoolToFile(ByteArrayOutputStream memory, InputStream inputStream,
+                                                  byte[] buffer, long threshold) throws IOException {
+        File spoolFile = File.createTempFile("citrus-request-", ".body");
+
+        try (FileChannel channel = FileChannel.open(spoolFile.toPath(), StandardOpenOption.WRITE)) {
+            long size = writeFully(channel, ByteBuffer.wrap(memory.toByteArray()));
+
+            int bytesRead;
+            while ((bytesRead = inputStream.read(buffer)) != -1) {
+                size += writeFully(channel, ByteBuffer.wrap(buffer, 0, bytesRead));
+            }
+
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Spooled request body of %s bytes to file '%s'", size, spoolFile.getAbsolutePath()));
+            }
+
+            return new SpooledRequestBody(null, spoolFile, size, threshold);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spoolFile.toPath());
+            throw e;
+        }
+    }
+
+    private static long writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        long written = 0L;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        return written;
+    }
+
+    /**
+     * Gets new input stream on the body content positioned at the start of the content. Streams on spooled bodies
+     * share the memory mapped spool file.
+     * @return
+     * @throws IOException
+     */
+    public synchronized InputStream getInputStream() throws IOException {
+        if (isSpooled()) {
+            if (released) {
+                throw new IOException(String.format("Request body spool file '%s' has already been released", file.getAbsolutePath()));
+            }
+
+            if (mappedFile == null) {
+                mappedFile = new MappedFile(file, size);
+            }
+
+            return new MappedFileInputStream(mappedFile);
+        }
+
+        return new ByteArrayInputStream(content);
+    }
+
+    /**
+     * Gets the body content as resource. Spooled bodies are represented by the spool file which is deleted when
+     * this body is released.
+     * @return
+     */
+    public Resource getResource() {
+        if (isSpooled()) {
+            return new FileSystemResource(file);
+        }
+
+        return new ByteArrayResource(content);
+    }
+
+    /**
+     * Closes the mapped spool file and deletes the spool file if any.
+     */
+    public synchronized void release() {
+        if (!isSpooled() || released) {
+            return;
+        }
+
+        released = true;
+
+        if (mappedFile != null) {
+            try {
+                mappedFile.close();
+            } catch (IOException e) {
+                log.warn(String.format("Failed to close request body spool file '%s'", file.getAbsolutePath()), e);
+            }
+            mappedFile = null;
+        }
+
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            log.warn(String.format("Failed to delete request body spool file '%s'", file.getAbsolutePath()), e);
+        }
+    }
+
+    /**
+     * Releases this body as soon as the given request has been completed. In case asynchronous processing has been
+     * started on the request the body is released when the asynchronous processing completes.
+     * @param request
+     */
+    public void releaseAfter(HttpServletRequest request) {
+        if (!isSpooled()) {
+            return;
+        }
+
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    release();
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        } else {
+            release();
+        }
+    }
+
+    /**
+     * Checks if body content has been spooled to a file.
+     * @return
+     */
+    public boolean isSpooled() {
+        return file != null;
+    }
+
+    /**
+     * Gets the spool file or null if body is held in memory.
+     * @return
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Gets the body size in bytes.
+     * @return
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the threshold in bytes that has been used to spool this body.
+     * @return
+     */
+    public long getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Spool file mapped into memory region by region. Regions are mapped on first access and shared by all input streams
+     * so files larger than the maximum mapped buffer size are supported, too.
+     */
+    private static final class MappedFile {
+        private final FileChannel channel;
+        private final long size;
+        private final MappedByteBuffer[] regions;
+
+        private MappedFile(File file, long size) throws IOException {
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            this.size = size;
+            this.regions = new MappedByteBuffer[(int) ((size + MAPPED_REGION_SIZE - 1) / MAPPED_REGION_SIZE)];
+        }
+
+        /**
+         * Gets the region with given index. The returned buffer has its own position and limit.
+         * @param index
+         * @return
+         * @throws IOException
+         */
+        private synchronized ByteBuffer region(int index) throws IOException {
+            if (regions[index] == null) {
+                long regionStart = (long) index * MAPPED_REGION_SIZE;
+                regions[index] = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, Math.min(MAPPED_REGION_SIZE, size - regionStart));
+            }
+
+            return regions[index].duplicate();
+        }
+
+        private synchronized void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Input stream reading the mapped file content. Each stream keeps its own position and mark.
+     */
+    private static final class MappedFileInputStream extends InputStream {
+        private final MappedFile file;
+
+        private ByteBuffer region;
+        private long position;
+        private long mark;
+
+        private MappedFileInputStream(MappedFile file) {
+            this.file = file;
+        }
+
+        /**
+         * Gets the region at current position when current region has been read completely.
+         * @return false if end of file has been reached.
+         * @throws IOException
+         */
+        private boolean ensureRegion() throws IOException {
+            if (position >= file.size) {
+                return false;
+            }
+
+            if (region == null || !region.hasRemaining()) {
+                int index = (int) (position / MAPPED_REGION_SIZE);
+                region = file.region(index);
+                region.position((int) (position - (long) index * MAPPED_REGION_SIZE));
+            }
+
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!ensureRegion()) {
+                return -1;
+            }
+
+            position++;
+            return region.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+
+            if (!ensureRegion()) {
+                return -1;
+            }
+
+            int bytesRead = Math.min(len, region.remaining());
+            region.get(b, off, bytesRead);
+            position += bytesRead;
+            return bytesRead;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = Math.max(0L, Math.min(n, file.size - position));
+            seek(position + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(file.size - position, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(int readlimit) {
+            mark = position;
+        }
+
+        @Override
+        public synchronized void reset() {
+            seek(mark);
+        }
+
+        private void seek(long newPosition) {
+            region = null;
+            position = newPosition;
+        }
+
+        @Override
+        public void close() {
+            region = null;
+        }
+    }
+}
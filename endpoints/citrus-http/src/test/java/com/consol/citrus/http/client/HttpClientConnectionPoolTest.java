@@ -0,0 +1,136 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.client;
+
+import java.util.Random;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.endpoint.EndpointAdapter;
+import com.consol.citrus.http.message.HttpMessage;
+import com.consol.citrus.http.server.HttpServer;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.apache.http.entity.ContentType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.SocketUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class HttpClientConnectionPoolTest extends AbstractTestNGUnitTest {
+
+    private int port = SocketUtils.findAvailableTcpPort(8080);
+    private String uri = "http://localhost:" + port + "/test";
+
+    private HttpServer server = new HttpServer();
+
+    @Autowired
+    private EndpointAdapter mockResponseEndpointAdapter;
+
+    @BeforeClass
+    public void setupServer() {
+        server.setPort(port);
+        server.setApplicationContext(applicationContext);
+        server.setUseRootContextAsParent(true);
+        server.setContextConfigLocation("classpath:com/consol/citrus/http/HttpServerTest-http-servlet.xml");
+
+        server.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void shutdown() {
+        server.stop();
+    }
+
+    @Test
+    public void testKeepAliveConnectionPool() throws Exception {
+        HttpClient client = new HttpClientBuilder()
+                .requestUrl(uri)
+                .build();
+
+        reset(mockResponseEndpointAdapter);
+        when(mockResponseEndpointAdapter.handleMessage(any(Message.class)))
+                .thenAnswer(invocation -> new HttpMessage("Hello user").status(HttpStatus.OK));
+
+        try {
+            for (int i = 0; i < 5; i++) {
+                TestContext context = testContextFactory.getObject();
+                client.send(new HttpMessage("Hello")
+                        .method(HttpMethod.POST), context);
+
+                Assert.assertEquals(client.receive(context).getPayload(String.class), "Hello user");
+            }
+
+            HttpConnectionPoolMetrics metrics = client.getEndpointConfiguration().getConnectionPoolMetrics();
+            Assert.assertEquals(metrics.getLeased(), 0);
+            Assert.assertEquals(metrics.getAvailable(), 1);
+            Assert.assertEquals(metrics.getPending(), 0);
+            Assert.assertEquals(metrics.getMax(), 20);
+        } finally {
+            client.destroy();
+        }
+    }
+
+    @Test
+    public void testStreamingClient() throws Exception {
+        TestContext context = testContextFactory.getObject();
+
+        final byte[] requestBody = new byte[1024 * 1024];
+        new Random().nextBytes(requestBody);
+
+        HttpClient streamingClient = new HttpClientBuilder()
+                .requestUrl(uri)
+                .streaming(true)
+                .build();
+
+        reset(mockResponseEndpointAdapter);
+        when(mockResponseEndpointAdapter.handleMessage(any(Message.class))).thenAnswer(invocation -> {
+            Message request = invocation.getArgument(0);
+            Assert.assertEquals(request.getPayload(byte[].class), requestBody);
+
+            return new HttpMessage(requestBody)
+                    .contentType(ContentType.APPLICATION_OCTET_STREAM.getMimeType())
+                    .status(HttpStatus.OK);
+        });
+
+        streamingClient.send(new HttpMessage(requestBody)
+                .contentType(ContentType.APPLICATION_OCTET_STREAM.getMimeType())
+                .accept(ContentType.APPLICATION_OCTET_STREAM.getMimeType())
+                .method(HttpMethod.POST), context);
+
+        Message response = streamingClient.receive(context);
+        Assert.assertTrue(response.getPayload() instanceof Resource);
+        Assert.assertEquals(response.getPayload(byte[].class), requestBody);
+
+        Resource spooledResponse = response.getPayload(Resource.class);
+        Assert.assertTrue(spooledResponse.exists());
+
+        streamingClient.destroy();
+        Assert.assertFalse(spooledResponse.exists());
+    }
+}
@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.Random;
 
 import com.consol.citrus.endpoint.resolver.EndpointUriResolver;
+import com.consol.citrus.http.interceptor.LoggingClientInterceptor;
 import com.consol.citrus.http.message.HttpMessage;
 import com.consol.citrus.http.message.HttpMessageHeaders;
 import com.consol.citrus.message.DefaultMessage;
@@ -40,6 +41,8 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.InterceptingClientHttpRequestFactory;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.web.client.HttpClientErrorException;
@@ -563,4 +566,38 @@ public class HttpClientTest extends AbstractTestNGUnitTest {
 
         verify(restTemplate).setInterceptors(anyList());
     }
+
+    @Test
+    public void testStreamingBypassesLoggingInterceptor() {
+        LoggingClientInterceptor loggingInterceptor = new LoggingClientInterceptor();
+
+        HttpEndpointConfiguration streamingConfiguration = new HttpEndpointConfiguration();
+        streamingConfiguration.setStreaming(true);
+        streamingConfiguration.setClientInterceptors(Collections.singletonList(loggingInterceptor));
+
+        HttpEndpointConfiguration bufferingConfiguration = new HttpEndpointConfiguration();
+        bufferingConfiguration.setClientInterceptors(Collections.singletonList(loggingInterceptor));
+
+        RestTemplate streamingTemplate = streamingConfiguration.getRestTemplate();
+        RestTemplate bufferingTemplate = bufferingConfiguration.getRestTemplate();
+
+        Assert.assertSame(bufferingTemplate.getInterceptors().get(0), loggingInterceptor);
+        Assert.assertTrue(bufferingTemplate.getRequestFactory() instanceof InterceptingClientHttpRequestFactory);
+        Assert.assertTrue(streamingTemplate.getInterceptors().isEmpty());
+        Assert.assertSame(streamingTemplate.getRequestFactory(), streamingConfiguration.getRequestFactory());
+    }
+
+    @Test
+    public void testDestroyClosesDefaultRequestFactory() throws Exception {
+        HttpEndpointConfiguration endpointConfiguration = new HttpEndpointConfiguration();
+        endpointConfiguration.setIdleConnectionTimeout(1000L);
+        ClientHttpRequestFactory requestFactory = endpointConfiguration.getRequestFactory();
+        Assert.assertNotNull(endpointConfiguration.getConnectionPoolMetrics());
+
+        new HttpClient(endpointConfiguration).destroy();
+
+        Assert.assertNotSame(endpointConfiguration.getRequestFactory(), requestFactory);
+        Assert.expectThrows(IllegalStateException.class,
+                () -> requestFactory.createRequest(URI.create("http://localhost:8088/test"), HttpMethod.GET).execute());
+    }
 }
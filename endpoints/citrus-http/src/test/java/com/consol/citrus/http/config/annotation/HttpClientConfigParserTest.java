@@ -82,6 +82,12 @@ public class HttpClientConfigParserTest extends AbstractTestNGUnitTest {
     @HttpClientConfig(requestUrl = "http://localhost:8080/test",
             interceptors={ "clientInterceptor" },
             pollingInterval=250,
+            maxConnections=100,
+            maxConnectionsPerRoute=50,
+            keepAlive=false,
+            keepAliveTimeout=30000L,
+            idleConnectionTimeout=10000L,
+            streaming=true,
             actor="testActor")
     private HttpClient httpClient4;
 
@@ -142,6 +148,13 @@ public class HttpClientConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(httpClient1.getEndpointConfiguration().getErrorHandlingStrategy(), ErrorHandlingStrategy.PROPAGATE);
         Assert.assertEquals(httpClient1.getEndpointConfiguration().getErrorHandler().getClass(), HttpResponseErrorHandler.class);
         Assert.assertEquals(httpClient1.getEndpointConfiguration().getBinaryMediaTypes().size(), 6L);
+        Assert.assertEquals(httpClient1.getEndpointConfiguration().getMaxConnections(), 20);
+        Assert.assertEquals(httpClient1.getEndpointConfiguration().getMaxConnectionsPerRoute(), 10);
+        Assert.assertTrue(httpClient1.getEndpointConfiguration().isKeepAlive());
+        Assert.assertEquals(httpClient1.getEndpointConfiguration().getKeepAliveTimeout(), -1L);
+        Assert.assertEquals(httpClient1.getEndpointConfiguration().getIdleConnectionTimeout(), 0L);
+        Assert.assertFalse(httpClient1.getEndpointConfiguration().isStreaming());
+        Assert.assertEquals(httpClient1.getEndpointConfiguration().getConnectionPoolMetrics().getMax(), 20);
 
         // 2nd message sender
         Assert.assertNotNull(httpClient2.getEndpointConfiguration().getRestTemplate());
@@ -175,5 +188,11 @@ public class HttpClientConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(httpClient4.getEndpointConfiguration().getClientInterceptors().size(), 1L);
         Assert.assertEquals(httpClient4.getEndpointConfiguration().getClientInterceptors().get(0), clientInterceptor);
         Assert.assertEquals(httpClient4.getEndpointConfiguration().getPollingInterval(), 250L);
+        Assert.assertEquals(httpClient4.getEndpointConfiguration().getMaxConnections(), 100);
+        Assert.assertEquals(httpClient4.getEndpointConfiguration().getMaxConnectionsPerRoute(), 50);
+        Assert.assertFalse(httpClient4.getEndpointConfiguration().isKeepAlive());
+        Assert.assertEquals(httpClient4.getEndpointConfiguration().getKeepAliveTimeout(), 30000L);
+        Assert.assertEquals(httpClient4.getEndpointConfiguration().getIdleConnectionTimeout(), 10000L);
+        Assert.assertTrue(httpClient4.getEndpointConfiguration().isStreaming());
     }
 }
@@ -70,7 +70,17 @@ public class HttpServerConfigParserTest extends AbstractTestNGUnitTest {
             defaultStatus = HttpStatus.NOT_FOUND,
             contextPath="/citrus",
             servletName="citrus-http",
-            servletMappingPath="/foo")
+            servletMappingPath="/foo",
+            async=true,
+            minThreads=4,
+            maxThreads=50,
+            threadIdleTimeout=10000,
+            acceptors=1,
+            selectors=2,
+            idleTimeout=5000L,
+            acceptQueueSize=100,
+            streaming=true,
+            streamingThreshold=4096L)
     private HttpServer httpServer2;
 
     @CitrusEndpoint
@@ -182,6 +192,16 @@ public class HttpServerConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(httpServer1.getServletName(), "httpServer1-servlet");
         Assert.assertEquals(httpServer1.getServletMappingPath(), "/*");
         Assert.assertEquals(httpServer1.getBinaryMediaTypes().size(), 6L);
+        Assert.assertFalse(httpServer1.isAsync());
+        Assert.assertEquals(httpServer1.getMinThreads(), 8);
+        Assert.assertEquals(httpServer1.getMaxThreads(), 200);
+        Assert.assertEquals(httpServer1.getThreadIdleTimeout(), 60000);
+        Assert.assertEquals(httpServer1.getAcceptors(), -1);
+        Assert.assertEquals(httpServer1.getSelectors(), -1);
+        Assert.assertEquals(httpServer1.getIdleTimeout(), 30000L);
+        Assert.assertEquals(httpServer1.getAcceptQueueSize(), 0);
+        Assert.assertFalse(httpServer1.isStreaming());
+        Assert.assertEquals(httpServer1.getStreamingThreshold(), 1048576L);
 
         // 2nd message sender
         Assert.assertNotNull(httpServer2.getConnector());
@@ -205,6 +225,16 @@ public class HttpServerConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(httpServer2.getServletMappingPath(), "/foo");
         Assert.assertEquals(httpServer2.getBinaryMediaTypes().size(), 2L);
         Assert.assertTrue(httpServer2.getBinaryMediaTypes().contains(MediaType.valueOf("application/custom")));
+        Assert.assertTrue(httpServer2.isAsync());
+        Assert.assertEquals(httpServer2.getMinThreads(), 4);
+        Assert.assertEquals(httpServer2.getMaxThreads(), 50);
+        Assert.assertEquals(httpServer2.getThreadIdleTimeout(), 10000);
+        Assert.assertEquals(httpServer2.getAcceptors(), 1);
+        Assert.assertEquals(httpServer2.getSelectors(), 2);
+        Assert.assertEquals(httpServer2.getIdleTimeout(), 5000L);
+        Assert.assertEquals(httpServer2.getAcceptQueueSize(), 100);
+        Assert.assertTrue(httpServer2.isStreaming());
+        Assert.assertEquals(httpServer2.getStreamingThreshold(), 4096L);
 
         // 3rd message sender
         Assert.assertNull(httpServer3.getConnector());
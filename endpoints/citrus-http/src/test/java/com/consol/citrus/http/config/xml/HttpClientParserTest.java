@@ -29,6 +29,7 @@ import com.consol.citrus.testng.AbstractBeanDefinitionParserTest;
 import org.springframework.beans.factory.parsing.BeanDefinitionParsingException;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.client.InterceptingClientHttpRequestFactory;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -59,6 +60,13 @@ public class HttpClientParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(httpClient.getEndpointConfiguration().getCorrelator().getClass(), DefaultMessageCorrelator.class);
         Assert.assertEquals(httpClient.getEndpointConfiguration().getTimeout(), 5000L);
         Assert.assertFalse(httpClient.getEndpointConfiguration().isHandleCookies());
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxConnections(), 20);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxConnectionsPerRoute(), 10);
+        Assert.assertTrue(httpClient.getEndpointConfiguration().isKeepAlive());
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getKeepAliveTimeout(), -1L);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getIdleConnectionTimeout(), 0L);
+        Assert.assertFalse(httpClient.getEndpointConfiguration().isStreaming());
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getConnectionPoolMetrics().getMax(), 20);
 
         // 2nd message sender
         httpClient = clients.get("httpClient2");
@@ -91,10 +99,16 @@ public class HttpClientParserTest extends AbstractBeanDefinitionParserTest {
         httpClient = clients.get("httpClient4");
         Assert.assertNotNull(httpClient.getActor());
         Assert.assertEquals(httpClient.getActor(), beanDefinitionContext.getBean("testActor", TestActor.class));
-        Assert.assertEquals(httpClient.getEndpointConfiguration().getRestTemplate().getRequestFactory().getClass(), InterceptingClientHttpRequestFactory.class);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getRestTemplate().getRequestFactory().getClass(), HttpComponentsClientHttpRequestFactory.class);
         Assert.assertEquals(httpClient.getEndpointConfiguration().getClientInterceptors().size(), 1L);
         Assert.assertEquals(httpClient.getEndpointConfiguration().getClientInterceptors().get(0), beanDefinitionContext.getBean("clientInterceptor"));
         Assert.assertEquals(httpClient.getEndpointConfiguration().getPollingInterval(), 250L);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxConnections(), 100);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getMaxConnectionsPerRoute(), 50);
+        Assert.assertFalse(httpClient.getEndpointConfiguration().isKeepAlive());
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getKeepAliveTimeout(), 30000L);
+        Assert.assertEquals(httpClient.getEndpointConfiguration().getIdleConnectionTimeout(), 10000L);
+        Assert.assertTrue(httpClient.getEndpointConfiguration().isStreaming());
     }
 
     @Test
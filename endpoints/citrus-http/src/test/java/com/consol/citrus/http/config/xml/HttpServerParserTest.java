@@ -70,6 +70,16 @@ public class HttpServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertFalse(server.isHandleAttributeHeaders());
         Assert.assertFalse(server.isHandleCookies());
         Assert.assertEquals(server.getBinaryMediaTypes().size(), 6L);
+        Assert.assertFalse(server.isAsync());
+        Assert.assertEquals(server.getMinThreads(), 8);
+        Assert.assertEquals(server.getMaxThreads(), 200);
+        Assert.assertEquals(server.getThreadIdleTimeout(), 60000);
+        Assert.assertEquals(server.getAcceptors(), -1);
+        Assert.assertEquals(server.getSelectors(), -1);
+        Assert.assertEquals(server.getIdleTimeout(), 30000L);
+        Assert.assertEquals(server.getAcceptQueueSize(), 0);
+        Assert.assertFalse(server.isStreaming());
+        Assert.assertEquals(server.getStreamingThreshold(), 1048576L);
 
         // 2nd message sender
         server = servers.get("httpServer2");
@@ -92,6 +102,16 @@ public class HttpServerParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertTrue(server.isHandleCookies());
         Assert.assertEquals(server.getBinaryMediaTypes().size(), 2L);
         Assert.assertTrue(server.getBinaryMediaTypes().contains(MediaType.valueOf("application/custom")));
+        Assert.assertTrue(server.isAsync());
+        Assert.assertEquals(server.getMinThreads(), 4);
+        Assert.assertEquals(server.getMaxThreads(), 50);
+        Assert.assertEquals(server.getThreadIdleTimeout(), 10000);
+        Assert.assertEquals(server.getAcceptors(), 1);
+        Assert.assertEquals(server.getSelectors(), 2);
+        Assert.assertEquals(server.getIdleTimeout(), 5000L);
+        Assert.assertEquals(server.getAcceptQueueSize(), 100);
+        Assert.assertTrue(server.isStreaming());
+        Assert.assertEquals(server.getStreamingThreshold(), 4096L);
 
         // 3rd message sender
         server = servers.get("httpServer3");
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.controller;
+
+import javax.servlet.http.Cookie;
+import java.util.concurrent.CompletableFuture;
+
+import com.consol.citrus.endpoint.AsyncEndpointAdapter;
+import com.consol.citrus.endpoint.adapter.StaticResponseEndpointAdapter;
+import com.consol.citrus.http.message.HttpMessage;
+import com.consol.citrus.message.Message;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class AsyncHttpMessageControllerTest {
+
+    private final AsyncHttpMessageController controller = new AsyncHttpMessageController();
+
+    @BeforeMethod
+    public void setupRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(HttpMethod.GET.name(), "/test")));
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void testAsyncEndpointAdapter() {
+        CompletableFuture<Message> response = new CompletableFuture<>();
+        AsyncEndpointAdapter endpointAdapter = mock(AsyncEndpointAdapter.class);
+        when(endpointAdapter.handleMessageAsync(any(Message.class))).thenReturn(response);
+        controller.setEndpointAdapter(endpointAdapter);
+        controller.getEndpointConfiguration().setHandleCookies(true);
+
+        DeferredResult<ResponseEntity<?>> result = controller.handleGetRequest(new HttpEntity<>(""));
+        Assert.assertFalse(result.hasResult());
+
+        response.complete(new HttpMessage("Hello").status(HttpStatus.OK).cookie(new Cookie("session", "4711")));
+
+        Assert.assertTrue(result.hasResult());
+        ResponseEntity<?> responseEntity = (ResponseEntity<?>) result.getResult();
+        Assert.assertEquals(responseEntity.getStatusCode(), HttpStatus.OK);
+        Assert.assertEquals(responseEntity.getBody(), "Hello");
+        Assert.assertEquals(responseEntity.getHeaders().getFirst(HttpHeaders.SET_COOKIE), "session=4711");
+    }
+
+    @Test
+    public void testSyncEndpointAdapter() {
+        StaticResponseEndpointAdapter endpointAdapter = new StaticResponseEndpointAdapter();
+        endpointAdapter.setMessagePayload("Hello");
+        controller.setEndpointAdapter(endpointAdapter);
+
+        DeferredResult<ResponseEntity<?>> result = controller.handlePostRequest(new HttpEntity<>("Hi"));
+
+        Assert.assertTrue(result.hasResult());
+        Assert.assertEquals(((ResponseEntity<?>) result.getResult()).getBody(), "Hello");
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.server;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.context.TestContextFactory;
+import com.consol.citrus.http.message.HttpMessage;
+import com.consol.citrus.message.Message;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.SocketUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class HttpServerAsyncTest {
+
+    private final int port = SocketUtils.findAvailableTcpPort(8080);
+    private final String uri = "http://localhost:" + port + "/test";
+
+    private final HttpServer server = new HttpServerBuilder()
+            .port(port)
+            .async(true)
+            .timeout(2000L)
+            .minThreads(4)
+            .maxThreads(8)
+            .acceptors(1)
+            .selectors(1)
+            .defaultStatus(HttpStatus.NO_CONTENT)
+            .build();
+
+    private final TestContextFactory testContextFactory = TestContextFactory.newInstance();
+
+    @BeforeClass
+    public void startServer() throws Exception {
+        server.afterPropertiesSet();
+        server.startup();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.shutdown();
+    }
+
+    @Test
+    public void testParkedRequestsExceedThreadPool() throws Exception {
+        int requests = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+
+        try {
+            List<Future<String>> responses = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                responses.add(executor.submit(() -> get(uri)));
+            }
+
+            // all requests are parked at the same time although they exceed the server thread pool
+            List<TestContext> contexts = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                TestContext context = testContextFactory.getObject();
+                Message request = server.createConsumer().receive(context, 5000L);
+                Assert.assertNotNull(request);
+                contexts.add(context);
+            }
+
+            for (int i = 0; i < requests; i++) {
+                server.createProducer().send(new HttpMessage("Hello " + i)
+                        .status(HttpStatus.OK), contexts.get(i));
+            }
+
+            for (Future<String> response : responses) {
+                Assert.assertTrue(response.get(5000L, TimeUnit.MILLISECONDS).startsWith("200:Hello "));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        Assert.assertEquals(get(uri), "204:");
+
+        // consume the unanswered request so other tests do not receive it
+        Assert.assertNotNull(server.createConsumer().receive(testContextFactory.getObject(), 2000L));
+    }
+
+    private String get(String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try {
+            int status = connection.getResponseCode();
+            String body = status == HttpStatus.NO_CONTENT.value() ? "" : FileCopyUtils.copyToString(new InputStreamReader(connection.getInputStream()));
+            return status + ":" + body;
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.http.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.context.TestContextFactory;
+import com.consol.citrus.http.message.HttpMessage;
+import com.consol.citrus.message.Message;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.SocketUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class HttpServerStreamingTest {
+
+    private final int port = SocketUtils.findAvailableTcpPort(8080);
+    private final String uri = "http://localhost:" + port + "/test";
+
+    private final HttpServer server = new HttpServerBuilder()
+            .port(port)
+            .streaming(true)
+            .streamingThreshold(64 * 1024L)
+            .timeout(5000L)
+            .build();
+
+    private final TestContextFactory testContextFactory = TestContextFactory.newInstance();
+
+    @BeforeClass
+    public void startServer() throws Exception {
+        server.afterPropertiesSet();
+        server.startup();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.shutdown();
+    }
+
+    @Test
+    public void testSpooledRequestBody() throws Exception {
+        byte[] body = new byte[2 * 1024 * 1024];
+        new Random().nextBytes(body);
+
+        verifySpooledRequestBody(body, body, false);
+    }
+
+    @Test
+    public void testSpooledGzipRequestBody() throws Exception {
+        byte[] body = new byte[2 * 1024 * 1024];
+        new Random().nextBytes(body);
+
+        verifySpooledRequestBody(body, gzip(body), true);
+    }
+
+    private void verifySpooledRequestBody(byte[] body, byte[] requestData, boolean gzip) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<String> response = executor.submit(() -> post(uri, requestData, gzip));
+
+            TestContext context = testContextFactory.getObject();
+            Message request = server.createConsumer().receive(context, 5000L);
+
+            Assert.assertTrue(request.getPayload() instanceof FileSystemResource);
+            FileSystemResource spoolFile = (FileSystemResource) request.getPayload();
+            Assert.assertTrue(spoolFile.exists());
+            Assert.assertEquals(spoolFile.contentLength(), body.length);
+            Assert.assertEquals(request.getPayload(byte[].class), body);
+
+            server.createProducer().send(new HttpMessage("Received")
+                    .status(HttpStatus.OK), context);
+
+            Assert.assertEquals(response.get(5000L, TimeUnit.MILLISECONDS), "200:Received");
+
+            // spool file is deleted as soon as the request has completed
+            File file = spoolFile.getFile();
+            long deadline = System.currentTimeMillis() + 5000L;
+            while (file.exists() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50L);
+            }
+            Assert.assertFalse(file.exists());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressed)) {
+            gzipStream.write(data);
+        }
+        return compressed.toByteArray();
+    }
+
+    private String post(String url, byte[] data, boolean gzip) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try {
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setChunkedStreamingMode(8192);
+            connection.setRequestProperty("Content-Type", "application/octet-stream");
+            if (gzip) {
+                connection.setRequestProperty("Content-Encoding", "gzip");
+            }
+
+            try (OutputStream outputStream = connection.getOutputStream()) {
+                outputStream.write(data);
+            }
+
+            int status = connection.getResponseCode();
+            return status + ":" + FileCopyUtils.copyToString(new InputStreamReader(connection.getInputStream()));
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
@@ -17,8 +17,10 @@
 package com.consol.citrus.http.servlet;
 
 import org.apache.http.entity.ContentType;
+import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.util.Assert;
+import org.springframework.util.FileCopyUtils;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.testng.annotations.*;
 
@@ -32,7 +34,10 @@ import java.util.*;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
 
 public class CachingHttpServletRequestWrapperTest {
 
@@ -199,6 +204,119 @@ public class CachingHttpServletRequestWrapperTest {
         assertEquals(parameterMap.get(requestMethod.name()), new String[]{ "ÄäÖöÜü" });
     }
 
+    @Test
+    public void testSpoolLargeBody() throws Exception {
+
+        //GIVEN
+        final byte[] body = new byte[64 * 1024];
+        new Random().nextBytes(body);
+
+        when(serverRequestMock.getInputStream()).thenReturn(new DelegatingServletInputStream(new ByteArrayInputStream(body)));
+        wrapper = new CachingHttpServletRequestWrapper(serverRequestMock, 1024L);
+
+        //WHEN
+        final ServletInputStream inputStream = wrapper.getInputStream();
+
+        //THEN
+        final SpooledRequestBody spooledBody = ((CachingHttpServletRequestWrapper.RequestCachingInputStream) inputStream).getBody();
+        assertTrue(spooledBody.isSpooled());
+        assertTrue(spooledBody.getFile().exists());
+        assertEquals(spooledBody.getSize(), body.length);
+        assertEquals(FileCopyUtils.copyToByteArray(inputStream), body);
+        assertEquals(FileCopyUtils.copyToByteArray(wrapper.getInputStream()), body);
+
+        wrapper.release();
+        assertFalse(spooledBody.getFile().exists());
+        expectThrows(IOException.class, spooledBody::getInputStream);
+    }
+
+    @Test
+    public void testIndependentStreamsOnSpooledBody() throws Exception {
+
+        //GIVEN
+        final byte[] body = new byte[64 * 1024];
+        new Random().nextBytes(body);
+
+        when(serverRequestMock.getInputStream()).thenReturn(new DelegatingServletInputStream(new ByteArrayInputStream(body)));
+        wrapper = new CachingHttpServletRequestWrapper(serverRequestMock, 1024L);
+
+        //WHEN
+        final ServletInputStream first = wrapper.getInputStream();
+        final int firstByte = first.read();
+        final ServletInputStream second = wrapper.getInputStream();
+
+        //THEN
+        assertNotSame(first, second);
+        assertEquals(FileCopyUtils.copyToByteArray(second), body);
+        assertEquals(firstByte, body[0] & 0xFF);
+        assertEquals(first.read(), body[1] & 0xFF);
+
+        wrapper.release();
+    }
+
+    @Test
+    public void testDeleteSpoolFileResourceOnRelease() throws Exception {
+
+        //GIVEN
+        final byte[] body = new byte[64 * 1024];
+        new Random().nextBytes(body);
+
+        when(serverRequestMock.getInputStream()).thenReturn(new DelegatingServletInputStream(new ByteArrayInputStream(body)));
+        wrapper = new CachingHttpServletRequestWrapper(serverRequestMock, 1024L);
+
+        //WHEN
+        final SpooledRequestBody spooledBody = ((CachingHttpServletRequestWrapper.RequestCachingInputStream) wrapper.getInputStream()).getBody();
+        final Resource resource = spooledBody.getResource();
+
+        //THEN
+        assertEquals(FileCopyUtils.copyToByteArray(resource.getInputStream()), body);
+
+        wrapper.release();
+        assertFalse(resource.exists());
+    }
+
+    @Test
+    public void testKeepSmallBodyInMemory() throws Exception {
+
+        //GIVEN
+        final byte[] body = "Hello Citrus!".getBytes();
+
+        when(serverRequestMock.getInputStream()).thenReturn(new DelegatingServletInputStream(new ByteArrayInputStream(body)));
+        wrapper = new CachingHttpServletRequestWrapper(serverRequestMock, 1024L);
+
+        //WHEN
+        final ServletInputStream inputStream = wrapper.getInputStream();
+
+        //THEN
+        final SpooledRequestBody spooledBody = ((CachingHttpServletRequestWrapper.RequestCachingInputStream) inputStream).getBody();
+        assertFalse(spooledBody.isSpooled());
+        assertEquals(FileCopyUtils.copyToByteArray(inputStream), body);
+    }
+
+    @Test
+    public void testMarkAndResetSpooledBody() throws Exception {
+
+        //GIVEN
+        final byte[] body = new byte[4096];
+        new Random().nextBytes(body);
+
+        when(serverRequestMock.getInputStream()).thenReturn(new DelegatingServletInputStream(new ByteArrayInputStream(body)));
+        wrapper = new CachingHttpServletRequestWrapper(serverRequestMock, 1024L);
+
+        //WHEN
+        final ServletInputStream inputStream = wrapper.getInputStream();
+        inputStream.mark(1);
+        final int first = inputStream.read();
+        inputStream.reset();
+
+        //THEN
+        assertTrue(inputStream.markSupported());
+        assertEquals(first, body[0] & 0xFF);
+        assertEquals(FileCopyUtils.copyToByteArray(inputStream), body);
+
+        wrapper.release();
+    }
+
     /**
      * Utility class to wrap a byte input stream as a servlet input stream
      */
@@ -101,6 +101,18 @@ public @interface JmsSyncEndpointConfig {
      */
     int pollingInterval() default 500;
 
+    /**
+     * Use shared temporary reply destination.
+     * @return
+     */
+    boolean useSharedReplyDestination() default false;
+
+    /**
+     * Max number of cached sessions.
+     * @return
+     */
+    int sessionCacheSize() default 1;
+
     /**
      * Message correlator.
      * @return
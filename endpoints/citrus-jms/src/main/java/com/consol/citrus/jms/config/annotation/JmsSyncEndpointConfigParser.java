@@ -119,6 +119,8 @@ public class JmsSyncEndpointConfigParser extends AbstractAnnotationConfigParser<
         }
 
         builder.pollingInterval(annotation.pollingInterval());
+        builder.useSharedReplyDestination(annotation.useSharedReplyDestination());
+        builder.sessionCacheSize(annotation.sessionCacheSize());
 
         return builder.initialize().build();
     }
@@ -55,5 +55,11 @@ public class JmsSyncEndpointParser extends AbstractJmsEndpointParser {
 
         BeanDefinitionParserUtils.setPropertyReference(endpointConfiguration,
                 element.getAttribute("message-correlator"), "correlator");
+
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration,
+                element.getAttribute("use-shared-reply-destination"), "useSharedReplyDestination");
+
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration,
+                element.getAttribute("session-cache-size"), "sessionCacheSize");
     }
 }
@@ -160,6 +160,26 @@ public class JmsSyncEndpointBuilder extends AbstractEndpointBuilder<JmsSyncEndpo
         return this;
     }
 
+    /**
+     * Sets the useSharedReplyDestination property.
+     * @param useSharedReplyDestination
+     * @return
+     */
+    public JmsSyncEndpointBuilder useSharedReplyDestination(boolean useSharedReplyDestination) {
+        endpoint.getEndpointConfiguration().setUseSharedReplyDestination(useSharedReplyDestination);
+        return this;
+    }
+
+    /**
+     * Sets the sessionCacheSize property.
+     * @param sessionCacheSize
+     * @return
+     */
+    public JmsSyncEndpointBuilder sessionCacheSize(int sessionCacheSize) {
+        endpoint.getEndpointConfiguration().setSessionCacheSize(sessionCacheSize);
+        return this;
+    }
+
     /**
      * Sets the message correlator.
      * @param correlator
@@ -43,6 +43,12 @@ public class JmsSyncEndpointConfiguration extends JmsEndpointConfiguration imple
     /** Polling interval when waiting for synchronous reply message to arrive */
     private long pollingInterval = 500L;
 
+    /** Use one temporary reply destination for all requests and correlate reply messages via JMSCorrelationID */
+    private boolean useSharedReplyDestination = false;
+
+    /** Max number of idle JMS sessions cached for sending requests */
+    private int sessionCacheSize = 1;
+
     /**
      * Set the reply message correlator.
      * @param correlator the correlator to set
@@ -107,4 +113,40 @@ public class JmsSyncEndpointConfiguration extends JmsEndpointConfiguration imple
         this.pollingInterval = pollingInterval;
     }
 
+
+    /**
+     * Gets the useSharedReplyDestination.
+     *
+     * @return
+     */
+    public boolean isUseSharedReplyDestination() {
+        return useSharedReplyDestination;
+    }
+
+    /**
+     * Sets the useSharedReplyDestination.
+     *
+     * @param useSharedReplyDestination
+     */
+    public void setUseSharedReplyDestination(boolean useSharedReplyDestination) {
+        this.useSharedReplyDestination = useSharedReplyDestination;
+    }
+
+    /**
+     * Gets the sessionCacheSize.
+     *
+     * @return
+     */
+    public int getSessionCacheSize() {
+        return sessionCacheSize;
+    }
+
+    /**
+     * Sets the sessionCacheSize.
+     *
+     * @param sessionCacheSize
+     */
+    public void setSessionCacheSize(int sessionCacheSize) {
+        this.sessionCacheSize = sessionCacheSize;
+    }
 }
@@ -32,8 +32,23 @@ import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 import javax.jms.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
+ * Synchronous JMS producer sends request messages and waits for the reply message. JMS sessions and message producers are cached and
+ * reused for subsequent requests. Concurrent requests each use a separate session from the session cache.
+ *
+ * By default each request uses a new temporary reply destination. When a shared reply destination is enabled all requests use the same
+ * temporary reply destination with a single message consumer that stores reply messages in a correlation manager by JMSCorrelationID.
+ * The reply correlation id must match the correlation id set on the request or the request message id when no correlation id is set.
+ *
  * @author Christoph Deppisch
  * @since 1.4
  */
@@ -42,8 +57,22 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
     /** JMS connection */
     private Connection connection = null;
 
-    /** JMS session */
-    private Session session = null;
+    /** Idle JMS sessions with cached message producers */
+    private final BlockingDeque<CachedSession> sessions = new LinkedBlockingDeque<>();
+
+    /** Shared reply destination and its consumer session */
+    private Session replySession;
+    private Destination sharedReplyDestination;
+    private MessageConsumer replyConsumer;
+
+    /** Correlation ids of requests waiting for reply messages on the shared reply destination */
+    private final Set<String> pendingReplies = ConcurrentHashMap.newKeySet();
+
+    /** Reply messages received on the shared reply destination */
+    private final CorrelationManager<javax.jms.Message> replyManager;
+
+    /** Lock guarding reply dispatching while requests are sent and registered */
+    private final ReadWriteLock replyLock = new ReentrantReadWriteLock();
 
     /** Store of reply messages */
     private CorrelationManager<Message> correlationManager;
@@ -64,6 +93,7 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
         this.endpointConfiguration = endpointConfiguration;
 
         this.correlationManager = new PollingCorrelationManager<>(endpointConfiguration, "Reply message did not arrive yet");
+        this.replyManager = new PollingCorrelationManager<>(endpointConfiguration, "Reply message did not arrive on shared reply destination yet");
     }
 
     @Override
@@ -76,13 +106,16 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
 
         context.onOutboundMessage(message);
 
-        MessageProducer messageProducer = null;
+        CachedSession cachedSession = null;
+        boolean sessionValid = false;
         MessageConsumer messageConsumer = null;
         Destination replyToDestination = null;
+        String replyCorrelationId = null;
 
         try {
             createConnection();
-            createSession(connection);
+            cachedSession = getSession();
+            Session session = cachedSession.session;
 
             javax.jms.Message jmsRequest = endpointConfiguration.getMessageConverter().createJmsMessage(message, session, endpointConfiguration, context);
             endpointConfiguration.getMessageConverter().convertOutbound(jmsRequest, message, endpointConfiguration, context);
@@ -96,9 +129,9 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
                 destination = endpointConfiguration.getDestination();
             } else if (StringUtils.hasText(endpointConfiguration.getDestinationName())) {
                 if (endpointConfiguration.getDestinationNameResolver() != null) {
-                    destination = resolveDestination(context.replaceDynamicContentInString(endpointConfiguration.getDestinationNameResolver().resolveEndpointUri(message, endpointConfiguration.getDestinationName())));
+                    destination = resolveDestination(context.replaceDynamicContentInString(endpointConfiguration.getDestinationNameResolver().resolveEndpointUri(message, endpointConfiguration.getDestinationName())), session);
                 } else {
-                    destination = resolveDestination(context.replaceDynamicContentInString(endpointConfiguration.getDestinationName()));
+                    destination = resolveDestination(context.replaceDynamicContentInString(endpointConfiguration.getDestinationName()), session);
                 }
             } else if (endpointConfiguration.getJmsTemplate().getDefaultDestination() != null) {
                 if (log.isDebugEnabled()) {
@@ -107,29 +140,38 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
 
                 destination = endpointConfiguration.getJmsTemplate().getDefaultDestination();
             } else if (StringUtils.hasText(endpointConfiguration.getJmsTemplate().getDefaultDestinationName())) {
-                destination = resolveDestination(context.replaceDynamicContentInString(endpointConfiguration.getJmsTemplate().getDefaultDestinationName()));
+                destination = resolveDestination(context.replaceDynamicContentInString(endpointConfiguration.getJmsTemplate().getDefaultDestinationName()), session);
             } else {
                 throw new CitrusRuntimeException("Unable to send message - JMS destination not set");
             }
 
-            messageProducer = session.createProducer(destination);
+            MessageProducer messageProducer = cachedSession.getProducer(destination);
 
             replyToDestination = getReplyDestination(session, message);
-            if (replyToDestination instanceof TemporaryQueue || replyToDestination instanceof TemporaryTopic) {
-                messageConsumer = session.createConsumer(replyToDestination);
-            }
-
             jmsRequest.setJMSReplyTo(replyToDestination);
-            messageProducer.send(jmsRequest);
 
-            if (messageConsumer == null) {
-                messageConsumer = createMessageConsumer(replyToDestination, jmsRequest.getJMSMessageID());
-            }
+            javax.jms.Message jmsReplyMessage;
+            if (replyToDestination != null && replyToDestination == sharedReplyDestination) {
+                replyCorrelationId = send(messageProducer, jmsRequest);
+                jmsReplyMessage = receiveShared(replyCorrelationId);
+            } else {
+                if (replyToDestination instanceof TemporaryQueue || replyToDestination instanceof TemporaryTopic) {
+                    messageConsumer = session.createConsumer(replyToDestination);
+                }
+
+                messageProducer.send(jmsRequest);
 
-            log.info("Message was sent to JMS destination: '{}'", endpointConfiguration.getDestinationName(destination));
-            log.debug("Receiving reply message on destination: '{}'", replyToDestination);
+                if (messageConsumer == null) {
+                    messageConsumer = createMessageConsumer(session, replyToDestination, jmsRequest.getJMSMessageID());
+                }
+
+                log.info("Message was sent to JMS destination: '{}'", endpointConfiguration.getDestinationName(destination));
+                log.debug("Receiving reply message on destination: '{}'", replyToDestination);
+
+                jmsReplyMessage = (endpointConfiguration.getTimeout() >= 0) ? messageConsumer.receive(endpointConfiguration.getTimeout()) : messageConsumer.receive();
+            }
 
-            javax.jms.Message jmsReplyMessage = (endpointConfiguration.getTimeout() >= 0) ? messageConsumer.receive(endpointConfiguration.getTimeout()) : messageConsumer.receive();
+            sessionValid = true;
 
             if (jmsReplyMessage == null) {
                 throw new ActionTimeoutException("Reply timed out after " +
@@ -146,9 +188,104 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
         } catch (JMSException e) {
             throw new CitrusRuntimeException(e);
         } finally {
-            JmsUtils.closeMessageProducer(messageProducer);
+            if (replyCorrelationId != null) {
+                pendingReplies.remove(replyCorrelationId);
+                replyManager.getObjectStore().remove(replyCorrelationId);
+            }
+
             JmsUtils.closeMessageConsumer(messageConsumer);
-            deleteTemporaryDestination(replyToDestination);
+
+            if (replyToDestination != sharedReplyDestination) {
+                deleteTemporaryDestination(replyToDestination);
+            }
+
+            if (cachedSession != null) {
+                releaseSession(cachedSession, sessionValid);
+            }
+        }
+    }
+
+    /**
+     * Sends request with shared reply destination and registers the request as waiting for a reply message. Reply messages
+     * are correlated with the request correlation id if set or else with the request message id.
+     * @param messageProducer
+     * @param jmsRequest
+     * @return the correlation id of the expected reply message.
+     * @throws JMSException
+     */
+    private String send(MessageProducer messageProducer, javax.jms.Message jmsRequest) throws JMSException {
+        String correlationId;
+
+        replyLock.readLock().lock();
+        try {
+            if (StringUtils.hasText(jmsRequest.getJMSCorrelationID())) {
+                correlationId = jmsRequest.getJMSCorrelationID();
+                pendingReplies.add(correlationId);
+                messageProducer.send(jmsRequest);
+            } else {
+                messageProducer.send(jmsRequest);
+                correlationId = jmsRequest.getJMSMessageID();
+                pendingReplies.add(correlationId);
+            }
+        } finally {
+            replyLock.readLock().unlock();
+        }
+
+        log.info("Message was sent to JMS destination: '{}'", endpointConfiguration.getDestinationName(messageProducer.getDestination()));
+        return correlationId;
+    }
+
+    /**
+     * Waits for the reply message with given correlation id to be stored by the reply consumer of the shared reply destination.
+     * @param correlationId
+     * @return the reply message or null on timeout.
+     */
+    private javax.jms.Message receiveShared(String correlationId) {
+        log.debug("Receiving reply message on shared destination: '{}'", sharedReplyDestination);
+
+        javax.jms.Message jmsReplyMessage;
+        do {
+            jmsReplyMessage = replyManager.find(correlationId, endpointConfiguration.getTimeout() >= 0 ?
+                    endpointConfiguration.getTimeout() : endpointConfiguration.getPollingInterval());
+
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CitrusRuntimeException("Interrupted while waiting for reply message");
+            }
+        } while (jmsReplyMessage == null && endpointConfiguration.getTimeout() < 0);
+
+        return jmsReplyMessage;
+    }
+
+    /**
+     * Dispatches reply message received on shared reply destination to the waiting request. Waits for requests currently being
+     * sent to register their correlation ids before discarding reply messages that do not match any pending request.
+     * @param jmsReplyMessage
+     */
+    private void dispatchReply(javax.jms.Message jmsReplyMessage) {
+        try {
+            String correlationId = jmsReplyMessage.getJMSCorrelationID();
+            if (!StringUtils.hasText(correlationId)) {
+                log.warn("Discard reply message without correlation id on shared reply destination: '{}'", sharedReplyDestination);
+                return;
+            }
+
+            boolean pending = pendingReplies.contains(correlationId);
+            if (!pending) {
+                replyLock.writeLock().lock();
+                try {
+                    pending = pendingReplies.contains(correlationId);
+                } finally {
+                    replyLock.writeLock().unlock();
+                }
+            }
+
+            if (pending) {
+                replyManager.store(correlationId, jmsReplyMessage);
+            } else {
+                log.warn("Discard reply message with correlation id '{}' - no pending request on shared reply destination", correlationId);
+            }
+        } catch (JMSException e) {
+            log.error("Failed to dispatch reply message on shared reply destination", e);
         }
     }
 
@@ -185,7 +322,7 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
      * @return connection
      * @throws JMSException
      */
-    protected void createConnection() throws JMSException {
+    protected synchronized void createConnection() throws JMSException {
         if (connection == null) {
             if (!endpointConfiguration.isPubSubDomain() && endpointConfiguration.getConnectionFactory() instanceof QueueConnectionFactory) {
                 connection = ((QueueConnectionFactory) endpointConfiguration.getConnectionFactory()).createQueueConnection();
@@ -203,24 +340,60 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
         }
     }
 
+    /**
+     * Create new JMS session and add it to the idle session cache.
+     * @param connection to use for session creation.
+     * @throws JMSException
+     * @deprecated sessions are cached and created on demand, use {@link #newSession(Connection)} to customize session creation.
+     */
+    @Deprecated
+    protected void createSession(Connection connection) throws JMSException {
+        releaseSession(new CachedSession(newSession(connection)), true);
+    }
+
     /**
      * Create new JMS session.
      * @param connection to use for session creation.
      * @return session.
      * @throws JMSException
      */
-    protected void createSession(Connection connection) throws JMSException {
-        if (session == null) {
-            if (!endpointConfiguration.isPubSubDomain() && connection instanceof QueueConnection) {
-                session = ((QueueConnection) connection).createQueueSession(false, Session.AUTO_ACKNOWLEDGE);
-            } else if (endpointConfiguration.isPubSubDomain() && endpointConfiguration.getConnectionFactory() instanceof TopicConnectionFactory) {
-                session = ((TopicConnection) connection).createTopicSession(false, Session.AUTO_ACKNOWLEDGE);
-            } else {
-                log.warn("Not able to create a session with connection factory '" + endpointConfiguration.getConnectionFactory() + "'" +
-                        " when using setting 'publish-subscribe-domain' (=" + endpointConfiguration.isPubSubDomain() + ")");
+    protected Session newSession(Connection connection) throws JMSException {
+        if (!endpointConfiguration.isPubSubDomain() && connection instanceof QueueConnection) {
+            return ((QueueConnection) connection).createQueueSession(false, Session.AUTO_ACKNOWLEDGE);
+        } else if (endpointConfiguration.isPubSubDomain() && endpointConfiguration.getConnectionFactory() instanceof TopicConnectionFactory) {
+            return ((TopicConnection) connection).createTopicSession(false, Session.AUTO_ACKNOWLEDGE);
+        } else {
+            log.warn("Not able to create a session with connection factory '" + endpointConfiguration.getConnectionFactory() + "'" +
+                    " when using setting 'publish-subscribe-domain' (=" + endpointConfiguration.isPubSubDomain() + ")");
 
-                session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
-            }
+            return connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        }
+    }
+
+    /**
+     * Gets idle session from session cache or creates a new session.
+     * @return
+     * @throws JMSException
+     */
+    private CachedSession getSession() throws JMSException {
+        CachedSession cachedSession = sessions.pollFirst();
+        if (cachedSession != null) {
+            return cachedSession;
+        }
+
+        return new CachedSession(newSession(connection));
+    }
+
+    /**
+     * Returns session to the session cache. Closes the session when it may be broken or the session cache is full.
+     * @param cachedSession
+     * @param valid
+     */
+    private void releaseSession(CachedSession cachedSession, boolean valid) {
+        if (valid && sessions.size() < Math.max(1, endpointConfiguration.getSessionCacheSize())) {
+            sessions.offerFirst(cachedSession);
+        } else {
+            cachedSession.close();
         }
     }
 
@@ -228,12 +401,13 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
      * Creates a message consumer on temporary/durable queue or topic. Durable queue/topic destinations
      * require a message selector to be set.
      *
+     * @param session the JMS session.
      * @param replyToDestination the reply destination.
      * @param messageId the messageId used for optional message selector.
      * @return
      * @throws JMSException
      */
-    private MessageConsumer createMessageConsumer(Destination replyToDestination, String messageId) throws JMSException {
+    private MessageConsumer createMessageConsumer(Session session, Destination replyToDestination, String messageId) throws JMSException {
         MessageConsumer messageConsumer;
 
         if (replyToDestination instanceof Queue) {
@@ -287,6 +461,10 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
             return resolveDestinationName(endpointConfiguration.getReplyDestinationName(), session);
         }
 
+        if (endpointConfiguration.isUseSharedReplyDestination()) {
+            return getSharedReplyDestination();
+        }
+
         if (endpointConfiguration.isPubSubDomain() && session instanceof TopicSession) {
             return session.createTemporaryTopic();
         } else {
@@ -294,13 +472,39 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
         }
     }
 
+    /**
+     * Gets the shared temporary reply destination. Creates the destination and the reply consumer dispatching reply messages on first access.
+     * @return
+     * @throws JMSException
+     */
+    private synchronized Destination getSharedReplyDestination() throws JMSException {
+        if (sharedReplyDestination == null) {
+            replySession = newSession(connection);
+
+            Destination replyDestination;
+            if (endpointConfiguration.isPubSubDomain() && replySession instanceof TopicSession) {
+                replyDestination = replySession.createTemporaryTopic();
+            } else {
+                replyDestination = replySession.createTemporaryQueue();
+            }
+
+            replyConsumer = replySession.createConsumer(replyDestination);
+            replyConsumer.setMessageListener(this::dispatchReply);
+            sharedReplyDestination = replyDestination;
+
+            log.debug("Created shared reply destination: '{}'", sharedReplyDestination);
+        }
+
+        return sharedReplyDestination;
+    }
+
     /**
      * Resolve destination from given name.
      * @param destinationName
+     * @param session
      * @return
-     * @throws JMSException
      */
-    private Destination resolveDestination(String destinationName) throws JMSException {
+    private Destination resolveDestination(String destinationName, Session session) throws JMSException {
         if (log.isDebugEnabled()) {
             log.debug("Sending JMS message to destination: '" + destinationName + "'");
         }
@@ -323,16 +527,34 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
     }
 
     /**
-     * Destroy method closing JMS session and connection
+     * Destroy method closing JMS sessions and connection
      */
-    public void destroy() {
-        JmsUtils.closeSession(session);
+    public synchronized void destroy() {
+        JmsUtils.closeMessageConsumer(replyConsumer);
+        deleteTemporaryDestination(sharedReplyDestination);
+        JmsUtils.closeSession(replySession);
+        replyConsumer = null;
+        sharedReplyDestination = null;
+        replySession = null;
+
+        CachedSession cachedSession;
+        while ((cachedSession = sessions.pollFirst()) != null) {
+            cachedSession.close();
+        }
 
         if (connection != null) {
             ConnectionFactoryUtils.releaseConnection(connection, endpointConfiguration.getConnectionFactory(), true);
         }
     }
 
+    /**
+     * Gets the correlation manager storing reply messages received on the shared reply destination.
+     * @return
+     */
+    public CorrelationManager<javax.jms.Message> getReplyManager() {
+        return replyManager;
+    }
+
     /**
      * Gets the correlation manager.
      * @return
@@ -348,4 +570,46 @@ public class JmsSyncProducer extends JmsProducer implements ReplyConsumer {
     public void setCorrelationManager(CorrelationManager<Message> correlationManager) {
         this.correlationManager = correlationManager;
     }
+
+    /**
+     * JMS session with message producers cached by destination.
+     */
+    private static final class CachedSession {
+
+        /** Max number of cached message producers per session */
+        private static final int MAX_PRODUCERS = 16;
+
+        private final Session session;
+        private final Map<Destination, MessageProducer> producers = new LinkedHashMap<Destination, MessageProducer>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Destination, MessageProducer> eldest) {
+                if (size() > MAX_PRODUCERS) {
+                    JmsUtils.closeMessageProducer(eldest.getValue());
+                    return true;
+                }
+
+                return false;
+            }
+        };
+
+        CachedSession(Session session) {
+            this.session = session;
+        }
+
+        MessageProducer getProducer(Destination destination) throws JMSException {
+            MessageProducer producer = producers.get(destination);
+            if (producer == null) {
+                producer = session.createProducer(destination);
+                producers.put(destination, producer);
+            }
+
+            return producer;
+        }
+
+        void close() {
+            producers.values().forEach(JmsUtils::closeMessageProducer);
+            producers.clear();
+            JmsUtils.closeSession(session);
+        }
+    }
 }
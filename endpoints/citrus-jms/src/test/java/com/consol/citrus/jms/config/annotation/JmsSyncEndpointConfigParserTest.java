@@ -92,6 +92,8 @@ public class JmsSyncEndpointConfigParserTest extends AbstractTestNGUnitTest {
     @JmsSyncEndpointConfig(destinationName="JMS.Queue.Test",
             replyDestinationName="JMS.Reply.Queue",
             pollingInterval=250,
+            useSharedReplyDestination=true,
+            sessionCacheSize=5,
             actor="testActor")
     private JmsSyncEndpoint jmsSyncEndpoint8;
 
@@ -177,6 +179,8 @@ public class JmsSyncEndpointConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertNull(jmsSyncEndpoint5.getEndpointConfiguration().getDestination());
         Assert.assertEquals(jmsSyncEndpoint5.getEndpointConfiguration().getTimeout(), 5000L);
         Assert.assertEquals(jmsSyncEndpoint5.getEndpointConfiguration().getPollingInterval(), 500L);
+        Assert.assertFalse(jmsSyncEndpoint5.getEndpointConfiguration().isUseSharedReplyDestination());
+        Assert.assertEquals(jmsSyncEndpoint5.getEndpointConfiguration().getSessionCacheSize(), 1);
         Assert.assertEquals(jmsSyncEndpoint5.getEndpointConfiguration().getReplyDestinationName(), "JMS.Reply.Queue");
         Assert.assertNull(jmsSyncEndpoint5.getEndpointConfiguration().getReplyDestination());
         Assert.assertEquals(jmsSyncEndpoint5.getEndpointConfiguration().getCorrelator().getClass(), DefaultMessageCorrelator.class);
@@ -202,6 +206,8 @@ public class JmsSyncEndpointConfigParserTest extends AbstractTestNGUnitTest {
 
         // 8th message sender
         Assert.assertEquals(jmsSyncEndpoint8.getEndpointConfiguration().getPollingInterval(), 250L);
+        Assert.assertTrue(jmsSyncEndpoint8.getEndpointConfiguration().isUseSharedReplyDestination());
+        Assert.assertEquals(jmsSyncEndpoint8.getEndpointConfiguration().getSessionCacheSize(), 5);
         Assert.assertNotNull(jmsSyncEndpoint8.getActor());
         Assert.assertEquals(jmsSyncEndpoint8.getActor(), testActor);
     }
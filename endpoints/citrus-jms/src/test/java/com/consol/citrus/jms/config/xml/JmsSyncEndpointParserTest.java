@@ -87,6 +87,8 @@ public class JmsSyncEndpointParserTest extends AbstractBeanDefinitionParserTest
         Assert.assertNull(jmsSyncEndpoint.getEndpointConfiguration().getDestination());
         Assert.assertEquals(jmsSyncEndpoint.getEndpointConfiguration().getTimeout(), 5000L);
         Assert.assertEquals(jmsSyncEndpoint.getEndpointConfiguration().getPollingInterval(), 500L);
+        Assert.assertFalse(jmsSyncEndpoint.getEndpointConfiguration().isUseSharedReplyDestination());
+        Assert.assertEquals(jmsSyncEndpoint.getEndpointConfiguration().getSessionCacheSize(), 1);
         Assert.assertEquals(jmsSyncEndpoint.getEndpointConfiguration().getReplyDestinationName(), "JMS.Reply.Queue");
         Assert.assertNull(jmsSyncEndpoint.getEndpointConfiguration().getReplyDestination());
         Assert.assertEquals(jmsSyncEndpoint.getEndpointConfiguration().getCorrelator().getClass(), DefaultMessageCorrelator.class);
@@ -114,6 +116,8 @@ public class JmsSyncEndpointParserTest extends AbstractBeanDefinitionParserTest
         jmsSyncEndpoint = endpoints.get("jmsSyncEndpoint4");
         Assert.assertNotNull(jmsSyncEndpoint.getEndpointConfiguration().getPollingInterval());
         Assert.assertEquals(jmsSyncEndpoint.getEndpointConfiguration().getPollingInterval(), 250L);
+        Assert.assertTrue(jmsSyncEndpoint.getEndpointConfiguration().isUseSharedReplyDestination());
+        Assert.assertEquals(jmsSyncEndpoint.getEndpointConfiguration().getSessionCacheSize(), 5);
         Assert.assertNotNull(jmsSyncEndpoint.getActor());
         Assert.assertEquals(jmsSyncEndpoint.getActor(), beanDefinitionContext.getBean("testActor", TestActor.class));
     }
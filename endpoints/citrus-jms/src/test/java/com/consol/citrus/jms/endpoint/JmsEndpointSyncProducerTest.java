@@ -81,6 +81,42 @@ public class JmsEndpointSyncProducerTest extends AbstractTestNGUnitTest {
         verify(connection).start();
     }
     
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testCreateSessionAddsIdleSession() throws JMSException {
+        JmsSyncEndpoint endpoint = new JmsSyncEndpoint();
+        endpoint.getEndpointConfiguration().setConnectionFactory(connectionFactory);
+
+        endpoint.getEndpointConfiguration().setDestination(destination);
+        endpoint.getEndpointConfiguration().setReplyDestination(replyDestinationQueue);
+
+        final Message message = new DefaultMessage("<TestRequest><Message>Hello World!</Message></TestRequest>");
+
+        Map<String, Object> responseHeaders = new HashMap<String, Object>();
+        TextMessage jmsResponse = new TextMessageImpl("<TestResponse>Hello World!</TestResponse>", responseHeaders);
+
+        reset(connectionFactory, destination, connection, session, messageConsumer, messageProducer);
+
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(anyBoolean(), anyInt())).thenReturn(session);
+
+        when(session.createConsumer(replyDestinationQueue, "JMSCorrelationID = '123456789'")).thenReturn(messageConsumer);
+        when(messageConsumer.receive(anyLong())).thenReturn(jmsResponse);
+
+        when(session.createProducer(destination)).thenReturn(messageProducer);
+
+        when(session.createTextMessage("<TestRequest><Message>Hello World!</Message></TestRequest>")).thenReturn(
+                new TextMessageImpl("<TestRequest><Message>Hello World!</Message></TestRequest>", new HashMap<String, Object>()));
+
+        JmsSyncProducer producer = new JmsSyncProducer("syncProducer", endpoint.getEndpointConfiguration());
+        producer.createSession(connection);
+        producer.send(message, context);
+        producer.send(message, context);
+
+        verify(connection, times(1)).createSession(anyBoolean(), anyInt());
+        verify(messageProducer, times(2)).send((TextMessage)any());
+    }
+
     @Test
     public void testSendMessageWithReplyDestinationName() throws JMSException {
         JmsSyncEndpoint endpoint = new JmsSyncEndpoint();
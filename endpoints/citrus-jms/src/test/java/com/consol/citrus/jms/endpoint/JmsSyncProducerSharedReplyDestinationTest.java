@@ -0,0 +1,176 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.jms.endpoint;
+
+import javax.jms.Connection;
+import javax.jms.JMSException;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.ActionTimeoutException;
+import com.consol.citrus.jms.message.JmsMessage;
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.message.correlation.DefaultObjectStore;
+import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.apache.activemq.ActiveMQConnectionFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class JmsSyncProducerSharedReplyDestinationTest extends AbstractTestNGUnitTest {
+
+    private static final String REQUEST_QUEUE = "Citrus.Shared.Reply.Request";
+
+    private ActiveMQConnectionFactory connectionFactory;
+    private Connection responderConnection;
+
+    /** Reply destinations of all received requests */
+    private final Set<String> replyDestinations = ConcurrentHashMap.newKeySet();
+
+    @BeforeClass
+    public void startResponder() throws JMSException {
+        connectionFactory = new ActiveMQConnectionFactory("vm://citrus-shared-reply?broker.persistent=false&broker.useJmx=false");
+        responderConnection = connectionFactory.createConnection();
+
+        Session session = responderConnection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        MessageProducer replyProducer = session.createProducer(null);
+        MessageConsumer requestConsumer = session.createConsumer(session.createQueue(REQUEST_QUEUE));
+        requestConsumer.setMessageListener(request -> {
+            try {
+                replyDestinations.add(request.getJMSReplyTo().toString());
+
+                String text = ((TextMessage) request).getText();
+                if (text.startsWith("Ignore")) {
+                    return;
+                }
+
+                TextMessage reply = session.createTextMessage("Reply:" + text);
+                reply.setJMSCorrelationID(request.getJMSCorrelationID() != null ? request.getJMSCorrelationID() : request.getJMSMessageID());
+                replyProducer.send(request.getJMSReplyTo(), reply);
+            } catch (JMSException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        responderConnection.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopResponder() throws JMSException {
+        if (responderConnection != null) {
+            responderConnection.close();
+        }
+    }
+
+    @Test
+    public void testSharedReplyDestination() {
+        JmsSyncEndpoint endpoint = createEndpoint(1);
+        replyDestinations.clear();
+
+        try {
+            for (int i = 0; i < 5; i++) {
+                endpoint.createProducer().send(new DefaultMessage("Hello " + i), context);
+                Message reply = ((JmsSyncProducer) endpoint.createProducer()).receive(context);
+                Assert.assertEquals(reply.getPayload(String.class), "Reply:Hello " + i);
+            }
+
+            Assert.assertEquals(replyDestinations.size(), 1);
+            Assert.assertTrue(((DefaultObjectStore<?>) ((JmsSyncProducer) endpoint.createProducer()).getReplyManager().getObjectStore()).isEmpty());
+        } finally {
+            ((JmsSyncProducer) endpoint.createProducer()).destroy();
+        }
+    }
+
+    @Test
+    public void testSharedReplyDestinationWithRequestCorrelationId() {
+        JmsSyncEndpoint endpoint = createEndpoint(1);
+
+        try {
+            endpoint.createProducer().send(new JmsMessage("Hello").correlationId("citrus-4711"), context);
+            Message reply = ((JmsSyncProducer) endpoint.createProducer()).receive(context);
+            Assert.assertEquals(reply.getPayload(String.class), "Reply:Hello");
+        } finally {
+            ((JmsSyncProducer) endpoint.createProducer()).destroy();
+        }
+    }
+
+    @Test
+    public void testConcurrentRequests() throws Exception {
+        JmsSyncEndpoint endpoint = createEndpoint(4);
+        replyDestinations.clear();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> replies = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                final String text = "Hello " + i;
+                replies.add(executor.submit(() -> {
+                    TestContext testContext = createTestContext();
+                    endpoint.createProducer().send(new DefaultMessage(text), testContext);
+                    return ((JmsSyncProducer) endpoint.createProducer()).receive(testContext).getPayload(String.class);
+                }));
+            }
+
+            for (int i = 0; i < replies.size(); i++) {
+                Assert.assertEquals(replies.get(i).get(10, TimeUnit.SECONDS), "Reply:Hello " + i);
+            }
+
+            Assert.assertEquals(replyDestinations.size(), 1);
+        } finally {
+            executor.shutdownNow();
+            ((JmsSyncProducer) endpoint.createProducer()).destroy();
+        }
+    }
+
+    @Test(expectedExceptions = ActionTimeoutException.class, expectedExceptionsMessageRegExp = "Reply timed out after 500ms.*")
+    public void testSharedReplyDestinationTimeout() {
+        JmsSyncEndpoint endpoint = createEndpoint(1);
+        endpoint.getEndpointConfiguration().setTimeout(500L);
+
+        try {
+            endpoint.createProducer().send(new DefaultMessage("Ignore me"), context);
+        } finally {
+            ((JmsSyncProducer) endpoint.createProducer()).destroy();
+        }
+    }
+
+    private JmsSyncEndpoint createEndpoint(int sessionCacheSize) {
+        return new JmsSyncEndpointBuilder()
+                .connectionFactory(connectionFactory)
+                .destination(REQUEST_QUEUE)
+                .useSharedReplyDestination(true)
+                .sessionCacheSize(sessionCacheSize)
+                .timeout(5000L)
+                .build();
+    }
+}
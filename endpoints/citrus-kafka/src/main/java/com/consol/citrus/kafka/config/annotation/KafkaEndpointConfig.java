@@ -67,6 +67,60 @@ public @interface KafkaEndpointConfig {
      */
     int autoCommitInterval() default 1000;
 
+    /**
+     * Commit consumed offsets asynchronously.
+     * @return
+     */
+    boolean asyncCommit() default false;
+
+    /**
+     * Commit consumed offsets once per polled batch.
+     * @return
+     */
+    boolean batchCommit() default false;
+
+    /**
+     * Max number of records fetched and buffered with a single poll.
+     * @return
+     */
+    int maxPollRecords() default 1;
+
+    /**
+     * Max number of buffered records skipped by message selectors.
+     * @return
+     */
+    int maxSkippedRecords() default 1000;
+
+    /**
+     * Send messages asynchronously.
+     * @return
+     */
+    boolean asyncSend() default false;
+
+    /**
+     * Number of asynchronously sent messages after which the producer flushes.
+     * @return
+     */
+    int flushSize() default 0;
+
+    /**
+     * Producer linger time in milliseconds.
+     * @return
+     */
+    int lingerMs() default 0;
+
+    /**
+     * Producer batch size in bytes.
+     * @return
+     */
+    int batchSize() default 16384;
+
+    /**
+     * Max number of unacknowledged requests per connection.
+     * @return
+     */
+    int maxInFlight() default 5;
+
     /**
      * Topic partition.
      * @return
@@ -58,6 +58,15 @@ public class KafkaEndpointConfigParser extends AbstractAnnotationConfigParser<Ka
 
         builder.autoCommit(annotation.autoCommit());
         builder.autoCommitInterval(annotation.autoCommitInterval());
+        builder.asyncCommit(annotation.asyncCommit());
+        builder.batchCommit(annotation.batchCommit());
+        builder.maxPollRecords(annotation.maxPollRecords());
+        builder.maxSkippedRecords(annotation.maxSkippedRecords());
+        builder.asyncSend(annotation.asyncSend());
+        builder.flushSize(annotation.flushSize());
+        builder.lingerMs(annotation.lingerMs());
+        builder.batchSize(annotation.batchSize());
+        builder.maxInFlight(annotation.maxInFlight());
         builder.offsetReset(annotation.offsetReset());
 
         if (StringUtils.hasText(annotation.clientId())) {
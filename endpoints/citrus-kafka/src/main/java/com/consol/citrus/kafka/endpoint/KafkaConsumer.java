@@ -21,9 +21,13 @@ import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.kafka.message.KafkaMessageHeaders;
 import com.consol.citrus.message.Message;
-import com.consol.citrus.messaging.AbstractMessageConsumer;
+import com.consol.citrus.message.selector.DelegatingMessageSelector;
+import com.consol.citrus.messaging.AbstractSelectiveMessageConsumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.CollectionUtils;
@@ -33,10 +37,22 @@ import java.time.Duration;
 import java.util.*;
 
 /**
+ * Kafka message consumer. Polls records from the configured topics. When max poll records is set to a value greater than one
+ * the consumer prefetches records in batches and serves subsequent receive operations from a local buffer. Buffered records
+ * are also evaluated when receiving with a message selector so records not matching the selector are kept for later receive operations.
+ *
+ * Offsets of received records are committed after each receive operation or once per batch when all buffered records have been received.
+ * Offsets of records still buffered are never committed. Commits may be synchronous or asynchronous. Kafka auto commit is disabled
+ * when prefetching records as the Kafka client would otherwise commit offsets of buffered records that have not been received yet.
+ *
+ * Records skipped by a message selector are kept in the buffer until a later receive operation accepts them. Their offsets are
+ * never committed so these records are redelivered after the consumer has been closed. The number of skipped records is bounded
+ * by the max skipped records setting of the endpoint, the consumer fails when more records are skipped.
+ *
  * @author Christoph Deppisch
  * @since 2.8
  */
-public class KafkaConsumer extends AbstractMessageConsumer {
+public class KafkaConsumer extends AbstractSelectiveMessageConsumer {
 
     /** Logger */
     private static Logger log = LoggerFactory.getLogger(KafkaConsumer.class);
@@ -47,6 +63,18 @@ public class KafkaConsumer extends AbstractMessageConsumer {
     /** Kafka consumer */
     private org.apache.kafka.clients.consumer.KafkaConsumer<Object, Object> consumer;
 
+    /** Prefetched records not received yet in order of arrival */
+    private final Set<BufferedRecord> buffer = new LinkedHashSet<>();
+
+    /** Buffered records skipped by a message selector */
+    private final Set<BufferedRecord> skipped = new HashSet<>();
+
+    /** Offsets of received records that have not been committed yet */
+    private final Map<TopicPartition, Long> pendingOffsets = new HashMap<>();
+
+    /** Consumer statistics */
+    private final KafkaConsumerMetrics metrics = new KafkaConsumerMetrics();
+
     /**
      * Default constructor using endpoint.
      * @param name
@@ -59,7 +87,7 @@ public class KafkaConsumer extends AbstractMessageConsumer {
     }
 
     @Override
-    public Message receive(TestContext context, long timeout) {
+    public synchronized Message receive(String selector, TestContext context, long timeout) {
         String topic = context.replaceDynamicContentInString(Optional.ofNullable(endpointConfiguration.getTopic())
                                                                      .orElseThrow(() -> new CitrusRuntimeException("Missing Kafka topic to receive messages from - add topic to endpoint configuration")));
 
@@ -71,33 +99,139 @@ public class KafkaConsumer extends AbstractMessageConsumer {
             consumer.subscribe(Arrays.asList(StringUtils.commaDelimitedListToStringArray(topic)));
         }
 
-        ConsumerRecords<Object, Object> records = consumer.poll(Duration.ofMillis(timeout));
+        DelegatingMessageSelector messageSelector = StringUtils.hasText(selector) ? new DelegatingMessageSelector(selector, context) : null;
+
+        BufferedRecord record = findBufferedRecord(messageSelector, context, buffer);
+        long timeLeft = timeout;
+        long deadline = System.currentTimeMillis() + timeout;
+        while (record == null) {
+            record = findBufferedRecord(messageSelector, context, poll(timeLeft));
 
-        if (records.isEmpty()) {
-            throw new ActionTimeoutException(String.format("Failed to receive message from Kafka topic '%s' - timeout after %s milliseconds", topic, timeout));
+            timeLeft = deadline - System.currentTimeMillis();
+            if (record == null && (messageSelector == null || timeLeft <= 0)) {
+                throw new ActionTimeoutException(String.format("Failed to receive message from Kafka topic '%s' - timeout after %s milliseconds", topic, timeout));
+            }
         }
 
-        records.forEach(record -> log.debug("Received message: (" + record.key() + ", " + record.value() + ") at offset " + record.offset()));
+        buffer.remove(record);
+        skipped.remove(record);
+        metrics.recordReceive();
+        metrics.updateBufferedRecords(buffer.size());
 
-        Message received = endpointConfiguration.getMessageConverter()
-                                                .convertInbound(records.iterator().next(), endpointConfiguration, context);
+        Message received = record.getMessage(context);
         context.onInboundMessage(received);
 
-        consumer.commitSync(Duration.ofMillis(endpointConfiguration.getTimeout()));
+        pendingOffsets.merge(new TopicPartition(record.consumerRecord.topic(), record.consumerRecord.partition()),
+                record.consumerRecord.offset() + 1, Math::max);
+        if (!endpointConfiguration.isBatchCommit() || buffer.isEmpty()) {
+            commit();
+        }
 
         log.info("Received Kafka message on topic: '" + topic);
         return received;
     }
 
+    /**
+     * Polls next batch of records and adds them to the buffer.
+     * @param timeout
+     * @return the polled records.
+     */
+    private List<BufferedRecord> poll(long timeout) {
+        ConsumerRecords<Object, Object> records = consumer.poll(Duration.ofMillis(Math.max(0L, timeout)));
+        if (records == null) {
+            records = ConsumerRecords.empty();
+        }
+
+        List<BufferedRecord> polled = new ArrayList<>(records.count());
+        records.forEach(record -> {
+            if (log.isDebugEnabled()) {
+                log.debug("Received message: (" + record.key() + ", " + record.value() + ") at offset " + record.offset());
+            }
+            polled.add(new BufferedRecord(record));
+        });
+        buffer.addAll(polled);
+
+        metrics.recordPoll(records.count());
+        metrics.updateBufferedRecords(buffer.size());
+        metrics.updateLag(consumer.metrics());
+
+        return polled;
+    }
+
+    /**
+     * Finds first of the given buffered records that is accepted by the message selector. When no selector is given
+     * the first record is accepted. Records not accepted by the selector are marked as skipped.
+     * @param messageSelector
+     * @param context
+     * @param records
+     * @return matching record or null if none is accepted.
+     */
+    private BufferedRecord findBufferedRecord(DelegatingMessageSelector messageSelector, TestContext context, Collection<BufferedRecord> records) {
+        for (BufferedRecord record : records) {
+            if (messageSelector == null || messageSelector.accept(record.getMessage(context))) {
+                return record;
+            }
+
+            if (skipped.add(record) && skipped.size() > endpointConfiguration.getMaxSkippedRecords()) {
+                throw new CitrusRuntimeException(String.format("Failed to receive message from Kafka topic '%s' - %s buffered records " +
+                        "skipped by message selectors exceed the max skipped records limit of %s", record.consumerRecord.topic(),
+                        skipped.size(), endpointConfiguration.getMaxSkippedRecords()));
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Commits offsets of received records. Offsets never pass records of the same partition that are still buffered so these
+     * records are redelivered in case the consumer is closed before they have been received.
+     */
+    private void commit() {
+        if (pendingOffsets.isEmpty()) {
+            return;
+        }
+
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        pendingOffsets.forEach((partition, offset) -> offsets.put(partition, new OffsetAndMetadata(buffer.stream()
+                .map(record -> record.consumerRecord)
+                .filter(record -> record.topic().equals(partition.topic()) && record.partition() == partition.partition())
+                .mapToLong(ConsumerRecord::offset)
+                .filter(bufferedOffset -> bufferedOffset < offset)
+                .min()
+                .orElse(offset))));
+        pendingOffsets.clear();
+
+        if (endpointConfiguration.isAsyncCommit()) {
+            consumer.commitAsync(offsets, (committed, exception) -> {
+                metrics.recordCommit(exception == null);
+                if (exception != null) {
+                    log.warn("Failed to commit Kafka consumer offsets " + committed, exception);
+                }
+            });
+        } else {
+            consumer.commitSync(offsets, Duration.ofMillis(endpointConfiguration.getTimeout()));
+            metrics.recordCommit(true);
+        }
+    }
+
     /**
      * Stop message listener container.
      */
-    public void stop() {
+    public synchronized void stop() {
         try {
+            try {
+                commit();
+            } catch (RuntimeException e) {
+                log.warn("Failed to commit Kafka consumer offsets on stop", e);
+            }
+
             if (CollectionUtils.isEmpty(consumer.subscription())) {
                 consumer.unsubscribe();
             }
         } finally {
+            buffer.clear();
+            skipped.clear();
+            metrics.updateBufferedRecords(0);
             consumer.close(Duration.ofMillis(10 * 1000L));
         }
     }
@@ -107,11 +241,19 @@ public class KafkaConsumer extends AbstractMessageConsumer {
      * @return
      */
     private org.apache.kafka.clients.consumer.KafkaConsumer<Object, Object> createConsumer() {
+        return new org.apache.kafka.clients.consumer.KafkaConsumer<>(createConsumerProperties());
+    }
+
+    /**
+     * Create Kafka consumer properties from endpoint configuration.
+     * @return
+     */
+    protected Map<String, Object> createConsumerProperties() {
         Map<String, Object> consumerProps = new HashMap<>();
         consumerProps.put(ConsumerConfig.CLIENT_ID_CONFIG, Optional.ofNullable(endpointConfiguration.getClientId()).orElse(KafkaMessageHeaders.KAFKA_PREFIX + "consumer_" + UUID.randomUUID().toString()));
         consumerProps.put(ConsumerConfig.GROUP_ID_CONFIG, endpointConfiguration.getConsumerGroup());
         consumerProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, Optional.ofNullable(endpointConfiguration.getServer()).orElse("localhost:9092"));
-        consumerProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 1);
+        consumerProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, Math.max(1, endpointConfiguration.getMaxPollRecords()));
         consumerProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, endpointConfiguration.isAutoCommit());
         consumerProps.put(ConsumerConfig.AUTO_COMMIT_INTERVAL_MS_CONFIG, endpointConfiguration.getAutoCommitInterval());
         consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, endpointConfiguration.getOffsetReset());
@@ -120,7 +262,22 @@ public class KafkaConsumer extends AbstractMessageConsumer {
 
         consumerProps.putAll(endpointConfiguration.getConsumerProperties());
 
-        return new org.apache.kafka.clients.consumer.KafkaConsumer<>(consumerProps);
+        if (endpointConfiguration.getMaxPollRecords() > 1 &&
+                Boolean.parseBoolean(String.valueOf(consumerProps.get(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG)))) {
+            log.warn("Disable Kafka auto commit on consumer with max poll records " + endpointConfiguration.getMaxPollRecords() +
+                    " - offsets of prefetched records are committed once the records have been received");
+            consumerProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        }
+
+        return consumerProps;
+    }
+
+    /**
+     * Gets the consumer statistics.
+     * @return
+     */
+    public KafkaConsumerMetrics getMetrics() {
+        return metrics;
     }
 
     /**
@@ -131,4 +288,24 @@ public class KafkaConsumer extends AbstractMessageConsumer {
     public void setConsumer(org.apache.kafka.clients.consumer.KafkaConsumer<Object, Object> consumer) {
         this.consumer = consumer;
     }
+
+    /**
+     * Buffered consumer record. Converts the record to a message once on first access.
+     */
+    private final class BufferedRecord {
+        private final ConsumerRecord<Object, Object> consumerRecord;
+        private Message message;
+
+        BufferedRecord(ConsumerRecord<Object, Object> consumerRecord) {
+            this.consumerRecord = consumerRecord;
+        }
+
+        Message getMessage(TestContext context) {
+            if (message == null) {
+                message = endpointConfiguration.getMessageConverter().convertInbound(consumerRecord, endpointConfiguration, context);
+            }
+
+            return message;
+        }
+    }
 }
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.kafka.endpoint;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+
+/**
+ * Runtime statistics of a Kafka consumer endpoint. Counts polls, fetched and received records as well as offset commits
+ * and keeps track of the consumer lag reported by the Kafka client.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public class KafkaConsumerMetrics {
+
+    /** Kafka client metric holding the max record lag of all assigned partitions */
+    private static final String RECORDS_LAG_MAX = "records-lag-max";
+
+    /** Statistics */
+    private final AtomicLong polls = new AtomicLong();
+    private final AtomicLong polledRecords = new AtomicLong();
+    private final AtomicLong receivedMessages = new AtomicLong();
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong failedCommits = new AtomicLong();
+    private final AtomicInteger bufferedRecords = new AtomicInteger();
+    private volatile double recordsLag = Double.NaN;
+
+    /** Time of the first poll used to calculate throughput */
+    private volatile long startTime = -1L;
+
+    void recordPoll(int records) {
+        if (startTime < 0) {
+            startTime = System.currentTimeMillis();
+        }
+
+        polls.incrementAndGet();
+        polledRecords.addAndGet(records);
+    }
+
+    void recordReceive() {
+        receivedMessages.incrementAndGet();
+    }
+
+    void recordCommit(boolean success) {
+        if (success) {
+            commits.incrementAndGet();
+        } else {
+            failedCommits.incrementAndGet();
+        }
+    }
+
+    void updateBufferedRecords(int size) {
+        bufferedRecords.set(size);
+    }
+
+    /**
+     * Reads the current consumer lag from given Kafka client metrics.
+     * @param metrics
+     */
+    void updateLag(Map<MetricName, ? extends Metric> metrics) {
+        if (metrics == null) {
+            return;
+        }
+
+        metrics.entrySet().stream()
+                .filter(entry -> RECORDS_LAG_MAX.equals(entry.getKey().name()) && !entry.getKey().tags().containsKey("partition"))
+                .map(entry -> entry.getValue().metricValue())
+                .filter(Number.class::isInstance)
+                .findFirst()
+                .ifPresent(value -> recordsLag = ((Number) value).doubleValue());
+    }
+
+    /**
+     * Gets the number of polls.
+     * @return
+     */
+    public long getPolls() {
+        return polls.get();
+    }
+
+    /**
+     * Gets the number of records fetched from the broker.
+     * @return
+     */
+    public long getPolledRecords() {
+        return polledRecords.get();
+    }
+
+    /**
+     * Gets the number of messages handed out to receive operations.
+     * @return
+     */
+    public long getReceivedMessages() {
+        return receivedMessages.get();
+    }
+
+    /**
+     * Gets the number of successful offset commits.
+     * @return
+     */
+    public long getCommits() {
+        return commits.get();
+    }
+
+    /**
+     * Gets the number of failed offset commits.
+     * @return
+     */
+    public long getFailedCommits() {
+        return failedCommits.get();
+    }
+
+    /**
+     * Gets the number of records currently buffered and not yet received.
+     * @return
+     */
+    public int getBufferedRecords() {
+        return bufferedRecords.get();
+    }
+
+    /**
+     * Gets the max record lag of all assigned partitions as last reported by the Kafka client.
+     * @return the lag or NaN if not available.
+     */
+    public double getRecordsLag() {
+        return recordsLag;
+    }
+
+    /**
+     * Gets the average number of received messages per second since the first poll.
+     * @return
+     */
+    public double getThroughput() {
+        if (startTime < 0) {
+            return 0.0D;
+        }
+
+        long elapsed = Math.max(1L, System.currentTimeMillis() - startTime);
+        return receivedMessages.get() * 1000.0D / elapsed;
+    }
+}
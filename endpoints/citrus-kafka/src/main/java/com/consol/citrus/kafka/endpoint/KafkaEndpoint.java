@@ -65,6 +65,22 @@ public class KafkaEndpoint extends AbstractEndpoint implements DisposableBean {
         return kafkaProducer;
     }
 
+    /**
+     * Gets the statistics of the consumer created by this endpoint.
+     * @return
+     */
+    public KafkaConsumerMetrics getConsumerMetrics() {
+        return createConsumer().getMetrics();
+    }
+
+    /**
+     * Gets the statistics of the producer created by this endpoint.
+     * @return
+     */
+    public KafkaProducerMetrics getProducerMetrics() {
+        return createProducer().getMetrics();
+    }
+
     @Override
     public KafkaEndpointConfiguration getEndpointConfiguration() {
         return (KafkaEndpointConfiguration) super.getEndpointConfiguration();
@@ -88,6 +88,96 @@ public class KafkaEndpointBuilder extends AbstractEndpointBuilder<KafkaEndpoint>
         return this;
     }
 
+    /**
+     * Sets the asyncCommit property.
+     * @param asyncCommit
+     * @return
+     */
+    public KafkaEndpointBuilder asyncCommit(boolean asyncCommit) {
+        endpoint.getEndpointConfiguration().setAsyncCommit(asyncCommit);
+        return this;
+    }
+
+    /**
+     * Sets the batchCommit property.
+     * @param batchCommit
+     * @return
+     */
+    public KafkaEndpointBuilder batchCommit(boolean batchCommit) {
+        endpoint.getEndpointConfiguration().setBatchCommit(batchCommit);
+        return this;
+    }
+
+    /**
+     * Sets the maxPollRecords property.
+     * @param maxPollRecords
+     * @return
+     */
+    public KafkaEndpointBuilder maxPollRecords(int maxPollRecords) {
+        endpoint.getEndpointConfiguration().setMaxPollRecords(maxPollRecords);
+        return this;
+    }
+
+    /**
+     * Sets the maxSkippedRecords property.
+     * @param maxSkippedRecords
+     * @return
+     */
+    public KafkaEndpointBuilder maxSkippedRecords(int maxSkippedRecords) {
+        endpoint.getEndpointConfiguration().setMaxSkippedRecords(maxSkippedRecords);
+        return this;
+    }
+
+    /**
+     * Sets the asyncSend property.
+     * @param asyncSend
+     * @return
+     */
+    public KafkaEndpointBuilder asyncSend(boolean asyncSend) {
+        endpoint.getEndpointConfiguration().setAsyncSend(asyncSend);
+        return this;
+    }
+
+    /**
+     * Sets the flushSize property.
+     * @param flushSize
+     * @return
+     */
+    public KafkaEndpointBuilder flushSize(int flushSize) {
+        endpoint.getEndpointConfiguration().setFlushSize(flushSize);
+        return this;
+    }
+
+    /**
+     * Sets the lingerMs property.
+     * @param lingerMs
+     * @return
+     */
+    public KafkaEndpointBuilder lingerMs(int lingerMs) {
+        endpoint.getEndpointConfiguration().setLingerMs(lingerMs);
+        return this;
+    }
+
+    /**
+     * Sets the batchSize property.
+     * @param batchSize
+     * @return
+     */
+    public KafkaEndpointBuilder batchSize(int batchSize) {
+        endpoint.getEndpointConfiguration().setBatchSize(batchSize);
+        return this;
+    }
+
+    /**
+     * Sets the maxInFlight property.
+     * @param maxInFlight
+     * @return
+     */
+    public KafkaEndpointBuilder maxInFlight(int maxInFlight) {
+        endpoint.getEndpointConfiguration().setMaxInFlight(maxInFlight);
+        return this;
+    }
+
     /**
      * Sets the offsetReset property.
      * @param offsetReset
@@ -69,6 +69,29 @@ public class KafkaEndpointConfiguration extends AbstractPollableEndpointConfigur
     /** Topic partition */
     private int partition = 0;
 
+    /** Max number of records fetched with a single poll and buffered by the consumer */
+    private int maxPollRecords = 1;
+
+    /** Max number of buffered records skipped by message selectors, consumer fails when more records are skipped */
+    private int maxSkippedRecords = 1000;
+
+    /** Commit consumed offsets asynchronously */
+    private boolean asyncCommit = false;
+
+    /** Commit consumed offsets once per polled batch instead of after each received message */
+    private boolean batchCommit = false;
+
+    /** Send messages asynchronously without waiting for the broker acknowledgement */
+    private boolean asyncSend = false;
+
+    /** Number of asynchronously sent messages after which the producer flushes and checks for delivery failures, zero flushes on test end only */
+    private int flushSize = 0;
+
+    /** Producer batching settings */
+    private int lingerMs = 0;
+    private int batchSize = 16384;
+    private int maxInFlight = 5;
+
     /**
      * Gets the topic name.
      * @return the topic
@@ -352,4 +375,166 @@ public class KafkaEndpointConfiguration extends AbstractPollableEndpointConfigur
     public void setPartition(int partition) {
         this.partition = partition;
     }
+
+    /**
+     * Gets the maxPollRecords.
+     *
+     * @return
+     */
+    public int getMaxPollRecords() {
+        return maxPollRecords;
+    }
+
+    /**
+     * Sets the maxPollRecords.
+     *
+     * @param maxPollRecords
+     */
+    public void setMaxPollRecords(int maxPollRecords) {
+        this.maxPollRecords = maxPollRecords;
+    }
+
+    /**
+     * Gets the maxSkippedRecords.
+     *
+     * @return
+     */
+    public int getMaxSkippedRecords() {
+        return maxSkippedRecords;
+    }
+
+    /**
+     * Sets the maxSkippedRecords.
+     *
+     * @param maxSkippedRecords
+     */
+    public void setMaxSkippedRecords(int maxSkippedRecords) {
+        this.maxSkippedRecords = maxSkippedRecords;
+    }
+
+    /**
+     * Gets the asyncCommit.
+     *
+     * @return
+     */
+    public boolean isAsyncCommit() {
+        return asyncCommit;
+    }
+
+    /**
+     * Sets the asyncCommit.
+     *
+     * @param asyncCommit
+     */
+    public void setAsyncCommit(boolean asyncCommit) {
+        this.asyncCommit = asyncCommit;
+    }
+
+    /**
+     * Gets the batchCommit.
+     *
+     * @return
+     */
+    public boolean isBatchCommit() {
+        return batchCommit;
+    }
+
+    /**
+     * Sets the batchCommit.
+     *
+     * @param batchCommit
+     */
+    public void setBatchCommit(boolean batchCommit) {
+        this.batchCommit = batchCommit;
+    }
+
+    /**
+     * Gets the asyncSend.
+     *
+     * @return
+     */
+    public boolean isAsyncSend() {
+        return asyncSend;
+    }
+
+    /**
+     * Sets the asyncSend.
+     *
+     * @param asyncSend
+     */
+    public void setAsyncSend(boolean asyncSend) {
+        this.asyncSend = asyncSend;
+    }
+
+    /**
+     * Gets the flushSize.
+     *
+     * @return
+     */
+    public int getFlushSize() {
+        return flushSize;
+    }
+
+    /**
+     * Sets the flushSize.
+     *
+     * @param flushSize
+     */
+    public void setFlushSize(int flushSize) {
+        this.flushSize = flushSize;
+    }
+
+    /**
+     * Gets the lingerMs.
+     *
+     * @return
+     */
+    public int getLingerMs() {
+        return lingerMs;
+    }
+
+    /**
+     * Sets the lingerMs.
+     *
+     * @param lingerMs
+     */
+    public void setLingerMs(int lingerMs) {
+        this.lingerMs = lingerMs;
+    }
+
+    /**
+     * Gets the batchSize.
+     *
+     * @return
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the batchSize.
+     *
+     * @param batchSize
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Gets the maxInFlight.
+     *
+     * @return
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Sets the maxInFlight.
+     *
+     * @param maxInFlight
+     */
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
 }
@@ -16,12 +16,15 @@
 
 package com.consol.citrus.kafka.endpoint;
 
+import com.consol.citrus.TestCase;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.ActionTimeoutException;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.kafka.message.KafkaMessageHeaders;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.messaging.Producer;
+import com.consol.citrus.report.AbstractTestListener;
+import com.consol.citrus.report.TestListeners;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.slf4j.Logger;
@@ -31,8 +34,14 @@ import org.springframework.util.StringUtils;
 
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * Kafka message producer. By default each send operation waits for the broker acknowledgement. In async send mode the send operation
+ * completes as soon as the record is handed over to the Kafka client. Delivery failures are collected per test context and reported on the next
+ * send or flush in that test context. The producer flushes after a configurable number of sent messages and at the end of each test. Pending
+ * delivery failures are added to the test context that has sent the message so the respective test fails.
+ *
  * @author Christoph Deppisch
  * @since 2.8
  */
@@ -50,6 +59,24 @@ public class KafkaProducer implements Producer {
     /** Kafka producer */
     private org.apache.kafka.clients.producer.KafkaProducer<Object, Object> producer;
 
+    /** Delivery failures of asynchronously sent messages not reported yet mapped by the test context that has sent the message */
+    private final Map<TestContext, Queue<CitrusRuntimeException>> deliveryFailures = new ConcurrentHashMap<>();
+
+    /** Number of asynchronously sent messages since last flush */
+    private final AtomicInteger unflushed = new AtomicInteger();
+
+    /** Number of asynchronously sent messages not acknowledged yet */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /** Test listener flushing pending messages on test end */
+    private final FlushOnTestFinishListener flushListener = new FlushOnTestFinishListener();
+
+    /** Test listeners the flush listener is registered on while messages are pending */
+    private TestListeners flushListenerRegistration;
+
+    /** Producer statistics */
+    private final KafkaProducerMetrics metrics = new KafkaProducerMetrics();
+
     /**
      * Default constructor using endpoint configuration.
      * @param name
@@ -78,19 +105,107 @@ public class KafkaProducer implements Producer {
             log.debug("Sending Kafka stream message to topic: '" + topic + "'");
         }
 
-        try {
-            ProducerRecord<Object, Object> producerRecord = endpointConfiguration.getMessageConverter().convertOutbound(message, endpointConfiguration, context);
-            producer.send(producerRecord).get(endpointConfiguration.getTimeout(), TimeUnit.MILLISECONDS);
-            log.info("Message was sent to Kafka stream topic: '" + topic + "'");
-        } catch (InterruptedException | ExecutionException e) {
-            throw new CitrusRuntimeException(String.format("Failed to send message to Kafka topic '%s'", topic), e);
-        } catch (TimeoutException e) {
-            throw new ActionTimeoutException(String.format("Failed to send message to Kafka topic '%s' - timeout after %s milliseconds", topic, endpointConfiguration.getTimeout()), e);
+        if (endpointConfiguration.isAsyncSend()) {
+            sendAsync(message, topic, context);
+        } else {
+            try {
+                ProducerRecord<Object, Object> producerRecord = endpointConfiguration.getMessageConverter().convertOutbound(message, endpointConfiguration, context);
+                long start = System.currentTimeMillis();
+                metrics.recordSend(producerRecord.topic());
+                producer.send(producerRecord).get(endpointConfiguration.getTimeout(), TimeUnit.MILLISECONDS);
+                metrics.recordAck(producerRecord.topic(), System.currentTimeMillis() - start);
+                log.info("Message was sent to Kafka stream topic: '" + topic + "'");
+            } catch (InterruptedException | ExecutionException e) {
+                metrics.recordFailure(topic);
+                throw new CitrusRuntimeException(String.format("Failed to send message to Kafka topic '%s'", topic), e);
+            } catch (TimeoutException e) {
+                metrics.recordFailure(topic);
+                throw new ActionTimeoutException(String.format("Failed to send message to Kafka topic '%s' - timeout after %s milliseconds", topic, endpointConfiguration.getTimeout()), e);
+            }
         }
 
         context.onOutboundMessage(message);
     }
 
+    /**
+     * Hands over the message to the Kafka client without waiting for the broker acknowledgement. Reports delivery failures of previously sent
+     * messages first.
+     * @param message
+     * @param topic
+     * @param context
+     */
+    private void sendAsync(final Message message, String topic, final TestContext context) {
+        verifyDelivery(context);
+
+        ProducerRecord<Object, Object> producerRecord = endpointConfiguration.getMessageConverter().convertOutbound(message, endpointConfiguration, context);
+
+        synchronized (flushListener) {
+            inFlight.incrementAndGet();
+            if (flushListenerRegistration == null && context.getTestListeners() != null) {
+                flushListenerRegistration = context.getTestListeners();
+                flushListenerRegistration.addTestListener(flushListener);
+            }
+        }
+
+        long start = System.currentTimeMillis();
+        metrics.recordSend(producerRecord.topic());
+        producer.send(producerRecord, (metadata, exception) -> {
+            if (exception != null) {
+                metrics.recordFailure(producerRecord.topic());
+                CitrusRuntimeException failure = new CitrusRuntimeException(String.format("Failed to send message to Kafka topic '%s'", producerRecord.topic()), exception);
+                deliveryFailures.compute(context, (key, failures) -> {
+                    Queue<CitrusRuntimeException> contextFailures = Optional.ofNullable(failures).orElseGet(ConcurrentLinkedQueue::new);
+                    contextFailures.add(failure);
+                    return contextFailures;
+                });
+            } else {
+                metrics.recordAck(producerRecord.topic(), System.currentTimeMillis() - start);
+            }
+            inFlight.decrementAndGet();
+        });
+        log.info("Message was queued for Kafka stream topic: '" + topic + "'");
+
+        if (endpointConfiguration.getFlushSize() > 0 && unflushed.incrementAndGet() >= endpointConfiguration.getFlushSize()) {
+            flush(context);
+        }
+    }
+
+    /**
+     * Waits for all asynchronously sent messages to be acknowledged and raises delivery failures of messages sent
+     * within given test context.
+     * @param context
+     */
+    public void flush(TestContext context) {
+        unflushed.set(0);
+        producer.flush();
+        verifyDelivery(context);
+    }
+
+    /**
+     * Raises first delivery failure reported for given test context since last check. Further failures are added as suppressed exceptions.
+     * @param context
+     */
+    private void verifyDelivery(TestContext context) {
+        Queue<CitrusRuntimeException> failures = deliveryFailures.remove(context);
+        if (failures == null) {
+            return;
+        }
+
+        CitrusRuntimeException failure = null;
+        CitrusRuntimeException next;
+        while ((next = failures.poll()) != null) {
+            if (failure == null) {
+                failure = next;
+            } else {
+                failure.addSuppressed(next);
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
     /**
      * Creates default KafkaTemplate instance from endpoint configuration.
      */
@@ -100,6 +215,9 @@ public class KafkaProducer implements Producer {
         producerProps.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, new Long(endpointConfiguration.getTimeout()).intValue());
         producerProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, endpointConfiguration.getKeySerializer());
         producerProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, endpointConfiguration.getValueSerializer());
+        producerProps.put(ProducerConfig.LINGER_MS_CONFIG, endpointConfiguration.getLingerMs());
+        producerProps.put(ProducerConfig.BATCH_SIZE_CONFIG, endpointConfiguration.getBatchSize());
+        producerProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, endpointConfiguration.getMaxInFlight());
 
         producerProps.put(ProducerConfig.CLIENT_ID_CONFIG, Optional.ofNullable(endpointConfiguration.getClientId()).orElse(KafkaMessageHeaders.KAFKA_PREFIX + "producer_" + UUID.randomUUID().toString()));
 
@@ -114,6 +232,14 @@ public class KafkaProducer implements Producer {
         return name;
     }
 
+    /**
+     * Gets the producer statistics.
+     * @return
+     */
+    public KafkaProducerMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Sets the producer.
      *
@@ -122,4 +248,30 @@ public class KafkaProducer implements Producer {
     public void setProducer(org.apache.kafka.clients.producer.KafkaProducer<Object, Object> producer) {
         this.producer = producer;
     }
+
+    /**
+     * Flushes pending messages when a test is finished and adds delivery failures to the test context that has sent the message
+     * so the respective test fails. Unregisters itself as soon as no messages are pending.
+     */
+    private final class FlushOnTestFinishListener extends AbstractTestListener {
+        @Override
+        public void onTestFinish(TestCase test) {
+            unflushed.set(0);
+            producer.flush();
+
+            for (TestContext context : deliveryFailures.keySet()) {
+                deliveryFailures.computeIfPresent(context, (key, failures) -> {
+                    failures.forEach(context::addException);
+                    return null;
+                });
+            }
+
+            synchronized (this) {
+                if (inFlight.get() == 0 && flushListenerRegistration != null) {
+                    flushListenerRegistration.removeTestListener(this);
+                    flushListenerRegistration = null;
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.kafka.endpoint;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Runtime statistics of a Kafka producer endpoint. Records send rate and broker acknowledge latency per topic. Latency
+ * values are collected in a histogram with fixed millisecond buckets.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public class KafkaProducerMetrics {
+
+    /** Upper bounds in milliseconds of the latency histogram buckets, last bucket takes all higher values */
+    private static final long[] LATENCY_BUCKETS = { 1L, 2L, 5L, 10L, 20L, 50L, 100L, 200L, 500L, 1000L, 2000L, 5000L, Long.MAX_VALUE };
+
+    /** Statistics per topic */
+    private final Map<String, TopicStatistics> topics = new ConcurrentHashMap<>();
+
+    void recordSend(String topic) {
+        getOrCreate(topic).recordSend();
+    }
+
+    void recordAck(String topic, long latency) {
+        getOrCreate(topic).recordAck(latency);
+    }
+
+    void recordFailure(String topic) {
+        getOrCreate(topic).failed.incrementAndGet();
+    }
+
+    private TopicStatistics getOrCreate(String topic) {
+        return topics.computeIfAbsent(topic, name -> new TopicStatistics());
+    }
+
+    /**
+     * Gets statistics for given topic.
+     * @param topic
+     * @return statistics or null if nothing has been sent to the topic yet.
+     */
+    public TopicStatistics getStatistics(String topic) {
+        return topics.get(topic);
+    }
+
+    /**
+     * Gets all statistics mapped by topic name.
+     * @return
+     */
+    public Map<String, TopicStatistics> getStatistics() {
+        return Collections.unmodifiableMap(topics);
+    }
+
+    /**
+     * Gets the upper bounds of the latency histogram buckets in milliseconds.
+     * @return
+     */
+    public static long[] getLatencyBuckets() {
+        return LATENCY_BUCKETS.clone();
+    }
+
+    /**
+     * Send statistics for a topic.
+     */
+    public static final class TopicStatistics {
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong acknowledged = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong totalLatency = new AtomicLong();
+        private final AtomicLong maxLatency = new AtomicLong();
+        private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKETS.length);
+        private final long startTime = System.currentTimeMillis();
+
+        void recordSend() {
+            sent.incrementAndGet();
+        }
+
+        void recordAck(long latency) {
+            acknowledged.incrementAndGet();
+            totalLatency.addAndGet(latency);
+            maxLatency.accumulateAndGet(latency, Math::max);
+
+            for (int i = 0; i < LATENCY_BUCKETS.length; i++) {
+                if (latency <= LATENCY_BUCKETS[i]) {
+                    latencyHistogram.incrementAndGet(i);
+                    break;
+                }
+            }
+        }
+
+        public long getSent() {
+            return sent.get();
+        }
+
+        public long getAcknowledged() {
+            return acknowledged.get();
+        }
+
+        public long getFailed() {
+            return failed.get();
+        }
+
+        public long getMaxLatency() {
+            return maxLatency.get();
+        }
+
+        public double getAverageLatency() {
+            long count = acknowledged.get();
+            return count > 0 ? (double) totalLatency.get() / count : 0.0D;
+        }
+
+        /**
+         * Gets the number of acknowledged messages per latency bucket.
+         * @return counts matching the bucket bounds in {@link KafkaProducerMetrics#getLatencyBuckets()}.
+         */
+        public long[] getLatencyHistogram() {
+            long[] counts = new long[latencyHistogram.length()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = latencyHistogram.get(i);
+            }
+            return counts;
+        }
+
+        /**
+         * Gets the average number of messages sent per second since the first send.
+         * @return
+         */
+        public double getSendRate() {
+            long elapsed = Math.max(1L, System.currentTimeMillis() - startTime);
+            return sent.get() * 1000.0D / elapsed;
+        }
+    }
+}
@@ -57,6 +57,15 @@ public class KafkaEndpointConfigParserTest extends AbstractTestNGUnitTest {
             timeout=10000L,
             autoCommit = false,
             autoCommitInterval = 500,
+            asyncCommit = true,
+            batchCommit = true,
+            maxPollRecords = 100,
+            maxSkippedRecords = 500,
+            asyncSend = true,
+            flushSize = 50,
+            lingerMs = 10,
+            batchSize = 32768,
+            maxInFlight = 1,
             offsetReset = "latest",
             messageConverter="messageConverter",
             headerMapper = "headerMapper",
@@ -110,6 +119,15 @@ public class KafkaEndpointConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(kafkaEndpoint1.getEndpointConfiguration().getMessageConverter().getClass(), KafkaMessageConverter.class);
         Assert.assertTrue(kafkaEndpoint1.getEndpointConfiguration().isAutoCommit());
         Assert.assertEquals(kafkaEndpoint1.getEndpointConfiguration().getAutoCommitInterval(), 1000L);
+        Assert.assertFalse(kafkaEndpoint1.getEndpointConfiguration().isAsyncCommit());
+        Assert.assertFalse(kafkaEndpoint1.getEndpointConfiguration().isBatchCommit());
+        Assert.assertEquals(kafkaEndpoint1.getEndpointConfiguration().getMaxPollRecords(), 1);
+        Assert.assertEquals(kafkaEndpoint1.getEndpointConfiguration().getMaxSkippedRecords(), 1000);
+        Assert.assertFalse(kafkaEndpoint1.getEndpointConfiguration().isAsyncSend());
+        Assert.assertEquals(kafkaEndpoint1.getEndpointConfiguration().getFlushSize(), 0);
+        Assert.assertEquals(kafkaEndpoint1.getEndpointConfiguration().getLingerMs(), 0);
+        Assert.assertEquals(kafkaEndpoint1.getEndpointConfiguration().getBatchSize(), 16384);
+        Assert.assertEquals(kafkaEndpoint1.getEndpointConfiguration().getMaxInFlight(), 5);
         Assert.assertEquals(kafkaEndpoint1.getEndpointConfiguration().getOffsetReset(), "earliest");
         Assert.assertEquals(kafkaEndpoint1.getEndpointConfiguration().getTopic(), "test");
         Assert.assertEquals(kafkaEndpoint1.getEndpointConfiguration().getPartition(), 0);
@@ -128,6 +146,15 @@ public class KafkaEndpointConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(kafkaEndpoint2.getEndpointConfiguration().getMessageConverter(), messageConverter);
         Assert.assertFalse(kafkaEndpoint2.getEndpointConfiguration().isAutoCommit());
         Assert.assertEquals(kafkaEndpoint2.getEndpointConfiguration().getAutoCommitInterval(), 500L);
+        Assert.assertTrue(kafkaEndpoint2.getEndpointConfiguration().isAsyncCommit());
+        Assert.assertTrue(kafkaEndpoint2.getEndpointConfiguration().isBatchCommit());
+        Assert.assertEquals(kafkaEndpoint2.getEndpointConfiguration().getMaxPollRecords(), 100);
+        Assert.assertEquals(kafkaEndpoint2.getEndpointConfiguration().getMaxSkippedRecords(), 500);
+        Assert.assertTrue(kafkaEndpoint2.getEndpointConfiguration().isAsyncSend());
+        Assert.assertEquals(kafkaEndpoint2.getEndpointConfiguration().getFlushSize(), 50);
+        Assert.assertEquals(kafkaEndpoint2.getEndpointConfiguration().getLingerMs(), 10);
+        Assert.assertEquals(kafkaEndpoint2.getEndpointConfiguration().getBatchSize(), 32768);
+        Assert.assertEquals(kafkaEndpoint2.getEndpointConfiguration().getMaxInFlight(), 1);
         Assert.assertEquals(kafkaEndpoint2.getEndpointConfiguration().getOffsetReset(), "latest");
         Assert.assertEquals(kafkaEndpoint2.getEndpointConfiguration().getTopic(), "test");
         Assert.assertEquals(kafkaEndpoint2.getEndpointConfiguration().getPartition(), 1);
@@ -55,6 +55,15 @@ public class KafkaEndpointParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().getMessageConverter().getClass(), KafkaMessageConverter.class);
         Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().isAutoCommit(), true);
         Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().getAutoCommitInterval(), 1000L);
+        Assert.assertFalse(kafkaEndpoint.getEndpointConfiguration().isAsyncCommit());
+        Assert.assertFalse(kafkaEndpoint.getEndpointConfiguration().isBatchCommit());
+        Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().getMaxPollRecords(), 1);
+        Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().getMaxSkippedRecords(), 1000);
+        Assert.assertFalse(kafkaEndpoint.getEndpointConfiguration().isAsyncSend());
+        Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().getFlushSize(), 0);
+        Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().getLingerMs(), 0);
+        Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().getBatchSize(), 16384);
+        Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().getMaxInFlight(), 5);
         Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().getOffsetReset(), "earliest");
         Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().getTopic(), "test");
         Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().getPartition(), 0);
@@ -77,6 +86,15 @@ public class KafkaEndpointParserTest extends AbstractBeanDefinitionParserTest {
         Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().getMessageConverter(), beanDefinitionContext.getBean("messageConverter"));
         Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().isAutoCommit(), false);
         Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().getAutoCommitInterval(), 500L);
+        Assert.assertTrue(kafkaEndpoint.getEndpointConfiguration().isAsyncCommit());
+        Assert.assertTrue(kafkaEndpoint.getEndpointConfiguration().isBatchCommit());
+        Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().getMaxPollRecords(), 100);
+        Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().getMaxSkippedRecords(), 500);
+        Assert.assertTrue(kafkaEndpoint.getEndpointConfiguration().isAsyncSend());
+        Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().getFlushSize(), 50);
+        Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().getLingerMs(), 10);
+        Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().getBatchSize(), 32768);
+        Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().getMaxInFlight(), 1);
         Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().getOffsetReset(), "latest");
         Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().getTopic(), "test");
         Assert.assertEquals(kafkaEndpoint.getEndpointConfiguration().getPartition(), 1);
@@ -17,6 +17,7 @@
 package com.consol.citrus.kafka.endpoint;
 
 import com.consol.citrus.exceptions.ActionTimeoutException;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
@@ -31,7 +32,9 @@ import org.testng.annotations.Test;
 import java.time.Duration;
 import java.util.*;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.Mockito.*;
 
 /**
@@ -153,4 +156,222 @@ public class KafkaConsumerTest extends AbstractTestNGUnitTest {
         Assert.assertNotNull(receivedMessage.getHeader("Operation"));
         Assert.assertTrue(receivedMessage.getHeader("Operation").equals("sayHello"));
     }
+
+    @Test
+    public void testReceiveBufferedMessages() {
+        String topic = "batch";
+
+        KafkaEndpoint endpoint = new KafkaEndpoint();
+        endpoint.getEndpointConfiguration().setTopic(topic);
+        endpoint.getEndpointConfiguration().setMaxPollRecords(10);
+        endpoint.createConsumer().setConsumer(kafkaConsumer);
+
+        TopicPartition partition = new TopicPartition(topic, 0);
+
+        reset(kafkaConsumer);
+        when(kafkaConsumer.subscription()).thenReturn(Collections.singleton(topic));
+
+        List<ConsumerRecord<Object, Object>> batch = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            batch.add(new ConsumerRecord<>(topic, 0, i, i, "<TestRequest><Message>Hello " + i + "</Message></TestRequest>"));
+        }
+        when(kafkaConsumer.poll(Duration.ofMillis(5000L))).thenReturn(new ConsumerRecords<>(Collections.singletonMap(partition, batch)));
+
+        for (int i = 0; i < 3; i++) {
+            Message receivedMessage = endpoint.createConsumer().receive(context);
+            Assert.assertEquals(receivedMessage.getPayload(), "<TestRequest><Message>Hello " + i + "</Message></TestRequest>");
+            verify(kafkaConsumer).commitSync(Collections.singletonMap(partition, new OffsetAndMetadata(i + 1)), Duration.ofMillis(5000L));
+        }
+
+        verify(kafkaConsumer, times(1)).poll(any(Duration.class));
+
+        KafkaConsumerMetrics metrics = endpoint.getConsumerMetrics();
+        Assert.assertEquals(metrics.getPolls(), 1L);
+        Assert.assertEquals(metrics.getPolledRecords(), 3L);
+        Assert.assertEquals(metrics.getReceivedMessages(), 3L);
+        Assert.assertEquals(metrics.getCommits(), 3L);
+        Assert.assertEquals(metrics.getBufferedRecords(), 0);
+    }
+
+    @Test
+    public void testReceiveWithBatchCommit() {
+        String topic = "batch";
+
+        KafkaEndpoint endpoint = new KafkaEndpoint();
+        endpoint.getEndpointConfiguration().setTopic(topic);
+        endpoint.getEndpointConfiguration().setMaxPollRecords(10);
+        endpoint.getEndpointConfiguration().setBatchCommit(true);
+        endpoint.getEndpointConfiguration().setAsyncCommit(true);
+        endpoint.createConsumer().setConsumer(kafkaConsumer);
+
+        TopicPartition partition = new TopicPartition(topic, 0);
+
+        reset(kafkaConsumer);
+        when(kafkaConsumer.subscription()).thenReturn(Collections.singleton(topic));
+
+        List<ConsumerRecord<Object, Object>> batch = new ArrayList<>();
+        batch.add(new ConsumerRecord<>(topic, 0, 0, 1, "Hello"));
+        batch.add(new ConsumerRecord<>(topic, 0, 1, 2, "Hi"));
+        when(kafkaConsumer.poll(Duration.ofMillis(5000L))).thenReturn(new ConsumerRecords<>(Collections.singletonMap(partition, batch)));
+
+        Assert.assertEquals(endpoint.createConsumer().receive(context).getPayload(), "Hello");
+        verify(kafkaConsumer, never()).commitAsync(anyMap(), any());
+
+        Assert.assertEquals(endpoint.createConsumer().receive(context).getPayload(), "Hi");
+        verify(kafkaConsumer).commitAsync(eq(Collections.singletonMap(partition, new OffsetAndMetadata(2L))), any());
+        verify(kafkaConsumer, never()).commitSync(anyMap(), any(Duration.class));
+    }
+
+    @Test
+    public void testReceiveWithMessageSelector() {
+        String topic = "selective";
+
+        KafkaEndpoint endpoint = new KafkaEndpoint();
+        endpoint.getEndpointConfiguration().setTopic(topic);
+        endpoint.getEndpointConfiguration().setMaxPollRecords(10);
+        endpoint.createConsumer().setConsumer(kafkaConsumer);
+
+        TopicPartition partition = new TopicPartition(topic, 0);
+
+        reset(kafkaConsumer);
+        when(kafkaConsumer.subscription()).thenReturn(Collections.singleton(topic));
+
+        ConsumerRecord<Object, Object> hello = new ConsumerRecord<>(topic, 0, 0, 1, "Hello");
+        hello.headers().add(new RecordHeader("Operation", "sayHello".getBytes()));
+        ConsumerRecord<Object, Object> goodbye = new ConsumerRecord<>(topic, 0, 1, 2, "Goodbye");
+        goodbye.headers().add(new RecordHeader("Operation", "sayGoodbye".getBytes()));
+        when(kafkaConsumer.poll(Duration.ofMillis(5000L))).thenReturn(new ConsumerRecords<>(Collections.singletonMap(partition, Arrays.asList(hello, goodbye))));
+
+        Message receivedMessage = endpoint.createConsumer().receive("Operation = 'sayGoodbye'", context);
+        Assert.assertEquals(receivedMessage.getPayload(), "Goodbye");
+        verify(kafkaConsumer).commitSync(Collections.singletonMap(partition, new OffsetAndMetadata(0L)), Duration.ofMillis(5000L));
+
+        receivedMessage = endpoint.createConsumer().receive(context);
+        Assert.assertEquals(receivedMessage.getPayload(), "Hello");
+        verify(kafkaConsumer).commitSync(Collections.singletonMap(partition, new OffsetAndMetadata(1L)), Duration.ofMillis(5000L));
+
+        verify(kafkaConsumer, times(1)).poll(any(Duration.class));
+    }
+
+    @Test
+    public void testReceiveWithMessageSelectorTimeout() {
+        String topic = "selective";
+
+        KafkaEndpoint endpoint = new KafkaEndpoint();
+        endpoint.getEndpointConfiguration().setTopic(topic);
+        endpoint.createConsumer().setConsumer(kafkaConsumer);
+
+        TopicPartition partition = new TopicPartition(topic, 0);
+
+        reset(kafkaConsumer);
+        when(kafkaConsumer.subscription()).thenReturn(Collections.singleton(topic));
+
+        ConsumerRecord<Object, Object> hello = new ConsumerRecord<>(topic, 0, 0, 1, "Hello");
+        hello.headers().add(new RecordHeader("Operation", "sayHello".getBytes()));
+        when(kafkaConsumer.poll(any(Duration.class))).thenReturn(new ConsumerRecords<>(Collections.singletonMap(partition, Collections.singletonList(hello))))
+                .thenReturn(ConsumerRecords.empty());
+
+        try {
+            endpoint.createConsumer().receive("Operation = 'sayGoodbye'", context, 200L);
+            Assert.fail("Missing " + ActionTimeoutException.class + " because of receiving message timeout");
+        } catch (ActionTimeoutException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Failed to receive message from Kafka topic 'selective'"));
+        }
+
+        Assert.assertEquals(endpoint.getConsumerMetrics().getBufferedRecords(), 1);
+        verify(kafkaConsumer, never()).commitSync(anyMap(), any(Duration.class));
+    }
+
+    @Test
+    public void testKeepRecordsSkippedBySelector() {
+        String topic = "selective";
+
+        KafkaEndpoint endpoint = new KafkaEndpoint();
+        endpoint.getEndpointConfiguration().setTopic(topic);
+        endpoint.getEndpointConfiguration().setMaxPollRecords(10);
+        endpoint.getEndpointConfiguration().setTimeout(100L);
+        endpoint.createConsumer().setConsumer(kafkaConsumer);
+
+        TopicPartition partition = new TopicPartition(topic, 0);
+
+        reset(kafkaConsumer);
+        when(kafkaConsumer.subscription()).thenReturn(Collections.singleton(topic));
+
+        ConsumerRecord<Object, Object> hello = new ConsumerRecord<>(topic, 0, 0, 1, "Hello");
+        hello.headers().add(new RecordHeader("Operation", "sayHello".getBytes()));
+        ConsumerRecord<Object, Object> goodbye = new ConsumerRecord<>(topic, 0, 1, 2, "Goodbye");
+        goodbye.headers().add(new RecordHeader("Operation", "sayGoodbye".getBytes()));
+        when(kafkaConsumer.poll(any(Duration.class))).thenReturn(new ConsumerRecords<>(Collections.singletonMap(partition, Collections.singletonList(hello))))
+                .thenReturn(new ConsumerRecords<>(Collections.singletonMap(partition, Collections.singletonList(goodbye))))
+                .thenReturn(ConsumerRecords.empty());
+
+        Message receivedMessage = endpoint.createConsumer().receive("Operation = 'sayGoodbye'", context, 1000L);
+        Assert.assertEquals(receivedMessage.getPayload(), "Goodbye");
+        verify(kafkaConsumer).commitSync(Collections.singletonMap(partition, new OffsetAndMetadata(0L)), Duration.ofMillis(100L));
+        Assert.assertEquals(endpoint.getConsumerMetrics().getBufferedRecords(), 1);
+
+        try {
+            Thread.sleep(200L);
+            endpoint.createConsumer().receive("Operation = 'sayHi'", context, 50L);
+            Assert.fail("Missing " + ActionTimeoutException.class + " because of receiving message timeout");
+        } catch (ActionTimeoutException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Failed to receive message from Kafka topic 'selective'"));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+
+        Assert.assertEquals(endpoint.getConsumerMetrics().getBufferedRecords(), 1);
+        verify(kafkaConsumer, never()).commitSync(Collections.singletonMap(partition, new OffsetAndMetadata(1L)), Duration.ofMillis(100L));
+
+        receivedMessage = endpoint.createConsumer().receive("Operation = 'sayHello'", context, 1000L);
+        Assert.assertEquals(receivedMessage.getPayload(), "Hello");
+        verify(kafkaConsumer).commitSync(Collections.singletonMap(partition, new OffsetAndMetadata(1L)), Duration.ofMillis(100L));
+        Assert.assertEquals(endpoint.getConsumerMetrics().getBufferedRecords(), 0);
+    }
+
+    @Test
+    public void testMaxSkippedRecordsExceeded() {
+        String topic = "skipped";
+
+        KafkaEndpoint endpoint = new KafkaEndpoint();
+        endpoint.getEndpointConfiguration().setTopic(topic);
+        endpoint.getEndpointConfiguration().setMaxPollRecords(10);
+        endpoint.getEndpointConfiguration().setMaxSkippedRecords(1);
+        endpoint.createConsumer().setConsumer(kafkaConsumer);
+
+        TopicPartition partition = new TopicPartition(topic, 0);
+
+        reset(kafkaConsumer);
+        when(kafkaConsumer.subscription()).thenReturn(Collections.singleton(topic));
+
+        ConsumerRecord<Object, Object> hello = new ConsumerRecord<>(topic, 0, 0, 1, "Hello");
+        hello.headers().add(new RecordHeader("Operation", "sayHello".getBytes()));
+        ConsumerRecord<Object, Object> goodbye = new ConsumerRecord<>(topic, 0, 1, 2, "Goodbye");
+        goodbye.headers().add(new RecordHeader("Operation", "sayGoodbye".getBytes()));
+        when(kafkaConsumer.poll(any(Duration.class))).thenReturn(new ConsumerRecords<>(Collections.singletonMap(partition, Arrays.asList(hello, goodbye))));
+
+        try {
+            endpoint.createConsumer().receive("Operation = 'sayHi'", context, 1000L);
+            Assert.fail("Missing " + CitrusRuntimeException.class + " because of too many skipped records");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertTrue(e.getMessage().contains("exceed the max skipped records limit of 1"), e.getMessage());
+        }
+
+        verify(kafkaConsumer, never()).commitSync(anyMap(), any(Duration.class));
+    }
+
+    @Test
+    public void testDisableAutoCommitWhenPrefetching() {
+        KafkaEndpoint endpoint = new KafkaEndpoint();
+        endpoint.getEndpointConfiguration().setTopic("batch");
+        endpoint.getEndpointConfiguration().setAutoCommit(true);
+
+        Assert.assertEquals(endpoint.createConsumer().createConsumerProperties().get(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG), true);
+
+        endpoint.getEndpointConfiguration().setMaxPollRecords(10);
+        Assert.assertEquals(endpoint.createConsumer().createConsumerProperties().get(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG), false);
+
+        endpoint.getEndpointConfiguration().getConsumerProperties().put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "true");
+        Assert.assertEquals(endpoint.createConsumer().createConsumerProperties().get(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG), false);
+    }
 }
@@ -16,13 +16,16 @@
 
 package com.consol.citrus.kafka.endpoint;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.concurrent.Future;
 
+import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.kafka.message.KafkaMessage;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
+import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
@@ -38,7 +41,9 @@ import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -147,4 +152,131 @@ public class KafkaProducerTest extends AbstractTestNGUnitTest {
         Assert.fail("Missing " + CitrusRuntimeException.class + " because of sending empty message");
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSendMessageAsync() {
+        KafkaEndpoint endpoint = new KafkaEndpoint();
+        endpoint.createProducer().setProducer(kafkaProducer);
+
+        endpoint.getEndpointConfiguration().setTopic("default");
+        endpoint.getEndpointConfiguration().setAsyncSend(true);
+        endpoint.getEndpointConfiguration().setFlushSize(2);
+
+        reset(kafkaProducer);
+
+        when(kafkaProducer.send(any(ProducerRecord.class), any(Callback.class))).thenAnswer(invocation -> {
+            Callback callback = invocation.getArgument(1);
+            callback.onCompletion(new RecordMetadata(new TopicPartition("default", 0), 0L, 0L, 0L, 0L, 0, 0), null);
+            return null;
+        });
+
+        endpoint.createProducer().send(new KafkaMessage("foo"), context);
+        verify(kafkaProducer, never()).flush();
+
+        endpoint.createProducer().send(new KafkaMessage("bar"), context);
+        verify(kafkaProducer, times(1)).flush();
+
+        verify(kafkaProducer, times(2)).send(any(ProducerRecord.class), any(Callback.class));
+        verify(kafkaProducer, never()).send(any(ProducerRecord.class));
+
+        KafkaProducerMetrics.TopicStatistics statistics = endpoint.getProducerMetrics().getStatistics("default");
+        Assert.assertEquals(statistics.getSent(), 2L);
+        Assert.assertEquals(statistics.getAcknowledged(), 2L);
+        Assert.assertEquals(statistics.getFailed(), 0L);
+        Assert.assertEquals(Arrays.stream(statistics.getLatencyHistogram()).sum(), 2L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSendMessageAsyncFailureOnFlush() {
+        KafkaEndpoint endpoint = new KafkaEndpoint();
+        endpoint.createProducer().setProducer(kafkaProducer);
+
+        endpoint.getEndpointConfiguration().setTopic("default");
+        endpoint.getEndpointConfiguration().setAsyncSend(true);
+
+        reset(kafkaProducer);
+
+        when(kafkaProducer.send(any(ProducerRecord.class), any(Callback.class))).thenAnswer(invocation -> {
+            Callback callback = invocation.getArgument(1);
+            callback.onCompletion(null, new org.apache.kafka.common.errors.TimeoutException("Expired"));
+            return null;
+        });
+
+        endpoint.createProducer().send(new KafkaMessage("foo"), context);
+
+        try {
+            endpoint.createProducer().flush(context);
+            Assert.fail("Missing " + CitrusRuntimeException.class + " because of delivery failure");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertEquals(e.getMessage(), "Failed to send message to Kafka topic 'default'");
+            Assert.assertEquals(e.getCause().getMessage(), "Expired");
+        }
+
+        Assert.assertEquals(endpoint.getProducerMetrics().getStatistics("default").getFailed(), 1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSendMessageAsyncFailureOnTestFinish() {
+        KafkaEndpoint endpoint = new KafkaEndpoint();
+        endpoint.createProducer().setProducer(kafkaProducer);
+
+        endpoint.getEndpointConfiguration().setTopic("default");
+        endpoint.getEndpointConfiguration().setAsyncSend(true);
+
+        reset(kafkaProducer);
+
+        when(kafkaProducer.send(any(ProducerRecord.class), any(Callback.class))).thenAnswer(invocation -> {
+            Callback callback = invocation.getArgument(1);
+            callback.onCompletion(null, new org.apache.kafka.common.errors.TimeoutException("Expired"));
+            return null;
+        });
+
+        endpoint.createProducer().send(new KafkaMessage("foo"), context);
+        Assert.assertFalse(context.hasExceptions());
+
+        context.getTestListeners().onTestFinish(null);
+
+        verify(kafkaProducer).flush();
+        Assert.assertTrue(context.hasExceptions());
+        Assert.assertEquals(context.getExceptions().get(0).getMessage(), "Failed to send message to Kafka topic 'default'");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSendMessageAsyncFailureScopedToTestContext() {
+        KafkaEndpoint endpoint = new KafkaEndpoint();
+        endpoint.createProducer().setProducer(kafkaProducer);
+
+        endpoint.getEndpointConfiguration().setTopic("default");
+        endpoint.getEndpointConfiguration().setAsyncSend(true);
+
+        reset(kafkaProducer);
+
+        when(kafkaProducer.send(any(ProducerRecord.class), any(Callback.class))).thenAnswer(invocation -> {
+            Callback callback = invocation.getArgument(1);
+            callback.onCompletion(null, new org.apache.kafka.common.errors.TimeoutException("Expired"));
+            return null;
+        }).thenAnswer(invocation -> {
+            Callback callback = invocation.getArgument(1);
+            callback.onCompletion(null, null);
+            return null;
+        });
+
+        TestContext otherContext = createTestContext();
+        endpoint.createProducer().send(new KafkaMessage("foo"), otherContext);
+
+        endpoint.createProducer().send(new KafkaMessage("bar"), context);
+        endpoint.createProducer().flush(context);
+        Assert.assertFalse(context.hasExceptions());
+        Assert.assertTrue(context.getTestListeners().getTestListeners().stream().anyMatch(listener -> listener.getClass().getSimpleName().equals("FlushOnTestFinishListener")));
+
+        context.getTestListeners().onTestFinish(null);
+
+        Assert.assertFalse(context.hasExceptions());
+        Assert.assertTrue(otherContext.hasExceptions());
+        Assert.assertEquals(otherContext.getExceptions().get(0).getMessage(), "Failed to send message to Kafka topic 'default'");
+        Assert.assertFalse(context.getTestListeners().getTestListeners().stream().anyMatch(listener -> listener.getClass().getSimpleName().equals("FlushOnTestFinishListener")));
+    }
 }
@@ -16,16 +16,17 @@
 package com.consol.citrus.channel.selector;
 
 import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.util.XMLUtils;
 import com.consol.citrus.xml.xpath.XPathUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.Message;
-import org.springframework.xml.xpath.XPathExpressionFactory;
-import org.springframework.xml.xpath.XPathParseException;
+import org.springframework.util.xml.SimpleNamespaceContext;
 import org.w3c.dom.Document;
 import org.w3c.dom.ls.LSException;
 
+import javax.xml.xpath.XPathConstants;
 import java.util.Map;
 
 /**
@@ -70,18 +71,18 @@ public class XpathPayloadMessageSelector extends AbstractMessageSelector {
             // add default namespace mappings
             namespaces.putAll(context.getNamespaceContextBuilder().getNamespaceMappings());
 
-            String value;
+            String expression = selectKey;
             if (XPathUtils.hasDynamicNamespaces(selectKey)) {
                 namespaces.putAll(XPathUtils.getDynamicNamespaces(selectKey));
-                value = XPathExpressionFactory.createXPathExpression(XPathUtils.replaceDynamicNamespaces(selectKey, namespaces), namespaces)
-                        .evaluateAsString(doc);
-            } else {
-                value = XPathExpressionFactory.createXPathExpression(selectKey, namespaces)
-                        .evaluateAsString(doc);
+                expression = XPathUtils.replaceDynamicNamespaces(selectKey, namespaces);
             }
 
+            SimpleNamespaceContext namespaceContext = new SimpleNamespaceContext();
+            namespaceContext.setBindings(namespaces);
+
+            String value = (String) XPathUtils.evaluateExpression(doc, expression, namespaceContext, XPathConstants.STRING);
             return evaluate(value);
-        } catch (XPathParseException e) {
+        } catch (CitrusRuntimeException e) {
             log.warn("Could not evaluate XPath expression for message selector - ignoring message (" + e.getClass().getName() + ")");
             return false; // wrong XML message - not accepted
         }
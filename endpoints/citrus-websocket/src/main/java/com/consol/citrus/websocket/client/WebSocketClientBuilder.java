@@ -18,6 +18,7 @@ package com.consol.citrus.websocket.client;
 
 import com.consol.citrus.endpoint.AbstractEndpointBuilder;
 import com.consol.citrus.endpoint.resolver.EndpointUriResolver;
+import com.consol.citrus.websocket.handler.CitrusWebSocketHandler;
 import com.consol.citrus.websocket.message.WebSocketMessageConverter;
 
 /**
@@ -84,4 +85,34 @@ public class WebSocketClientBuilder extends AbstractEndpointBuilder<WebSocketCli
         return this;
     }
 
+    /**
+     * Sets the max number of pending outbound messages.
+     * @param outboundQueueCapacity
+     * @return
+     */
+    public WebSocketClientBuilder outboundQueueCapacity(int outboundQueueCapacity) {
+        endpoint.getEndpointConfiguration().setOutboundQueueCapacity(outboundQueueCapacity);
+        return this;
+    }
+
+    /**
+     * Sets the overflow policy applied when outbound queue is full.
+     * @param overflowPolicy
+     * @return
+     */
+    public WebSocketClientBuilder overflowPolicy(CitrusWebSocketHandler.OverflowPolicy overflowPolicy) {
+        endpoint.getEndpointConfiguration().setOverflowPolicy(overflowPolicy);
+        return this;
+    }
+
+    /**
+     * Sets the async send mode.
+     * @param asyncSend
+     * @return
+     */
+    public WebSocketClientBuilder asyncSend(boolean asyncSend) {
+        endpoint.getEndpointConfiguration().setAsyncSend(asyncSend);
+        return this;
+    }
+
 }
@@ -71,7 +71,7 @@ public class WebSocketClientEndpointConfiguration extends AbstractWebSocketEndpo
      * @return
      */
     private CitrusWebSocketHandler getWebSocketClientHandler(String url) {
-        CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+        CitrusWebSocketHandler handler = new CitrusWebSocketHandler(getOutboundQueueCapacity(), getOverflowPolicy());
 
         if (webSocketHttpHeaders == null) {
             webSocketHttpHeaders = new WebSocketHttpHeaders();
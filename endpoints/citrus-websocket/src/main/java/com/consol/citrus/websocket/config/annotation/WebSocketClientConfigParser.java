@@ -57,6 +57,10 @@ public class WebSocketClientConfigParser extends AbstractAnnotationConfigParser<
 
         builder.timeout(annotation.timeout());
 
+        builder.outboundQueueCapacity(annotation.outboundQueueCapacity());
+        builder.overflowPolicy(annotation.overflowPolicy());
+        builder.asyncSend(annotation.asyncSend());
+
         if (StringUtils.hasText(annotation.actor())) {
             builder.actor(getReferenceResolver().resolve(annotation.actor(), TestActor.class));
         }
@@ -16,6 +16,8 @@
 
 package com.consol.citrus.websocket.config.annotation;
 
+import com.consol.citrus.websocket.handler.CitrusWebSocketHandler;
+
 /**
  * @author Christoph Deppisch
  * @since 2.5
@@ -45,4 +47,22 @@ public @interface WebSocketConfig {
      * @return
      */
     long timeout() default 5000L;
+
+    /**
+     * Max number of pending outbound messages per session.
+     * @return
+     */
+    int outboundQueueCapacity() default CitrusWebSocketHandler.DEFAULT_OUTBOUND_QUEUE_CAPACITY;
+
+    /**
+     * Overflow policy applied when session outbound queue is full.
+     * @return
+     */
+    CitrusWebSocketHandler.OverflowPolicy overflowPolicy() default CitrusWebSocketHandler.OverflowPolicy.DROP_NEWEST;
+
+    /**
+     * Do not wait for message delivery when sending messages.
+     * @return
+     */
+    boolean asyncSend() default false;
 }
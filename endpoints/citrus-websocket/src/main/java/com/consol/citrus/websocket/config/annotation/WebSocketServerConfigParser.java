@@ -62,6 +62,9 @@ public class WebSocketServerConfigParser extends AbstractAnnotationConfigParser<
             }
 
             webSocketConfiguration.setTimeout(webSocketConfig.timeout());
+            webSocketConfiguration.setOutboundQueueCapacity(webSocketConfig.outboundQueueCapacity());
+            webSocketConfiguration.setOverflowPolicy(webSocketConfig.overflowPolicy());
+            webSocketConfiguration.setAsyncSend(webSocketConfig.asyncSend());
 
             WebSocketEndpoint webSocket = new WebSocketEndpoint(webSocketConfiguration);
             webSocket.setName(webSocketConfig.id());
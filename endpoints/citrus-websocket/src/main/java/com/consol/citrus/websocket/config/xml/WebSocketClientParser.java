@@ -47,6 +47,10 @@ public class WebSocketClientParser extends AbstractEndpointParser {
         BeanDefinitionParserUtils.setPropertyReference(endpointConfiguration, element.getAttribute("message-converter"), "messageConverter");
         BeanDefinitionParserUtils.setPropertyReference(endpointConfiguration, element.getAttribute("endpoint-resolver"), "endpointUriResolver");
         BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("polling-interval"), "pollingInterval");
+
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("outbound-queue-capacity"), "outboundQueueCapacity");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("overflow-policy"), "overflowPolicy");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("async-send"), "asyncSend");
     }
 
     @Override
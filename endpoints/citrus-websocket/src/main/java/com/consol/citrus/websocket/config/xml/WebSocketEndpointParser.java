@@ -40,6 +40,10 @@ public class WebSocketEndpointParser extends AbstractEndpointParser {
 
         BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("path"), "endpointUri");
         BeanDefinitionParserUtils.setPropertyReference(endpointConfiguration, element.getAttribute("message-converter"), "messageConverter");
+
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("outbound-queue-capacity"), "outboundQueueCapacity");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("overflow-policy"), "overflowPolicy");
+        BeanDefinitionParserUtils.setPropertyValue(endpointConfiguration, element.getAttribute("async-send"), "asyncSend");
     }
 
     @Override
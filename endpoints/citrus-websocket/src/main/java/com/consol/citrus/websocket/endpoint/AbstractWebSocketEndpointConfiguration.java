@@ -19,6 +19,8 @@ package com.consol.citrus.websocket.endpoint;
 import com.consol.citrus.endpoint.AbstractPollableEndpointConfiguration;
 import com.consol.citrus.endpoint.resolver.DynamicEndpointUriResolver;
 import com.consol.citrus.endpoint.resolver.EndpointUriResolver;
+import com.consol.citrus.websocket.handler.CitrusWebSocketHandler;
+import com.consol.citrus.websocket.handler.CitrusWebSocketHandler.OverflowPolicy;
 import com.consol.citrus.websocket.message.WebSocketMessageConverter;
 
 /**
@@ -36,6 +38,15 @@ public abstract class AbstractWebSocketEndpointConfiguration extends AbstractPol
     /** The message converter */
     private WebSocketMessageConverter messageConverter = new WebSocketMessageConverter();
 
+    /** Max number of pending outbound messages per session */
+    private int outboundQueueCapacity = CitrusWebSocketHandler.DEFAULT_OUTBOUND_QUEUE_CAPACITY;
+
+    /** Overflow policy applied when session outbound queue is full */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+
+    /** Do not wait for message delivery when sending messages */
+    private boolean asyncSend = false;
+
     @Override
     public WebSocketMessageConverter getMessageConverter() {
         return messageConverter;
@@ -65,4 +76,34 @@ public abstract class AbstractWebSocketEndpointConfiguration extends AbstractPol
     public void setEndpointUriResolver(EndpointUriResolver endpointUriResolver) {
         this.endpointUriResolver = endpointUriResolver;
     }
+
+    @Override
+    public int getOutboundQueueCapacity() {
+        return outboundQueueCapacity;
+    }
+
+    @Override
+    public void setOutboundQueueCapacity(int outboundQueueCapacity) {
+        this.outboundQueueCapacity = outboundQueueCapacity;
+    }
+
+    @Override
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    @Override
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    @Override
+    public boolean isAsyncSend() {
+        return asyncSend;
+    }
+
+    @Override
+    public void setAsyncSend(boolean asyncSend) {
+        this.asyncSend = asyncSend;
+    }
 }
@@ -19,6 +19,7 @@ package com.consol.citrus.websocket.endpoint;
 import com.consol.citrus.endpoint.PollableEndpointConfiguration;
 import com.consol.citrus.endpoint.resolver.EndpointUriResolver;
 import com.consol.citrus.websocket.handler.CitrusWebSocketHandler;
+import com.consol.citrus.websocket.handler.CitrusWebSocketHandler.OverflowPolicy;
 import com.consol.citrus.websocket.message.WebSocketMessageConverter;
 
 /**
@@ -76,4 +77,40 @@ public interface WebSocketEndpointConfiguration extends PollableEndpointConfigur
      * @param endpointUriResolver the endpointUriResolver to set
      */
     void setEndpointUriResolver(EndpointUriResolver endpointUriResolver);
+
+    /**
+     * Gets the max number of pending outbound messages per web socket session.
+     * @return
+     */
+    int getOutboundQueueCapacity();
+
+    /**
+     * Sets the max number of pending outbound messages per web socket session.
+     * @param outboundQueueCapacity
+     */
+    void setOutboundQueueCapacity(int outboundQueueCapacity);
+
+    /**
+     * Gets the overflow policy applied when session outbound queue is full.
+     * @return
+     */
+    OverflowPolicy getOverflowPolicy();
+
+    /**
+     * Sets the overflow policy applied when session outbound queue is full.
+     * @param overflowPolicy
+     */
+    void setOverflowPolicy(OverflowPolicy overflowPolicy);
+
+    /**
+     * Gets the async send mode. When enabled producers do not wait for the message delivery.
+     * @return
+     */
+    boolean isAsyncSend();
+
+    /**
+     * Sets the async send mode. When enabled producers do not wait for the message delivery.
+     * @param asyncSend
+     */
+    void setAsyncSend(boolean asyncSend);
 }
@@ -16,7 +16,14 @@
 
 package com.consol.citrus.websocket.endpoint;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.ActionTimeoutException;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.messaging.Producer;
 import org.slf4j.Logger;
@@ -25,7 +32,10 @@ import org.springframework.util.Assert;
 import org.springframework.web.socket.WebSocketMessage;
 
 /**
- * Producer sends web socket messages to all open sessions known to the web socket handler.
+ * Producer sends web socket messages to all open sessions known to the web socket handler. Messages are queued per session
+ * and sent by the handler. Producer waits for the message delivery and raises failures when writing the message to a session
+ * or when the message has been discarded by the session overflow policy. In async send mode the producer does not wait for
+ * the delivery. Failures are then added to the test context so the test fails once it has finished.
  * @author Martin Maher
  * @since 2.3
  */
@@ -58,8 +68,32 @@ public class WebSocketProducer implements Producer {
         context.onOutboundMessage(message);
 
         WebSocketMessage wsMessage = endpointConfiguration.getMessageConverter().convertOutbound(message, endpointConfiguration, context);
-        if (endpointConfiguration.getHandler().sendMessage(wsMessage)) {
-            LOG.info("WebSocket Message was successfully sent");
+        CompletableFuture<Integer> delivery = endpointConfiguration.getHandler().sendMessageAsync(wsMessage);
+
+        if (endpointConfiguration.isAsyncSend()) {
+            delivery.whenComplete((sessions, error) -> {
+                if (error != null) {
+                    context.addException(new CitrusRuntimeException("Failed to send WebSocket message", error));
+                } else if (sessions > 0) {
+                    LOG.info(String.format("WebSocket message was sent to %s session(s)", sessions));
+                }
+            });
+
+            LOG.info("WebSocket message was queued for sending");
+            return;
+        }
+
+        try {
+            int sessions = delivery.get(endpointConfiguration.getTimeout(), TimeUnit.MILLISECONDS);
+            LOG.info(String.format("WebSocket message was sent to %s session(s)", sessions));
+        } catch (ExecutionException e) {
+            throw new CitrusRuntimeException("Failed to send WebSocket message", e.getCause());
+        } catch (TimeoutException e) {
+            throw new ActionTimeoutException(String.format("Failed to send WebSocket message - delivery timed out after %s milliseconds",
+                    endpointConfiguration.getTimeout()), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CitrusRuntimeException("Interrupted while sending WebSocket message", e);
         }
     }
 
@@ -16,20 +16,41 @@
 
 package com.consol.citrus.websocket.handler;
 
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.socket.*;
 import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 /**
  * Web Socket Handler for handling incoming and sending outgoing Web Socket messages
  *
+ * Outgoing messages are published to all open sessions. Each session has its own bounded outbound queue that is
+ * flushed by a separate sender task, so slow subscribers do not stall the publishing of messages to other sessions.
+ * When the outbound queue of a session is full the configured overflow policy applies. Messages discarded by the overflow policy
+ * fail the delivery of the message. Sessions closed by the overflow policy send the messages queued so far before the session
+ * is closed. Handler records send statistics per session.
+ *
  * @author Martin Maher
  * @since 2.3
  */
@@ -37,16 +58,52 @@ public class CitrusWebSocketHandler extends AbstractWebSocketHandler {
     /** Logger */
     private static final Logger LOG = LoggerFactory.getLogger(CitrusWebSocketHandler.class);
 
+    /** Default max number of pending outbound messages per session */
+    public static final int DEFAULT_OUTBOUND_QUEUE_CAPACITY = 1000;
+
+    /** Default number of threads flushing the session outbound queues */
+    private static final int DEFAULT_SENDER_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    /** Default executor shared by all handlers flushing the session outbound queues. Each session schedules at most one
+     * sender task at a time, so the task queue is bounded by the number of open sessions */
+    private static final ExecutorService DEFAULT_EXECUTOR_SERVICE = createDefaultExecutor();
+
     /** Inbound message cache */
-    private final Queue<WebSocketMessage<?>> inboundMessages = new LinkedList<>();
+    private final Queue<WebSocketMessage<?>> inboundMessages = new ConcurrentLinkedQueue<>();
 
     /** Web socket sessions */
-    private final Map<String, WebSocketSession> sessions = new HashMap<>();
+    private final Map<String, SessionSender> sessions = new ConcurrentHashMap<>();
+
+    /** Max number of pending outbound messages per session */
+    private final int outboundQueueCapacity;
+
+    /** Behavior when session outbound queue is full */
+    private final OverflowPolicy overflowPolicy;
+
+    /** Executor running the session sender tasks */
+    private Executor executor = DEFAULT_EXECUTOR_SERVICE;
+
+    /**
+     * Default constructor using default outbound queue capacity and overflow policy.
+     */
+    public CitrusWebSocketHandler() {
+        this(DEFAULT_OUTBOUND_QUEUE_CAPACITY, OverflowPolicy.DROP_NEWEST);
+    }
+
+    /**
+     * Constructor using outbound queue capacity and overflow policy.
+     * @param outboundQueueCapacity
+     * @param overflowPolicy
+     */
+    public CitrusWebSocketHandler(int outboundQueueCapacity, OverflowPolicy overflowPolicy) {
+        this.outboundQueueCapacity = outboundQueueCapacity;
+        this.overflowPolicy = overflowPolicy;
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
         LOG.debug(String.format("WebSocket connection established (%s)", session.getId()));
-        sessions.put(session.getId(), session);
+        sessions.put(session.getId(), new SessionSender(session));
     }
 
     @Override
@@ -75,7 +132,10 @@ public class CitrusWebSocketHandler extends AbstractWebSocketHandler {
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
         LOG.debug(String.format("WebSocket session (%s) closed - status : %s", session.getId(), status));
-        sessions.remove(session.getId());
+        SessionSender sender = sessions.remove(session.getId());
+        if (sender != null) {
+            sender.discard();
+        }
     }
 
     /**
@@ -87,26 +147,380 @@ public class CitrusWebSocketHandler extends AbstractWebSocketHandler {
     }
 
     /**
-     * Publish message to all sessions known to this handler.
+     * Publish message to all sessions known to this handler. Message is added to the outbound queue of each open session
+     * and sent asynchronously, so this method does not wait for the message to be delivered.
      * @param message
-     * @return
+     * @return true if message has been accepted by at least one session.
      */
     public boolean sendMessage(WebSocketMessage<?> message) {
-        boolean sentSuccessfully = false;
+        return publish(message).accepted > 0;
+    }
+
+    /**
+     * Publish message to all sessions known to this handler. Message is added to the outbound queue of each open session
+     * and sent asynchronously.
+     * @param message
+     * @return future completed with the number of sessions the message has been written to once all sessions that accepted
+     * the message have processed it. Completed exceptionally when writing the message to a session failed.
+     */
+    public CompletableFuture<Integer> sendMessageAsync(WebSocketMessage<?> message) {
+        return publish(message).future;
+    }
+
+    /**
+     * Adds message to the outbound queue of all open sessions.
+     * @param message
+     * @return
+     */
+    private Delivery publish(WebSocketMessage<?> message) {
         if (sessions.isEmpty()) {
             LOG.warn("No Web Socket session exists - message cannot be sent");
         }
 
-        for (WebSocketSession session : sessions.values()) {
-            if (session != null && session.isOpen()) {
+        Delivery delivery = new Delivery();
+        for (SessionSender sender : sessions.values()) {
+            delivery.pending.incrementAndGet();
+            if (!sender.isOpen()) {
+                delivery.done(false, null);
+            } else if (sender.offer(new PendingMessage(message, delivery))) {
+                delivery.accepted++;
+            }
+        }
+
+        delivery.done(false, null);
+        return delivery;
+    }
+
+    /**
+     * Gets the number of sessions known to this handler.
+     * @return
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Gets send statistics for given session.
+     * @param sessionId
+     * @return statistics or null if session is not known to this handler.
+     */
+    public SendStatistics getSessionStatistics(String sessionId) {
+        SessionSender sender = sessions.get(sessionId);
+        return sender != null ? sender.statistics : null;
+    }
+
+    /**
+     * Gets send statistics of all sessions mapped by session id.
+     * @return
+     */
+    public Map<String, SendStatistics> getSessionStatistics() {
+        return Collections.unmodifiableMap(sessions.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().statistics)));
+    }
+
+    /**
+     * Gets the outbound queue capacity.
+     * @return
+     */
+    public int getOutboundQueueCapacity() {
+        return outboundQueueCapacity;
+    }
+
+    /**
+     * Gets the overflow policy.
+     * @return
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Sets the executor running the session sender tasks.
+     * @param executor
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Creates fixed size executor with idle threads timing out.
+     * @return
+     */
+    private static ExecutorService createDefaultExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_SENDER_THREADS, DEFAULT_SENDER_THREADS,
+                60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new SenderThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Behavior when the outbound queue of a session is full.
+     */
+    public enum OverflowPolicy {
+        /** Discard the message that should be added to the queue */
+        DROP_NEWEST,
+        /** Discard the oldest pending message in the queue */
+        DROP_OLDEST,
+        /** Close the session and discard all pending messages */
+        CLOSE_SESSION
+    }
+
+    /**
+     * Send statistics for a session. Latency is measured from adding the message to the outbound queue
+     * until the message has been written to the session.
+     */
+    public static final class SendStatistics {
+        private final AtomicLong sentCount = new AtomicLong();
+        private final AtomicLong droppedCount = new AtomicLong();
+        private final AtomicLong failedCount = new AtomicLong();
+        private final AtomicLong totalLatency = new AtomicLong();
+        private final AtomicLong maxLatency = new AtomicLong();
+
+        void recordSent(long latency) {
+            sentCount.incrementAndGet();
+            totalLatency.addAndGet(latency);
+            maxLatency.accumulateAndGet(latency, Math::max);
+        }
+
+        public long getSentCount() {
+            return sentCount.get();
+        }
+
+        public long getDroppedCount() {
+            return droppedCount.get();
+        }
+
+        public long getFailedCount() {
+            return failedCount.get();
+        }
+
+        public long getTotalLatency() {
+            return totalLatency.get();
+        }
+
+        public long getMaxLatency() {
+            return maxLatency.get();
+        }
+
+        public double getAverageLatency() {
+            long count = sentCount.get();
+            return count > 0 ? (double) totalLatency.get() / count : 0.0D;
+        }
+    }
+
+    /**
+     * Bounded outbound queue of a session. Queue is flushed by at most one sender task at a time so messages
+     * are written to the session in order and never concurrently.
+     */
+    private final class SessionSender implements Runnable {
+        private final WebSocketSession session;
+        private final BlockingQueue<PendingMessage> queue;
+        private final AtomicBoolean flushing = new AtomicBoolean();
+        private final SendStatistics statistics = new SendStatistics();
+        private volatile boolean closing;
+
+        SessionSender(WebSocketSession session) {
+            this.session = session;
+            this.queue = new LinkedBlockingQueue<>(outboundQueueCapacity);
+        }
+
+        boolean isOpen() {
+            return session.isOpen();
+        }
+
+        /**
+         * Adds message to the outbound queue and schedules the sender task. Messages discarded by the overflow policy
+         * fail their delivery.
+         * @param pending
+         * @return false if message has been discarded.
+         */
+        boolean offer(PendingMessage pending) {
+            if (closing) {
+                drop(pending, "session is closing");
+                return false;
+            }
+
+            if (!queue.offer(pending)) {
+                switch (overflowPolicy) {
+                    case DROP_OLDEST:
+                        while (!queue.offer(pending)) {
+                            PendingMessage oldest = queue.poll();
+                            if (oldest != null) {
+                                drop(oldest, "outbound queue is full - discarded oldest message");
+                            }
+                        }
+                        LOG.warn(String.format("WebSocket session (%s) outbound queue is full - discarded oldest message", session.getId()));
+                        break;
+                    case CLOSE_SESSION:
+                        LOG.warn(String.format("WebSocket session (%s) outbound queue is full - closing session", session.getId()));
+                        drop(pending, "outbound queue is full - closing session");
+                        close();
+                        return false;
+                    default:
+                        LOG.warn(String.format("WebSocket session (%s) outbound queue is full - discarded message", session.getId()));
+                        drop(pending, "outbound queue is full - discarded message");
+                        return false;
+                }
+            }
+
+            scheduleFlush();
+            return true;
+        }
+
+        /**
+         * Discards message and fails its delivery with given reason.
+         * @param pending
+         * @param reason
+         */
+        private void drop(PendingMessage pending, String reason) {
+            statistics.droppedCount.incrementAndGet();
+            pending.delivery.done(false, new CitrusRuntimeException(String.format("WebSocket session (%s) %s", session.getId(), reason)));
+        }
+
+        /**
+         * Submits this sender task unless it is already running.
+         */
+        private void scheduleFlush() {
+            if (flushing.compareAndSet(false, true)) {
                 try {
-                    session.sendMessage(message);
-                    sentSuccessfully = true;
-                } catch (IOException e) {
-                    LOG.error(String.format("(%s) error sending message", session.getId()), e);
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    flushing.set(false);
+                    LOG.error(String.format("(%s) failed to schedule message sending", session.getId()), e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                PendingMessage pending;
+                while ((pending = queue.poll()) != null) {
+                    if (!session.isOpen()) {
+                        statistics.droppedCount.incrementAndGet();
+                        pending.delivery.done(false, null);
+                        discard();
+                        return;
+                    }
+
+                    try {
+                        session.sendMessage(pending.message);
+                        statistics.recordSent(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pending.queued));
+                        pending.delivery.done(true, null);
+                    } catch (IOException | RuntimeException e) {
+                        statistics.failedCount.incrementAndGet();
+                        LOG.error(String.format("(%s) error sending message", session.getId()), e);
+                        pending.delivery.done(false, e);
+                    }
                 }
+            } finally {
+                flushing.set(false);
             }
+
+            if (!queue.isEmpty() && session.isOpen()) {
+                scheduleFlush();
+            } else if (closing && queue.isEmpty()) {
+                closeSession();
+            }
+        }
+
+        /**
+         * Discards all pending messages.
+         */
+        void discard() {
+            PendingMessage pending;
+            while ((pending = queue.poll()) != null) {
+                statistics.droppedCount.incrementAndGet();
+                pending.delivery.done(false, null);
+            }
+        }
+
+        /**
+         * Stops accepting messages and closes the session once the messages queued so far have been sent.
+         */
+        private void close() {
+            sessions.remove(session.getId(), this);
+            closing = true;
+
+            if (queue.isEmpty() || !session.isOpen()) {
+                discard();
+                closeSession();
+            } else {
+                scheduleFlush();
+            }
+        }
+
+        private void closeSession() {
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                LOG.warn(String.format("Failed to close WebSocket session (%s)", session.getId()), e);
+            }
+        }
+    }
+
+    /**
+     * Outbound message with the time it has been queued.
+     */
+    private static final class PendingMessage {
+        private final WebSocketMessage<?> message;
+        private final Delivery delivery;
+        private final long queued = System.nanoTime();
+
+        PendingMessage(WebSocketMessage<?> message, Delivery delivery) {
+            this.message = message;
+            this.delivery = delivery;
+        }
+    }
+
+    /**
+     * Tracks delivery of a published message to all sessions. Completes the future once all sessions have either written
+     * or discarded the message.
+     */
+    private static final class Delivery {
+        private final CompletableFuture<Integer> future = new CompletableFuture<>();
+        private final AtomicInteger pending = new AtomicInteger(1);
+        private final AtomicInteger written = new AtomicInteger();
+        private final Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        private int accepted;
+
+        /**
+         * Marks one session or the publishing itself as done.
+         * @param sent
+         * @param failure
+         */
+        void done(boolean sent, Throwable failure) {
+            if (sent) {
+                written.incrementAndGet();
+            }
+
+            if (failure != null) {
+                failures.add(failure);
+            }
+
+            if (pending.decrementAndGet() == 0) {
+                Throwable error = failures.poll();
+                if (error != null) {
+                    failures.forEach(error::addSuppressed);
+                    future.completeExceptionally(error);
+                } else {
+                    future.complete(written.get());
+                }
+            }
+        }
+    }
+
+    /**
+     * Thread factory creating named daemon threads.
+     */
+    private static final class SenderThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "citrus-websocket-sender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
         }
-        return sentSuccessfully;
     }
 }
@@ -23,6 +23,7 @@ import com.consol.citrus.spi.ReferenceResolver;
 import com.consol.citrus.endpoint.resolver.EndpointUriResolver;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import com.consol.citrus.websocket.client.WebSocketClient;
+import com.consol.citrus.websocket.handler.CitrusWebSocketHandler;
 import com.consol.citrus.websocket.message.WebSocketMessageConverter;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -52,6 +53,9 @@ public class WebSocketClientConfigParserTest extends AbstractTestNGUnitTest {
     @CitrusEndpoint
     @WebSocketClientConfig(requestUrl = "ws://localhost:8080/test",
             pollingInterval=250,
+            outboundQueueCapacity=50,
+            overflowPolicy=CitrusWebSocketHandler.OverflowPolicy.CLOSE_SESSION,
+            asyncSend=true,
             actor="testActor")
     private WebSocketClient webSocketClient3;
 
@@ -85,6 +89,7 @@ public class WebSocketClientConfigParserTest extends AbstractTestNGUnitTest {
         // 1st message sender
         Assert.assertEquals(webSocketClient1.getEndpointConfiguration().getEndpointUri(), "ws://localhost:8080/test");
         Assert.assertEquals(webSocketClient1.getEndpointConfiguration().getTimeout(), 5000L);
+        Assert.assertFalse(webSocketClient1.getEndpointConfiguration().isAsyncSend());
 
         // 2nd message sender
         Assert.assertEquals(webSocketClient2.getEndpointConfiguration().getEndpointUri(), "ws://localhost:8080/test/uri");
@@ -97,5 +102,8 @@ public class WebSocketClientConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(webSocketClient3.getActor(), testActor);
         Assert.assertEquals(webSocketClient3.getEndpointConfiguration().getEndpointUri(), "ws://localhost:8080/test");
         Assert.assertEquals(webSocketClient3.getEndpointConfiguration().getPollingInterval(), 250L);
+        Assert.assertEquals(webSocketClient3.getEndpointConfiguration().getOutboundQueueCapacity(), 50);
+        Assert.assertEquals(webSocketClient3.getEndpointConfiguration().getOverflowPolicy(), CitrusWebSocketHandler.OverflowPolicy.CLOSE_SESSION);
+        Assert.assertTrue(webSocketClient3.getEndpointConfiguration().isAsyncSend());
     }
 }
@@ -22,6 +22,7 @@ import com.consol.citrus.annotations.CitrusEndpoint;
 import com.consol.citrus.spi.ReferenceResolver;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
 import com.consol.citrus.websocket.endpoint.WebSocketEndpoint;
+import com.consol.citrus.websocket.handler.CitrusWebSocketHandler;
 import com.consol.citrus.websocket.message.WebSocketMessageConverter;
 import com.consol.citrus.websocket.server.WebSocketServer;
 import org.mockito.Mock;
@@ -45,7 +46,8 @@ public class WebSocketServerConfigParserTest extends AbstractTestNGUnitTest {
             actor = "testActor",
             webSockets = { @WebSocketConfig(id="websocket1", path="/test1"),
                     @WebSocketConfig(id="websocket2", path="/test2", messageConverter = "messageConverter"),
-                    @WebSocketConfig(id="websocket3", path="/test3", timeout = 10000L)
+                    @WebSocketConfig(id="websocket3", path="/test3", timeout = 10000L,
+                            outboundQueueCapacity = 50, overflowPolicy = CitrusWebSocketHandler.OverflowPolicy.DROP_OLDEST, asyncSend = true)
             })
     private WebSocketServer webSocketServer1;
 
@@ -83,6 +85,9 @@ public class WebSocketServerConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(webSocketEndpoint.getName(), "websocket1");
         Assert.assertEquals(webSocketEndpoint.getEndpointConfiguration().getEndpointUri(), "/test1");
         Assert.assertEquals(webSocketEndpoint.getEndpointConfiguration().getTimeout(), 5000L);
+        Assert.assertEquals(webSocketEndpoint.getEndpointConfiguration().getOutboundQueueCapacity(), CitrusWebSocketHandler.DEFAULT_OUTBOUND_QUEUE_CAPACITY);
+        Assert.assertEquals(webSocketEndpoint.getEndpointConfiguration().getOverflowPolicy(), CitrusWebSocketHandler.OverflowPolicy.DROP_NEWEST);
+        Assert.assertFalse(webSocketEndpoint.getEndpointConfiguration().isAsyncSend());
 
         webSocketEndpoint = webSocketServer1.getWebSockets().get(1);
         Assert.assertEquals(webSocketEndpoint.getName(), "websocket2");
@@ -95,5 +100,8 @@ public class WebSocketServerConfigParserTest extends AbstractTestNGUnitTest {
         Assert.assertEquals(webSocketEndpoint.getName(), "websocket3");
         Assert.assertEquals(webSocketEndpoint.getEndpointConfiguration().getEndpointUri(), "/test3");
         Assert.assertEquals(webSocketEndpoint.getEndpointConfiguration().getTimeout(), 10000L);
+        Assert.assertEquals(webSocketEndpoint.getEndpointConfiguration().getOutboundQueueCapacity(), 50);
+        Assert.assertEquals(webSocketEndpoint.getEndpointConfiguration().getOverflowPolicy(), CitrusWebSocketHandler.OverflowPolicy.DROP_OLDEST);
+        Assert.assertTrue(webSocketEndpoint.getEndpointConfiguration().isAsyncSend());
     }
 }
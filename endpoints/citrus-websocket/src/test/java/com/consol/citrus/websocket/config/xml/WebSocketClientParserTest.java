@@ -19,6 +19,7 @@ package com.consol.citrus.websocket.config.xml;
 import com.consol.citrus.TestActor;
 import com.consol.citrus.testng.AbstractBeanDefinitionParserTest;
 import com.consol.citrus.websocket.client.WebSocketClientEndpointConfiguration;
+import com.consol.citrus.websocket.handler.CitrusWebSocketHandler;
 import com.consol.citrus.websocket.endpoint.WebSocketEndpoint;
 import org.springframework.beans.factory.parsing.BeanDefinitionParsingException;
 import org.testng.Assert;
@@ -41,6 +42,7 @@ public class WebSocketClientParserTest extends AbstractBeanDefinitionParserTest
         WebSocketEndpoint webSocketClient = clients.get("webSocketClient1");
         Assert.assertEquals(webSocketClient.getEndpointConfiguration().getEndpointUri(), "ws://localhost:8080/test");
         Assert.assertEquals(webSocketClient.getEndpointConfiguration().getTimeout(), 5000L);
+        Assert.assertFalse(webSocketClient.getEndpointConfiguration().isAsyncSend());
 
         // 2nd message sender
         webSocketClient = clients.get("webSocketClient2");
@@ -56,6 +58,9 @@ public class WebSocketClientParserTest extends AbstractBeanDefinitionParserTest
         Assert.assertEquals(webSocketClient.getActor(), beanDefinitionContext.getBean("testActor", TestActor.class));
         Assert.assertEquals(webSocketClient.getEndpointConfiguration().getEndpointUri(), "ws://localhost:8080/test");
         Assert.assertEquals(webSocketClient.getEndpointConfiguration().getPollingInterval(), 250L);
+        Assert.assertEquals(webSocketClient.getEndpointConfiguration().getOutboundQueueCapacity(), 50);
+        Assert.assertEquals(webSocketClient.getEndpointConfiguration().getOverflowPolicy(), CitrusWebSocketHandler.OverflowPolicy.CLOSE_SESSION);
+        Assert.assertTrue(webSocketClient.getEndpointConfiguration().isAsyncSend());
     }
 
     @Test
@@ -19,6 +19,7 @@ package com.consol.citrus.websocket.config.xml;
 import com.consol.citrus.TestActor;
 import com.consol.citrus.testng.AbstractBeanDefinitionParserTest;
 import com.consol.citrus.websocket.endpoint.WebSocketEndpoint;
+import com.consol.citrus.websocket.handler.CitrusWebSocketHandler;
 import com.consol.citrus.websocket.server.WebSocketServer;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -47,6 +48,9 @@ public class WebSocketEndpointParserTest extends AbstractBeanDefinitionParserTes
         Assert.assertEquals(webSocketEndpoint.getName(), "websocket1");
         Assert.assertEquals(webSocketEndpoint.getEndpointConfiguration().getEndpointUri(), "/test1");
         Assert.assertEquals(webSocketEndpoint.getEndpointConfiguration().getTimeout(), 5000L);
+        Assert.assertEquals(webSocketEndpoint.getEndpointConfiguration().getOutboundQueueCapacity(), CitrusWebSocketHandler.DEFAULT_OUTBOUND_QUEUE_CAPACITY);
+        Assert.assertEquals(webSocketEndpoint.getEndpointConfiguration().getOverflowPolicy(), CitrusWebSocketHandler.OverflowPolicy.DROP_NEWEST);
+        Assert.assertFalse(webSocketEndpoint.getEndpointConfiguration().isAsyncSend());
 
         webSocketEndpoint = server.getWebSockets().get(1);
         Assert.assertEquals(webSocketEndpoint.getName(), "websocket2");
@@ -59,6 +63,9 @@ public class WebSocketEndpointParserTest extends AbstractBeanDefinitionParserTes
         Assert.assertEquals(webSocketEndpoint.getName(), "websocket3");
         Assert.assertEquals(webSocketEndpoint.getEndpointConfiguration().getEndpointUri(), "/test3");
         Assert.assertEquals(webSocketEndpoint.getEndpointConfiguration().getTimeout(), 10000L);
+        Assert.assertEquals(webSocketEndpoint.getEndpointConfiguration().getOutboundQueueCapacity(), 50);
+        Assert.assertEquals(webSocketEndpoint.getEndpointConfiguration().getOverflowPolicy(), CitrusWebSocketHandler.OverflowPolicy.DROP_OLDEST);
+        Assert.assertTrue(webSocketEndpoint.getEndpointConfiguration().isAsyncSend());
 
     }
 
@@ -16,7 +16,12 @@
 
 package com.consol.citrus.websocket.endpoint;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 import com.consol.citrus.exceptions.ActionTimeoutException;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.message.DefaultMessage;
 import com.consol.citrus.message.Message;
 import com.consol.citrus.testng.AbstractTestNGUnitTest;
@@ -166,4 +171,53 @@ public class WebSocketEndpointTest extends AbstractTestNGUnitTest {
         }
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testWebSocketEndpointSendFailure() throws Exception {
+        WebSocketServerEndpointConfiguration endpointConfiguration = new WebSocketServerEndpointConfiguration();
+        WebSocketEndpoint webSocketEndpoint = new WebSocketEndpoint(endpointConfiguration);
+
+        CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+        endpointConfiguration.setHandler(handler);
+        endpointConfiguration.setEndpointUri("/test");
+
+        reset(session);
+        when(session.getId()).thenReturn("test-socket-1");
+        when(session.isOpen()).thenReturn(true);
+        doThrow(new IOException("Connection reset")).when(session).sendMessage(any(org.springframework.web.socket.WebSocketMessage.class));
+        handler.afterConnectionEstablished(session);
+
+        try {
+            webSocketEndpoint.createProducer().send(new DefaultMessage("Hello"), context);
+            Assert.fail("Missing send failure on web socket endpoint");
+        } catch (CitrusRuntimeException e) {
+            Assert.assertEquals(e.getCause().getMessage(), "Connection reset");
+        }
+    }
+
+    @Test
+    public void testWebSocketEndpointAsyncSendFailure() throws Exception {
+        WebSocketServerEndpointConfiguration endpointConfiguration = new WebSocketServerEndpointConfiguration();
+        WebSocketEndpoint webSocketEndpoint = new WebSocketEndpoint(endpointConfiguration);
+
+        List<Runnable> tasks = new ArrayList<>();
+        CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+        handler.setExecutor(tasks::add);
+        endpointConfiguration.setHandler(handler);
+        endpointConfiguration.setEndpointUri("/test");
+        endpointConfiguration.setAsyncSend(true);
+
+        reset(session);
+        when(session.getId()).thenReturn("test-socket-1");
+        when(session.isOpen()).thenReturn(true);
+        doThrow(new IOException("Connection reset")).when(session).sendMessage(any(org.springframework.web.socket.WebSocketMessage.class));
+        handler.afterConnectionEstablished(session);
+
+        webSocketEndpoint.createProducer().send(new DefaultMessage("Hello"), context);
+        Assert.assertFalse(context.hasExceptions());
+
+        tasks.forEach(Runnable::run);
+        Assert.assertTrue(context.hasExceptions());
+        Assert.assertEquals(context.getExceptions().get(0).getCause().getMessage(), "Connection reset");
+    }
+}
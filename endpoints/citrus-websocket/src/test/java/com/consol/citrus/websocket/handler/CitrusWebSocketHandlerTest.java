@@ -0,0 +1,215 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.websocket.handler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class CitrusWebSocketHandlerTest {
+
+    @Test
+    public void testSlowSessionDoesNotBlockBroadcast() throws Exception {
+        CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+
+        WebSocketSession slowSession = session("slow");
+        WebSocketSession session = session("fast");
+
+        CountDownLatch latch = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            latch.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(slowSession).sendMessage(any(WebSocketMessage.class));
+
+        handler.afterConnectionEstablished(slowSession);
+        handler.afterConnectionEstablished(session);
+
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(handler.sendMessage(new TextMessage("Hello " + i)));
+        }
+
+        verify(session, timeout(5000L).times(10)).sendMessage(any(WebSocketMessage.class));
+        verify(slowSession, times(1)).sendMessage(any(WebSocketMessage.class));
+
+        latch.countDown();
+
+        verify(slowSession, timeout(5000L).times(10)).sendMessage(any(WebSocketMessage.class));
+        Assert.assertEquals(handler.getSessionCount(), 2);
+        Assert.assertEquals(handler.getSessionStatistics().size(), 2);
+        Assert.assertEquals(handler.getSessionStatistics("fast").getSentCount(), 10L);
+        Assert.assertEquals(handler.getSessionStatistics("fast").getDroppedCount(), 0L);
+        Assert.assertTrue(handler.getSessionStatistics("slow").getMaxLatency() > 0L);
+    }
+
+    @Test
+    public void testOverflowDropNewest() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        CitrusWebSocketHandler handler = new CitrusWebSocketHandler(2, CitrusWebSocketHandler.OverflowPolicy.DROP_NEWEST);
+        handler.setExecutor(tasks::add);
+
+        WebSocketSession session = session("test");
+        handler.afterConnectionEstablished(session);
+
+        Assert.assertTrue(handler.sendMessage(new TextMessage("1")));
+        Assert.assertTrue(handler.sendMessage(new TextMessage("2")));
+        Assert.assertFalse(handler.sendMessage(new TextMessage("3")));
+        Assert.assertFalse(handler.sendMessage(new TextMessage("4")));
+
+        Assert.assertEquals(tasks.size(), 1L);
+        tasks.get(0).run();
+
+        verify(session).sendMessage(new TextMessage("1"));
+        verify(session).sendMessage(new TextMessage("2"));
+        verify(session, times(2)).sendMessage(any(WebSocketMessage.class));
+        Assert.assertEquals(handler.getSessionStatistics("test").getSentCount(), 2L);
+        Assert.assertEquals(handler.getSessionStatistics("test").getDroppedCount(), 2L);
+    }
+
+    @Test
+    public void testOverflowFailsDelivery() throws Exception {
+        for (CitrusWebSocketHandler.OverflowPolicy policy : CitrusWebSocketHandler.OverflowPolicy.values()) {
+            List<Runnable> tasks = new ArrayList<>();
+            CitrusWebSocketHandler handler = new CitrusWebSocketHandler(1, policy);
+            handler.setExecutor(tasks::add);
+
+            WebSocketSession session = session("test");
+            handler.afterConnectionEstablished(session);
+
+            CompletableFuture<Integer> first = handler.sendMessageAsync(new TextMessage("1"));
+            CompletableFuture<Integer> second = handler.sendMessageAsync(new TextMessage("2"));
+
+            CompletableFuture<Integer> discarded = policy == CitrusWebSocketHandler.OverflowPolicy.DROP_OLDEST ? first : second;
+            Assert.assertTrue(discarded.isCompletedExceptionally(), policy.name());
+            try {
+                discarded.join();
+                Assert.fail("Missing delivery failure for overflow policy " + policy);
+            } catch (CompletionException e) {
+                Assert.assertTrue(e.getCause().getMessage().contains("outbound queue is full"), policy.name());
+            }
+
+            tasks.forEach(Runnable::run);
+            CompletableFuture<Integer> delivered = policy == CitrusWebSocketHandler.OverflowPolicy.DROP_OLDEST ? second : first;
+            Assert.assertEquals(delivered.get(), Integer.valueOf(1), policy.name());
+        }
+    }
+
+    @Test
+    public void testOverflowDropOldest() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        CitrusWebSocketHandler handler = new CitrusWebSocketHandler(2, CitrusWebSocketHandler.OverflowPolicy.DROP_OLDEST);
+        handler.setExecutor(tasks::add);
+
+        WebSocketSession session = session("test");
+        handler.afterConnectionEstablished(session);
+
+        for (int i = 1; i <= 4; i++) {
+            Assert.assertTrue(handler.sendMessage(new TextMessage(String.valueOf(i))));
+        }
+
+        Assert.assertEquals(tasks.size(), 1L);
+        tasks.get(0).run();
+
+        verify(session).sendMessage(new TextMessage("3"));
+        verify(session).sendMessage(new TextMessage("4"));
+        verify(session, times(2)).sendMessage(any(WebSocketMessage.class));
+        Assert.assertEquals(handler.getSessionStatistics("test").getDroppedCount(), 2L);
+    }
+
+    @Test
+    public void testOverflowCloseSession() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        CitrusWebSocketHandler handler = new CitrusWebSocketHandler(1, CitrusWebSocketHandler.OverflowPolicy.CLOSE_SESSION);
+        handler.setExecutor(tasks::add);
+
+        WebSocketSession session = session("test");
+        handler.afterConnectionEstablished(session);
+
+        Assert.assertTrue(handler.sendMessage(new TextMessage("1")));
+        Assert.assertFalse(handler.sendMessage(new TextMessage("2")));
+
+        Assert.assertEquals(handler.getSessionCount(), 0L);
+        verify(session, never()).close(any(CloseStatus.class));
+
+        tasks.get(0).run();
+        verify(session).sendMessage(new TextMessage("1"));
+        verify(session, times(1)).sendMessage(any(WebSocketMessage.class));
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Test
+    public void testSendMessageAsync() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+        handler.setExecutor(tasks::add);
+
+        WebSocketSession session = session("test");
+        WebSocketSession failingSession = session("failing");
+        doThrow(new IOException("Connection reset")).when(failingSession).sendMessage(any(WebSocketMessage.class));
+
+        handler.afterConnectionEstablished(session);
+
+        CompletableFuture<Integer> delivery = handler.sendMessageAsync(new TextMessage("1"));
+        Assert.assertFalse(delivery.isDone());
+        tasks.forEach(Runnable::run);
+        Assert.assertEquals(delivery.get(), Integer.valueOf(1));
+
+        tasks.clear();
+        handler.afterConnectionEstablished(failingSession);
+        delivery = handler.sendMessageAsync(new TextMessage("2"));
+        tasks.forEach(Runnable::run);
+
+        Assert.assertTrue(delivery.isCompletedExceptionally());
+        verify(session).sendMessage(new TextMessage("2"));
+    }
+
+    @Test
+    public void testSendMessageAsyncWithoutSession() {
+        CitrusWebSocketHandler handler = new CitrusWebSocketHandler();
+        Assert.assertEquals(handler.sendMessageAsync(new TextMessage("1")).join(), Integer.valueOf(0));
+    }
+
+    private WebSocketSession session(String id) {
+        WebSocketSession session = Mockito.mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+}
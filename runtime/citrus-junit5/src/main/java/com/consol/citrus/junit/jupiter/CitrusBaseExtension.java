@@ -31,6 +31,7 @@ import com.consol.citrus.annotations.CitrusAnnotations;
 import com.consol.citrus.annotations.CitrusResource;
 import com.consol.citrus.annotations.CitrusXmlTest;
 import com.consol.citrus.common.TestLoader;
+import com.consol.citrus.common.XmlTestDefinitionCache;
 import com.consol.citrus.common.XmlTestLoader;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
@@ -196,11 +197,13 @@ public class CitrusBaseExtension implements BeforeAllCallback,
 
     /**
      * Creates stream of dynamic tests based on package scan. Scans package for all Xml test case files and creates dynamic test instance for it.
+     * Test files are preloaded in parallel.
      * @param packagesToScan
      * @return
      */
     public static Stream<DynamicTest> packageScan(String ... packagesToScan) {
         List<DynamicTest> tests = new ArrayList<>();
+        List<String> contextFiles = new ArrayList<>();
 
         for (String packageScan : packagesToScan) {
             try {
@@ -218,6 +221,7 @@ public class CitrusBaseExtension implements BeforeAllCallback,
                         String testName = fileResource.getFilename().substring(0, fileResource.getFilename().length() - ".xml".length());
 
                         XmlTestLoader testLoader = new XmlTestLoader(DynamicTest.class, testName, filePath, citrus.getCitrusContext());
+                        contextFiles.add(testLoader.getContextFile());
                         tests.add(DynamicTest.dynamicTest(testName, () -> citrus.run(testLoader.load())));
                     }
                 }
@@ -226,6 +230,10 @@ public class CitrusBaseExtension implements BeforeAllCallback,
             }
         }
 
+        if (CitrusSettings.isXmlTestCacheEnabled()) {
+            XmlTestDefinitionCache.getDefault().preload(contextFiles);
+        }
+
         return tests.stream();
     }
 
@@ -19,14 +19,18 @@ package com.consol.citrus.testng;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import com.consol.citrus.CitrusSettings;
 import com.consol.citrus.annotations.CitrusXmlTest;
+import com.consol.citrus.common.XmlTestDefinitionCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.StringUtils;
 import org.testng.IMethodInstance;
 import org.testng.IMethodInterceptor;
 import org.testng.ITestContext;
@@ -35,7 +39,7 @@ import org.testng.internal.MethodInstance;
 /**
  * TestNG method interceptor duplicates method instances for each package scan test and test name in
  * Citrus annotated test method. So TestNG test is executed multiple times respectively for each Citrus test
- * constructed by method annotation.
+ * constructed by method annotation. All discovered XML test files are preloaded in parallel at suite start.
  *
  * @author Christoph Deppisch
  * @since 1.3.1
@@ -48,12 +52,23 @@ public class PrepareTestNGMethodInterceptor implements IMethodInterceptor {
     @Override
     public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
         List<IMethodInstance> interceptedMethods = new ArrayList<IMethodInstance>();
+        Set<String> contextFiles = new LinkedHashSet<>();
 
         for (IMethodInstance method : methods) {
             boolean baseMethodAdded = false;
             if (method.getInstance() instanceof AbstractTestNGCitrusTest) {
                 CitrusXmlTest citrusXmlTestAnnotation = method.getMethod().getConstructorOrMethod().getMethod().getAnnotation(CitrusXmlTest.class);
                 if (citrusXmlTestAnnotation != null) {
+                    String testPackage = StringUtils.hasText(citrusXmlTestAnnotation.packageName()) ? citrusXmlTestAnnotation.packageName() :
+                            method.getMethod().getConstructorOrMethod().getDeclaringClass().getPackage().getName();
+                    if (citrusXmlTestAnnotation.name().length > 0) {
+                        for (String testName : citrusXmlTestAnnotation.name()) {
+                            contextFiles.add(getContextFile(testName, testPackage));
+                        }
+                    } else if (citrusXmlTestAnnotation.packageScan().length == 0) {
+                        contextFiles.add(getContextFile(method.getMethod().getConstructorOrMethod().getName(), testPackage));
+                    }
+
                     if (citrusXmlTestAnnotation.name().length > 1) {
                         for (int i = 0; i < citrusXmlTestAnnotation.name().length; i++) {
                             if (i == 0 && !baseMethodAdded) {
@@ -71,6 +86,8 @@ public class PrepareTestNGMethodInterceptor implements IMethodInterceptor {
                             for (String fileNamePattern : CitrusSettings.getXmlTestFileNamePattern()) {
                                 Resource[] fileResources = new PathMatchingResourcePatternResolver().getResources(packageName.replace('.', File.separatorChar) + fileNamePattern);
                                 for (int i = 0; i < fileResources.length; i++) {
+                                    addContextFile(contextFiles, packageName, fileResources[i]);
+
                                     if (i == 0 && !baseMethodAdded) {
                                         baseMethodAdded = true;
                                         interceptedMethods.add(method);
@@ -91,6 +108,43 @@ public class PrepareTestNGMethodInterceptor implements IMethodInterceptor {
             }
         }
 
+        if (CitrusSettings.isXmlTestCacheEnabled()) {
+            XmlTestDefinitionCache.getDefault().preload(contextFiles);
+        }
+
         return interceptedMethods;
     }
+
+    /**
+     * Gets context file of XML test given by name and package.
+     * @param testName
+     * @param packageName
+     * @return
+     */
+    private String getContextFile(String testName, String packageName) {
+        return packageName.replace('.', File.separatorChar) + File.separator + testName + ".xml";
+    }
+
+    /**
+     * Adds context file of XML test resource found in package scan. Context file path is constructed the same way
+     * as the test loaders do so the preloaded definitions are used for test execution. Resources that can not be
+     * resolved to a file are not preloaded.
+     * @param contextFiles
+     * @param packageScan
+     * @param fileResource
+     */
+    private void addContextFile(Set<String> contextFiles, String packageScan, Resource fileResource) {
+        try {
+            String filePath = fileResource.getFile().getParentFile().getCanonicalPath();
+
+            if (packageScan.startsWith("file:")) {
+                filePath = "file:" + filePath;
+            }
+
+            filePath = filePath.substring(filePath.indexOf(packageScan.replace('.', File.separatorChar)));
+            contextFiles.add(getContextFile(fileResource.getFilename().substring(0, fileResource.getFilename().length() - ".xml".length()), filePath));
+        } catch (IOException | RuntimeException e) {
+            log.debug("Unable to preload XML test resource " + fileResource.getDescription(), e);
+        }
+    }
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.benchmarks;
+
+import com.consol.citrus.CitrusSettings;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.NoSuchVariableException;
+import com.consol.citrus.functions.FunctionLibrary;
+import com.consol.citrus.functions.FunctionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Copy of the variable and function substitution used before content templates were introduced. Variables and functions
+ * are replaced with separate string buffer passes on each call. Serves as reference for {@link DynamicContentBenchmark}.
+ * Nested function parameters are resolved with the current {@link FunctionUtils#resolveFunction(String, TestContext)}.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+final class BaselineDynamicContent {
+
+    /**
+     * Prevent instantiation.
+     */
+    private BaselineDynamicContent() {
+        super();
+    }
+
+    /**
+     * Replaces variables and then functions in given string.
+     * @param str
+     * @param context
+     * @return
+     */
+    static String replaceDynamicContentInString(String str, TestContext context) {
+        return replaceFunctionsInString(replaceVariablesInString(str, context, false), context, false);
+    }
+
+    /**
+     * Baseline variable substitution.
+     * @param str
+     * @param context
+     * @param enableQuoting
+     * @return
+     */
+    static String replaceVariablesInString(final String str, TestContext context, boolean enableQuoting) {
+        StringBuffer newStr = new StringBuffer();
+
+        boolean isVarComplete;
+        StringBuffer variableNameBuf = new StringBuffer();
+
+        int startIndex = 0;
+        int curIndex;
+        int searchIndex;
+
+        while ((searchIndex = str.indexOf(CitrusSettings.VARIABLE_PREFIX, startIndex)) != -1) {
+            int control = 0;
+            isVarComplete = false;
+
+            curIndex = searchIndex + CitrusSettings.VARIABLE_PREFIX.length();
+
+            while (curIndex < str.length() && !isVarComplete) {
+                if (str.indexOf(CitrusSettings.VARIABLE_PREFIX, curIndex) == curIndex) {
+                    control++;
+                }
+
+                if ((!Character.isJavaIdentifierPart(str.charAt(curIndex)) && (str.charAt(curIndex) == CitrusSettings.VARIABLE_SUFFIX.charAt(0))) || (curIndex + 1 == str.length())) {
+                    if (control == 0) {
+                        isVarComplete = true;
+                    } else {
+                        control--;
+                    }
+                }
+
+                if (!isVarComplete) {
+                    variableNameBuf.append(str.charAt(curIndex));
+                }
+                ++curIndex;
+            }
+
+            final String value = context.getVariable(variableNameBuf.toString());
+            if (value == null) {
+                throw new NoSuchVariableException("Variable: " + variableNameBuf.toString() + " could not be found");
+            }
+
+            newStr.append(str.substring(startIndex, searchIndex));
+
+            if (enableQuoting) {
+                newStr.append("'" + value + "'");
+            } else {
+                newStr.append(value);
+            }
+
+            startIndex = curIndex;
+
+            variableNameBuf = new StringBuffer();
+        }
+
+        newStr.append(str.substring(startIndex));
+
+        return newStr.toString();
+    }
+
+    /**
+     * Baseline function substitution.
+     * @param stringValue
+     * @param context
+     * @param enableQuoting
+     * @return
+     */
+    static String replaceFunctionsInString(final String stringValue, TestContext context, boolean enableQuoting) {
+        if (!StringUtils.hasText(stringValue) ||
+                (stringValue.indexOf(':') < 0) || (stringValue.indexOf('(') < 0) || (stringValue.indexOf(')') < 0) ) {
+            return stringValue;
+        }
+
+        String newString = stringValue;
+        StringBuffer strBuffer = new StringBuffer();
+
+        boolean isVarComplete;
+        StringBuffer variableNameBuf = new StringBuffer();
+
+        int startIndex;
+        int curIndex;
+        int searchIndex;
+
+        for (FunctionLibrary library: context.getFunctionRegistry().getFunctionLibraries()) {
+            startIndex = 0;
+
+            while ((searchIndex = newString.indexOf(library.getPrefix(), startIndex)) != -1) {
+                int control = -1;
+                isVarComplete = false;
+
+                curIndex = searchIndex;
+
+                while (curIndex < newString.length() && !isVarComplete) {
+                    if (newString.indexOf('(', curIndex) == curIndex) {
+                        control++;
+                    }
+
+                    if (newString.charAt(curIndex) == ')' || curIndex == newString.length() - 1) {
+                        if (control == 0) {
+                            isVarComplete = true;
+                        } else {
+                            control--;
+                        }
+                    }
+
+                    variableNameBuf.append(newString.charAt(curIndex));
+                    curIndex++;
+                }
+
+                final String value = FunctionUtils.resolveFunction(variableNameBuf.toString(), context);
+
+                strBuffer.append(newString.substring(startIndex, searchIndex));
+
+                if (enableQuoting) {
+                    strBuffer.append("'" + value + "'");
+                } else {
+                    strBuffer.append(value);
+                }
+
+                startIndex = curIndex;
+
+                variableNameBuf = new StringBuffer();
+            }
+
+            strBuffer.append(newString.substring(startIndex));
+            newString = strBuffer.toString();
+
+            strBuffer = new StringBuffer();
+        }
+
+        return newString;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Records and compares JMH benchmark results in JSON format in order to detect performance regressions between
+ * Citrus versions. Works on local result files only so comparison runs offline.
+ *
+ * Usage:
+ * <pre>
+ * java -jar target/citrus-benchmarks.jar -rf json -rff target/jmh-result.json
+ * java -cp target/citrus-benchmarks.jar com.consol.citrus.benchmarks.BenchmarkBaseline record target/jmh-result.json baseline.json
+ * java -cp target/citrus-benchmarks.jar com.consol.citrus.benchmarks.BenchmarkBaseline compare baseline.json target/jmh-result.json [threshold-percent]
+ * </pre>
+ *
+ * Comparison exits with non zero status when a benchmark result is worse than the baseline by more than the threshold
+ * (default 10 percent).
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public final class BenchmarkBaseline {
+
+    /** Default allowed deviation from baseline in percent */
+    private static final double DEFAULT_THRESHOLD = 10.0D;
+
+    /**
+     * Prevent instantiation.
+     */
+    private BenchmarkBaseline() {
+        super();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: BenchmarkBaseline record <result.json> <baseline.json> | compare <baseline.json> <result.json> [threshold-percent]");
+            System.exit(2);
+        }
+
+        if ("record".equals(args[0])) {
+            readScores(new File(args[1]));
+            Files.copy(new File(args[1]).toPath(), new File(args[2]).toPath(), StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Recorded benchmark baseline " + args[2]);
+        } else if ("compare".equals(args[0])) {
+            double threshold = args.length > 3 ? Double.parseDouble(args[3]) : DEFAULT_THRESHOLD;
+            int regressions = compare(readScores(new File(args[1])), readScores(new File(args[2])), threshold);
+            System.exit(regressions > 0 ? 1 : 0);
+        } else {
+            System.err.println("Unknown command: " + args[0]);
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Compares benchmark results with baseline and prints the deviation for each benchmark.
+     * @param baseline
+     * @param results
+     * @param threshold allowed deviation in percent.
+     * @return number of benchmarks that are worse than the baseline by more than the threshold.
+     */
+    public static int compare(Map<String, Score> baseline, Map<String, Score> results, double threshold) {
+        int regressions = 0;
+
+        for (Map.Entry<String, Score> result : results.entrySet()) {
+            Score baselineScore = baseline.get(result.getKey());
+            if (baselineScore == null) {
+                System.out.println(String.format("NEW        %s: %.3f %s", result.getKey(), result.getValue().value, result.getValue().unit));
+                continue;
+            }
+
+            double deviation = result.getValue().deviationFrom(baselineScore);
+            boolean regression = deviation > threshold;
+            if (regression) {
+                regressions++;
+            }
+
+            System.out.println(String.format("%-10s %s: %.3f %s (baseline %.3f, %+.1f%%)", regression ? "REGRESSION" : "OK",
+                    result.getKey(), result.getValue().value, result.getValue().unit, baselineScore.value, deviation));
+        }
+
+        return regressions;
+    }
+
+    /**
+     * Reads JMH results in JSON format. Scores are mapped by benchmark name and parameters.
+     * @param file
+     * @return
+     * @throws IOException
+     */
+    public static Map<String, Score> readScores(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+
+        for (JsonNode benchmark : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(benchmark.get("benchmark").asText());
+
+            if (benchmark.has("params")) {
+                Map<String, String> params = new TreeMap<>();
+                Iterator<Map.Entry<String, JsonNode>> fields = benchmark.get("params").fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> param = fields.next();
+                    params.put(param.getKey(), param.getValue().asText());
+                }
+                key.append(params);
+            }
+
+            JsonNode metric = benchmark.get("primaryMetric");
+            scores.put(key.toString(), new Score(metric.get("score").asDouble(), metric.get("scoreUnit").asText(),
+                    "thrpt".equals(benchmark.get("mode").asText())));
+        }
+
+        return scores;
+    }
+
+    /**
+     * Benchmark score with unit.
+     */
+    public static final class Score {
+        private final double value;
+        private final String unit;
+        private final boolean higherIsBetter;
+
+        Score(double value, String unit, boolean higherIsBetter) {
+            this.value = value;
+            this.unit = unit;
+            this.higherIsBetter = higherIsBetter;
+        }
+
+        /**
+         * Gets the deviation in percent from given baseline score. Positive values indicate a worse score.
+         * @param baseline
+         * @return
+         */
+        double deviationFrom(Score baseline) {
+            if (baseline.value == 0.0D) {
+                return 0.0D;
+            }
+
+            double deviation = (value - baseline.value) / baseline.value * 100;
+            return higherIsBetter ? -deviation : deviation;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.benchmarks;
+
+/**
+ * Generates XML and JSON payloads of configurable size used in benchmarks.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public final class BenchmarkPayloads {
+
+    /**
+     * Prevent instantiation.
+     */
+    private BenchmarkPayloads() {
+        super();
+    }
+
+    /**
+     * Creates XML order payload with given number of order items.
+     * @param items
+     * @return
+     */
+    public static String xml(int items) {
+        StringBuilder payload = new StringBuilder("<order><id>1001</id><customer>Citrus</customer><items>");
+        for (int i = 0; i < items; i++) {
+            payload.append("<item><sku>sku-").append(i).append("</sku><quantity>").append(i % 10)
+                    .append("</quantity><description>Item number ").append(i).append("</description></item>");
+        }
+        return payload.append("</items></order>").toString();
+    }
+
+    /**
+     * Creates JSON order payload with given number of order items.
+     * @param items
+     * @return
+     */
+    public static String json(int items) {
+        StringBuilder payload = new StringBuilder("{\"id\": 1001, \"customer\": \"Citrus\", \"items\": [");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                payload.append(", ");
+            }
+            payload.append("{\"sku\": \"sku-").append(i).append("\", \"quantity\": ").append(i % 10)
+                    .append(", \"description\": \"Item number ").append(i).append("\"}");
+        }
+        return payload.append("]}").toString();
+    }
+
+    /**
+     * Creates XML order payload template with given number of order items. The template uses test variables
+     * and functions in each item.
+     * @param items
+     * @return
+     */
+    public static String xmlTemplate(int items) {
+        StringBuilder payload = new StringBuilder("<order><id>${orderId}</id><customer>citrus:upperCase('${customer}')</customer><items>");
+        for (int i = 0; i < items; i++) {
+            payload.append("<item><sku>${skuPrefix}-").append(i).append("</sku><quantity>").append(i % 10)
+                    .append("</quantity><description>citrus:concat('Item number ', '").append(i).append("')</description></item>");
+        }
+        return payload.append("</items></order>").toString();
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.benchmarks;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.context.TestContextFactory;
+import com.consol.citrus.functions.DefaultFunctionLibrary;
+import com.consol.citrus.validation.matcher.DefaultValidationMatcherLibrary;
+
+/**
+ * Support methods shared by benchmarks.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public final class BenchmarkSupport {
+
+    /**
+     * Prevent instantiation.
+     */
+    private BenchmarkSupport() {
+        super();
+    }
+
+    /**
+     * Creates new test context with default function and validation matcher libraries.
+     * @return
+     */
+    public static TestContext createTestContext() {
+        TestContextFactory factory = TestContextFactory.newInstance();
+        factory.getFunctionRegistry().addFunctionLibrary(new DefaultFunctionLibrary());
+        factory.getValidationMatcherRegistry().addValidationMatcherLibrary(new DefaultValidationMatcherLibrary());
+        return factory.getObject();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.consol.citrus.context.TestContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the baseline variable and function substitution with separate variable and function passes on each call
+ * (see {@link BaselineDynamicContent}) to substitution with compiled and cached content templates as used in test context.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DynamicContentBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int items;
+
+    private TestContext context;
+
+    private String template;
+    private String staticTemplate;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkSupport.createTestContext();
+        context.setVariable("orderId", "1001");
+        context.setVariable("customer", "citrus");
+        context.setVariable("skuPrefix", "sku");
+
+        template = BenchmarkPayloads.xmlTemplate(items);
+        staticTemplate = BenchmarkPayloads.xmlTemplate(items).replace("${orderId}", "1001")
+                .replace("${customer}", "citrus")
+                .replace("${skuPrefix}", "sku");
+    }
+
+    @Benchmark
+    public String variablesAndFunctionsTwoPass() {
+        return BaselineDynamicContent.replaceDynamicContentInString(template, context);
+    }
+
+    @Benchmark
+    public String variablesAndFunctionsTemplate() {
+        return context.replaceDynamicContentInString(template);
+    }
+
+    @Benchmark
+    public String functionsTwoPass() {
+        return BaselineDynamicContent.replaceDynamicContentInString(staticTemplate, context);
+    }
+
+    @Benchmark
+    public String functionsTemplate() {
+        return context.replaceDynamicContentInString(staticTemplate);
+    }
+}
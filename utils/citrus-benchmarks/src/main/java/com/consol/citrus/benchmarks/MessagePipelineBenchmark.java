@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.consol.citrus.actions.ReceiveMessageAction;
+import com.consol.citrus.actions.SendMessageAction;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.endpoint.direct.DirectEndpoint;
+import com.consol.citrus.endpoint.direct.DirectEndpointBuilder;
+import com.consol.citrus.message.DefaultMessageQueue;
+import com.consol.citrus.message.MessageType;
+import com.consol.citrus.validation.json.JsonTextMessageValidator;
+import com.consol.citrus.validation.xml.DomXmlMessageValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures send and receive message actions on a direct endpoint including message payload validation.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessagePipelineBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int items;
+
+    private TestContext context;
+
+    private SendMessageAction sendXml;
+    private ReceiveMessageAction receiveXml;
+
+    private SendMessageAction sendJson;
+    private ReceiveMessageAction receiveJson;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkSupport.createTestContext();
+
+        DirectEndpoint xmlEndpoint = new DirectEndpointBuilder()
+                .queue(new DefaultMessageQueue())
+                .timeout(5000L)
+                .build();
+
+        String xmlPayload = BenchmarkPayloads.xml(items);
+        sendXml = SendMessageAction.Builder.send(xmlEndpoint)
+                .messageType(MessageType.XML)
+                .payload(xmlPayload)
+                .build();
+        receiveXml = ReceiveMessageAction.Builder.receive(xmlEndpoint)
+                .messageType(MessageType.XML)
+                .payload(xmlPayload)
+                .validator(new DomXmlMessageValidator())
+                .build();
+
+        DirectEndpoint jsonEndpoint = new DirectEndpointBuilder()
+                .queue(new DefaultMessageQueue())
+                .timeout(5000L)
+                .build();
+
+        String jsonPayload = BenchmarkPayloads.json(items);
+        sendJson = SendMessageAction.Builder.send(jsonEndpoint)
+                .messageType(MessageType.JSON)
+                .payload(jsonPayload)
+                .build();
+        receiveJson = ReceiveMessageAction.Builder.receive(jsonEndpoint)
+                .messageType(MessageType.JSON)
+                .payload(jsonPayload)
+                .validator(new JsonTextMessageValidator())
+                .build();
+    }
+
+    @Benchmark
+    public void sendReceiveXml() {
+        sendXml.execute(context);
+        receiveXml.execute(context);
+    }
+
+    @Benchmark
+    public void sendReceiveJson() {
+        sendJson.execute(context);
+        receiveJson.execute(context);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.DefaultMessageQueue;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.message.MessageSelector;
+import com.consol.citrus.message.selector.DelegatingMessageSelector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures selective receive on a message queue that holds a number of messages not matching the selector.
+ * Compares header selectors served by the queue header index with selectors that have to be evaluated on
+ * each queued message.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageQueueBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int queuedMessages;
+
+    private DefaultMessageQueue queue;
+
+    private MessageSelector headerSelector;
+    private MessageSelector scanningSelector;
+
+    @Setup
+    public void setup() {
+        TestContext context = BenchmarkSupport.createTestContext();
+
+        queue = new DefaultMessageQueue();
+        for (int i = 0; i < queuedMessages; i++) {
+            queue.send(new DefaultMessage("<order><id>" + i + "</id></order>").setHeader("orderId", String.valueOf(i)));
+        }
+
+        headerSelector = new DelegatingMessageSelector("orderId = 'selected'", context);
+        scanningSelector = message -> "selected".equals(message.getHeader("orderId"));
+    }
+
+    @Benchmark
+    public Message selectiveReceiveIndexed() {
+        queue.send(new DefaultMessage("<order><id>selected</id></order>").setHeader("orderId", "selected"));
+        return queue.receive(headerSelector);
+    }
+
+    @Benchmark
+    public Message selectiveReceiveScanning() {
+        queue.send(new DefaultMessage("<order><id>selected</id></order>").setHeader("orderId", "selected"));
+        return queue.receive(scanningSelector);
+    }
+}
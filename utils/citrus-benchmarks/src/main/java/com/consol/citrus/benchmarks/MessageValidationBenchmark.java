@@ -0,0 +1,96 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.validation.json.JsonMessageValidationContext;
+import com.consol.citrus.validation.json.JsonTextMessageValidator;
+import com.consol.citrus.validation.xml.DomXmlMessageValidator;
+import com.consol.citrus.validation.xml.XmlMessageValidationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures XML and JSON message payload validation. Each invocation validates a newly received message so
+ * parsed payload representations are not reused across invocations.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageValidationBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    private int items;
+
+    private TestContext context;
+
+    private String xmlPayload;
+    private Message xmlControlMessage;
+    private DomXmlMessageValidator xmlValidator;
+    private XmlMessageValidationContext xmlValidationContext;
+
+    private String jsonPayload;
+    private Message jsonControlMessage;
+    private JsonTextMessageValidator jsonValidator;
+    private JsonMessageValidationContext jsonValidationContext;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkSupport.createTestContext();
+
+        xmlPayload = BenchmarkPayloads.xml(items);
+        xmlControlMessage = new DefaultMessage(xmlPayload);
+        xmlValidator = new DomXmlMessageValidator();
+        xmlValidationContext = new XmlMessageValidationContext();
+        xmlValidationContext.setSchemaValidation(false);
+
+        jsonPayload = BenchmarkPayloads.json(items);
+        jsonControlMessage = new DefaultMessage(jsonPayload);
+        jsonValidator = new JsonTextMessageValidator();
+        jsonValidationContext = new JsonMessageValidationContext();
+        jsonValidationContext.setSchemaValidation(false);
+    }
+
+    @Benchmark
+    public void validateXml() {
+        xmlValidator.validateMessage(new DefaultMessage(xmlPayload), xmlControlMessage, context, xmlValidationContext);
+    }
+
+    @Benchmark
+    public void validateJson() {
+        jsonValidator.validateMessage(new DefaultMessage(jsonPayload), jsonControlMessage, context, jsonValidationContext);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import com.consol.citrus.util.XMLUtils;
+import com.consol.citrus.xml.xpath.XPathUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.xml.SimpleNamespaceContext;
+import org.w3c.dom.Document;
+
+/**
+ * Measures XPath expression evaluation on parsed documents and on message payloads that need to be parsed first.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XPathBenchmark {
+
+    private static final String EXPRESSION = "/order/items/item[last()]/sku";
+
+    @Param({ "10", "100", "1000" })
+    private int items;
+
+    private String payload;
+    private Document document;
+    private SimpleNamespaceContext namespaceContext;
+
+    @Setup
+    public void setup() {
+        payload = BenchmarkPayloads.xml(items);
+        document = XMLUtils.parseMessagePayload(payload);
+        namespaceContext = new SimpleNamespaceContext();
+    }
+
+    @Benchmark
+    public String evaluate() {
+        return XPathUtils.evaluateAsString(document, EXPRESSION, namespaceContext);
+    }
+
+    @Benchmark
+    public String parseAndEvaluate() {
+        return XPathUtils.evaluateAsString(XMLUtils.parseMessagePayload(payload), EXPRESSION, namespaceContext);
+    }
+}
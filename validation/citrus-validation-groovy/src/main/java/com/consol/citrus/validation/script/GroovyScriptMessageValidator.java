@@ -16,10 +16,9 @@
 
 package com.consol.citrus.validation.script;
 
-import java.security.AccessController;
-import java.security.PrivilegedAction;
 import java.util.List;
 
+import com.consol.citrus.CitrusSettings;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.ValidationException;
@@ -28,9 +27,7 @@ import com.consol.citrus.message.MessageType;
 import com.consol.citrus.script.ScriptTypes;
 import com.consol.citrus.validation.AbstractMessageValidator;
 import com.consol.citrus.validation.context.ValidationContext;
-import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyObject;
-import org.codehaus.groovy.control.CompilationFailedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.ClassPathResource;
@@ -44,6 +41,9 @@ import org.springframework.util.StringUtils;
  * Available objects inside groovy script are 'receivedMessage' which is the actual {@link Message} object
  * to validate and 'context' the current {@link TestContext}.
  *
+ * Compiled validation scripts are cached by content so repeated validations with the same script do not compile the
+ * script again.
+ *
  * @author Christoph Deppisch
  */
 public class GroovyScriptMessageValidator extends AbstractMessageValidator<ScriptValidationContext> {
@@ -54,6 +54,9 @@ public class GroovyScriptMessageValidator extends AbstractMessageValidator<Scrip
     /** Static code snippet for groovy script validation */
     private Resource scriptTemplateResource;
 
+    /** Cache of compiled validation scripts */
+    private GroovyScriptClassCache scriptClassCache = GroovyScriptClassCache.getDefault();
+
     /**
      * Default constructor using default script template.
      */
@@ -67,6 +70,7 @@ public class GroovyScriptMessageValidator extends AbstractMessageValidator<Scrip
      */
     public GroovyScriptMessageValidator(ClassPathResource scriptTemplateResource) {
         this.scriptTemplateResource = scriptTemplateResource;
+        precompileResources(CitrusSettings.getGroovyScriptPrecompileLocations());
     }
 
     @Override
@@ -78,31 +82,72 @@ public class GroovyScriptMessageValidator extends AbstractMessageValidator<Scrip
             if (StringUtils.hasText(validationScript)) {
                 log.debug("Start groovy message validation ...");
 
-                GroovyClassLoader loader = AccessController.doPrivileged(new PrivilegedAction<GroovyClassLoader>() {
-                    public GroovyClassLoader run() {
-                        return new GroovyClassLoader(GroovyScriptMessageValidator.class.getClassLoader());
-                    }
-                });
-                Class<?> groovyClass = loader.parseClass(TemplateBasedScriptBuilder.fromTemplateResource(scriptTemplateResource)
-                                                            .withCode(validationScript)
-                                                            .build());
-
-                if (groovyClass == null) {
-                    throw new CitrusRuntimeException("Failed to load groovy validation script resource");
-                }
+                Class<?> groovyClass = scriptClassCache.getScriptClass(buildScript(validationScript));
 
-                GroovyObject groovyObject = (GroovyObject) groovyClass.newInstance();
-                ((GroovyScriptExecutor) groovyObject).validate(receivedMessage, context);
+                long start = System.currentTimeMillis();
+                try {
+                    GroovyObject groovyObject = (GroovyObject) groovyClass.newInstance();
+                    ((GroovyScriptExecutor) groovyObject).validate(receivedMessage, context);
+                } finally {
+                    scriptClassCache.recordRun(System.currentTimeMillis() - start);
+                }
 
                 log.info("Groovy message validation successful: All values OK");
             }
-        } catch (CompilationFailedException | InstantiationException | IllegalAccessException e) {
+        } catch (InstantiationException | IllegalAccessException e) {
             throw new CitrusRuntimeException(e);
         } catch (AssertionError e) {
             throw new ValidationException("Groovy script validation failed with assertion error:\n" + e.getMessage(), e);
         }
     }
 
+    /**
+     * Compiles given validation script ahead of time so later validations use the cached script class.
+     * @param validationScript the validation code without template.
+     */
+    public void precompile(String validationScript) {
+        scriptClassCache.precompile(buildScript(validationScript));
+    }
+
+    /**
+     * Compiles all validation scripts found in given resource locations ahead of time. Validators call this on creation
+     * with the locations configured in {@link CitrusSettings#getGroovyScriptPrecompileLocations()}.
+     * @param locations comma separated resource locations, may use resource patterns.
+     */
+    public void precompileResources(String locations) {
+        if (StringUtils.hasText(locations)) {
+            int compiled = scriptClassCache.precompileResources(locations, this::buildScript);
+            log.debug(String.format("Precompiled %s groovy validation scripts", compiled));
+        }
+    }
+
+    /**
+     * Builds the complete Groovy script from template and validation code.
+     * @param validationScript
+     * @return
+     */
+    private String buildScript(String validationScript) {
+        return TemplateBasedScriptBuilder.fromTemplateResource(scriptTemplateResource)
+                .withCode(validationScript)
+                .build();
+    }
+
+    /**
+     * Sets the script class cache.
+     * @param scriptClassCache
+     */
+    public void setScriptClassCache(GroovyScriptClassCache scriptClassCache) {
+        this.scriptClassCache = scriptClassCache;
+    }
+
+    /**
+     * Gets the script class cache.
+     * @return
+     */
+    public GroovyScriptClassCache getScriptClassCache() {
+        return scriptClassCache;
+    }
+
     @Override
     public ScriptValidationContext findValidationContext(List<ValidationContext> validationContexts) {
         for (ValidationContext validationContext : validationContexts) {
@@ -16,21 +16,18 @@
 
 package com.consol.citrus.validation.script.sql;
 
-import java.security.AccessController;
-import java.security.PrivilegedAction;
 import java.util.List;
 import java.util.Map;
 
+import com.consol.citrus.CitrusSettings;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.ValidationException;
 import com.consol.citrus.script.ScriptTypes;
-import com.consol.citrus.validation.script.GroovyScriptMessageValidator;
+import com.consol.citrus.validation.script.GroovyScriptClassCache;
 import com.consol.citrus.validation.script.ScriptValidationContext;
 import com.consol.citrus.validation.script.TemplateBasedScriptBuilder;
-import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyObject;
-import org.codehaus.groovy.control.CompilationFailedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.ClassPathResource;
@@ -38,7 +35,7 @@ import org.springframework.core.io.Resource;
 import org.springframework.util.StringUtils;
 
 /**
- * Groovy script validator capable of validating SQL result sets.
+ * Groovy script validator capable of validating SQL result sets. Compiled validation scripts are cached by content.
  *
  * @author Christoph Deppisch
  */
@@ -52,6 +49,9 @@ public class GroovySqlResultSetValidator implements SqlResultSetScriptValidator
     /** Static code snippet for groovy script validation */
     private Resource scriptTemplateResource;
 
+    /** Cache of compiled validation scripts */
+    private GroovyScriptClassCache scriptClassCache = GroovyScriptClassCache.getDefault();
+
     /**
      * Default constructor using a default script template.
      */
@@ -65,6 +65,7 @@ public class GroovySqlResultSetValidator implements SqlResultSetScriptValidator
      */
     public GroovySqlResultSetValidator(Resource scriptTemplateResource) {
         this.scriptTemplateResource = scriptTemplateResource;
+        precompileResources(CitrusSettings.getGroovyScriptPrecompileLocations());
     }
 
     public void validateSqlResultSet(List<Map<String, Object>> resultSet,
@@ -78,27 +79,18 @@ public class GroovySqlResultSetValidator implements SqlResultSetScriptValidator
                 if (StringUtils.hasText(validationScript)) {
                     log.debug("Start groovy SQL result set validation");
 
-                    GroovyClassLoader loader = AccessController.doPrivileged(new PrivilegedAction<GroovyClassLoader>() {
-                        public GroovyClassLoader run() {
-                            return new GroovyClassLoader(GroovyScriptMessageValidator.class.getClassLoader());
-                        }
-                    });
-
-                    Class<?> groovyClass = loader.parseClass(TemplateBasedScriptBuilder.fromTemplateResource(scriptTemplateResource)
-                                                                .withCode(validationScript)
-                                                                .build());
+                    Class<?> groovyClass = scriptClassCache.getScriptClass(buildScript(validationScript));
 
-                    if (groovyClass == null) {
-                        throw new CitrusRuntimeException("Failed to load groovy validation script resource");
+                    long start = System.currentTimeMillis();
+                    try {
+                        GroovyObject groovyObject = (GroovyObject) groovyClass.newInstance();
+                        ((SqlResultSetScriptExecutor) groovyObject).validate(resultSet, context);
+                    } finally {
+                        scriptClassCache.recordRun(System.currentTimeMillis() - start);
                     }
 
-                    GroovyObject groovyObject = (GroovyObject) groovyClass.newInstance();
-                    ((SqlResultSetScriptExecutor) groovyObject).validate(resultSet, context);
-
                     log.info("Groovy SQL result set validation successful: All values OK");
                 }
-            } catch (CompilationFailedException e) {
-                throw new CitrusRuntimeException(e);
             } catch (InstantiationException e) {
                 throw new CitrusRuntimeException(e);
             } catch (IllegalAccessException e) {
@@ -108,4 +100,51 @@ public class GroovySqlResultSetValidator implements SqlResultSetScriptValidator
             }
         }
     }
+
+    /**
+     * Compiles given validation script ahead of time so later validations use the cached script class.
+     * @param validationScript the validation code without template.
+     */
+    public void precompile(String validationScript) {
+        scriptClassCache.precompile(buildScript(validationScript));
+    }
+
+    /**
+     * Compiles all validation scripts found in given resource locations ahead of time. Validators call this on creation
+     * with the locations configured in {@link CitrusSettings#getGroovyScriptPrecompileLocations()}.
+     * @param locations comma separated resource locations, may use resource patterns.
+     */
+    public void precompileResources(String locations) {
+        if (StringUtils.hasText(locations)) {
+            int compiled = scriptClassCache.precompileResources(locations, this::buildScript);
+            log.debug(String.format("Precompiled %s groovy validation scripts", compiled));
+        }
+    }
+
+    /**
+     * Builds the complete Groovy script from template and validation code.
+     * @param validationScript
+     * @return
+     */
+    private String buildScript(String validationScript) {
+        return TemplateBasedScriptBuilder.fromTemplateResource(scriptTemplateResource)
+                .withCode(validationScript)
+                .build();
+    }
+
+    /**
+     * Sets the script class cache.
+     * @param scriptClassCache
+     */
+    public void setScriptClassCache(GroovyScriptClassCache scriptClassCache) {
+        this.scriptClassCache = scriptClassCache;
+    }
+
+    /**
+     * Gets the script class cache.
+     * @return
+     */
+    public GroovyScriptClassCache getScriptClassCache() {
+        return scriptClassCache;
+    }
 }
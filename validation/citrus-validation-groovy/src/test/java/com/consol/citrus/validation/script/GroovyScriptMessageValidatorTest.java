@@ -125,4 +125,44 @@ public class GroovyScriptMessageValidatorTest extends AbstractTestNGUnitTest {
 
         Assert.assertNotNull(validator.findValidationContext(validationContexts));
     }
+
+    @Test
+    public void testGroovyScriptClassCache() throws ValidationException {
+        GroovyScriptMessageValidator cachingValidator = new GroovyScriptMessageValidator();
+        cachingValidator.setScriptClassCache(new GroovyScriptClassCache(10));
+
+        String validationScript = "assert headers.operation == 'unitTesting'\n" +
+                "assert payload == 'This is plain text!'";
+
+        ScriptValidationContext validationContext = new ScriptValidationContext(ScriptTypes.GROOVY);
+        validationContext.setValidationScript(validationScript);
+
+        cachingValidator.precompile(validationScript);
+        Assert.assertEquals(cachingValidator.getScriptClassCache().getMisses(), 1L);
+
+        for (int i = 0; i < 3; i++) {
+            cachingValidator.validateMessage(message, new DefaultMessage(), context, validationContext);
+        }
+
+        Assert.assertEquals(cachingValidator.getScriptClassCache().getMisses(), 1L);
+        Assert.assertEquals(cachingValidator.getScriptClassCache().getHits(), 3L);
+        Assert.assertEquals(cachingValidator.getScriptClassCache().getRunCount(), 3L);
+        Assert.assertEquals(cachingValidator.getScriptClassCache().size(), 1);
+    }
+
+    @Test
+    public void testPrecompileResources() throws ValidationException {
+        GroovyScriptMessageValidator cachingValidator = new GroovyScriptMessageValidator();
+        cachingValidator.setScriptClassCache(new GroovyScriptClassCache(10));
+
+        cachingValidator.precompileResources("classpath*:com/consol/citrus/validation/script/precompiled-*.groovy");
+        Assert.assertEquals(cachingValidator.getScriptClassCache().getMisses(), 1L);
+
+        ScriptValidationContext validationContext = new ScriptValidationContext(ScriptTypes.GROOVY);
+        validationContext.setValidationScriptResourcePath("classpath:com/consol/citrus/validation/script/precompiled-validation.groovy");
+        cachingValidator.validateMessage(message, new DefaultMessage(), context, validationContext);
+
+        Assert.assertEquals(cachingValidator.getScriptClassCache().getMisses(), 1L);
+        Assert.assertEquals(cachingValidator.getScriptClassCache().getHits(), 1L);
+    }
 }
@@ -0,0 +1,2 @@
+assert headers.operation == 'unitTesting'
+assert payload == 'This is plain text!'
\ No newline at end of file
@@ -0,0 +1,511 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.validation.json;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.consol.citrus.CitrusSettings;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.validation.ValidationUtils;
+import com.consol.citrus.validation.matcher.ValidationMatcherUtils;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import net.minidev.json.JSONArray;
+import net.minidev.json.JSONObject;
+import net.minidev.json.parser.JSONParser;
+import net.minidev.json.parser.ParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Validates received JSON token by token with a Jackson {@link JsonParser} against a control JSON template. Only the
+ * control JSON is held in memory, so memory usage does not depend on the size of the received document. Nested received
+ * values are only materialized when they need to be compared as a whole (e.g. with a validation matcher).
+ *
+ * Validation follows the same rules as the tree based validation in {@link JsonTextMessageValidator} including ignore
+ * placeholders, validation matchers and strict/non-strict object and array size checks. Ignore expressions are evaluated
+ * against the path of the current JSON entry, because received JSON is not available as a document. Only simple JsonPath
+ * expressions with field names, array indices, wildcards and deep scan are supported in this mode.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public class JsonStreamingValidation {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(JsonStreamingValidation.class);
+
+    /** Shared factory creating parsers and generators, lenient like the JSON parser used for received documents */
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .enable(JsonReadFeature.ALLOW_TRAILING_COMMA)
+            .enable(JsonReadFeature.ALLOW_SINGLE_QUOTES)
+            .enable(JsonReadFeature.ALLOW_UNQUOTED_FIELD_NAMES)
+            .build();
+
+    /** Should also check exact amount of object fields and array entries */
+    private final boolean strict;
+
+    /** Ignored entries as compiled path expressions */
+    private final List<List<PathSegment>> ignorePaths = new ArrayList<>();
+
+    /** Path of the current entry holding field names and array indices */
+    private final List<Object> path = new ArrayList<>();
+
+    /** Parser for received values that need to be materialized */
+    private final JSONParser valueParser = new JSONParser(JSONParser.MODE_JSON_SIMPLE);
+
+    /**
+     * Constructor using strict mode and ignore expressions.
+     * @param strict
+     * @param ignoreExpressions
+     */
+    public JsonStreamingValidation(boolean strict, Collection<String> ignoreExpressions) {
+        this.strict = strict;
+
+        for (String ignoreExpression : ignoreExpressions) {
+            List<PathSegment> ignorePath = compilePath(ignoreExpression);
+            if (ignorePath == null) {
+                throw new CitrusRuntimeException("Unsupported JsonPath expression in streaming validation mode: " + ignoreExpression);
+            }
+            ignorePaths.add(ignorePath);
+        }
+    }
+
+    /**
+     * Checks if all given ignore expressions are supported in streaming validation mode.
+     * @param ignoreExpressions
+     * @return
+     */
+    public static boolean supports(Collection<String> ignoreExpressions) {
+        return ignoreExpressions.stream().allMatch(expression -> compilePath(expression) != null);
+    }
+
+    /**
+     * Creates JSON parser reading the message payload. Binary and resource payloads are read as stream, all other
+     * payloads are converted to String.
+     * @param message
+     * @return
+     * @throws IOException
+     */
+    public static JsonParser createParser(Message message) throws IOException {
+        Object payload = message.getPayload();
+        if (payload instanceof byte[]) {
+            return JSON_FACTORY.createParser((byte[]) payload);
+        } else if (payload instanceof Resource) {
+            return JSON_FACTORY.createParser(((Resource) payload).getInputStream());
+        }
+
+        return JSON_FACTORY.createParser(message.getPayload(String.class));
+    }
+
+    /**
+     * Validates received JSON read from given parser with comparison to control JSON object or array.
+     * @param parser the parser reading the received JSON.
+     * @param controlJson the expected control JSON.
+     * @param context the current test context.
+     * @throws IOException when received JSON is not readable.
+     */
+    public void validate(JsonParser parser, Object controlJson, TestContext context) throws IOException {
+        JsonToken token = parser.nextToken();
+        Assert.isTrue(token != null, "Validation failed - expected message contents, but received empty message!");
+
+        if (token == JsonToken.START_OBJECT) {
+            Assert.isTrue(controlJson instanceof JSONObject,
+                    ValidationUtils.buildValueMismatchErrorMessage("Type mismatch for JSON root element",
+                            controlJson.getClass().getSimpleName(), JSONObject.class.getSimpleName()));
+            validateObject("$.", parser, (JSONObject) controlJson, context);
+        } else if (token == JsonToken.START_ARRAY) {
+            Assert.isTrue(controlJson instanceof JSONArray,
+                    ValidationUtils.buildValueMismatchErrorMessage("Type mismatch for JSON root element",
+                            controlJson.getClass().getSimpleName(), JSONArray.class.getSimpleName()));
+            validateArray("array", parser, (JSONArray) controlJson, context);
+        } else {
+            throw new CitrusRuntimeException("Unsupported json type " + token);
+        }
+    }
+
+    /**
+     * Validates received JSON object. Parser is positioned on the start object token and is moved to the
+     * end object token.
+     * @param elementName
+     * @param parser
+     * @param controlJson
+     * @param context
+     * @throws IOException
+     */
+    private void validateObject(String elementName, JsonParser parser, JSONObject controlJson, TestContext context) throws IOException {
+        Set<String> receivedKeys = new HashSet<>();
+        int receivedSize = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.getCurrentName();
+            receivedSize++;
+            parser.nextToken();
+
+            if (!controlJson.containsKey(key)) {
+                parser.skipChildren();
+                continue;
+            }
+
+            receivedKeys.add(key);
+            path.add(key);
+            validateEntry(key, controlJson.get(key), parser, context);
+            path.remove(path.size() - 1);
+        }
+
+        if (strict) {
+            Assert.isTrue(controlJson.size() == receivedSize,
+                    ValidationUtils.buildValueMismatchErrorMessage("Number of JSON entries not equal for element: '" + elementName + "'", controlJson.size(), receivedSize));
+        }
+
+        for (String controlKey : controlJson.keySet()) {
+            Assert.isTrue(receivedKeys.contains(controlKey),
+                    "Missing JSON entry: + '" + controlKey + "'");
+        }
+    }
+
+    /**
+     * Validates received JSON object entry. Parser is positioned on the entry value token and is moved to the
+     * last token of this value.
+     * @param controlKey
+     * @param controlValue
+     * @param parser
+     * @param context
+     * @throws IOException
+     */
+    private void validateEntry(String controlKey, Object controlValue, JsonParser parser, TestContext context) throws IOException {
+        if (isIgnored(controlKey, controlValue)) {
+            parser.skipChildren();
+            return;
+        }
+
+        JsonToken token = parser.currentToken();
+        if (controlValue == null) {
+            Object receivedValue = readValue(parser);
+            Assert.isTrue(receivedValue == null,
+                    ValidationUtils.buildValueMismatchErrorMessage("Values not equal for entry: '" + controlKey + "'",
+                            null, receivedValue));
+        } else if (token != JsonToken.VALUE_NULL) {
+            if (ValidationMatcherUtils.isValidationMatcherExpression(controlValue.toString())) {
+                ValidationMatcherUtils.resolveValidationMatcher(controlKey,
+                        readValue(parser).toString(),
+                        controlValue.toString(), context);
+            } else if (controlValue instanceof JSONObject) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException(ValidationUtils.buildValueMismatchErrorMessage("Type mismatch for JSON entry '" + controlKey + "'",
+                            JSONObject.class.getSimpleName(), readValue(parser).getClass().getSimpleName()));
+                }
+
+                validateObject(controlKey, parser, (JSONObject) controlValue, context);
+            } else if (controlValue instanceof JSONArray) {
+                if (token != JsonToken.START_ARRAY) {
+                    throw new IllegalArgumentException(ValidationUtils.buildValueMismatchErrorMessage("Type mismatch for JSON entry '" + controlKey + "'",
+                            JSONArray.class.getSimpleName(), readValue(parser).getClass().getSimpleName()));
+                }
+
+                validateArray(controlKey, parser, (JSONArray) controlValue, context);
+            } else {
+                Object receivedValue = readValue(parser);
+                Assert.isTrue(controlValue.equals(receivedValue),
+                        ValidationUtils.buildValueMismatchErrorMessage("Values not equal for entry: '" + controlKey + "'",
+                                controlValue, receivedValue));
+            }
+        } else if (ValidationMatcherUtils.isValidationMatcherExpression(controlValue.toString())) {
+            ValidationMatcherUtils.resolveValidationMatcher(controlKey,
+                    null,
+                    controlValue.toString(), context);
+        } else {
+            Assert.isTrue(!StringUtils.hasText(controlValue.toString()),
+                    ValidationUtils.buildValueMismatchErrorMessage(
+                            "Values not equal for entry '" + controlKey + "'", controlValue.toString(), null));
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Validation successful for JSON entry '" + controlKey + "' (" + controlValue + ")");
+        }
+    }
+
+    /**
+     * Validates received JSON array. Parser is positioned on the start array token and is moved to the
+     * end array token. Array entries are compared by index.
+     * @param controlKey
+     * @param parser
+     * @param controlArray
+     * @param context
+     * @throws IOException
+     */
+    private void validateArray(String controlKey, JsonParser parser, JSONArray controlArray, TestContext context) throws IOException {
+        if (log.isDebugEnabled()) {
+            log.debug("Validating JSONArray containing " + controlArray.size() + " entries");
+        }
+
+        int index = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            path.add(index);
+
+            if (index >= controlArray.size() || isIgnoredPath()) {
+                parser.skipChildren();
+            } else {
+                Object controlItem = controlArray.get(index);
+                if (controlItem instanceof JSONObject) {
+                    if (parser.currentToken() != JsonToken.START_OBJECT) {
+                        Object receivedItem = readValue(parser);
+                        throw new IllegalArgumentException(ValidationUtils.buildValueMismatchErrorMessage("Value types not equal for entry: '" + controlItem + "'",
+                                JSONObject.class.getName(), receivedItem != null ? receivedItem.getClass().getName() : null));
+                    }
+
+                    validateObject(controlKey, parser, (JSONObject) controlItem, context);
+                } else {
+                    Object receivedItem = readValue(parser);
+                    Assert.isTrue(ObjectUtils.nullSafeEquals(controlItem, receivedItem),
+                            ValidationUtils.buildValueMismatchErrorMessage("Values not equal for entry: '" + controlItem + "'",
+                                    controlItem, receivedItem));
+                }
+            }
+
+            path.remove(path.size() - 1);
+            index++;
+        }
+
+        if (strict) {
+            Assert.isTrue(controlArray.size() == index,
+                    ValidationUtils.buildValueMismatchErrorMessage("JSONArray size mismatch for JSON entry '" + controlKey + "'",
+                            controlArray.size(), index));
+        } else {
+            Assert.isTrue(controlArray.size() <= index,
+                    ValidationUtils.buildValueMismatchErrorMessage("JSONArray size mismatch for JSON entry '" + controlKey + "'",
+                            controlArray.size(), index));
+        }
+    }
+
+    /**
+     * Checks if given entry contains @ignore@ tag inside control message or if
+     * the current path matches an ignore expression.
+     * @param controlKey
+     * @param controlValue
+     * @return
+     */
+    private boolean isIgnored(String controlKey, Object controlValue) {
+        if (controlValue != null && controlValue.toString().trim().equals(CitrusSettings.IGNORE_PLACEHOLDER)) {
+            if (log.isDebugEnabled()) {
+                log.debug("JSON entry: '" + controlKey + "' is ignored by placeholder '" +
+                        CitrusSettings.IGNORE_PLACEHOLDER + "'");
+            }
+            return true;
+        }
+
+        if (isIgnoredPath()) {
+            if (log.isDebugEnabled()) {
+                log.debug("JSON entry: '" + controlKey + "' is ignored - skip value validation");
+            }
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if current path matches one of the ignore expressions.
+     * @return
+     */
+    private boolean isIgnoredPath() {
+        for (List<PathSegment> ignorePath : ignorePaths) {
+            if (matches(ignorePath, 0, 0)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Matches path segments starting at given segment index with current path starting at given path index.
+     * @param segments
+     * @param segmentIndex
+     * @param pathIndex
+     * @return
+     */
+    private boolean matches(List<PathSegment> segments, int segmentIndex, int pathIndex) {
+        if (segmentIndex == segments.size()) {
+            return pathIndex == path.size();
+        }
+
+        PathSegment segment = segments.get(segmentIndex);
+        if (segment.deepScan) {
+            for (int i = pathIndex; i < path.size(); i++) {
+                if (segment.matches(path.get(i)) && matches(segments, segmentIndex + 1, i + 1)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        return pathIndex < path.size() && segment.matches(path.get(pathIndex)) && matches(segments, segmentIndex + 1, pathIndex + 1);
+    }
+
+    /**
+     * Reads current value from parser. Scalar values are converted to the same types as used in the control JSON.
+     * Objects and arrays are materialized.
+     * @param parser
+     * @return
+     * @throws IOException
+     */
+    private Object readValue(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return parse(parser.getText());
+            default:
+                StringWriter writer = new StringWriter();
+                try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+                    generator.copyCurrentStructure(parser);
+                }
+                return parse(writer.toString());
+        }
+    }
+
+    /**
+     * Parse given JSON text to a JSON value.
+     * @param json
+     * @return
+     */
+    private Object parse(String json) {
+        try {
+            return valueParser.parse(json);
+        } catch (ParseException e) {
+            throw new CitrusRuntimeException("Failed to parse JSON text", e);
+        }
+    }
+
+    /**
+     * Compiles simple JsonPath expression to list of path segments. Supports field names, array indices, wildcards and
+     * deep scan in dot and bracket notation.
+     * @param expression
+     * @return the path segments or null if expression is not supported.
+     */
+    static List<PathSegment> compilePath(String expression) {
+        String path = expression.trim();
+        if (!path.startsWith("$")) {
+            return null;
+        }
+
+        List<PathSegment> segments = new ArrayList<>();
+        int i = 1;
+        while (i < path.length()) {
+            boolean deepScan = false;
+            if (path.startsWith("..", i)) {
+                deepScan = true;
+                i += 2;
+            } else if (path.charAt(i) == '.') {
+                i++;
+            } else if (path.charAt(i) != '[') {
+                return null;
+            }
+
+            if (i < path.length() && path.charAt(i) == '[') {
+                int end = path.indexOf(']', i);
+                if (end < 0) {
+                    return null;
+                }
+
+                String selector = path.substring(i + 1, end).trim();
+                i = end + 1;
+
+                if (selector.equals("*")) {
+                    segments.add(new PathSegment(null, null, deepScan));
+                } else if (selector.matches("\\d+")) {
+                    segments.add(new PathSegment(null, Integer.valueOf(selector), deepScan));
+                } else if (selector.length() > 1 && (selector.startsWith("'") && selector.endsWith("'") || selector.startsWith("\"") && selector.endsWith("\""))) {
+                    String name = selector.substring(1, selector.length() - 1);
+                    if (name.contains("'") || name.contains("\"") || name.contains(",")) {
+                        return null;
+                    }
+                    segments.add(new PathSegment(name, null, deepScan));
+                } else {
+                    return null;
+                }
+            } else {
+                int end = i;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+
+                String name = path.substring(i, end);
+                i = end;
+
+                if (!StringUtils.hasText(name) || name.contains("(") || name.contains("?")) {
+                    return null;
+                }
+
+                segments.add(new PathSegment(name.equals("*") ? null : name, null, deepScan));
+            }
+        }
+
+        return segments;
+    }
+
+    /**
+     * Path segment matching field names or array indices. Segments with neither name nor index are wildcards.
+     */
+    static final class PathSegment {
+        private final String name;
+        private final Integer index;
+        private final boolean deepScan;
+
+        PathSegment(String name, Integer index, boolean deepScan) {
+            this.name = name;
+            this.index = index;
+            this.deepScan = deepScan;
+        }
+
+        boolean matches(Object pathElement) {
+            if (name != null) {
+                return name.equals(pathElement);
+            }
+
+            if (index != null) {
+                return index.equals(pathElement);
+            }
+
+            return true;
+        }
+    }
+}
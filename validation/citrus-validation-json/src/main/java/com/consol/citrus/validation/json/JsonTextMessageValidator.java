@@ -16,6 +16,7 @@
 
 package com.consol.citrus.validation.json;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -25,6 +26,7 @@ import com.consol.citrus.CitrusSettings;
 import com.consol.citrus.context.TestContext;
 import com.consol.citrus.exceptions.CitrusRuntimeException;
 import com.consol.citrus.exceptions.ValidationException;
+import com.consol.citrus.json.JsonPathUtils;
 import com.consol.citrus.json.JsonSchemaRepository;
 import com.consol.citrus.json.JsonUtils;
 import com.consol.citrus.message.Message;
@@ -33,8 +35,8 @@ import com.consol.citrus.validation.AbstractMessageValidator;
 import com.consol.citrus.validation.ValidationUtils;
 import com.consol.citrus.validation.json.schema.JsonSchemaValidation;
 import com.consol.citrus.validation.matcher.ValidationMatcherUtils;
+import com.fasterxml.jackson.core.JsonParser;
 import com.github.fge.jsonschema.core.report.ProcessingReport;
-import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.ReadContext;
 import net.minidev.json.JSONArray;
 import net.minidev.json.JSONObject;
@@ -56,6 +58,10 @@ import org.springframework.util.StringUtils;
  * control object fields to match. No additional fields in received JSON data structure will be accepted. In soft mode validator
  * allows additional fields in received JSON data structure so the control JSON object can be a partial subset.
  *
+ * In streaming mode the received JSON is not parsed to a document but validated token by token against the control JSON, so
+ * very large payloads can be validated with bounded memory. Validator falls back to document based validation in case ignore
+ * expressions are not supported in streaming mode.
+ *
  * @author Christoph Deppisch
  */
 public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessageValidationContext> implements ApplicationContextAware {
@@ -63,6 +69,9 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
     /** Should also check exact amount of object fields */
     private boolean strict;
 
+    /** Should validate received JSON token by token instead of parsing it to a document */
+    private boolean streaming;
+
     /** Root application context this validator is defined in */
     private ApplicationContext applicationContext;
 
@@ -74,6 +83,7 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
      */
     public JsonTextMessageValidator() {
         strict = Boolean.parseBoolean(System.getProperty("citrus.json.message.validation.strict", "true"));
+        streaming = Boolean.parseBoolean(System.getProperty("citrus.json.message.validation.streaming", "false"));
     }
 
     @Override
@@ -96,9 +106,20 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
             log.debug("Control message:\n" + controlMessage);
         }
 
-        String receivedJsonText = receivedMessage.getPayload(String.class);
         String controlJsonText = context.replaceDynamicContentInString(controlMessage.getPayload(String.class));
 
+        if (streaming && StringUtils.hasText(controlJsonText)) {
+            if (JsonStreamingValidation.supports(validationContext.getIgnoreExpressions())) {
+                validateJsonStreaming(receivedMessage, controlJsonText, context, validationContext);
+                log.info("JSON message validation successful: All values OK");
+                return;
+            }
+
+            log.warn("Ignore expressions not supported in streaming validation mode - using document based validation instead");
+        }
+
+        String receivedJsonText = receivedMessage.getPayload(String.class);
+
         try {
             if (!StringUtils.hasText(controlJsonText)) {
                 log.debug("Skip message payload validation as no control message was defined");
@@ -110,8 +131,8 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
 
             JSONParser parser = new JSONParser(JSONParser.MODE_JSON_SIMPLE);
 
-            Object receivedJson = parser.parse(receivedJsonText);
-            ReadContext readContext = JsonPath.parse(receivedJson);
+            ReadContext readContext = JsonPathUtils.getPayloadContext(receivedMessage);
+            Object receivedJson = readContext.json();
             Object controlJson = parser.parse(controlJsonText);
             if (receivedJson instanceof JSONObject) {
                 validateJson("$.", (JSONObject) receivedJson, (JSONObject) controlJson, validationContext, context, readContext);
@@ -134,6 +155,26 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
         log.info("JSON message validation successful: All values OK");
     }
 
+    /**
+     * Validates received message payload token by token with comparison to expected control JSON text.
+     * @param receivedMessage the received message.
+     * @param controlJsonText the expected control JSON text.
+     * @param context the current test context.
+     * @param validationContext the JSON message validation context.
+     */
+    private void validateJsonStreaming(Message receivedMessage, String controlJsonText, TestContext context, JsonMessageValidationContext validationContext) {
+        JsonStreamingValidation streamingValidation = new JsonStreamingValidation(strict, validationContext.getIgnoreExpressions());
+
+        try (JsonParser parser = JsonStreamingValidation.createParser(receivedMessage)) {
+            Object controlJson = new JSONParser(JSONParser.MODE_JSON_SIMPLE).parse(controlJsonText);
+            streamingValidation.validate(parser, controlJson, context);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Failed to validate JSON text", e);
+        } catch (ParseException | IOException e) {
+            throw new CitrusRuntimeException("Failed to parse JSON text", e);
+        }
+    }
+
     /**
      * Performs the schema validation for the given message under consideration of the given validation context
      * @param receivedMessage The message to be validated
@@ -333,6 +374,24 @@ public class JsonTextMessageValidator extends AbstractMessageValidator<JsonMessa
         return this;
     }
 
+    /**
+     * Enable or disable streaming validation mode.
+     * @param streaming
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    /**
+     * Enable or disable streaming validation mode.
+     * @param streaming
+     * @return this object for chaining
+     */
+    public JsonTextMessageValidator streaming(boolean streaming) {
+        setStreaming(streaming);
+        return this;
+    }
+
     /**
      * Constructs the error message of a failed validation based on the processing report passed from
      * com.github.fge.jsonschema.core.report
@@ -98,9 +98,15 @@ public class JsonSchemaValidation {
      */
     private ProcessingReport validate(Message message, SimpleJsonSchema simpleJsonSchema) {
         try {
-            JsonNode receivedJson = objectMapper.readTree(message.getPayload(String.class));
+            JsonNode receivedJson = message.getPayloadRepresentation(JsonNode.class, m -> {
+                try {
+                    return objectMapper.readTree(m.getPayload(String.class));
+                } catch (IOException e) {
+                    throw new CitrusRuntimeException("Failed to validate Json schema", e);
+                }
+            });
             return simpleJsonSchema.getSchema().validate(receivedJson);
-        } catch (IOException | ProcessingException e) {
+        } catch (ProcessingException e) {
             throw new CitrusRuntimeException("Failed to validate Json schema", e);
         }
     }
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.validation.json;
+
+import java.nio.charset.StandardCharsets;
+
+import com.consol.citrus.UnitTestSupport;
+import com.consol.citrus.exceptions.ValidationException;
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
+import org.springframework.core.io.ByteArrayResource;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class JsonStreamingValidationTest extends UnitTestSupport {
+
+    @Test
+    public void testStreamingValidation() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator().streaming(true);
+
+        Message receivedMessage = new DefaultMessage("{\"text\":\"Hello World!\", \"person\":{\"name\":\"John\",\"surname\":\"Doe\"}, \"index\":5, \"price\":1.5, \"active\":true, \"id\":\"x123456789x\"}");
+        Message controlMessage = new DefaultMessage("{\"id\":\"x123456789x\", \"price\":1.5, \"active\":true, \"index\":5, \"person\":{\"surname\":\"Doe\",\"name\":\"John\"}, \"text\":\"Hello World!\"}");
+
+        validator.validateMessage(receivedMessage, controlMessage, context, new JsonMessageValidationContext());
+    }
+
+    @Test
+    public void testStreamingValidationWithArrays() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator().streaming(true);
+
+        Message receivedMessage = new DefaultMessage("{\"greetings\":[" +
+                "{\"text\":\"Hello World!\", \"index\":1}, " +
+                "{\"text\":\"Hallo Welt!\", \"index\":2}, " +
+                "{\"text\":\"Hola del mundo!\", \"index\":3}], \"values\":[1,2,[3,4]], \"id\":\"x123456789x\"}");
+        Message controlMessage = new DefaultMessage("{\"greetings\":[" +
+                "{\"text\":\"Hello World!\", \"index\":1}, " +
+                "{\"text\":\"Hallo Welt!\", \"index\":2}, " +
+                "{\"text\":\"Hola del mundo!\", \"index\":3}], \"values\":[1,2,[3,4]], \"id\":\"x123456789x\"}");
+
+        validator.validateMessage(receivedMessage, controlMessage, context, new JsonMessageValidationContext());
+    }
+
+    @Test
+    public void testSloppyStreamingValidation() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator().strict(false).streaming(true);
+
+        Message receivedMessage = new DefaultMessage("[" +
+                "{\"text\":\"Hello World!\", \"index\":1}, " +
+                "{\"text\":\"Hallo Welt!\", \"index\":2}, " +
+                "{\"text\":\"Hola del mundo!\", \"index\":3}]");
+        Message controlMessage = new DefaultMessage("[{\"index\":1}]");
+
+        validator.validateMessage(receivedMessage, controlMessage, context, new JsonMessageValidationContext());
+    }
+
+    @Test
+    public void testStreamingValidationIgnoreAndValidationMatcher() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator().streaming(true);
+
+        Message receivedMessage = new DefaultMessage("{\"text\":\"Hello World!\", \"index\":5, \"object\":{\"id\":\"x123456789x\"}, \"greetings\":[" +
+                "{\"text\":\"Hello World!\", \"index\":1}, " +
+                "{\"text\":\"Hallo Welt!\", \"index\":2}],}");
+        Message controlMessage = new DefaultMessage("{\"text\":\"@startsWith('Hello')@\", \"index\":\"@greaterThan(4)@\", \"object\":{\"id\":\"@ignore@\"}, \"greetings\":[" +
+                "{\"text\":\"?\", \"index\":0}, " +
+                "{\"text\":\"?\", \"index\":0}]}");
+
+        JsonMessageValidationContext validationContext = new JsonMessageValidationContext();
+        validationContext.getIgnoreExpressions().add("$.greetings[*].text");
+        validationContext.getIgnoreExpressions().add("$..index");
+        validator.validateMessage(receivedMessage, controlMessage, context, validationContext);
+    }
+
+    @Test
+    public void testStreamingValidationResourcePayload() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator().streaming(true);
+
+        Message receivedMessage = new DefaultMessage(new ByteArrayResource("{\"id\":42, \"name\":null}".getBytes(StandardCharsets.UTF_8)));
+        Message controlMessage = new DefaultMessage("{\"id\":42, \"name\":null}");
+
+        validator.validateMessage(receivedMessage, controlMessage, context, new JsonMessageValidationContext());
+    }
+
+    @Test
+    public void testStreamingValidationLargePayload() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator().strict(false).streaming(true);
+
+        StringBuilder receivedJson = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < 100000; i++) {
+            receivedJson.append(i > 0 ? "," : "").append("{\"id\":").append(i).append(",\"name\":\"item").append(i).append("\"}");
+        }
+        receivedJson.append("], \"total\":100000}");
+
+        Message receivedMessage = new DefaultMessage(receivedJson.toString());
+        Message controlMessage = new DefaultMessage("{\"items\":[{\"id\":0,\"name\":\"item0\"},{\"id\":1,\"name\":\"@endsWith('1')@\"}], \"total\":100000}");
+
+        validator.validateMessage(receivedMessage, controlMessage, context, new JsonMessageValidationContext());
+    }
+
+    @Test
+    public void testStreamingValidationWrongValue() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator().streaming(true);
+
+        Message receivedMessage = new DefaultMessage("{\"person\":{\"name\":\"John\",\"surname\":\"Doe\"}}");
+        Message controlMessage = new DefaultMessage("{\"person\":{\"name\":\"John\",\"surname\":\"Wrong\"}}");
+
+        try {
+            validator.validateMessage(receivedMessage, controlMessage, context, new JsonMessageValidationContext());
+            Assert.fail("Missing validation exception due to wrong value");
+        } catch (ValidationException e) {
+            Assert.assertTrue(e.getCause().getMessage().contains("Values not equal for entry: 'surname'"));
+        }
+    }
+
+    @Test
+    public void testStreamingValidationWrongNumberOfEntries() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator().streaming(true);
+
+        Message receivedMessage = new DefaultMessage("{\"text\":\"Hello World!\", \"index\":5, \"id\":\"x123456789x\"}");
+        Message controlMessage = new DefaultMessage("{\"text\":\"Hello World!\", \"index\":5}");
+
+        try {
+            validator.validateMessage(receivedMessage, controlMessage, context, new JsonMessageValidationContext());
+            Assert.fail("Missing validation exception due to wrong number of entries");
+        } catch (ValidationException e) {
+            Assert.assertTrue(e.getCause().getMessage().contains("Number of JSON entries not equal"));
+        }
+    }
+
+    @Test
+    public void testStreamingValidationWrongArraySize() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator().strict(false).streaming(true);
+
+        Message receivedMessage = new DefaultMessage("{\"values\":[1,2]}");
+        Message controlMessage = new DefaultMessage("{\"values\":[1,2,3]}");
+
+        try {
+            validator.validateMessage(receivedMessage, controlMessage, context, new JsonMessageValidationContext());
+            Assert.fail("Missing validation exception due to wrong array size");
+        } catch (ValidationException e) {
+            Assert.assertTrue(e.getCause().getMessage().contains("JSONArray size mismatch for JSON entry 'values'"));
+        }
+    }
+
+    @Test
+    public void testStreamingValidationMissingEntry() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator().strict(false).streaming(true);
+
+        Message receivedMessage = new DefaultMessage("{\"text\":\"Hello World!\"}");
+        Message controlMessage = new DefaultMessage("{\"text\":\"Hello World!\", \"index\":\"@ignore@\"}");
+
+        try {
+            validator.validateMessage(receivedMessage, controlMessage, context, new JsonMessageValidationContext());
+            Assert.fail("Missing validation exception due to missing entry");
+        } catch (ValidationException e) {
+            Assert.assertTrue(e.getCause().getMessage().contains("Missing JSON entry"));
+        }
+    }
+
+    @Test
+    public void testUnsupportedIgnoreExpressionFallback() {
+        JsonTextMessageValidator validator = new JsonTextMessageValidator().streaming(true);
+
+        Message receivedMessage = new DefaultMessage("{\"items\":[{\"id\":1, \"name\":\"foo\"}]}");
+        Message controlMessage = new DefaultMessage("{\"items\":[{\"id\":1, \"name\":\"?\"}]}");
+
+        JsonMessageValidationContext validationContext = new JsonMessageValidationContext();
+        validationContext.getIgnoreExpressions().add("$.items[?(@.id == 1)].name");
+        Assert.assertFalse(JsonStreamingValidation.supports(validationContext.getIgnoreExpressions()));
+
+        validator.validateMessage(receivedMessage, controlMessage, context, validationContext);
+    }
+
+    @Test
+    public void testCompileIgnorePath() {
+        Assert.assertEquals(JsonStreamingValidation.compilePath("$.items[*].name").size(), 3);
+        Assert.assertEquals(JsonStreamingValidation.compilePath("$['items'][0]").size(), 2);
+        Assert.assertEquals(JsonStreamingValidation.compilePath("$..name").size(), 1);
+        Assert.assertNull(JsonStreamingValidation.compilePath("$.items.length()"));
+        Assert.assertNull(JsonStreamingValidation.compilePath("$.items[0,1]"));
+        Assert.assertNull(JsonStreamingValidation.compilePath("items"));
+    }
+}
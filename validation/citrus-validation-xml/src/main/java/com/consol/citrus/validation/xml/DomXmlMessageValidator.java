@@ -22,12 +22,15 @@ import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
+import javax.xml.validation.Schema;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.function.Supplier;
 
 import com.consol.citrus.CitrusSettings;
 import com.consol.citrus.context.TestContext;
@@ -53,6 +56,7 @@ import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.util.xml.DomUtils;
+import org.springframework.xml.validation.SchemaLoaderUtils;
 import org.springframework.xml.validation.XmlValidator;
 import org.springframework.xml.validation.XmlValidatorFactory;
 import org.springframework.xml.xsd.XsdSchema;
@@ -63,12 +67,18 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.ls.LSException;
+import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
 
 /**
  * Default message validator implementation. Working on XML messages
  * providing message payload, header and namespace validation.
  *
+ * In streaming mode the received message payload is not parsed to a document. Instead schema validation and comparison with
+ * the control message are done in a single streaming pass, so large payloads are validated with bounded memory. Namespaces are
+ * read from the root element start tag. Validator falls back to document based validation in case ignore expressions are not
+ * supported in streaming mode or a DTD is configured.
+ *
  * @author Christoph Deppisch
  * @since 2007
  */
@@ -85,19 +95,27 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
     /** Transformer factory */
     private TransformerFactory transformerFactory = TransformerFactory.newInstance();
 
+    /** Should validate received XML in a single streaming pass instead of parsing it to a document */
+    private boolean streaming = Boolean.parseBoolean(System.getProperty("citrus.xml.message.validation.streaming", "false"));
+
     @Override
     public void validateMessage(Message receivedMessage, Message controlMessage,
                                 TestContext context, XmlMessageValidationContext validationContext) throws ValidationException {
         log.debug("Start XML message validation ...");
 
         try {
-            if (validationContext.isSchemaValidationEnabled()) {
-                validateXMLSchema(receivedMessage, context, validationContext);
-                validateDTD(validationContext.getDTDResource(), receivedMessage);
-            }
+            if (streaming && isStreamingSupported(validationContext)) {
+                validateNamespacesStreaming(validationContext.getControlNamespaces(), receivedMessage);
+                validateMessageStreaming(receivedMessage, controlMessage, validationContext, context);
+            } else {
+                if (validationContext.isSchemaValidationEnabled()) {
+                    validateXMLSchema(receivedMessage, context, validationContext);
+                    validateDTD(validationContext.getDTDResource(), receivedMessage);
+                }
 
-            validateNamespaces(validationContext.getControlNamespaces(), receivedMessage);
-            validateMessageContent(receivedMessage, controlMessage, validationContext, context);
+                validateNamespaces(validationContext.getControlNamespaces(), receivedMessage);
+                validateMessageContent(receivedMessage, controlMessage, validationContext, context);
+            }
 
             if (controlMessage != null) {
                 Assert.isTrue(controlMessage.getHeaderData().size() <= receivedMessage.getHeaderData().size(),
@@ -123,6 +141,26 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
         }
     }
 
+    /**
+     * Checks if the streaming validation mode is able to perform all validations configured in given validation context.
+     * Logs a warning when falling back to document based validation.
+     * @param validationContext
+     * @return
+     */
+    private boolean isStreamingSupported(XmlMessageValidationContext validationContext) {
+        if (!XmlStreamingValidation.supports(validationContext.getIgnoreExpressions())) {
+            log.warn("Ignore expressions not supported in streaming validation mode - using document based validation instead");
+            return false;
+        }
+
+        if (validationContext.isSchemaValidationEnabled() && validationContext.getDTDResource() != null) {
+            log.warn("DTD validation not supported in streaming validation mode - using document based validation instead");
+            return false;
+        }
+
+        return true;
+    }
+
     /**
      * Validate message with a DTD.
      *
@@ -145,71 +183,38 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
             return;
         }
 
-        try {
-            Document doc = XMLUtils.parseMessagePayload(receivedMessage.getPayload(String.class));
+        XMLUtils.readPayloadDocument(receivedMessage, doc -> {
+            validateXMLSchema(doc, receivedMessage, context, validationContext);
+            return null;
+        });
+    }
 
+    /**
+     * Validate received message document with a XML schema.
+     *
+     * @param doc
+     * @param receivedMessage
+     * @param context
+     * @param validationContext
+     */
+    private void validateXMLSchema(Document doc, Message receivedMessage, TestContext context, XmlMessageValidationContext validationContext) {
+        try {
             if (!StringUtils.hasText(doc.getFirstChild().getNamespaceURI())) {
                 return;
             }
 
             log.debug("Starting XML schema validation ...");
 
-            XmlValidator validator = null;
-            XsdSchemaRepository schemaRepository = null;
+            XmlValidator validator;
             if (validationContext.getSchema() != null) {
                 validator = context.getReferenceResolver().resolve(validationContext.getSchema(), XsdSchema.class).createValidator();
-            } else if (validationContext.getSchemaRepository() != null) {
-                schemaRepository = context.getReferenceResolver().resolve(validationContext.getSchemaRepository(), XsdSchemaRepository.class);
-            } else if (schemaRepositories.size() == 1) {
-                schemaRepository = schemaRepositories.get(0);
-            } else if (schemaRepositories.size() > 0) {
-                for (XsdSchemaRepository repository : schemaRepositories) {
-                    if (repository.canValidate(doc)) {
-                        schemaRepository = repository;
-                    }
-                }
-
-                if (schemaRepository == null) {
-                    throw new CitrusRuntimeException(String.format("Failed to find proper schema repository in Spring bean context for validating element '%s(%s)'",
-                            doc.getFirstChild().getLocalName(), doc.getFirstChild().getNamespaceURI()));
-                }
             } else {
-                log.warn("Neither schema instance nor schema repository defined - skipping XML schema validation");
-                return;
-            }
-
-            if (schemaRepository != null) {
-                if (!schemaRepository.canValidate(doc)) {
-                    throw new CitrusRuntimeException(String.format("Unable to find proper XML schema definition for element '%s(%s)' in schema repository '%s'",
-                            doc.getFirstChild().getLocalName(),
-                            doc.getFirstChild().getNamespaceURI(),
-                            schemaRepository.getName()));
-                }
-
-                List<Resource> schemas = new ArrayList<>();
-                for (XsdSchema xsdSchema : schemaRepository.getSchemas()) {
-                    if (xsdSchema instanceof XsdSchemaCollection) {
-                        for (Resource resource : ((XsdSchemaCollection) xsdSchema).getSchemaResources()) {
-                            schemas.add(resource);
-                        }
-                    } else if (xsdSchema instanceof WsdlXsdSchema) {
-                        for (Resource resource : ((WsdlXsdSchema) xsdSchema).getSchemaResources()) {
-                            schemas.add(resource);
-                        }
-                    } else {
-                        synchronized (transformerFactory) {
-                            ByteArrayOutputStream bos = new ByteArrayOutputStream();
-                            try {
-                                transformerFactory.newTransformer().transform(xsdSchema.getSource(), new StreamResult(bos));
-                            } catch (TransformerException e) {
-                                throw new CitrusRuntimeException("Failed to read schema " + xsdSchema.getTargetNamespace(), e);
-                            }
-                            schemas.add(new ByteArrayResource(bos.toByteArray()));
-                        }
-                    }
+                XsdSchemaRepository schemaRepository = findSchemaRepository(doc, context, validationContext);
+                if (schemaRepository == null) {
+                    return;
                 }
 
-                validator = XmlValidatorFactory.createValidator(schemas.toArray(new Resource[schemas.size()]), WsdlXsdSchema.W3C_XML_SCHEMA_NS_URI);
+                validator = XmlValidatorFactory.createValidator(getSchemaResources(schemaRepository), WsdlXsdSchema.W3C_XML_SCHEMA_NS_URI);
             }
 
             SAXParseException[] results = validator.validate(new DOMSource(doc));
@@ -235,6 +240,119 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
         }
     }
 
+    /**
+     * Find schema repository that is able to validate the given document. Uses explicit schema repository from validation context
+     * or looks up proper repository in the list of known schema repositories.
+     * @param doc
+     * @param context
+     * @param validationContext
+     * @return the schema repository or null if no schema repository is available.
+     */
+    private XsdSchemaRepository findSchemaRepository(Document doc, TestContext context, XmlMessageValidationContext validationContext) {
+        XsdSchemaRepository schemaRepository = null;
+        if (validationContext.getSchemaRepository() != null) {
+            schemaRepository = context.getReferenceResolver().resolve(validationContext.getSchemaRepository(), XsdSchemaRepository.class);
+        } else if (schemaRepositories.size() == 1) {
+            schemaRepository = schemaRepositories.get(0);
+        } else if (schemaRepositories.size() > 0) {
+            for (XsdSchemaRepository repository : schemaRepositories) {
+                if (repository.canValidate(doc)) {
+                    schemaRepository = repository;
+                }
+            }
+
+            if (schemaRepository == null) {
+                throw new CitrusRuntimeException(String.format("Failed to find proper schema repository in Spring bean context for validating element '%s(%s)'",
+                        doc.getFirstChild().getLocalName(), doc.getFirstChild().getNamespaceURI()));
+            }
+        } else {
+            log.warn("Neither schema instance nor schema repository defined - skipping XML schema validation");
+            return null;
+        }
+
+        if (!schemaRepository.canValidate(doc)) {
+            throw new CitrusRuntimeException(String.format("Unable to find proper XML schema definition for element '%s(%s)' in schema repository '%s'",
+                    doc.getFirstChild().getLocalName(),
+                    doc.getFirstChild().getNamespaceURI(),
+                    schemaRepository.getName()));
+        }
+
+        return schemaRepository;
+    }
+
+    /**
+     * Gets all schema resources in given schema repository.
+     * @param schemaRepository
+     * @return
+     */
+    private Resource[] getSchemaResources(XsdSchemaRepository schemaRepository) {
+        List<Resource> schemas = new ArrayList<>();
+        for (XsdSchema xsdSchema : schemaRepository.getSchemas()) {
+            schemas.addAll(getSchemaResources(xsdSchema));
+        }
+
+        return schemas.toArray(new Resource[schemas.size()]);
+    }
+
+    /**
+     * Gets schema resources of given schema. Schema collections provide several resources, other schemas
+     * are transformed to a single resource.
+     * @param xsdSchema
+     * @return
+     */
+    private List<Resource> getSchemaResources(XsdSchema xsdSchema) {
+        if (xsdSchema instanceof XsdSchemaCollection) {
+            return ((XsdSchemaCollection) xsdSchema).getSchemaResources();
+        } else if (xsdSchema instanceof WsdlXsdSchema) {
+            return ((WsdlXsdSchema) xsdSchema).getSchemaResources();
+        }
+
+        synchronized (transformerFactory) {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try {
+                transformerFactory.newTransformer().transform(xsdSchema.getSource(), new StreamResult(bos));
+            } catch (TransformerException e) {
+                throw new CitrusRuntimeException("Failed to read schema " + xsdSchema.getTargetNamespace(), e);
+            }
+            return Collections.singletonList(new ByteArrayResource(bos.toByteArray()));
+        }
+    }
+
+    /**
+     * Loads XML schema for streaming validation of the received message. Schema is selected based on the
+     * root element of the received message.
+     * @param receivedMessage
+     * @param context
+     * @param validationContext
+     * @return the schema or null if schema validation should be skipped.
+     */
+    private Schema loadSchema(Message receivedMessage, TestContext context, XmlMessageValidationContext validationContext) {
+        Document root = XmlStreamingValidation.readRootElement(receivedMessage);
+
+        if (!StringUtils.hasText(root.getFirstChild().getNamespaceURI())) {
+            return null;
+        }
+
+        Resource[] schemaResources;
+        if (validationContext.getSchema() != null) {
+            List<Resource> resources = getSchemaResources(context.getReferenceResolver().resolve(validationContext.getSchema(), XsdSchema.class));
+            schemaResources = resources.toArray(new Resource[resources.size()]);
+        } else {
+            XsdSchemaRepository schemaRepository = findSchemaRepository(root, context, validationContext);
+            if (schemaRepository == null) {
+                return null;
+            }
+
+            schemaResources = getSchemaResources(schemaRepository);
+        }
+
+        try {
+            return SchemaLoaderUtils.loadSchema(schemaResources, WsdlXsdSchema.W3C_XML_SCHEMA_NS_URI);
+        } catch (IOException | SAXException e) {
+            throw new CitrusRuntimeException("Failed to load XML schema", e);
+        }
+    }
+
     /**
      * Validate namespaces in message. The method compares namespace declarations in the root
      * element of the received message to expected namespaces. Prefixes are important too, so
@@ -252,13 +370,43 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
 
         log.debug("Start XML namespace validation");
 
-        Document received = XMLUtils.parseMessagePayload(receivedMessage.getPayload(String.class));
+        validateNamespaces(expectedNamespaces, NamespaceContextBuilder.lookupNamespaces(receivedMessage.getPayload(String.class)),
+                () -> getRootElementName(receivedMessage));
+    }
 
-        Map<String, String> foundNamespaces = NamespaceContextBuilder.lookupNamespaces(receivedMessage.getPayload(String.class));
+    /**
+     * Validate namespaces in message without reading the whole message payload. Namespace declarations are read from
+     * the root element start tag of the received message.
+     *
+     * @param expectedNamespaces
+     * @param receivedMessage
+     */
+    protected void validateNamespacesStreaming(Map<String, String> expectedNamespaces, Message receivedMessage) {
+        if (CollectionUtils.isEmpty(expectedNamespaces)) { return; }
 
+        if (receivedMessage.getPayload() == null ||
+                (receivedMessage.getPayload() instanceof String && !StringUtils.hasText(receivedMessage.getPayload(String.class)))) {
+            throw new ValidationException("Unable to validate message namespaces - receive message payload was empty");
+        }
+
+        log.debug("Start XML namespace validation");
+
+        Document root = XmlStreamingValidation.readRootElement(receivedMessage);
+        validateNamespaces(expectedNamespaces, XMLUtils.lookupNamespaces(root),
+                () -> XMLUtils.getNodesPathName(root.getFirstChild()));
+    }
+
+    /**
+     * Compares found namespace declarations of the root element to expected namespaces.
+     * @param expectedNamespaces
+     * @param foundNamespaces
+     * @param rootElementName
+     */
+    private void validateNamespaces(Map<String, String> expectedNamespaces, Map<String, String> foundNamespaces,
+                                    Supplier<String> rootElementName) {
         if (foundNamespaces.size() != expectedNamespaces.size()) {
             throw new ValidationException("Number of namespace declarations not equal for node " +
-                    XMLUtils.getNodesPathName(received.getFirstChild()) + " found " +
+                    rootElementName.get() + " found " +
                     foundNamespaces.size() + " expected " + expectedNamespaces.size());
         }
 
@@ -271,7 +419,7 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
                     throw new ValidationException("Namespace '" + namespace +
                             "' values not equal: found '" + foundNamespaces.get(namespace) +
                             "' expected '" + url + "' in reference node " +
-                            XMLUtils.getNodesPathName(received.getFirstChild()));
+                            rootElementName.get());
                 } else {
                     if (log.isDebugEnabled()) {
                         log.debug("Validating namespace " + namespace + " value as expected " + url + " - value OK");
@@ -279,13 +427,22 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
                 }
             } else {
                 throw new ValidationException("Missing namespace " + namespace + "(" + url + ") in node " +
-                        XMLUtils.getNodesPathName(received.getFirstChild()));
+                        rootElementName.get());
             }
         }
 
         log.info("XML namespace validation successful: All values OK");
     }
 
+    /**
+     * Gets the path name of the root element in given message.
+     * @param message
+     * @return
+     */
+    private String getRootElementName(Message message) {
+        return XMLUtils.readPayloadDocument(message, doc -> XMLUtils.getNodesPathName(doc.getFirstChild()));
+    }
+
     private void doElementNameValidation(Node received, Node source) {
         //validate element name
         if (log.isDebugEnabled()) {
@@ -349,7 +506,8 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
 
         log.debug("Start XML tree validation ...");
 
-        Document received = XMLUtils.parseMessagePayload(receivedMessage.getPayload(String.class));
+        // whitespace nodes get stripped from the documents so use a private copy of the cached payload document here
+        Document received = XMLUtils.getPayloadDocument(receivedMessage);
         Document source = XMLUtils.parseMessagePayload(controlMessagePayload);
 
         XMLUtils.stripWhitespaceNodes(received);
@@ -364,6 +522,61 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
                 receivedMessage, validationContext.getNamespaces()), context);
     }
 
+    /**
+     * Validate message payload with schema and control message in a single streaming pass.
+     *
+     * @param receivedMessage
+     * @param controlMessage
+     * @param validationContext
+     * @param context
+     */
+    protected void validateMessageStreaming(Message receivedMessage, Message controlMessage, XmlMessageValidationContext validationContext,
+            TestContext context) {
+        boolean emptyPayload = receivedMessage.getPayload() == null ||
+                (receivedMessage.getPayload() instanceof String && !StringUtils.hasText(receivedMessage.getPayload(String.class)));
+
+        Document control = null;
+        if (controlMessage == null || controlMessage.getPayload() == null) {
+            log.debug("Skip message payload validation as no control message was defined");
+        } else {
+            if (!(controlMessage.getPayload() instanceof String)) {
+                throw new IllegalArgumentException(
+                        "DomXmlMessageValidator does only support message payload of type String, " +
+                        "but was " + controlMessage.getPayload().getClass());
+            }
+
+            String controlMessagePayload = controlMessage.getPayload(String.class);
+            if (emptyPayload) {
+                Assert.isTrue(!StringUtils.hasText(controlMessagePayload),
+                        "Unable to validate message payload - received message payload was empty, control message payload is not");
+            } else if (StringUtils.hasText(controlMessagePayload)) {
+                control = XMLUtils.parseMessagePayload(controlMessagePayload);
+                XMLUtils.stripWhitespaceNodes(control);
+            }
+        }
+
+        if (emptyPayload) {
+            return;
+        }
+
+        Schema schema = validationContext.isSchemaValidationEnabled() ? loadSchema(receivedMessage, context, validationContext) : null;
+        if (control == null && schema == null) {
+            return;
+        }
+
+        log.debug("Start XML streaming validation ...");
+
+        XmlStreamingValidation streamingValidation = new XmlStreamingValidation(validationContext.getIgnoreExpressions(),
+                validationContext.getIgnoreExpressions().isEmpty() ? null :
+                        namespaceContextBuilder.buildContext(receivedMessage, validationContext.getNamespaces()));
+
+        try {
+            streamingValidation.validate(XmlStreamingValidation.createInputSource(receivedMessage), control, schema, context);
+        } catch (IOException e) {
+            throw new CitrusRuntimeException(e);
+        }
+    }
+
     /**
      * Validates XML header fragment data.
      * @param receivedHeaderData
@@ -730,6 +943,24 @@ public class DomXmlMessageValidator extends AbstractMessageValidator<XmlMessageV
         return messageType.equalsIgnoreCase(MessageType.XML.name()) && XMLUtils.hasXmlPayload(message);
     }
 
+    /**
+     * Enable or disable streaming validation mode.
+     * @param streaming
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    /**
+     * Enable or disable streaming validation mode.
+     * @param streaming
+     * @return this object for chaining
+     */
+    public DomXmlMessageValidator streaming(boolean streaming) {
+        setStreaming(streaming);
+        return this;
+    }
+
     /**
      * Set the schema repository holding all known schema definition files.
      * @param schemaRepository the schemaRepository to set
@@ -0,0 +1,1098 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.validation.xml;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.validation.Schema;
+import javax.xml.validation.ValidatorHandler;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.consol.citrus.CitrusSettings;
+import com.consol.citrus.context.TestContext;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.exceptions.ValidationException;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.util.XMLUtils;
+import com.consol.citrus.validation.ValidationUtils;
+import com.consol.citrus.validation.matcher.ValidationMatcherUtils;
+import com.consol.citrus.xml.xpath.XPathUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.util.xml.DomUtils;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.DocumentType;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.Attributes2;
+import org.xml.sax.ext.DefaultHandler2;
+import org.xml.sax.helpers.NamespaceSupport;
+
+/**
+ * Validates received XML in a single streaming pass. Received XML is read with a SAX parser, optionally piped through a
+ * XML schema validator handler and compared event by event with the control XML document. Only the control document
+ * is held in memory, so memory usage does not depend on the size of the received message payload.
+ *
+ * Comparison follows the same rules as the tree based validation in {@link DomXmlMessageValidator} including ignore
+ * placeholders and validation matchers on elements and attributes. Ignore expressions are matched against the path of
+ * the current node as received XML is not available as a document. Supported are node path names (e.g. Numbers.NumberItem.AreaCode)
+ * as well as XPath location paths using child and descendant steps, element and attribute name tests, wildcards and
+ * positional predicates.
+ *
+ * @author Christoph Deppisch
+ * @since 3.0
+ */
+public class XmlStreamingValidation {
+
+    /** Logger */
+    private static Logger log = LoggerFactory.getLogger(XmlStreamingValidation.class);
+
+    /** Shared namespace aware SAX parser factory */
+    private static final SAXParserFactory PARSER_FACTORY = SAXParserFactory.newInstance();
+
+    /** Shared namespace aware document builder factory */
+    private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = DocumentBuilderFactory.newInstance();
+
+    static {
+        PARSER_FACTORY.setNamespaceAware(true);
+        DOCUMENT_BUILDER_FACTORY.setNamespaceAware(true);
+    }
+
+    /** Ignore expressions given as node path names */
+    private final List<String> ignorePathNames = new ArrayList<>();
+
+    /** Ignore expressions given as compiled XPath location paths */
+    private final List<String> ignoreLocationPathExpressions = new ArrayList<>();
+    private final List<List<Step>> ignoreLocationPaths = new ArrayList<>();
+
+    /**
+     * Constructor using ignore expressions and namespace context to resolve namespace prefixes in XPath expressions.
+     * @param ignoreExpressions
+     * @param namespaceContext
+     */
+    public XmlStreamingValidation(Collection<String> ignoreExpressions, NamespaceContext namespaceContext) {
+        for (String expression : ignoreExpressions) {
+            if (XPathUtils.isXPathExpression(expression)) {
+                List<Step> steps = compileLocationPath(expression);
+                if (steps == null) {
+                    throw new CitrusRuntimeException("Unsupported XPath expression in streaming validation mode: " + expression);
+                }
+
+                for (Step step : steps) {
+                    step.resolveNamespace(namespaceContext);
+                }
+
+                ignoreLocationPathExpressions.add(expression);
+                ignoreLocationPaths.add(steps);
+            } else {
+                ignorePathNames.add(expression);
+            }
+        }
+    }
+
+    /**
+     * Checks if all given ignore expressions are supported in streaming validation mode.
+     * @param ignoreExpressions
+     * @return
+     */
+    public static boolean supports(Collection<String> ignoreExpressions) {
+        return ignoreExpressions.stream()
+                .allMatch(expression -> !XPathUtils.isXPathExpression(expression) || compileLocationPath(expression) != null);
+    }
+
+    /**
+     * Creates input source reading the message payload. Binary and resource payloads are read as stream, all other
+     * payloads are converted to String.
+     * @param message
+     * @return
+     * @throws IOException
+     */
+    public static InputSource createInputSource(Message message) throws IOException {
+        Object payload = message.getPayload();
+        if (payload instanceof byte[]) {
+            return new InputSource(new ByteArrayInputStream((byte[]) payload));
+        } else if (payload instanceof Resource) {
+            return new InputSource(((Resource) payload).getInputStream());
+        }
+
+        String xml = message.getPayload(String.class);
+        if (StringUtils.hasLength(xml) && Character.isWhitespace(xml.charAt(0))) {
+            xml = xml.trim();
+        }
+
+        return new InputSource(new StringReader(xml));
+    }
+
+    /**
+     * Reads the root element of the given message payload. Parsing stops right after the root element start tag.
+     * @param message
+     * @return document holding the empty root element with its namespace and the namespace declarations of the root element.
+     */
+    public static Document readRootElement(Message message) {
+        Element[] root = new Element[1];
+        Map<String, String> namespaces = new LinkedHashMap<>();
+
+        try {
+            parse(createInputSource(message), new DefaultHandler2() {
+                @Override
+                public void startPrefixMapping(String prefix, String uri) {
+                    namespaces.put(prefix, uri);
+                }
+
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+                    Document doc;
+                    try {
+                        doc = DOCUMENT_BUILDER_FACTORY.newDocumentBuilder().newDocument();
+                    } catch (ParserConfigurationException e) {
+                        throw new CitrusRuntimeException("Failed to create XML document", e);
+                    }
+
+                    Element element = doc.createElementNS(StringUtils.hasText(uri) ? uri : null, qName);
+                    for (Map.Entry<String, String> namespace : namespaces.entrySet()) {
+                        element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, StringUtils.hasLength(namespace.getKey()) ?
+                                XMLConstants.XMLNS_ATTRIBUTE + ":" + namespace.getKey() : XMLConstants.XMLNS_ATTRIBUTE, namespace.getValue());
+                    }
+
+                    doc.appendChild(element);
+                    root[0] = element;
+                    throw new SAXException("Root element found");
+                }
+            });
+        } catch (SAXException e) {
+            if (root[0] == null) {
+                throw new CitrusRuntimeException("Failed to read root element of XML message payload", e);
+            }
+        } catch (IOException e) {
+            throw new CitrusRuntimeException("Failed to read XML message payload", e);
+        }
+
+        if (root[0] == null) {
+            throw new CitrusRuntimeException("Failed to read root element of XML message payload");
+        }
+
+        return root[0].getOwnerDocument();
+    }
+
+    /**
+     * Validates received XML read from input source with comparison to control document and/or given schema.
+     * @param received input source reading the received XML.
+     * @param control the control document, whitespace nodes stripped. May be null in order to skip comparison.
+     * @param schema the XML schema. May be null in order to skip schema validation.
+     * @param context the current test context.
+     * @throws ValidationException when XML schema validation fails.
+     */
+    public void validate(InputSource received, Document control, Schema schema, TestContext context) {
+        ComparingHandler comparingHandler = new ComparingHandler(control, context);
+        List<SAXParseException> schemaErrors = new ArrayList<>();
+
+        ContentHandler contentHandler = comparingHandler;
+        if (schema != null) {
+            log.debug("Starting XML schema validation ...");
+
+            ValidatorHandler validatorHandler = schema.newValidatorHandler();
+            validatorHandler.setContentHandler(comparingHandler);
+            validatorHandler.setErrorHandler(new DefaultHandler2() {
+                @Override
+                public void warning(SAXParseException e) {
+                    log.warn(e.getMessage());
+                }
+
+                @Override
+                public void error(SAXParseException e) {
+                    schemaErrors.add(e);
+                }
+
+                @Override
+                public void fatalError(SAXParseException e) {
+                    schemaErrors.add(e);
+                }
+            });
+            contentHandler = validatorHandler;
+        }
+
+        try {
+            parse(received, contentHandler, comparingHandler);
+        } catch (IllegalArgumentException e) {
+            if (!schemaErrors.isEmpty()) {
+                throw schemaValidationFailed(schemaErrors);
+            }
+
+            throw e;
+        } catch (SAXException | IOException e) {
+            if (!schemaErrors.isEmpty()) {
+                throw schemaValidationFailed(schemaErrors);
+            }
+
+            throw new CitrusRuntimeException("Failed to parse XML message payload", e);
+        }
+
+        if (!schemaErrors.isEmpty()) {
+            throw schemaValidationFailed(schemaErrors);
+        } else if (schema != null) {
+            log.info("XML schema validation successful: All values OK");
+        }
+    }
+
+    /**
+     * Creates validation exception reporting all schema validation errors.
+     * @param schemaErrors
+     * @return
+     */
+    private ValidationException schemaValidationFailed(List<SAXParseException> schemaErrors) {
+        log.debug("Found " + schemaErrors.size() + " schema validation errors");
+        if (log.isDebugEnabled()) {
+            StringBuilder errors = new StringBuilder();
+            for (SAXParseException e : schemaErrors) {
+                errors.append(e.toString());
+                errors.append("\n");
+            }
+            log.debug(errors.toString());
+        }
+
+        return new ValidationException("XML schema validation failed:", schemaErrors.get(0));
+    }
+
+    /**
+     * Parse input source with given handlers. Lexical handler is optional.
+     * @param input
+     * @param contentHandler
+     * @throws SAXException
+     * @throws IOException
+     */
+    private static void parse(InputSource input, ContentHandler contentHandler) throws SAXException, IOException {
+        parse(input, contentHandler, null);
+    }
+
+    /**
+     * Parse input source with given handlers. External DTDs are not loaded.
+     * @param input
+     * @param contentHandler
+     * @param lexicalHandler
+     * @throws SAXException
+     * @throws IOException
+     */
+    private static void parse(InputSource input, ContentHandler contentHandler, DefaultHandler2 lexicalHandler) throws SAXException, IOException {
+        XMLReader reader;
+        try {
+            reader = PARSER_FACTORY.newSAXParser().getXMLReader();
+        } catch (ParserConfigurationException e) {
+            throw new CitrusRuntimeException("Failed to create SAX parser", e);
+        }
+
+        try {
+            reader.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        } catch (SAXException e) {
+            log.debug("SAX parser does not support to skip external DTD loading");
+        }
+
+        if (lexicalHandler != null) {
+            reader.setProperty("http://xml.org/sax/properties/lexical-handler", lexicalHandler);
+        }
+
+        reader.setContentHandler(contentHandler);
+        reader.parse(input);
+    }
+
+    /**
+     * Checks if the element path ends with the given local names.
+     * @param path
+     * @param names
+     * @param count number of names to match.
+     * @return
+     */
+    private static boolean endsWith(List<PathElement> path, String[] names, int count) {
+        if (count > path.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (!names[count - 1 - i].equals(path.get(path.size() - 1 - i).localName)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Builds node path name with local names separated by dots.
+     * @param path
+     * @param attribute
+     * @return
+     */
+    private static String getPathName(List<PathElement> path, PathElement attribute) {
+        StringBuilder pathName = new StringBuilder();
+        for (PathElement element : path) {
+            if (pathName.length() > 0) {
+                pathName.append('.');
+            }
+            pathName.append(element.localName);
+        }
+
+        if (attribute != null) {
+            pathName.append('.').append(attribute.qName);
+        }
+
+        return pathName.toString();
+    }
+
+    /**
+     * Matches location path steps starting at given step index with element path starting at given path index.
+     * @param steps
+     * @param stepIndex
+     * @param path
+     * @param pathIndex
+     * @param attribute
+     * @return
+     */
+    private static boolean matches(List<Step> steps, int stepIndex, List<PathElement> path, int pathIndex, PathElement attribute) {
+        if (stepIndex == steps.size()) {
+            return pathIndex == path.size() && attribute == null;
+        }
+
+        Step step = steps.get(stepIndex);
+        if (step.attribute) {
+            return attribute != null && (step.descendant || pathIndex == path.size()) && step.matches(attribute);
+        }
+
+        if (step.descendant) {
+            for (int i = pathIndex; i < path.size(); i++) {
+                if (step.matches(path.get(i)) && matches(steps, stepIndex + 1, path, i + 1, attribute)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        return pathIndex < path.size() && step.matches(path.get(pathIndex)) && matches(steps, stepIndex + 1, path, pathIndex + 1, attribute);
+    }
+
+    /**
+     * Compiles XPath location path to list of steps. Supports absolute location paths with child and descendant steps,
+     * element and attribute name tests, wildcards and positional predicates.
+     * @param expression
+     * @return the steps or null if expression is not supported.
+     */
+    static List<Step> compileLocationPath(String expression) {
+        String path = expression.trim();
+        if (!path.startsWith("/")) {
+            return null;
+        }
+
+        List<Step> steps = new ArrayList<>();
+        int i = 0;
+        while (i < path.length()) {
+            boolean descendant = false;
+            if (path.startsWith("//", i)) {
+                descendant = true;
+                i += 2;
+            } else if (path.charAt(i) == '/') {
+                i++;
+            } else {
+                return null;
+            }
+
+            int end = path.indexOf('/', i);
+            if (end < 0) {
+                end = path.length();
+            }
+
+            Step step = Step.compile(path.substring(i, end), descendant);
+            if (step == null || (step.attribute && end < path.length())) {
+                return null;
+            }
+
+            steps.add(step);
+            i = end;
+        }
+
+        return steps.isEmpty() ? null : steps;
+    }
+
+    /**
+     * Element or attribute on the current path.
+     */
+    private static final class PathElement {
+        private final String namespaceUri;
+        private final String localName;
+        private final String qName;
+        private final int position;
+        private final int anyPosition;
+
+        PathElement(String namespaceUri, String localName, String qName, int position, int anyPosition) {
+            this.namespaceUri = namespaceUri;
+            this.localName = localName;
+            this.qName = qName;
+            this.position = position;
+            this.anyPosition = anyPosition;
+        }
+    }
+
+    /**
+     * Location path step with name test and optional positional predicate.
+     */
+    static final class Step {
+        private final boolean descendant;
+        private final boolean attribute;
+        private final String prefix;
+        private final String localName;
+        private final Integer position;
+        private String namespaceUri;
+
+        Step(boolean descendant, boolean attribute, String prefix, String localName, Integer position) {
+            this.descendant = descendant;
+            this.attribute = attribute;
+            this.prefix = prefix;
+            this.localName = localName;
+            this.position = position;
+        }
+
+        static Step compile(String step, boolean descendant) {
+            String nameTest = step;
+            Integer position = null;
+
+            int predicate = step.indexOf('[');
+            if (predicate >= 0) {
+                if (!step.endsWith("]")) {
+                    return null;
+                }
+
+                String index = step.substring(predicate + 1, step.length() - 1).trim();
+                if (!index.matches("[1-9]\\d*")) {
+                    return null;
+                }
+
+                position = Integer.valueOf(index);
+                nameTest = step.substring(0, predicate);
+            }
+
+            boolean attribute = nameTest.startsWith("@");
+            if (attribute) {
+                if (position != null) {
+                    return null;
+                }
+                nameTest = nameTest.substring(1);
+            }
+
+            if (nameTest.equals("*")) {
+                return new Step(descendant, attribute, null, null, position);
+            }
+
+            String prefix = XMLConstants.DEFAULT_NS_PREFIX;
+            String localName = nameTest;
+            if (nameTest.contains(":")) {
+                prefix = nameTest.substring(0, nameTest.indexOf(':'));
+                localName = nameTest.substring(nameTest.indexOf(':') + 1);
+            }
+
+            if (!isName(prefix) || !isName(localName) || (prefix.length() == 0 && nameTest.contains(":"))) {
+                return null;
+            }
+
+            return new Step(descendant, attribute, prefix, localName, position);
+        }
+
+        private static boolean isName(String name) {
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        void resolveNamespace(NamespaceContext namespaceContext) {
+            if (localName == null) {
+                return;
+            }
+
+            if (StringUtils.hasLength(prefix)) {
+                namespaceUri = namespaceContext.getNamespaceURI(prefix);
+                if (!StringUtils.hasLength(namespaceUri)) {
+                    throw new CitrusRuntimeException("Unable to resolve namespace prefix '" + prefix + "' in ignore expression");
+                }
+            } else {
+                namespaceUri = XMLConstants.NULL_NS_URI;
+            }
+        }
+
+        boolean matches(PathElement element) {
+            if (localName != null && !(localName.equals(element.localName) && namespaceUri.equals(element.namespaceUri))) {
+                return false;
+            }
+
+            return position == null || position == (localName != null ? element.position : element.anyPosition);
+        }
+    }
+
+    /**
+     * Content handler comparing received XML events with the control document.
+     */
+    private final class ComparingHandler extends DefaultHandler2 {
+        private final Document control;
+        private final TestContext context;
+
+        /** Currently open elements that are compared with control elements */
+        private final Deque<Frame> frames = new ArrayDeque<>();
+
+        /** Path of currently open received elements */
+        private final List<PathElement> path = new ArrayList<>();
+
+        /** Received namespace declarations in scope */
+        private final NamespaceSupport namespaces = new NamespaceSupport();
+        private boolean namespaceContextPushed = false;
+
+        /** Depth of currently skipped subtree */
+        private int skipDepth = 0;
+
+        /** Path name ignore expressions split into local names */
+        private final List<String[]> pathNames = new ArrayList<>();
+
+        /** Short path name ignore expressions only match the first element in document order, either as element or as attribute owner */
+        private final boolean[] elementMatched;
+        private final boolean[] ownerMatched;
+        private final boolean[] currentElementMatched;
+        private final boolean[] currentOwnerMatched;
+
+        /** XPath ignore expressions that matched a node */
+        private final boolean[] locationPathMatched;
+        private boolean ignoredSubtree = false;
+
+        /** Count of root elements */
+        private int rootElements = 0;
+
+        ComparingHandler(Document control, TestContext context) {
+            this.control = control;
+            this.context = context;
+            for (String pathName : ignorePathNames) {
+                pathNames.add(pathName.split("\\."));
+            }
+
+            this.elementMatched = new boolean[ignorePathNames.size()];
+            this.ownerMatched = new boolean[ignorePathNames.size()];
+            this.currentElementMatched = new boolean[ignorePathNames.size()];
+            this.currentOwnerMatched = new boolean[ignorePathNames.size()];
+            this.locationPathMatched = new boolean[ignoreLocationPaths.size()];
+        }
+
+        @Override
+        public void startDTD(String name, String publicId, String systemId) {
+            if (control == null) {
+                return;
+            }
+
+            DocumentType controlDTD = control.getDoctype();
+            Assert.isTrue(controlDTD != null, "Missing document type definition in expected xml fragment");
+
+            if (log.isDebugEnabled()) {
+                log.debug("Validating document type definition: " + publicId + " (" + systemId + ")");
+            }
+
+            validateDocumentTypeId("public", controlDTD.getPublicId(), publicId);
+            validateDocumentTypeId("system", controlDTD.getSystemId(), systemId);
+        }
+
+        private void validateDocumentTypeId(String type, String controlId, String receivedId) {
+            if (!StringUtils.hasText(controlId)) {
+                Assert.isNull(receivedId,
+                        ValidationUtils.buildValueMismatchErrorMessage("Document type " + type + " id not equal",
+                                controlId, receivedId));
+            } else if (controlId.trim().equals(CitrusSettings.IGNORE_PLACEHOLDER)) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Document type " + type + " id: '" + receivedId +
+                            "' is ignored by placeholder '" + CitrusSettings.IGNORE_PLACEHOLDER + "'");
+                }
+            } else {
+                Assert.isTrue(StringUtils.hasText(receivedId) && receivedId.equals(controlId),
+                        ValidationUtils.buildValueMismatchErrorMessage("Document type " + type + " id not equal",
+                                controlId, receivedId));
+            }
+        }
+
+        @Override
+        public void startPrefixMapping(String prefix, String uri) {
+            if (!namespaceContextPushed) {
+                namespaces.pushContext();
+                namespaceContextPushed = true;
+            }
+
+            namespaces.declarePrefix(prefix, uri);
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if (!namespaceContextPushed) {
+                namespaces.pushContext();
+            }
+            namespaceContextPushed = false;
+
+            if (control == null) {
+                return;
+            }
+
+            if (skipDepth > 0) {
+                skipDepth++;
+                return;
+            }
+
+            Frame parent = frames.peek();
+            Element controlElement;
+            PathElement pathElement;
+            if (parent == null) {
+                rootElements++;
+                controlElement = control.getDocumentElement();
+                pathElement = new PathElement(uri, localName, qName, 1, 1);
+            } else {
+                parent.flushText();
+                parent.receivedChildren++;
+
+                String name = "{" + uri + "}" + localName;
+                int position = parent.childNameCounts.merge(name, 1, Integer::sum);
+                pathElement = new PathElement(uri, localName, qName, position, parent.receivedChildren);
+
+                if (parent.matcher || parent.receivedChildren > parent.controlChildren.size()) {
+                    skipDepth = 1;
+                    return;
+                }
+
+                controlElement = parent.controlChildren.get(parent.receivedChildren - 1);
+            }
+
+            path.add(pathElement);
+
+            if (log.isDebugEnabled()) {
+                log.debug("Validating element: " + localName + " (" + uri + ")");
+            }
+
+            Assert.isTrue(localName.equals(controlElement.getLocalName()),
+                    ValidationUtils.buildValueMismatchErrorMessage("Element names not equal", controlElement.getLocalName(), localName));
+
+            validateElementNamespace(uri, localName, controlElement);
+
+            updatePathNameMatches();
+
+            if (isElementIgnored(controlElement, localName)) {
+                path.remove(path.size() - 1);
+                ignoredSubtree = true;
+                skipDepth = 1;
+                return;
+            }
+
+            validateAttributes(localName, attributes, controlElement, pathElement);
+
+            frames.push(new Frame(controlElement, isValidationMatcherExpression(controlElement)));
+        }
+
+        private void validateElementNamespace(String uri, String localName, Element controlElement) {
+            if (log.isDebugEnabled()) {
+                log.debug("Validating namespace for element: " + localName);
+            }
+
+            if (StringUtils.hasLength(uri)) {
+                Assert.isTrue(controlElement.getNamespaceURI() != null,
+                        ValidationUtils.buildValueMismatchErrorMessage("Element namespace not equal for element '" +
+                                localName + "'", null, uri));
+
+                Assert.isTrue(uri.equals(controlElement.getNamespaceURI()),
+                        ValidationUtils.buildValueMismatchErrorMessage("Element namespace not equal for element '" +
+                                localName + "'", controlElement.getNamespaceURI(), uri));
+            } else {
+                Assert.isTrue(controlElement.getNamespaceURI() == null,
+                        ValidationUtils.buildValueMismatchErrorMessage("Element namespace not equal for element '" +
+                                localName + "'", controlElement.getNamespaceURI(), null));
+            }
+        }
+
+        /**
+         * Marks short path name ignore expressions that match the current element for the first time.
+         */
+        private void updatePathNameMatches() {
+            for (int i = 0; i < pathNames.size(); i++) {
+                String[] names = pathNames.get(i);
+
+                currentElementMatched[i] = !elementMatched[i] && endsWith(path, names, names.length);
+                elementMatched[i] |= currentElementMatched[i];
+
+                currentOwnerMatched[i] = names.length > 1 && !ownerMatched[i] && endsWith(path, names, names.length - 1);
+                ownerMatched[i] |= currentOwnerMatched[i];
+            }
+        }
+
+        /**
+         * Checks if current element or given attribute of the current element is on the ignore list.
+         * @param attribute the attribute or null when checking the element.
+         * @return
+         */
+        private boolean isIgnored(PathElement attribute) {
+            boolean ignored = false;
+
+            if (!pathNames.isEmpty()) {
+                String pathName = getPathName(path, attribute);
+                for (int i = 0; i < pathNames.size(); i++) {
+                    String[] names = pathNames.get(i);
+                    if (ignorePathNames.get(i).equals(pathName)) {
+                        ignored = true;
+                    } else if (attribute == null) {
+                        ignored |= currentElementMatched[i];
+                    } else {
+                        ignored |= currentOwnerMatched[i] && names[names.length - 1].equals(attribute.qName);
+                    }
+                }
+            }
+
+            for (int i = 0; i < ignoreLocationPaths.size(); i++) {
+                if (matches(ignoreLocationPaths.get(i), 0, path, 0, attribute)) {
+                    locationPathMatched[i] = true;
+                    ignored = true;
+                }
+            }
+
+            return ignored;
+        }
+
+        private boolean isElementIgnored(Element controlElement, String localName) {
+            if (isIgnored(null)) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Element: '" + localName + "' is on ignore list - skipped validation");
+                }
+                return true;
+            } else if (controlElement.getFirstChild() != null &&
+                    StringUtils.hasText(controlElement.getFirstChild().getNodeValue()) &&
+                    controlElement.getFirstChild().getNodeValue().trim().equals(CitrusSettings.IGNORE_PLACEHOLDER)) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Element: '" + localName + "' is ignored by placeholder '" +
+                            CitrusSettings.IGNORE_PLACEHOLDER + "'");
+                }
+                return true;
+            }
+
+            return false;
+        }
+
+        private void validateAttributes(String localName, Attributes attributes, Element controlElement, PathElement pathElement) {
+            if (log.isDebugEnabled()) {
+                log.debug("Validating attributes for element: " + localName);
+            }
+
+            // attribute defaults from DTD are not available on received elements as external DTDs are not loaded
+            NamedNodeMap controlAttributes = controlElement.getAttributes();
+            int controlAttributeCount = 0;
+            for (int i = 0; i < controlAttributes.getLength(); i++) {
+                if (!controlAttributes.item(i).getNodeName().startsWith(XMLConstants.XMLNS_ATTRIBUTE) &&
+                        ((Attr) controlAttributes.item(i)).getSpecified()) {
+                    controlAttributeCount++;
+                }
+            }
+
+            int receivedAttributeCount = 0;
+            for (int i = 0; i < attributes.getLength(); i++) {
+                if (isSpecified(attributes, i)) {
+                    receivedAttributeCount++;
+                }
+            }
+
+            Assert.isTrue(receivedAttributeCount == controlAttributeCount,
+                    ValidationUtils.buildValueMismatchErrorMessage("Number of attributes not equal for element '"
+                            + localName + "'", controlAttributeCount, receivedAttributeCount));
+
+            for (int i = 0; i < attributes.getLength(); i++) {
+                if (!isSpecified(attributes, i)) {
+                    continue;
+                }
+
+                validateAttribute(localName, attributes.getURI(i), attributes.getLocalName(i), attributes.getQName(i),
+                        attributes.getValue(i), controlElement);
+            }
+        }
+
+        private boolean isSpecified(Attributes attributes, int index) {
+            return !attributes.getQName(index).startsWith(XMLConstants.XMLNS_ATTRIBUTE) &&
+                    (!(attributes instanceof Attributes2) || ((Attributes2) attributes).isSpecified(index));
+        }
+
+        private void validateAttribute(String elementName, String uri, String attributeName, String qName, String receivedValue, Element controlElement) {
+            if (log.isDebugEnabled()) {
+                log.debug("Validating attribute: " + attributeName + " (" + uri + ")");
+            }
+
+            Attr controlAttribute = controlElement.getAttributeNodeNS(StringUtils.hasLength(uri) ? uri : null, attributeName);
+
+            Assert.isTrue(controlAttribute != null,
+                    "Attribute validation failed for element '"
+                            + elementName + "', unknown attribute "
+                            + attributeName + " (" + (StringUtils.hasLength(uri) ? uri : null) + ")");
+
+            if (isIgnored(new PathElement(uri, attributeName, qName, 1, 1))) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Attribute '" + attributeName + "' is on ignore list - skipped value validation");
+                }
+                return;
+            } else if (StringUtils.hasText(controlAttribute.getNodeValue()) &&
+                    controlAttribute.getNodeValue().trim().equals(CitrusSettings.IGNORE_PLACEHOLDER)) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Attribute: '" + attributeName + "' is ignored by placeholder '" +
+                            CitrusSettings.IGNORE_PLACEHOLDER + "'");
+                }
+                return;
+            }
+
+            String controlValue = controlAttribute.getNodeValue();
+            if (isValidationMatcherExpression(controlAttribute)) {
+                ValidationMatcherUtils.resolveValidationMatcher(controlAttribute.getNodeName(),
+                        receivedValue.trim(),
+                        controlValue.trim(),
+                        context);
+            } else if (receivedValue.contains(":") && controlValue.contains(":")) {
+                validateNamespaceQualifiedAttribute(attributeName, receivedValue, controlAttribute);
+            } else {
+                Assert.isTrue(receivedValue.equals(controlValue),
+                        ValidationUtils.buildValueMismatchErrorMessage("Values not equal for attribute '"
+                                + attributeName + "'", controlValue, receivedValue));
+            }
+
+            if (log.isDebugEnabled()) {
+                log.debug("Attribute '" + attributeName + "'='" + receivedValue + "': OK");
+            }
+        }
+
+        private void validateNamespaceQualifiedAttribute(String attributeName, String receivedValue, Attr controlAttribute) {
+            String controlValue = controlAttribute.getNodeValue();
+            String receivedPrefix = receivedValue.substring(0, receivedValue.indexOf(':'));
+            String controlPrefix = controlValue.substring(0, controlValue.indexOf(':'));
+
+            String receivedNamespace = namespaces.getURI(receivedPrefix);
+            if (receivedNamespace != null) {
+                Map<String, String> controlNamespaces = XMLUtils.lookupNamespaces(controlAttribute.getOwnerDocument());
+                controlNamespaces.putAll(XMLUtils.lookupNamespaces(controlAttribute.getOwnerElement()));
+
+                if (controlNamespaces.containsKey(controlPrefix)) {
+                    Assert.isTrue(controlNamespaces.get(controlPrefix).equals(receivedNamespace),
+                            ValidationUtils.buildValueMismatchErrorMessage("Values not equal for attribute value namespace '"
+                                    + receivedValue + "'", controlNamespaces.get(controlPrefix), receivedNamespace));
+
+                    // remove namespace prefixes as they must not form equality
+                    receivedValue = receivedValue.substring((receivedPrefix + ":").length());
+                    controlValue = controlValue.substring((controlPrefix + ":").length());
+                } else {
+                    throw new ValidationException("Received attribute value '" + attributeName + "' describes namespace qualified attribute value," +
+                            " control value '" + controlValue + "' does not");
+                }
+            }
+
+            Assert.isTrue(receivedValue.equals(controlValue),
+                    ValidationUtils.buildValueMismatchErrorMessage("Values not equal for attribute '"
+                            + attributeName + "'", controlValue, receivedValue));
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (control != null && skipDepth == 0 && !frames.isEmpty()) {
+                frames.peek().currentText.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void ignorableWhitespace(char[] ch, int start, int length) {
+            characters(ch, start, length);
+        }
+
+        @Override
+        public void comment(char[] ch, int start, int length) {
+            flushText();
+        }
+
+        @Override
+        public void startCDATA() {
+            flushText();
+        }
+
+        @Override
+        public void endCDATA() {
+            flushText();
+        }
+
+        @Override
+        public void processingInstruction(String target, String data) {
+            if (log.isDebugEnabled()) {
+                log.debug("Ignored processing instruction (" + target + "=" + data + ")");
+            }
+            flushText();
+        }
+
+        private void flushText() {
+            if (control != null && skipDepth == 0 && !frames.isEmpty()) {
+                frames.peek().flushText();
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            namespaces.popContext();
+
+            if (control == null) {
+                return;
+            }
+
+            if (skipDepth > 0) {
+                skipDepth--;
+                return;
+            }
+
+            Frame frame = frames.pop();
+            frame.flushText();
+            path.remove(path.size() - 1);
+
+            if (frame.matcher) {
+                ValidationMatcherUtils.resolveValidationMatcher(frame.control.getNodeName(),
+                        frame.firstText != null ? frame.firstText.trim() : "",
+                        frame.control.getFirstChild().getNodeValue().trim(),
+                        context);
+                return;
+            }
+
+            validateText(localName, frame);
+
+            Assert.isTrue(frame.receivedChildren == frame.controlChildren.size(),
+                    ValidationUtils.buildValueMismatchErrorMessage("Number of child elements not equal for element '"
+                            + localName + "'", frame.controlChildren.size(), frame.receivedChildren));
+
+            if (log.isDebugEnabled()) {
+                log.debug("Validation successful for element: " + localName + " (" + uri + ")");
+            }
+        }
+
+        private void validateText(String localName, Frame frame) {
+            if (log.isDebugEnabled()) {
+                log.debug("Validating node value for element: " + localName);
+            }
+
+            String receivedText = frame.text.toString().trim();
+            String controlText = DomUtils.getTextValue(frame.control).trim();
+
+            Assert.isTrue(receivedText.equals(controlText),
+                    ValidationUtils.buildValueMismatchErrorMessage("Node value not equal for element '"
+                            + localName + "'", controlText, receivedText));
+
+            if (log.isDebugEnabled()) {
+                log.debug("Node value '" + receivedText + "': OK");
+            }
+        }
+
+        @Override
+        public void endDocument() {
+            if (control == null) {
+                return;
+            }
+
+            Assert.isTrue(rootElements == 1, "Missing root element in received XML message payload");
+
+            for (int i = 0; i < locationPathMatched.length; i++) {
+                if (!locationPathMatched[i] && !ignoredSubtree) {
+                    throw new CitrusRuntimeException("No result for XPath expression: '" + ignoreLocationPathExpressions.get(i) + "'");
+                }
+            }
+        }
+
+        private boolean isValidationMatcherExpression(Node node) {
+            switch (node.getNodeType()) {
+                case Node.ELEMENT_NODE:
+                    return node.getFirstChild() != null &&
+                            StringUtils.hasText(node.getFirstChild().getNodeValue()) &&
+                            ValidationMatcherUtils.isValidationMatcherExpression(node.getFirstChild().getNodeValue().trim());
+                case Node.ATTRIBUTE_NODE:
+                    return StringUtils.hasText(node.getNodeValue()) &&
+                            ValidationMatcherUtils.isValidationMatcherExpression(node.getNodeValue().trim());
+                default:
+                    return false;
+            }
+        }
+    }
+
+    /**
+     * Received element that is currently compared with a control element.
+     */
+    private static final class Frame {
+        private final Element control;
+        private final List<Element> controlChildren;
+        private final boolean matcher;
+
+        /** Positions of received child elements by name */
+        private final Map<String, Integer> childNameCounts = new HashMap<>();
+        private int receivedChildren = 0;
+
+        /** Text of the current text node and concatenated text of all non whitespace text nodes */
+        private final StringBuilder currentText = new StringBuilder();
+        private final StringBuilder text = new StringBuilder();
+        private String firstText;
+
+        Frame(Element control, boolean matcher) {
+            this.control = control;
+            this.controlChildren = DomUtils.getChildElements(control);
+            this.matcher = matcher;
+        }
+
+        /**
+         * Finishes current text node. Whitespace only text nodes are dropped just like the tree based validation strips
+         * whitespace nodes from documents.
+         */
+        void flushText() {
+            if (currentText.length() == 0) {
+                return;
+            }
+
+            if (StringUtils.hasText(currentText)) {
+                if (firstText == null && receivedChildren == 0) {
+                    firstText = currentText.toString();
+                }
+
+                if (!matcher) {
+                    text.append(currentText);
+                }
+            }
+
+            currentText.setLength(0);
+        }
+    }
+}
@@ -60,10 +60,26 @@ public class XpathMessageValidator extends AbstractMessageValidator<XpathMessage
 
         log.debug("Start XPath element validation ...");
 
-        Document received = XMLUtils.parseMessagePayload(receivedMessage.getPayload(String.class));
         NamespaceContext namespaceContext = namespaceContextBuilder.buildContext(
                 receivedMessage, validationContext.getNamespaces());
 
+        XMLUtils.readPayloadDocument(receivedMessage, received -> {
+            validateXpathExpressions(received, namespaceContext, context, validationContext);
+            return null;
+        });
+
+        log.info("XPath element validation successful: All elements OK");
+    }
+
+    /**
+     * Evaluates all XPath expressions on given received document and validates the results.
+     * @param received
+     * @param namespaceContext
+     * @param context
+     * @param validationContext
+     */
+    private void validateXpathExpressions(Document received, NamespaceContext namespaceContext, TestContext context,
+                                          XpathMessageValidationContext validationContext) {
         for (Map.Entry<String, Object> entry : validationContext.getXpathExpressions().entrySet()) {
             String xPathExpression = entry.getKey();
             Object expectedValue = entry.getValue();
@@ -115,8 +131,6 @@ public class XpathMessageValidator extends AbstractMessageValidator<XpathMessage
                 log.debug("Validating element: " + xPathExpression + "='" + expectedValue + "': OK.");
             }
         }
-
-        log.info("XPath element validation successful: All elements OK");
     }
 
     @Override
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.consol.citrus.validation.xml;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import com.consol.citrus.UnitTestSupport;
+import com.consol.citrus.exceptions.CitrusRuntimeException;
+import com.consol.citrus.exceptions.ValidationException;
+import com.consol.citrus.message.DefaultMessage;
+import com.consol.citrus.message.Message;
+import com.consol.citrus.xml.XsdSchemaRepository;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.xml.xsd.SimpleXsdSchema;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * @author Christoph Deppisch
+ */
+public class XmlStreamingValidationTest extends UnitTestSupport {
+
+    private DomXmlMessageValidator validator = new DomXmlMessageValidator().streaming(true);
+
+    @BeforeClass
+    public void setupSchemaRepository() throws Exception {
+        SimpleXsdSchema schema = new SimpleXsdSchema(new ClassPathResource("com/consol/citrus/validation/test.xsd"));
+        schema.afterPropertiesSet();
+
+        XsdSchemaRepository schemaRepository = new XsdSchemaRepository();
+        schemaRepository.getSchemas().add(schema);
+        validator.addSchemaRepository(schemaRepository);
+    }
+
+    @Test
+    public void testStreamingValidation() {
+        Message receivedMessage = new DefaultMessage("<root xmlns:ns1='http://citrusframework.org/ns1'>"
+                + "<element attributeA='attribute-value' attributeB='attribute-value'>"
+                    + "<sub-element attribute='A'>text-value</sub-element>"
+                    + "<ns1:sub-element type='ns1:value'>text-value</ns1:sub-element>"
+                + "</element>"
+                + "</root>");
+        Message controlMessage = new DefaultMessage("<root xmlns:ns0='http://citrusframework.org/ns1'>\n"
+                + "  <element attributeB='attribute-value' attributeA='attribute-value'>\n"
+                + "    <sub-element attribute='@startsWith(A)@'>text-value</sub-element>\n"
+                + "    <ns0:sub-element type='ns0:value'><![CDATA[text-value]]></ns0:sub-element>\n"
+                + "  </element>\n"
+                + "</root>");
+
+        validator.validateMessage(receivedMessage, controlMessage, context, new XmlMessageValidationContext());
+    }
+
+    @Test
+    public void testStreamingValidationIgnoreAndValidationMatcher() {
+        Message receivedMessage = new DefaultMessage("<root>"
+                + "<element id='1'><value>100</value><timestamp>2020-01-01</timestamp></element>"
+                + "<element id='2'><value>200</value><timestamp>2020-01-02</timestamp></element>"
+                + "<element id='3'><value>300</value><timestamp>2020-01-03</timestamp></element>"
+                + "</root>");
+        Message controlMessage = new DefaultMessage("<root>"
+                + "<element id='?'><value>@greaterThan(99)@</value><timestamp>?</timestamp></element>"
+                + "<element id='2'><value>?</value><timestamp>@ignore@</timestamp></element>"
+                + "<element id='3'><value>300</value><timestamp>?</timestamp></element>"
+                + "</root>");
+
+        XmlMessageValidationContext validationContext = new XmlMessageValidationContext();
+        validationContext.getIgnoreExpressions().add("//timestamp");
+        validationContext.getIgnoreExpressions().add("/root/element[1]/@id");
+        validationContext.getIgnoreExpressions().add("root.element.value");
+        validator.validateMessage(receivedMessage, controlMessage, context, validationContext);
+    }
+
+    @Test
+    public void testStreamingValidationWithSchema() {
+        Message receivedMessage = new DefaultMessage(new ByteArrayResource(("<message xmlns='http://citrusframework.org/test'>"
+                    + "<correlationId>Kx1R123456789</correlationId>"
+                    + "<bookingId>Bx1G987654321</bookingId>"
+                    + "<test>Hello TestFramework</test>"
+                + "</message>").getBytes(StandardCharsets.UTF_8)));
+        Message controlMessage = new DefaultMessage("<message xmlns='http://citrusframework.org/test'>"
+                    + "<correlationId>Kx1R123456789</correlationId>"
+                    + "<bookingId>@matches('Bx1G\\d+')@</bookingId>"
+                    + "<test>Hello TestFramework</test>"
+                + "</message>");
+
+        validator.validateMessage(receivedMessage, controlMessage, context, new XmlMessageValidationContext());
+    }
+
+    @Test
+    public void testStreamingValidationSchemaError() {
+        Message receivedMessage = new DefaultMessage("<message xmlns='http://citrusframework.org/test'>"
+                    + "<correlationId>Kx1R123456789</correlationId>"
+                    + "<wrongElement>Bx1G987654321</wrongElement>"
+                    + "<test>Hello TestFramework</test>"
+                + "</message>");
+        Message controlMessage = new DefaultMessage("<message xmlns='http://citrusframework.org/test'>"
+                    + "<correlationId>Kx1R123456789</correlationId>"
+                    + "<wrongElement>@ignore@</wrongElement>"
+                    + "<test>Hello TestFramework</test>"
+                + "</message>");
+
+        try {
+            validator.validateMessage(receivedMessage, controlMessage, context, new XmlMessageValidationContext());
+            Assert.fail("Missing validation exception due to schema validation error");
+        } catch (ValidationException e) {
+            Assert.assertTrue(e.getMessage().startsWith("XML schema validation failed"));
+        }
+    }
+
+    @Test
+    public void testStreamingValidationLargePayload() {
+        StringBuilder receivedPayload = new StringBuilder("<items>");
+        StringBuilder controlPayload = new StringBuilder("<items>");
+        for (int i = 0; i < 10000; i++) {
+            receivedPayload.append("<item id='").append(i).append("'><name>item").append(i).append("</name></item>");
+            controlPayload.append("<item id='@isNumber()@'><name>@startsWith(item)@</name></item>");
+        }
+        receivedPayload.append("</items>");
+        controlPayload.append("</items>");
+
+        validator.validateMessage(new DefaultMessage(receivedPayload.toString()), new DefaultMessage(controlPayload.toString()),
+                context, new XmlMessageValidationContext());
+    }
+
+    @Test
+    public void testStreamingValidationWrongValue() {
+        Message receivedMessage = new DefaultMessage("<root><element attribute='A'>text-value</element></root>");
+        Message controlMessage = new DefaultMessage("<root><element attribute='A'>wrong-value</element></root>");
+
+        try {
+            validator.validateMessage(receivedMessage, controlMessage, context, new XmlMessageValidationContext());
+            Assert.fail("Missing validation exception due to wrong value");
+        } catch (ValidationException e) {
+            Assert.assertTrue(e.getCause().getMessage().contains("Node value not equal for element 'element'"));
+        }
+    }
+
+    @Test
+    public void testStreamingValidationWrongNumberOfChildElements() {
+        Message receivedMessage = new DefaultMessage("<root><element>A</element><element>B</element></root>");
+        Message controlMessage = new DefaultMessage("<root><element>A</element></root>");
+
+        try {
+            validator.validateMessage(receivedMessage, controlMessage, context, new XmlMessageValidationContext());
+            Assert.fail("Missing validation exception due to wrong number of child elements");
+        } catch (ValidationException e) {
+            Assert.assertTrue(e.getCause().getMessage().contains("Number of child elements not equal for element 'root'"));
+        }
+    }
+
+    @Test(expectedExceptions = CitrusRuntimeException.class, expectedExceptionsMessageRegExp = "No result for XPath expression: '//unknown'")
+    public void testIgnoreExpressionNoMatch() {
+        XmlMessageValidationContext validationContext = new XmlMessageValidationContext();
+        validationContext.getIgnoreExpressions().add("//unknown");
+
+        validator.validateMessage(new DefaultMessage("<root><element>A</element></root>"),
+                new DefaultMessage("<root><element>A</element></root>"), context, validationContext);
+    }
+
+    @Test
+    public void testStreamingNamespaceValidation() {
+        Message receivedMessage = new DefaultMessage(new ByteArrayResource(("<ns0:root xmlns='http://citrusframework.org/default' "
+                    + "xmlns:ns0='http://citrusframework.org/ns0'><element>text-value</element></ns0:root>").getBytes(StandardCharsets.UTF_8)));
+
+        XmlMessageValidationContext validationContext = new XmlMessageValidationContext();
+        validationContext.setSchemaValidation(false);
+        validationContext.getControlNamespaces().put("", "http://citrusframework.org/default");
+        validationContext.getControlNamespaces().put("ns0", "http://citrusframework.org/ns0");
+        validator.validateMessage(receivedMessage, null, context, validationContext);
+
+        validationContext.getControlNamespaces().put("ns0", "http://citrusframework.org/wrong");
+        try {
+            validator.validateMessage(receivedMessage, null, context, validationContext);
+            Assert.fail("Missing validation exception due to wrong namespace");
+        } catch (ValidationException e) {
+            Assert.assertTrue(e.getMessage().contains("Namespace 'ns0' values not equal"));
+        }
+    }
+
+    @Test
+    public void testStreamingFallbackWithDTD() {
+        boolean[] dtdValidated = new boolean[1];
+        DomXmlMessageValidator dtdValidator = new DomXmlMessageValidator() {
+            @Override
+            protected void validateDTD(Resource dtdResource, Message receivedMessage) {
+                dtdValidated[0] = true;
+            }
+        }.streaming(true);
+
+        XmlMessageValidationContext validationContext = new XmlMessageValidationContext();
+        validationContext.setDTDResource(new ByteArrayResource("<!ELEMENT root (#PCDATA)>".getBytes(StandardCharsets.UTF_8)));
+        dtdValidator.validateMessage(new DefaultMessage("<root>text-value</root>"), new DefaultMessage("<root>text-value</root>"),
+                context, validationContext);
+
+        Assert.assertTrue(dtdValidated[0]);
+    }
+
+    @Test
+    public void testSupportedIgnoreExpressions() {
+        Assert.assertTrue(XmlStreamingValidation.supports(Collections.singleton("/root/element[2]/@id")));
+        Assert.assertTrue(XmlStreamingValidation.supports(Collections.singleton("//ns1:element/*")));
+        Assert.assertTrue(XmlStreamingValidation.supports(Collections.singleton("root.element.value")));
+        Assert.assertFalse(XmlStreamingValidation.supports(Collections.singleton("//element[@id='1']")));
+        Assert.assertFalse(XmlStreamingValidation.supports(Collections.singleton("count(//element)")));
+        Assert.assertFalse(XmlStreamingValidation.supports(Collections.singleton("/root/element/text()")));
+    }
+}